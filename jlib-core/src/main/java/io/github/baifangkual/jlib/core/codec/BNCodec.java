@@ -2,9 +2,16 @@ package io.github.baifangkual.jlib.core.codec;
 
 import io.github.baifangkual.jlib.core.util.Stf;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serial;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * <b>BaseN编解码器</b><br>
@@ -12,6 +19,14 @@ import java.util.*;
  * 支持任意 N = 2^M 基（M: 1-8）的编解码，基（N）由字母表大小决定<br>
  * 内有 {@link #b16}、{@link #b64}、{@link #b64Url} 编解码器默认实例<br>
  * <p>可通过自定的 {@link BNCodec.Table} 自定编解码器实例行为<br>
+ * <p>编码以“块”为单位：每 {@code lcm(8, M) / 8} 个字节编码为 {@code lcm(8, M) / M} 个字符
+ * （如 base64 为 3 字节 4 字符），块与块之间相互独立，仅最后一个不完整的块需要补位及（可选的）填充，
+ * 遂除整体编解码外，还可通过 {@link #encodingStream(OutputStream)}、{@link #decodingStream(InputStream)}
+ * 及 {@link #encode(ByteBuffer, ByteBuffer, boolean)}、{@link #decode(ByteBuffer, ByteBuffer, boolean)}
+ * 以恒定内存流式/增量地编解码任意大小的数据，或通过 {@link #encodeParallel(byte[])}、{@link #decodeParallel(byte[])}
+ * 按块边界切分后并行编解码大块数据<br>
+ * <p>M 为 4（如 base16）或 6（如 base64）时，完整的块使用查表的快速路径编解码
+ * （编码时每 8/12 位查一次表得到两个字符，解码时每块展开为一次组合），其余位数使用通用的位缓冲区路径<br>
  * 该编解码器无法构造一般意义的 {@code base62} 的行为，
  * 因为 base62 的算法并不是该类实现的 分块编码 算法，
  * 可参阅：
@@ -24,7 +39,7 @@ import java.util.*;
  * 这与 base32 无异）<br>
  * @since 2025/5/30 v0.0.7
  */
-public final class BNCodec implements Codec<byte[], byte[]> {
+public final class BNCodec implements StreamCodec {
 
     /**
      * 字母表配置
@@ -118,8 +133,12 @@ public final class BNCodec implements Codec<byte[], byte[]> {
     // 为 null 表示不填充
     private final Byte nullablePadding;
     private final int bitsPerChar; // 每编码字符占用位
-    private final byte[] decodeLookupTable; //解码查找表
-    private final int blockSize; // 每块大小
+    private final int[] decodeLookupTable; //解码查找表，非法字符对应 -1（int 而非 byte，以免 255 号字符与 -1 混淆）
+    private final int blockSize; // 每块大小（编码后字符数）
+    private final int blockBytes; // 每块大小（编码前字节数）
+    // 快速路径的编码查找表，每项为两个编码字符（高 8 位为前一个字符）：
+    // 4 位（如 base16）时以 1 字节（8 位）为索引，6 位（如 base64）时以 12 位为索引，其余位数时为 null
+    private final short[] pairEncodeTable;
 
     /**
      * 构造BaseN编码器
@@ -131,13 +150,16 @@ public final class BNCodec implements Codec<byte[], byte[]> {
                 .map(c -> (byte) c.charValue())
                 .orElse(null);
         // 初始化解码查找表
-        this.decodeLookupTable = new byte[256];
-        Arrays.fill(decodeLookupTable, (byte) -1);
-        for (int i = 0; i < nTable.length; i++) {
-            decodeLookupTable[nTable[i] & 0xff] = (byte) i;
+        this.decodeLookupTable = new int[256];
+        Arrays.fill(decodeLookupTable, -1);
+        // 编码时仅会选取字母表前 2^bitsPerChar 个字符，其余字符解码时视为非法
+        for (int i = 0, n = 1 << bitsPerChar; i < n; i++) {
+            decodeLookupTable[nTable[i] & 0xff] = i;
         }
         // 块大小
         this.blockSize = lcm(8, bitsPerChar) / bitsPerChar;
+        this.blockBytes = lcm(8, bitsPerChar) / 8;
+        this.pairEncodeTable = (bitsPerChar == 4 || bitsPerChar == 6) ? buildPairEncodeTable() : null;
     }
 
     public static BNCodec of(Table table) {
@@ -204,6 +226,21 @@ public final class BNCodec implements Codec<byte[], byte[]> {
         return bits;
     }
 
+    /**
+     * 构建两个字符一组的编码查找表，索引为 2 * bitsPerChar 位
+     */
+    private short[] buildPairEncodeTable() {
+        int pairBits = bitsPerChar * 2;
+        int mask = (1 << bitsPerChar) - 1;
+        short[] table = new short[1 << pairBits];
+        for (int i = 0; i < table.length; i++) {
+            int hi = nTable[i >>> bitsPerChar] & 0xff;
+            int lo = nTable[i & mask] & 0xff;
+            table[i] = (short) ((hi << 8) | lo);
+        }
+        return table;
+    }
+
     private boolean hasPadding() {
         return nullablePadding != null;
     }
@@ -270,52 +307,8 @@ public final class BNCodec implements Codec<byte[], byte[]> {
             return new byte[0];
         }
         try {
-            // 计算编码后的长度
-            // 公式：⌈(输入字节数 * 8) / bitsPerChar⌉
-            int encodedLength = (int) Math.ceil((data.length * 8.0) / bitsPerChar);
-
-            // 如果需要填充，将长度调整为块大小的整数倍
-            if (hasPadding()) {
-                encodedLength = ((encodedLength + blockSize - 1) / blockSize) * blockSize;
-            }
-
-            byte[] encoded = new byte[encodedLength];
-            int encodedIndex = 0;
-
-            // 位缓冲区，用于存储待处理的位
-            long buffer = 0;
-            int bitsInBuffer = 0;
-
-            // 处理每个输入字节
-            for (byte b : data) {
-                // 将当前字节添加到缓冲区
-                // fix：b不与0xff相与时，若b为负数 则在与（buffer << 8)运算时，
-                // 会因为隐式的byte转int过程，而将b转为 int的负数，再与buffer做或运算时，
-                // 会将 buffer变成负数，娘希匹
-                buffer = (buffer << 8) | (b & 0xff);
-                bitsInBuffer += 8;
-
-                // 当缓冲区中的位数足够时，提取并编码
-                while (bitsInBuffer >= bitsPerChar) {
-                    bitsInBuffer -= bitsPerChar;
-                    // 从缓冲区提取bitsPerChar位
-                    int index = (int) ((buffer >> bitsInBuffer) & ((1L << bitsPerChar) - 1));
-                    encoded[encodedIndex++] = nTable[index];
-                }
-            }
-
-            // 处理剩余的位
-            if (bitsInBuffer > 0) {
-                // 左移以对齐最后的位
-                int index = (int) ((buffer << (bitsPerChar - bitsInBuffer)) & ((1L << bitsPerChar) - 1));
-                encoded[encodedIndex++] = nTable[index];
-            }
-
-            // 添加填充字符
-            if (nullablePadding != null && encodedIndex < encoded.length) {
-                Arrays.fill(encoded, encodedIndex, encoded.length, nullablePadding);
-            }
-
+            byte[] encoded = new byte[encodedLength(data.length)];
+            encode0(data, 0, data.length, encoded, 0);
             return encoded;
         } catch (Exception e) {
             throw new IllegalArgumentException("cannot encode", e);
@@ -344,69 +337,815 @@ public final class BNCodec implements Codec<byte[], byte[]> {
 
         try {
             // 计算有效的编码字符数（不包括填充字符）
-            int effectiveLength = encoded.length;
-            if (nullablePadding != null) {
-                while (effectiveLength > 0 && encoded[effectiveLength - 1] == nullablePadding) {
-                    effectiveLength--;
+            int effectiveLength = withoutPadding(encoded, 0, encoded.length);
+            byte[] decoded = new byte[decodedLen(effectiveLength)];
+            decode0(encoded, 0, effectiveLength, decoded, 0);
+            return decoded;
+        } catch (Exception e) {
+            throw new IllegalArgumentException("cannot decode", e);
+        }
+    }
+
+    /**
+     * 增量编码：从 src 读取数据，编码后写入 dst，两者的 position 随之推进<br>
+     * 仅编码完整的块（{@code lcm(8, M) / 8} 个字节），不足一个块的剩余数据留在 src 中等待后续数据，
+     * 当 {@code endOfInput} 为 {@code true} 时，表示 src 中为最后一部分数据，
+     * 此时剩余的不完整块将被补位及（可选的）填充并写入 dst<br>
+     * 当 dst 剩余空间不足一个块时停止，调用方可在清空 dst 后再次调用
+     *
+     * @param src        数据
+     * @param dst        编码后数据
+     * @param endOfInput src 中是否为最后一部分数据
+     * @return 写入 dst 的字节数
+     * @throws NullPointerException 当给定的 src 或 dst 为空时
+     */
+    public int encode(ByteBuffer src, ByteBuffer dst, boolean endOfInput) {
+        Objects.requireNonNull(src, "src");
+        Objects.requireNonNull(dst, "dst");
+        int written = 0;
+        byte[] in = null;
+        byte[] out = null;
+        while (src.remaining() >= blockBytes && dst.remaining() >= blockSize) {
+            int blocks = Math.min(Math.min(src.remaining() / blockBytes, dst.remaining() / blockSize), CHUNK_BLOCKS);
+            int inLen = blocks * blockBytes;
+            int outLen = blocks * blockSize;
+            if (src.hasArray() && dst.hasArray()) {
+                encode0(src.array(), src.arrayOffset() + src.position(), inLen,
+                        dst.array(), dst.arrayOffset() + dst.position());
+                src.position(src.position() + inLen);
+                dst.position(dst.position() + outLen);
+            } else {
+                if (in == null) {
+                    in = new byte[CHUNK_BLOCKS * blockBytes];
+                    out = new byte[CHUNK_BLOCKS * blockSize];
                 }
+                src.get(in, 0, inLen);
+                encode0(in, 0, inLen, out, 0);
+                dst.put(out, 0, outLen);
             }
+            written += outLen;
+        }
+        if (endOfInput && src.hasRemaining() && src.remaining() < blockBytes) {
+            int tailLen = encodedLength(src.remaining());
+            if (dst.remaining() >= tailLen) {
+                byte[] tailIn = new byte[src.remaining()];
+                byte[] tailOut = new byte[tailLen];
+                src.get(tailIn);
+                encode0(tailIn, 0, tailIn.length, tailOut, 0);
+                dst.put(tailOut);
+                written += tailLen;
+            }
+        }
+        return written;
+    }
 
-            // 计算总位数和输出长度
-            int totalBits = effectiveLength * bitsPerChar;
-            int decodedLength = totalBits / 8; // 整数除法，向下取整
-            byte[] decoded = new byte[decodedLength];
-            int decodedIndex = 0;
-
-            // 位缓冲区
-            long buffer = 0;
-            int bitsInBuffer = 0;
-
-            // 处理每个编码字符
-            for (int i = 0; i < effectiveLength; i++) {
-                byte b = encoded[i];
-                // 查找字符对应的值
-                int value = decodeLookupTable[b & 0xff];
-                if (value == -1) {
-                    throw new IllegalArgumentException("非法字符: " + (char) b);
+    /**
+     * 增量编码，同 {@code encode(src, dst, false)}，即仅编码完整的块
+     *
+     * @param src 数据
+     * @param dst 编码后数据
+     * @return 写入 dst 的字节数
+     * @see #encode(ByteBuffer, ByteBuffer, boolean)
+     */
+    public int encode(ByteBuffer src, ByteBuffer dst) {
+        return encode(src, dst, false);
+    }
+
+    /**
+     * 增量解码：从 src 读取编码的数据，解码后写入 dst，两者的 position 随之推进<br>
+     * 仅解码完整且不含填充字符的块（{@code lcm(8, M) / M} 个字符），其余数据留在 src 中等待后续数据，
+     * 当 {@code endOfInput} 为 {@code true} 时，表示 src 中为最后一部分数据，
+     * 此时剩余的数据（最后一个块，可含填充字符）将被解码并写入 dst<br>
+     * 当 dst 剩余空间不足一个块时停止，调用方可在清空 dst 后再次调用
+     *
+     * @param src        编码的数据
+     * @param dst        数据
+     * @param endOfInput src 中是否为最后一部分数据
+     * @return 写入 dst 的字节数
+     * @throws IllegalArgumentException 当编码的数据中含有非法字符或非零填充位时
+     * @throws NullPointerException     当给定的 src 或 dst 为空时
+     */
+    public int decode(ByteBuffer src, ByteBuffer dst, boolean endOfInput) {
+        Objects.requireNonNull(src, "src");
+        Objects.requireNonNull(dst, "dst");
+        int written = 0;
+        byte[] in = null;
+        byte[] out = null;
+        try {
+            while (src.remaining() >= blockSize && dst.remaining() >= blockBytes) {
+                int blocks = Math.min(Math.min(src.remaining() / blockSize, dst.remaining() / blockBytes), CHUNK_BLOCKS);
+                // 含填充字符的块只能是最后一个块，留待 endOfInput
+                blocks = blocksWithoutPadding(src, blocks);
+                if (blocks == 0) {
+                    if (endOfInput && src.remaining() > blockSize) {
+                        throw new IllegalArgumentException("填充字符后仍有数据");
+                    }
+                    break;
+                }
+                int inLen = blocks * blockSize;
+                int outLen = blocks * blockBytes;
+                if (src.hasArray() && dst.hasArray()) {
+                    decode0(src.array(), src.arrayOffset() + src.position(), inLen,
+                            dst.array(), dst.arrayOffset() + dst.position());
+                    src.position(src.position() + inLen);
+                    dst.position(dst.position() + outLen);
+                } else {
+                    if (in == null) {
+                        in = new byte[CHUNK_BLOCKS * blockSize];
+                        out = new byte[CHUNK_BLOCKS * blockBytes];
+                    }
+                    src.get(src.position(), in, 0, inLen);
+                    decode0(in, 0, inLen, out, 0);
+                    src.position(src.position() + inLen);
+                    dst.put(out, 0, outLen);
+                }
+                written += outLen;
+            }
+            if (endOfInput && src.hasRemaining() && src.remaining() <= blockSize) {
+                byte[] tailIn = new byte[src.remaining()];
+                src.get(src.position(), tailIn);
+                int effective = withoutPadding(tailIn, 0, tailIn.length);
+                int tailLen = decodedLen(effective);
+                if (dst.remaining() >= tailLen) {
+                    byte[] tailOut = new byte[tailLen];
+                    decode0(tailIn, 0, effective, tailOut, 0);
+                    src.position(src.limit());
+                    dst.put(tailOut);
+                    written += tailLen;
                 }
+            }
+            return written;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("cannot decode", e);
+        }
+    }
+
+    /**
+     * 增量解码，同 {@code decode(src, dst, false)}，即仅解码完整且不含填充字符的块
+     *
+     * @param src 编码的数据
+     * @param dst 数据
+     * @return 写入 dst 的字节数
+     * @see #decode(ByteBuffer, ByteBuffer, boolean)
+     */
+    public int decode(ByteBuffer src, ByteBuffer dst) {
+        return decode(src, dst, false);
+    }
+
+    /**
+     * 返回一个编码输出流，写入该流的数据将被编码后写入给定的输出流<br>
+     * 该流仅缓冲不足一个块的数据及一小段固定大小的输出缓冲区，内存占用恒定，
+     * {@link OutputStream#flush()} 仅会写出已完整的块，
+     * 关闭该流时会写出最后一个不完整的块（补位及可选的填充）并关闭给定的输出流<br>
+     * 该流非线程安全
+     *
+     * @param out 编码后数据的输出流
+     * @return 编码输出流
+     * @throws NullPointerException 当给定的输出流为空时
+     */
+    @Override
+    public OutputStream encodingStream(OutputStream out) {
+        Objects.requireNonNull(out, "out");
+        return new EncodingOutputStream(out);
+    }
+
+    /**
+     * 返回一个解码输入流，从该流读取的数据为从给定输入流读取的编码数据解码后的数据<br>
+     * 该流仅缓冲一小段固定大小的输入及输出缓冲区，内存占用恒定，
+     * 关闭该流时会关闭给定的输入流<br>
+     * 该流非线程安全
+     *
+     * @param in 编码的数据的输入流
+     * @return 解码输入流
+     * @throws NullPointerException 当给定的输入流为空时
+     * @apiNote 当编码的数据中含有非法字符或非零填充位时，读取方法将抛出 {@link IOException}
+     */
+    @Override
+    public InputStream decodingStream(InputStream in) {
+        Objects.requireNonNull(in, "in");
+        return new DecodingInputStream(in);
+    }
+
+    // 流式/增量编解码时每次处理的块数
+    private static final int CHUNK_BLOCKS = 1024;
+    // 并行编解码时，数据（编码的数据）字节数小于该值则顺序编解码
+    private static final int PARALLEL_THRESHOLD = 1 << 20;
+    // 并行编解码时每个子任务处理的字节数（向下对齐到块）
+    private static final int PARALLEL_LEAF_BYTES = 1 << 18;
+
+    /**
+     * 返回编码 len 个字节后的确切字节数（最后一个不完整的块补位及（可选的）填充），
+     * 可用于为 {@link #encodeInto(byte[], int, int, byte[], int)} 准备目标数组
+     *
+     * @param len 数据字节数
+     * @return 编码后字节数
+     * @throws IllegalArgumentException 当 len 小于 0，或编码后字节数超出数组最大长度时
+     */
+    public int encodedLength(int len) {
+        if (len < 0) {
+            throw new IllegalArgumentException(Stf.f("len: {} < 0", len));
+        }
+        long full = (long) (len / blockBytes) * blockSize;
+        int rem = len % blockBytes;
+        if (rem > 0) {
+            full += hasPadding() ? blockSize : (rem * 8 + bitsPerChar - 1) / bitsPerChar;
+        }
+        if (full > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(Stf.f("编码后长度超出数组最大长度: {}", full));
+        }
+        return (int) full;
+    }
+
+    /**
+     * 返回解码给定数组 {@code [off, off + len)} 区间的编码数据后的确切字节数（末尾的填充字符不计），
+     * 可用于为 {@link #decodeInto(byte[], int, int, byte[], int)} 准备目标数组<br>
+     * 该方法不校验编码数据中的字符是否合法
+     *
+     * @param encoded 编码的数据
+     * @param off     起始位置
+     * @param len     长度
+     * @return 解码后字节数
+     * @throws IndexOutOfBoundsException 当区间超出数组范围时
+     * @throws NullPointerException      当给定的数组为空时
+     */
+    public int decodedLength(byte[] encoded, int off, int len) {
+        Objects.requireNonNull(encoded, "encoded");
+        Objects.checkFromIndexSize(off, len, encoded.length);
+        return decodedLen(withoutPadding(encoded, off, len));
+    }
+
+    /**
+     * 编码给定数组 {@code [off, off + len)} 区间的数据，直接写入目标数组 dstOff 起，不创建中间数组<br>
+     * 目标数组的剩余空间应不小于 {@link #encodedLength(int)}
+     *
+     * @param src    数据
+     * @param off    数据起始位置
+     * @param len    数据长度
+     * @param dst    目标数组
+     * @param dstOff 目标数组起始位置
+     * @return 写入的字节数（即 {@code encodedLength(len)}）
+     * @throws IndexOutOfBoundsException 当区间超出数据数组范围，或目标数组剩余空间不足时（此时不会写入任何字节）
+     * @throws NullPointerException      当给定的数组为空时
+     */
+    public int encodeInto(byte[] src, int off, int len, byte[] dst, int dstOff) {
+        Objects.requireNonNull(src, "src");
+        Objects.requireNonNull(dst, "dst");
+        Objects.checkFromIndexSize(off, len, src.length);
+        Objects.checkFromIndexSize(dstOff, encodedLength(len), dst.length);
+        return encode0(src, off, len, dst, dstOff);
+    }
 
-                // 将值添加到缓冲区
-                buffer = (buffer << bitsPerChar) | value;
-                bitsInBuffer += bitsPerChar;
+    /**
+     * 解码给定数组 {@code [off, off + len)} 区间的编码数据（末尾可含填充字符），直接写入目标数组 dstOff 起，不创建中间数组<br>
+     * 目标数组的剩余空间应不小于 {@link #decodedLength(byte[], int, int)}
+     *
+     * @param src    编码的数据
+     * @param off    编码的数据起始位置
+     * @param len    编码的数据长度
+     * @param dst    目标数组
+     * @param dstOff 目标数组起始位置
+     * @return 写入的字节数（即 {@code decodedLength(src, off, len)}）
+     * @throws IllegalArgumentException  当编码的数据中含有非法字符或非零填充位时（此时目标数组可能已被部分写入）
+     * @throws IndexOutOfBoundsException 当区间超出编码的数据数组范围，或目标数组剩余空间不足时（此时不会写入任何字节）
+     * @throws NullPointerException      当给定的数组为空时
+     */
+    public int decodeInto(byte[] src, int off, int len, byte[] dst, int dstOff) {
+        Objects.requireNonNull(src, "src");
+        Objects.requireNonNull(dst, "dst");
+        Objects.checkFromIndexSize(off, len, src.length);
+        int effective = withoutPadding(src, off, len);
+        Objects.checkFromIndexSize(dstOff, decodedLen(effective), dst.length);
+        try {
+            return decode0(src, off, effective, dst, dstOff);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("cannot decode", e);
+        }
+    }
 
-                // 当缓冲区中有足够的位时，提取一个字节
-                while (bitsInBuffer >= 8) {
-                    bitsInBuffer -= 8;
-                    decoded[decodedIndex++] = (byte) ((buffer >> bitsInBuffer) & 0xff);
+    /**
+     * 以 baseN 并行编码数据，使用 {@link ForkJoinPool#commonPool()}
+     *
+     * @param data 数据
+     * @return 编码后数据
+     * @see #encodeParallel(byte[], ForkJoinPool)
+     */
+    public byte[] encodeParallel(byte[] data) {
+        return encodeParallel(data, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 以 baseN 并行编码数据<br>
+     * 块与块之间相互独立，遂数据按块边界切分为若干片段，由给定的 fork-join 池并行编码，
+     * 各片段直接写入预分配的结果数组中的对应区间，结果与 {@link #encode(byte[])} 一致<br>
+     * 当数据小于 1MiB 或池的并行度为 1 时，退化为顺序编码
+     *
+     * @param data 数据
+     * @param pool fork-join 池
+     * @return 编码后数据
+     * @throws NullPointerException 当给定的参数为空时
+     */
+    public byte[] encodeParallel(byte[] data, ForkJoinPool pool) {
+        Objects.requireNonNull(data, "data");
+        Objects.requireNonNull(pool, "pool");
+        if (data.length < PARALLEL_THRESHOLD || pool.getParallelism() == 1) {
+            return encode(data);
+        }
+        byte[] encoded = new byte[encodedLength(data.length)];
+        pool.invoke(new ParallelTask(true, data, 0, data.length, encoded));
+        return encoded;
+    }
+
+    /**
+     * 以 baseN 并行解码数据，使用 {@link ForkJoinPool#commonPool()}
+     *
+     * @param encoded 编码的数据
+     * @return 数据
+     * @see #decodeParallel(byte[], ForkJoinPool)
+     */
+    public byte[] decodeParallel(byte[] encoded) {
+        return decodeParallel(encoded, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 以 baseN 并行解码数据<br>
+     * 编码的数据（不含末尾填充字符）按块边界切分为若干片段，由给定的 fork-join 池并行解码，
+     * 各片段直接写入预分配的结果数组中的对应区间，结果与 {@link #decode(byte[])} 一致<br>
+     * 当编码的数据小于 1MiB 或池的并行度为 1 时，退化为顺序解码
+     *
+     * @param encoded 编码的数据
+     * @param pool    fork-join 池
+     * @return 数据
+     * @throws IllegalArgumentException 当编码的数据中含有非法字符或非零填充位时
+     * @throws NullPointerException     当给定的参数为空时
+     */
+    public byte[] decodeParallel(byte[] encoded, ForkJoinPool pool) {
+        Objects.requireNonNull(encoded, "encoded");
+        Objects.requireNonNull(pool, "pool");
+        if (encoded.length < PARALLEL_THRESHOLD || pool.getParallelism() == 1) {
+            return decode(encoded);
+        }
+        int effectiveLength = withoutPadding(encoded, 0, encoded.length);
+        byte[] decoded = new byte[decodedLen(effectiveLength)];
+        try {
+            pool.invoke(new ParallelTask(false, encoded, 0, effectiveLength, decoded));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("cannot decode", e);
+        }
+        return decoded;
+    }
+
+    /**
+     * 解码 len 个（不含填充字符的）字符后的字节数
+     */
+    private int decodedLen(int len) {
+        return (int) ((long) len * bitsPerChar / 8);
+    }
+
+    /**
+     * 去掉末尾填充字符后的 {@code [off, off + len)} 区间的长度
+     */
+    private int withoutPadding(byte[] encoded, int off, int len) {
+        if (nullablePadding != null) {
+            byte p = nullablePadding;
+            while (len > 0 && encoded[off + len - 1] == p) {
+                len--;
+            }
+        }
+        return len;
+    }
+
+    /**
+     * 从 src 的 position 起的 blocks 个块中，最后一个字符非填充字符的前缀块数
+     */
+    private int blocksWithoutPadding(ByteBuffer src, int blocks) {
+        if (nullablePadding == null) {
+            return blocks;
+        }
+        byte p = nullablePadding;
+        int pos = src.position();
+        for (int i = 0; i < blocks; i++) {
+            if (src.get(pos + (i + 1) * blockSize - 1) == p) {
+                return i;
+            }
+        }
+        return blocks;
+    }
+
+    /**
+     * 编码 src 的 {@code [off, off + len)} 区间写入 dst 的 dstOff 起，返回写入的字节数，
+     * 当 len 不为块大小的整数倍时，最后一个不完整的块补位及（可选的）填充
+     */
+    private int encode0(byte[] src, int off, int len, byte[] dst, int dstOff) {
+        if (pairEncodeTable != null && len >= blockBytes) {
+            int full = len - len % blockBytes;
+            int n = bitsPerChar == 6
+                    ? encode6(src, off, full, dst, dstOff)
+                    : encode4(src, off, full, dst, dstOff);
+            return n + encodeGeneric(src, off + full, len - full, dst, dstOff + n);
+        }
+        return encodeGeneric(src, off, len, dst, dstOff);
+    }
+
+    /**
+     * 6 位快速路径，len 为 3 的整数倍，每 3 字节（24 位）以两次 12 位查表得到 4 个字符
+     */
+    private int encode6(byte[] src, int off, int len, byte[] dst, int dstOff) {
+        final short[] table = pairEncodeTable;
+        int d = dstOff;
+        for (int i = off, end = off + len; i < end; i += 3) {
+            int v = (src[i] & 0xff) << 16 | (src[i + 1] & 0xff) << 8 | (src[i + 2] & 0xff);
+            short hi = table[v >>> 12];
+            short lo = table[v & 0xfff];
+            dst[d] = (byte) (hi >>> 8);
+            dst[d + 1] = (byte) hi;
+            dst[d + 2] = (byte) (lo >>> 8);
+            dst[d + 3] = (byte) lo;
+            d += 4;
+        }
+        return d - dstOff;
+    }
+
+    /**
+     * 4 位快速路径，每字节查表得到 2 个字符
+     */
+    private int encode4(byte[] src, int off, int len, byte[] dst, int dstOff) {
+        final short[] table = pairEncodeTable;
+        int d = dstOff;
+        for (int i = off, end = off + len; i < end; i++) {
+            short pair = table[src[i] & 0xff];
+            dst[d] = (byte) (pair >>> 8);
+            dst[d + 1] = (byte) pair;
+            d += 2;
+        }
+        return d - dstOff;
+    }
+
+    /**
+     * 通用路径，见 {@link #encode0(byte[], int, int, byte[], int)}
+     */
+    private int encodeGeneric(byte[] src, int off, int len, byte[] dst, int dstOff) {
+        final int bits = bitsPerChar;
+        final long mask = (1L << bits) - 1;
+        final byte[] table = nTable;
+        int d = dstOff;
+        // 位缓冲区，用于存储待处理的位，每个完整的块处理完后 bitsInBuffer 归 0
+        long buffer = 0;
+        int bitsInBuffer = 0;
+        for (int i = off, end = off + len; i < end; i++) {
+            // 将当前字节添加到缓冲区
+            // fix：b不与0xff相与时，若b为负数 则在与（buffer << 8)运算时，
+            // 会因为隐式的byte转int过程，而将b转为 int的负数，再与buffer做或运算时，
+            // 会将 buffer变成负数，娘希匹
+            buffer = (buffer << 8) | (src[i] & 0xff);
+            bitsInBuffer += 8;
+            // 当缓冲区中的位数足够时，提取并编码
+            while (bitsInBuffer >= bits) {
+                bitsInBuffer -= bits;
+                dst[d++] = table[(int) ((buffer >>> bitsInBuffer) & mask)];
+            }
+        }
+        // 处理剩余的位
+        if (bitsInBuffer > 0) {
+            // 左移以对齐最后的位
+            dst[d++] = table[(int) ((buffer << (bits - bitsInBuffer)) & mask)];
+        }
+        // 添加填充字符
+        if (nullablePadding != null && len % blockBytes != 0) {
+            int blockEnd = dstOff + encodedLength(len);
+            Arrays.fill(dst, d, blockEnd, nullablePadding);
+            d = blockEnd;
+        }
+        return d - dstOff;
+    }
+
+    /**
+     * 解码 src 的 {@code [off, off + len)} 区间（不含填充字符）写入 dst 的 dstOff 起，返回写入的字节数
+     *
+     * @throws IllegalArgumentException 当含有非法字符或非零填充位时
+     */
+    private int decode0(byte[] src, int off, int len, byte[] dst, int dstOff) {
+        if (pairEncodeTable != null && len >= blockSize) {
+            int full = len - len % blockSize;
+            int n = bitsPerChar == 6
+                    ? decode6(src, off, full, dst, dstOff)
+                    : decode4(src, off, full, dst, dstOff);
+            // 快速路径遇到非法字符时停止，剩余部分由通用路径解码（并抛出相应异常）
+            int consumed = n / blockBytes * blockSize;
+            return n + decodeGeneric(src, off + consumed, len - consumed, dst, dstOff + n);
+        }
+        return decodeGeneric(src, off, len, dst, dstOff);
+    }
+
+    /**
+     * 6 位快速路径，len 为 4 的整数倍，每 4 个字符组合为 3 字节，遇到非法字符时停止，返回写入的字节数
+     */
+    private int decode6(byte[] src, int off, int len, byte[] dst, int dstOff) {
+        final int[] lookup = decodeLookupTable;
+        int d = dstOff;
+        for (int i = off, end = off + len; i < end; i += 4) {
+            int a = lookup[src[i] & 0xff];
+            int b = lookup[src[i + 1] & 0xff];
+            int c = lookup[src[i + 2] & 0xff];
+            int e = lookup[src[i + 3] & 0xff];
+            if ((a | b | c | e) < 0) {
+                break;
+            }
+            int v = a << 18 | b << 12 | c << 6 | e;
+            dst[d] = (byte) (v >>> 16);
+            dst[d + 1] = (byte) (v >>> 8);
+            dst[d + 2] = (byte) v;
+            d += 3;
+        }
+        return d - dstOff;
+    }
+
+    /**
+     * 4 位快速路径，len 为 2 的整数倍，每 2 个字符组合为 1 字节，遇到非法字符时停止，返回写入的字节数
+     */
+    private int decode4(byte[] src, int off, int len, byte[] dst, int dstOff) {
+        final int[] lookup = decodeLookupTable;
+        int d = dstOff;
+        for (int i = off, end = off + len; i < end; i += 2) {
+            int a = lookup[src[i] & 0xff];
+            int b = lookup[src[i + 1] & 0xff];
+            if ((a | b) < 0) {
+                break;
+            }
+            dst[d++] = (byte) (a << 4 | b);
+        }
+        return d - dstOff;
+    }
+
+    /**
+     * 通用路径，见 {@link #decode0(byte[], int, int, byte[], int)}
+     */
+    private int decodeGeneric(byte[] src, int off, int len, byte[] dst, int dstOff) {
+        final int bits = bitsPerChar;
+        final int[] lookup = decodeLookupTable;
+        int d = dstOff;
+        // 位缓冲区
+        long buffer = 0;
+        int bitsInBuffer = 0;
+        // 处理每个编码字符
+        for (int i = off, end = off + len; i < end; i++) {
+            byte b = src[i];
+            // 查找字符对应的值
+            int value = lookup[b & 0xff];
+            if (value == -1) {
+                throw new IllegalArgumentException("非法字符: " + (char) (b & 0xff));
+            }
+            // 将值添加到缓冲区
+            buffer = (buffer << bits) | value;
+            bitsInBuffer += bits;
+            // 当缓冲区中有足够的位时，提取一个字节
+            if (bitsInBuffer >= 8) {
+                bitsInBuffer -= 8;
+                dst[d++] = (byte) (buffer >>> bitsInBuffer);
+            }
+        }
+        // 剩余位必须全为0，否则数据有误
+        if (bitsInBuffer > 0 && (buffer & ((1L << bitsInBuffer) - 1)) != 0) {
+            throw new IllegalArgumentException("非法的结束位：存在非零填充位");
+        }
+        return d - dstOff;
+    }
+
+    /**
+     * 并行编解码任务，负责 src 的 {@code [off, off + len)} 区间，off 总是对齐到块，
+     * 区间大于 {@link #PARALLEL_LEAF_BYTES} 时按块边界二分，否则直接编解码写入 dst 中对应的区间，
+     * 仅最后一个区间可能含不完整的块
+     */
+    private final class ParallelTask extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final boolean encode;
+        private final byte[] src;
+        private final int off;
+        private final int len;
+        private final byte[] dst;
+
+        ParallelTask(boolean encode, byte[] src, int off, int len, byte[] dst) {
+            this.encode = encode;
+            this.src = src;
+            this.off = off;
+            this.len = len;
+            this.dst = dst;
+        }
+
+        @Override
+        protected void compute() {
+            int unit = encode ? blockBytes : blockSize;
+            if (len <= Math.max(PARALLEL_LEAF_BYTES / unit, 1) * unit) {
+                int blocks = off / unit;
+                if (encode) {
+                    encode0(src, off, len, dst, blocks * blockSize);
+                } else {
+                    decode0(src, off, len, dst, blocks * blockBytes);
                 }
+                return;
             }
+            int half = len / 2 / unit * unit;
+            invokeAll(new ParallelTask(encode, src, off, half, dst),
+                    new ParallelTask(encode, src, off + half, len - half, dst));
+        }
+    }
+
+    /**
+     * 编码输出流，缓冲不足 {@link #CHUNK_BLOCKS} 个块的输入
+     */
+    private final class EncodingOutputStream extends OutputStream {
+        private final OutputStream out;
+        private final byte[] in = new byte[CHUNK_BLOCKS * blockBytes];
+        private final byte[] encoded = new byte[CHUNK_BLOCKS * blockSize];
+        private int inLen = 0;
+        private boolean closed = false;
 
-            // 验证剩余位
-            int expectedRemaining = totalBits % 8;
-            if (bitsInBuffer != expectedRemaining) {
-                throw new IllegalStateException(
-                        Stf.f("剩余位数不一致: 实际={}, 预期={}", bitsInBuffer, expectedRemaining));
+        EncodingOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            ensureOpen();
+            in[inLen++] = (byte) b;
+            if (inLen == in.length) {
+                writeBlocks();
             }
+        }
 
-            // 剩余位必须全为0，否则数据有误
-            if (bitsInBuffer > 0) {
-                long mask = (1L << bitsInBuffer) - 1;
-                if ((buffer & mask) != 0) {
-                    throw new IllegalArgumentException("非法的结束位：存在非零填充位");
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            ensureOpen();
+            Objects.checkFromIndexSize(off, len, b.length);
+            while (len > 0) {
+                int n = Math.min(len, in.length - inLen);
+                System.arraycopy(b, off, in, inLen, n);
+                inLen += n;
+                off += n;
+                len -= n;
+                if (inLen == in.length) {
+                    writeBlocks();
                 }
             }
+        }
 
-            // 检查实际写入字节数
-            if (decodedIndex != decodedLength) {
-                throw new IllegalStateException(
-                        Stf.f("写入字节数不一致: 实际={}, 预期={}", decodedIndex, decodedLength));
+        /**
+         * 写出已完整的块，不足一个块的数据移至缓冲区头部
+         */
+        private void writeBlocks() throws IOException {
+            int full = inLen - inLen % blockBytes;
+            if (full > 0) {
+                int n = encode0(in, 0, full, encoded, 0);
+                out.write(encoded, 0, n);
+                System.arraycopy(in, full, in, 0, inLen - full);
+                inLen -= full;
             }
+        }
 
-            return decoded;
-        } catch (Exception e) {
-            throw new IllegalArgumentException("cannot decode", e);
+        @Override
+        public void flush() throws IOException {
+            ensureOpen();
+            writeBlocks();
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try (out) {
+                int n = encode0(in, 0, inLen, encoded, 0);
+                out.write(encoded, 0, n);
+                inLen = 0;
+            }
+        }
+
+        private void ensureOpen() throws IOException {
+            if (closed) {
+                throw new IOException("stream closed");
+            }
         }
     }
 
+    /**
+     * 解码输入流，缓冲最多 {@link #CHUNK_BLOCKS} 个块的输入及其解码结果<br>
+     * 含填充字符的块只能是最后一个块，遂遇到以填充字符结尾的块时，等待读取到输入流结尾后再解码
+     */
+    private final class DecodingInputStream extends InputStream {
+        private final InputStream in;
+        private final byte[] encoded = new byte[CHUNK_BLOCKS * blockSize];
+        private final byte[] decoded = new byte[CHUNK_BLOCKS * blockBytes];
+        private int encodedLen = 0;
+        private int pos = 0;
+        private int limit = 0;
+        private boolean eof = false;
+        private boolean closed = false;
+
+        DecodingInputStream(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!fill()) {
+                return -1;
+            }
+            return decoded[pos++] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            Objects.checkFromIndexSize(off, len, b.length);
+            if (len == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            int n = Math.min(len, limit - pos);
+            System.arraycopy(decoded, pos, b, off, n);
+            pos += n;
+            return n;
+        }
+
+        @Override
+        public int available() throws IOException {
+            ensureOpen();
+            return limit - pos;
+        }
+
+        /**
+         * 保证解码缓冲区中有数据，返回 false 表示已读取完
+         */
+        private boolean fill() throws IOException {
+            ensureOpen();
+            while (pos == limit) {
+                if (eof && encodedLen == 0) {
+                    return false;
+                }
+                if (!eof) {
+                    int n = in.read(encoded, encodedLen, encoded.length - encodedLen);
+                    if (n < 0) {
+                        eof = true;
+                    } else {
+                        encodedLen += n;
+                    }
+                }
+                try {
+                    decodeBuffered();
+                } catch (IllegalArgumentException e) {
+                    throw new IOException("cannot decode", e);
+                }
+            }
+            return true;
+        }
+
+        private void decodeBuffered() throws IOException {
+            int consumed;
+            if (eof) {
+                // 剩余的所有数据，最后一个块可含填充字符
+                int effective = withoutPadding(encoded, 0, encodedLen);
+                limit = decode0(encoded, 0, effective, decoded, 0);
+                consumed = encodedLen;
+            } else {
+                int blocks = encodedLen / blockSize;
+                if (nullablePadding != null) {
+                    byte p = nullablePadding;
+                    for (int i = 0; i < blocks; i++) {
+                        if (encoded[(i + 1) * blockSize - 1] == p) {
+                            blocks = i;
+                            break;
+                        }
+                    }
+                }
+                consumed = blocks * blockSize;
+                if (consumed == 0 && encodedLen == encoded.length) {
+                    // 缓冲区已满，但首个块即以填充字符结尾，而输入流仍未结束，即填充字符后仍有数据
+                    throw new IOException("cannot decode: 填充字符后仍有数据");
+                }
+                limit = decode0(encoded, 0, consumed, decoded, 0);
+            }
+            pos = 0;
+            System.arraycopy(encoded, consumed, encoded, 0, encodedLen - consumed);
+            encodedLen -= consumed;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                in.close();
+            }
+        }
+
+        private void ensureOpen() throws IOException {
+            if (closed) {
+                throw new IOException("stream closed");
+            }
+        }
+    }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,876 @@
+package io.github.baifangkual.jlib.core.codec;
+
+import io.github.baifangkual.jlib.core.conf.Cfg;
+import io.github.baifangkual.jlib.core.lang.Indexed;
+import io.github.baifangkual.jlib.core.lang.Line;
+import io.github.baifangkual.jlib.core.lang.Nil;
+import io.github.baifangkual.jlib.core.lang.R;
+import io.github.baifangkual.jlib.core.lang.Tup2;
+import io.github.baifangkual.jlib.core.util.Stf;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <b>Binary Serializers</b><br>
+ * 紧凑的二进制序列化工具类，{@link JSerializers} 的替代<br>
+ * 与 java 原生序列化不同，该类不写出类描述信息，而是为 jlib-core 中的常用值类型使用手写的序列化方式，
+ * 序列化结果更小，反序列化更快，适用于大量缓存 {@link Cfg}、{@link Tup2}、{@link Line}、{@link Indexed}、{@link R} 等对象的场景<br>
+ * <p>支持的类型：
+ * <ul>
+ *     <li>{@code null}、基本类型的包装类型、{@link String}、{@code byte[]}</li>
+ *     <li>{@link List}、{@link Set}、{@link Map}（反序列化为 {@link ArrayList}、{@link LinkedHashSet}、{@link LinkedHashMap}）</li>
+ *     <li>{@link Cfg}、{@link Tup2}、{@link Line}、{@link Indexed}、{@link R.Ok}、{@link R.Err}、{@link Nil}</li>
+ *     <li>通过 {@link #register(TypeSerializer)} 或 {@link ServiceLoader}（SPI）注册的用户类型</li>
+ *     <li>其他 {@link Serializable} 对象（及 {@link R.Err} 中的异常）以 java 原生序列化的形式内嵌</li>
+ * </ul>
+ * 内置类型及用户类型均以类型精确匹配（不匹配子类），集合类型以 {@code instanceof} 匹配<br>
+ * <p>格式：{@code [magic][version][varint 载荷长度][载荷]}，载荷中每个值为 {@code [tag][数据]}，
+ * 整数以 zigzag varint 写出；带长度前缀使得同一个流中可连续写出多个对象，
+ * {@code byte[]}、{@link OutputStream}/{@link InputStream}、{@link ByteBuffer} 三种形式的结果相同<br>
+ * 读取时拒绝高于 {@link #VERSION} 的版本，用户类型可通过 {@link In#version()} 兼容旧版本的数据<br>
+ * <p>该类不处理共享引用（同一对象被引用多次时将被写出多次），循环引用将因嵌套过深而失败
+ *
+ * @author baifangkual
+ * @since 2026/10/18 v0.1.2
+ */
+public class BinSerializers {
+    private BinSerializers() {
+        throw new IllegalAccessError("Utility class");
+    }
+
+    /**
+     * 当前格式版本
+     */
+    public static final int VERSION = 1;
+
+    private static final byte MAGIC = (byte) 0xB5;
+    // magic + version + 至多 5 字节的 varint 长度
+    private static final int MAX_HEADER = 7;
+    private static final int MAX_DEPTH = 512;
+
+    private static final byte T_NULL = 0;
+    private static final byte T_TRUE = 1;
+    private static final byte T_FALSE = 2;
+    private static final byte T_INT = 3;
+    private static final byte T_LONG = 4;
+    private static final byte T_DOUBLE = 5;
+    private static final byte T_FLOAT = 6;
+    private static final byte T_SHORT = 7;
+    private static final byte T_BYTE = 8;
+    private static final byte T_CHAR = 9;
+    private static final byte T_STRING = 10;
+    private static final byte T_BYTES = 11;
+    private static final byte T_LIST = 12;
+    private static final byte T_SET = 13;
+    private static final byte T_MAP = 14;
+    private static final byte T_TUP2 = 15;
+    private static final byte T_LINE = 16;
+    private static final byte T_INDEXED = 17;
+    private static final byte T_R_OK = 18;
+    private static final byte T_R_ERR = 19;
+    private static final byte T_CFG = 20;
+    private static final byte T_NIL = 21;
+    private static final byte T_USER = 22;
+    private static final byte T_JAVA = 23;
+
+    private static final Map<Class<?>, Byte> BUILTIN = Map.ofEntries(
+            Map.entry(Boolean.class, T_TRUE),
+            Map.entry(Integer.class, T_INT),
+            Map.entry(Long.class, T_LONG),
+            Map.entry(Double.class, T_DOUBLE),
+            Map.entry(Float.class, T_FLOAT),
+            Map.entry(Short.class, T_SHORT),
+            Map.entry(Byte.class, T_BYTE),
+            Map.entry(Character.class, T_CHAR),
+            Map.entry(String.class, T_STRING),
+            Map.entry(byte[].class, T_BYTES),
+            Map.entry(Tup2.class, T_TUP2),
+            Map.entry(Line.class, T_LINE),
+            Map.entry(Indexed.class, T_INDEXED),
+            Map.entry(R.Ok.class, T_R_OK),
+            Map.entry(R.Err.class, T_R_ERR),
+            Map.entry(Cfg.class, T_CFG),
+            Map.entry(Nil.class, T_NIL)
+    );
+
+    private static final Map<Class<?>, TypeSerializer<?>> USER_BY_TYPE = new ConcurrentHashMap<>();
+    private static final Map<Integer, TypeSerializer<?>> USER_BY_ID = new ConcurrentHashMap<>();
+
+    static {
+        for (TypeSerializer<?> s : ServiceLoader.load(TypeSerializer.class)) {
+            register(s);
+        }
+    }
+
+    /**
+     * 用户类型的序列化器，可通过 {@link #register(TypeSerializer)} 注册，
+     * 或以 {@link ServiceLoader} 的方式（{@code META-INF/services/io.github.baifangkual.jlib.core.codec.BinSerializers$TypeSerializer}）
+     * 在该类初始化时自动注册<br>
+     * 实现应线程安全，{@link #read(In)} 应恰好读取 {@link #write(Out, Object)} 写出的数据
+     *
+     * @param <T> 用户类型
+     */
+    public interface TypeSerializer<T> {
+
+        /**
+         * 用户类型，序列化时以类型精确匹配
+         */
+        Class<T> type();
+
+        /**
+         * 用户类型的 id，非负，写入序列化数据中以标识类型，注册后不应改变
+         */
+        int typeId();
+
+        /**
+         * 写出值
+         *
+         * @param out   输出
+         * @param value 值，不为 {@code null}
+         */
+        void write(Out out, T value);
+
+        /**
+         * 读取值
+         *
+         * @param in 输入
+         * @return 值
+         */
+        T read(In in);
+    }
+
+    /**
+     * 注册用户类型的序列化器
+     *
+     * @param serializer 序列化器
+     * @throws IllegalArgumentException 当类型 id 为负数、该类型为内置类型，或类型、类型 id 已被注册时
+     */
+    public static synchronized void register(TypeSerializer<?> serializer) {
+        Objects.requireNonNull(serializer, "serializer");
+        Class<?> type = Objects.requireNonNull(serializer.type(), "serializer.type()");
+        int id = serializer.typeId();
+        if (id < 0) {
+            throw new IllegalArgumentException(Stf.f("typeId: {} < 0", id));
+        }
+        if (BUILTIN.containsKey(type) || USER_BY_TYPE.containsKey(type)) {
+            throw new IllegalArgumentException(Stf.f("type {} already registered", type.getName()));
+        }
+        if (USER_BY_ID.containsKey(id)) {
+            throw new IllegalArgumentException(Stf.f("typeId {} already registered by {}",
+                    id, USER_BY_ID.get(id).type().getName()));
+        }
+        USER_BY_ID.put(id, serializer);
+        USER_BY_TYPE.put(type, serializer);
+    }
+
+    /**
+     * 序列化对象为字节数组
+     *
+     * @param obj 需序列化的对象
+     * @return 对象的字节序列表示
+     * @throws IllegalStateException 如果序列化失败或对象类型不支持
+     */
+    public static byte[] ser(Object obj) {
+        Objects.requireNonNull(obj);
+        Out out = Out.acquire();
+        try {
+            int start = out.frame(obj);
+            return Arrays.copyOfRange(out.buf, start, out.pos);
+        } finally {
+            out.release();
+        }
+    }
+
+    /**
+     * 序列化对象写入给定的输出流，同一个流中可连续写入多个对象，该方法不会关闭或刷新输出流
+     *
+     * @param obj 需序列化的对象
+     * @param os  输出流
+     * @throws IllegalStateException 如果序列化失败、对象类型不支持或写入失败
+     */
+    public static void ser(Object obj, OutputStream os) {
+        Objects.requireNonNull(obj);
+        Objects.requireNonNull(os);
+        Out out = Out.acquire();
+        try {
+            int start = out.frame(obj);
+            os.write(out.buf, start, out.pos - start);
+        } catch (IOException e) {
+            throw new SerializeException("Serialization failed: " + e.getMessage(), e);
+        } finally {
+            out.release();
+        }
+    }
+
+    /**
+     * 序列化对象写入给定的 {@link ByteBuffer}，position 随之推进
+     *
+     * @param obj 需序列化的对象
+     * @param buf 缓冲区
+     * @throws BufferOverflowException 当缓冲区剩余空间不足时（此时不会写入任何字节）
+     * @throws IllegalStateException   如果序列化失败或对象类型不支持
+     */
+    public static void ser(Object obj, ByteBuffer buf) {
+        Objects.requireNonNull(obj);
+        Objects.requireNonNull(buf);
+        Out out = Out.acquire();
+        try {
+            int start = out.frame(obj);
+            if (buf.remaining() < out.pos - start) {
+                throw new BufferOverflowException();
+            }
+            buf.put(out.buf, start, out.pos - start);
+        } finally {
+            out.release();
+        }
+    }
+
+    /**
+     * 从字节数组反序列化对象
+     *
+     * @param bytes 序列化后的字节数组
+     * @return 反序列化的对象
+     * @throws IllegalStateException 如果反序列化失败
+     */
+    public static <T> T deSer(byte[] bytes) {
+        Objects.requireNonNull(bytes);
+        In in = new In(bytes, 0, bytes.length);
+        int len = in.header();
+        in.need(len);
+        if (in.pos + len != bytes.length) {
+            throw new DeserializeException(Stf.f("Deserialization failed: {} trailing bytes",
+                    bytes.length - in.pos - len), null);
+        }
+        return in.payload();
+    }
+
+    /**
+     * 从给定的输入流读取并反序列化一个对象，该方法仅读取该对象的字节，不会关闭输入流
+     *
+     * @param is 输入流
+     * @return 反序列化的对象
+     * @throws IllegalStateException 如果读取或反序列化失败
+     */
+    public static <T> T deSer(InputStream is) {
+        Objects.requireNonNull(is);
+        try {
+            byte[] header = new byte[MAX_HEADER];
+            int n = 0;
+            do {
+                if (n == MAX_HEADER) {
+                    throw new DeserializeException("Deserialization failed: malformed length", null);
+                }
+                int b = is.read();
+                if (b == -1) {
+                    throw new DeserializeException("Deserialization failed: unexpected end of stream", null);
+                }
+                header[n++] = (byte) b;
+            } while (n < 3 || header[n - 1] < 0);
+            In h = new In(header, 0, n);
+            int len = h.header();
+            byte[] payload = is.readNBytes(len);
+            if (payload.length != len) {
+                throw new DeserializeException("Deserialization failed: unexpected end of stream", null);
+            }
+            return new In(payload, 0, len, h.version).payload();
+        } catch (IOException e) {
+            throw new DeserializeException("Deserialization failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 从给定的 {@link ByteBuffer} 读取并反序列化一个对象，position 随之推进
+     *
+     * @param buf 缓冲区
+     * @return 反序列化的对象
+     * @throws IllegalStateException 如果反序列化失败
+     */
+    public static <T> T deSer(ByteBuffer buf) {
+        Objects.requireNonNull(buf);
+        if (buf.hasArray()) {
+            int base = buf.arrayOffset();
+            In in = new In(buf.array(), base + buf.position(), base + buf.limit());
+            int len = in.header();
+            in.need(len);
+            In payload = new In(in.buf, in.pos, in.pos + len, in.version);
+            T value = payload.payload();
+            buf.position(in.pos + len - base);
+            return value;
+        }
+        byte[] header = new byte[Math.min(MAX_HEADER, buf.remaining())];
+        buf.get(buf.position(), header);
+        In h = new In(header, 0, header.length);
+        int len = h.header();
+        if (buf.remaining() - h.pos < len) {
+            throw new DeserializeException("Deserialization failed: unexpected end of data", null);
+        }
+        byte[] payload = new byte[len];
+        buf.position(buf.position() + h.pos);
+        buf.get(payload);
+        return new In(payload, 0, len, h.version).payload();
+    }
+
+    /**
+     * 序列化输出，提供给 {@link TypeSerializer} 写出数据
+     */
+    public static final class Out {
+
+        private static final ThreadLocal<Out> POOL = ThreadLocal.withInitial(Out::new);
+        // 复用时保留的缓冲区的最大大小
+        private static final int MAX_RETAINED = 1 << 20;
+
+        private byte[] buf = new byte[256];
+        private int pos;
+        private int depth;
+        private boolean inUse;
+
+        private Out() {
+        }
+
+        /**
+         * 获取线程本地的实例，当其正被使用（如在 {@link TypeSerializer} 中再次调用顶层的 ser 方法）时新建
+         */
+        private static Out acquire() {
+            Out out = POOL.get();
+            if (out.inUse) {
+                out = new Out();
+            }
+            out.inUse = true;
+            out.pos = MAX_HEADER;
+            out.depth = 0;
+            return out;
+        }
+
+        private void release() {
+            inUse = false;
+            if (buf.length > MAX_RETAINED) {
+                buf = new byte[256];
+            }
+        }
+
+        /**
+         * 从 MAX_HEADER 处写出载荷，再在载荷前写出头，返回头的起始位置
+         */
+        private int frame(Object obj) {
+            writeObject(obj);
+            int len = pos - MAX_HEADER;
+            int start = MAX_HEADER - 2 - varIntSize(len);
+            int end = pos;
+            pos = start;
+            buf[pos++] = MAGIC;
+            buf[pos++] = VERSION;
+            writeVarInt(len);
+            pos = end;
+            return start;
+        }
+
+        private void ensure(int n) {
+            if (buf.length - pos < n) {
+                long cap = Math.max(buf.length * 2L, (long) pos + n);
+                if (cap > Integer.MAX_VALUE - 8) {
+                    if ((long) pos + n > Integer.MAX_VALUE - 8) {
+                        throw new SerializeException("Serialization failed: too large", null);
+                    }
+                    cap = Integer.MAX_VALUE - 8;
+                }
+                buf = Arrays.copyOf(buf, (int) cap);
+            }
+        }
+
+        public void writeByte(int v) {
+            ensure(1);
+            buf[pos++] = (byte) v;
+        }
+
+        public void writeBoolean(boolean v) {
+            writeByte(v ? 1 : 0);
+        }
+
+        /**
+         * 写出 varint（无符号，负数将占 5 个字节）
+         */
+        public void writeVarInt(int v) {
+            ensure(5);
+            while ((v & ~0x7F) != 0) {
+                buf[pos++] = (byte) (v & 0x7F | 0x80);
+                v >>>= 7;
+            }
+            buf[pos++] = (byte) v;
+        }
+
+        /**
+         * 写出 zigzag varint，绝对值小的负数也占较少的字节
+         */
+        public void writeZigZagInt(int v) {
+            writeVarInt(v << 1 ^ v >> 31);
+        }
+
+        public void writeVarLong(long v) {
+            ensure(10);
+            while ((v & ~0x7FL) != 0) {
+                buf[pos++] = (byte) (v & 0x7F | 0x80);
+                v >>>= 7;
+            }
+            buf[pos++] = (byte) v;
+        }
+
+        public void writeZigZagLong(long v) {
+            writeVarLong(v << 1 ^ v >> 63);
+        }
+
+        public void writeInt(int v) {
+            ensure(4);
+            buf[pos] = (byte) (v >>> 24);
+            buf[pos + 1] = (byte) (v >>> 16);
+            buf[pos + 2] = (byte) (v >>> 8);
+            buf[pos + 3] = (byte) v;
+            pos += 4;
+        }
+
+        public void writeLong(long v) {
+            writeInt((int) (v >>> 32));
+            writeInt((int) v);
+        }
+
+        public void writeDouble(double v) {
+            writeLong(Double.doubleToRawLongBits(v));
+        }
+
+        public void writeFloat(float v) {
+            writeInt(Float.floatToRawIntBits(v));
+        }
+
+        public void writeBytes(byte[] v) {
+            writeVarInt(v.length);
+            ensure(v.length);
+            System.arraycopy(v, 0, buf, pos, v.length);
+            pos += v.length;
+        }
+
+        /**
+         * 以 UTF-8 写出字符串，前缀为其字节数
+         */
+        public void writeString(String s) {
+            int chars = s.length();
+            int utf8 = chars;
+            for (int i = 0; i < chars; i++) {
+                char c = s.charAt(i);
+                if (c >= 0x80) {
+                    if (Character.isSurrogate(c)) {
+                        // 含代理字符（或不成对的代理字符）时交由 String.getBytes 处理
+                        writeBytes(s.getBytes(StandardCharsets.UTF_8));
+                        return;
+                    }
+                    utf8 += c < 0x800 ? 1 : 2;
+                }
+            }
+            writeVarInt(utf8);
+            ensure(utf8);
+            for (int i = 0; i < chars; i++) {
+                char c = s.charAt(i);
+                if (c < 0x80) {
+                    buf[pos++] = (byte) c;
+                } else if (c < 0x800) {
+                    buf[pos++] = (byte) (0xC0 | c >> 6);
+                    buf[pos++] = (byte) (0x80 | c & 0x3F);
+                } else {
+                    buf[pos++] = (byte) (0xE0 | c >> 12);
+                    buf[pos++] = (byte) (0x80 | c >> 6 & 0x3F);
+                    buf[pos++] = (byte) (0x80 | c & 0x3F);
+                }
+            }
+        }
+
+        /**
+         * 写出任意支持的值（可为 {@code null}），见 {@link BinSerializers}
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public void writeObject(Object v) {
+            if (v == null) {
+                writeByte(T_NULL);
+                return;
+            }
+            if (++depth > MAX_DEPTH) {
+                throw new SerializeException("Serialization failed: nested too deep (cyclic reference?)", null);
+            }
+            Class<?> type = v.getClass();
+            Byte tag = BUILTIN.get(type);
+            if (tag != null) {
+                writeBuiltin(tag, v);
+            } else {
+                TypeSerializer s = USER_BY_TYPE.get(type);
+                if (s != null) {
+                    writeByte(T_USER);
+                    writeVarInt(s.typeId());
+                    s.write(this, v);
+                } else if (v instanceof List<?> list) {
+                    writeByte(T_LIST);
+                    writeVarInt(list.size());
+                    for (Object e : list) writeObject(e);
+                } else if (v instanceof Set<?> set) {
+                    writeByte(T_SET);
+                    writeVarInt(set.size());
+                    for (Object e : set) writeObject(e);
+                } else if (v instanceof Map<?, ?> map) {
+                    writeByte(T_MAP);
+                    writeMapEntries(map);
+                } else if (v instanceof Serializable ser) {
+                    writeByte(T_JAVA);
+                    writeBytes(JSerializers.ser(ser));
+                } else {
+                    throw new SerializeException(Stf.f("Serialization failed: unsupported type {}",
+                            type.getName()), null);
+                }
+            }
+            depth--;
+        }
+
+        private void writeBuiltin(byte tag, Object v) {
+            switch (tag) {
+                case T_TRUE -> writeByte((Boolean) v ? T_TRUE : T_FALSE);
+                case T_INT -> {
+                    writeByte(T_INT);
+                    writeZigZagInt((Integer) v);
+                }
+                case T_LONG -> {
+                    writeByte(T_LONG);
+                    writeZigZagLong((Long) v);
+                }
+                case T_DOUBLE -> {
+                    writeByte(T_DOUBLE);
+                    writeDouble((Double) v);
+                }
+                case T_FLOAT -> {
+                    writeByte(T_FLOAT);
+                    writeFloat((Float) v);
+                }
+                case T_SHORT -> {
+                    writeByte(T_SHORT);
+                    writeZigZagInt((Short) v);
+                }
+                case T_BYTE -> {
+                    writeByte(T_BYTE);
+                    writeByte((Byte) v);
+                }
+                case T_CHAR -> {
+                    writeByte(T_CHAR);
+                    writeVarInt((Character) v);
+                }
+                case T_STRING -> {
+                    writeByte(T_STRING);
+                    writeString((String) v);
+                }
+                case T_BYTES -> {
+                    writeByte(T_BYTES);
+                    writeBytes((byte[]) v);
+                }
+                case T_TUP2 -> {
+                    Tup2<?, ?> t = (Tup2<?, ?>) v;
+                    writeByte(T_TUP2);
+                    writeObject(t.l());
+                    writeObject(t.r());
+                }
+                case T_LINE -> {
+                    Line<?> l = (Line<?>) v;
+                    writeByte(T_LINE);
+                    writeObject(l.begin());
+                    writeObject(l.end());
+                }
+                case T_INDEXED -> {
+                    Indexed<?> i = (Indexed<?>) v;
+                    writeByte(T_INDEXED);
+                    writeZigZagInt(i.index());
+                    writeObject(i.value());
+                }
+                case T_R_OK -> {
+                    writeByte(T_R_OK);
+                    writeObject(((R.Ok<?>) v).ok());
+                }
+                case T_R_ERR -> {
+                    writeByte(T_R_ERR);
+                    writeBytes(JSerializers.ser(((R.Err<?>) v).err()));
+                }
+                case T_CFG -> {
+                    writeByte(T_CFG);
+                    writeMapEntries(((Cfg) v).toReadonlyMap());
+                }
+                case T_NIL -> writeByte(T_NIL);
+                default -> throw new IllegalStateException("unreachable");
+            }
+        }
+
+        private void writeMapEntries(Map<?, ?> map) {
+            writeVarInt(map.size());
+            for (Map.Entry<?, ?> e : map.entrySet()) {
+                writeObject(e.getKey());
+                writeObject(e.getValue());
+            }
+        }
+    }
+
+    /**
+     * 反序列化输入，提供给 {@link TypeSerializer} 读取数据
+     */
+    public static final class In {
+        private final byte[] buf;
+        private final int limit;
+        private int pos;
+        private int version;
+        private int depth;
+
+        private In(byte[] buf, int off, int limit) {
+            this(buf, off, limit, VERSION);
+        }
+
+        private In(byte[] buf, int off, int limit, int version) {
+            this.buf = buf;
+            this.pos = off;
+            this.limit = limit;
+            this.version = version;
+        }
+
+        /**
+         * 读取头，返回载荷长度
+         */
+        private int header() {
+            need(2);
+            if (buf[pos] != MAGIC) {
+                throw new DeserializeException("Deserialization failed: illegal magic", null);
+            }
+            version = buf[pos + 1] & 0xff;
+            if (version > VERSION) {
+                throw new DeserializeException(Stf.f("Deserialization failed: unsupported version {}", version), null);
+            }
+            pos += 2;
+            int len = readVarInt();
+            if (len < 0) {
+                throw new DeserializeException("Deserialization failed: malformed length", null);
+            }
+            return len;
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T payload() {
+            Object v = readObject();
+            if (pos != limit) {
+                throw new DeserializeException(Stf.f("Deserialization failed: {} trailing bytes", limit - pos), null);
+            }
+            return (T) v;
+        }
+
+        /**
+         * 数据的格式版本
+         */
+        public int version() {
+            return version;
+        }
+
+        private void need(int n) {
+            if (limit - pos < n) {
+                throw new DeserializeException("Deserialization failed: unexpected end of data", null);
+            }
+        }
+
+        public byte readByte() {
+            need(1);
+            return buf[pos++];
+        }
+
+        public boolean readBoolean() {
+            return readByte() != 0;
+        }
+
+        public int readVarInt() {
+            int v = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                byte b = readByte();
+                v |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return v;
+                }
+            }
+            throw new DeserializeException("Deserialization failed: malformed varint", null);
+        }
+
+        public int readZigZagInt() {
+            int v = readVarInt();
+            return v >>> 1 ^ -(v & 1);
+        }
+
+        public long readVarLong() {
+            long v = 0;
+            for (int shift = 0; shift < 70; shift += 7) {
+                byte b = readByte();
+                v |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return v;
+                }
+            }
+            throw new DeserializeException("Deserialization failed: malformed varint", null);
+        }
+
+        public long readZigZagLong() {
+            long v = readVarLong();
+            return v >>> 1 ^ -(v & 1);
+        }
+
+        public int readInt() {
+            need(4);
+            int v = (buf[pos] & 0xff) << 24 | (buf[pos + 1] & 0xff) << 16 | (buf[pos + 2] & 0xff) << 8 | buf[pos + 3] & 0xff;
+            pos += 4;
+            return v;
+        }
+
+        public long readLong() {
+            return (long) readInt() << 32 | readInt() & 0xffffffffL;
+        }
+
+        public double readDouble() {
+            return Double.longBitsToDouble(readLong());
+        }
+
+        public float readFloat() {
+            return Float.intBitsToFloat(readInt());
+        }
+
+        private int readLength() {
+            int len = readVarInt();
+            if (len < 0) {
+                throw new DeserializeException("Deserialization failed: malformed length", null);
+            }
+            need(len);
+            return len;
+        }
+
+        public byte[] readBytes() {
+            int len = readLength();
+            byte[] v = Arrays.copyOfRange(buf, pos, pos + len);
+            pos += len;
+            return v;
+        }
+
+        public String readString() {
+            int len = readLength();
+            String s = new String(buf, pos, len, StandardCharsets.UTF_8);
+            pos += len;
+            return s;
+        }
+
+        /**
+         * 读取集合的元素数，每个元素至少 1 个字节，以此拒绝不合法的大小
+         */
+        private int readSize(int minBytesPerElement) {
+            int n = readVarInt();
+            if (n < 0 || (long) n * minBytesPerElement > limit - pos) {
+                throw new DeserializeException(Stf.f("Deserialization failed: illegal size {}", n), null);
+            }
+            return n;
+        }
+
+        /**
+         * 读取任意支持的值（可为 {@code null}），见 {@link BinSerializers}
+         */
+        public Object readObject() {
+            if (++depth > MAX_DEPTH) {
+                throw new DeserializeException("Deserialization failed: nested too deep", null);
+            }
+            byte tag = readByte();
+            Object v = switch (tag) {
+                case T_NULL -> null;
+                case T_TRUE -> Boolean.TRUE;
+                case T_FALSE -> Boolean.FALSE;
+                case T_INT -> readZigZagInt();
+                case T_LONG -> readZigZagLong();
+                case T_DOUBLE -> readDouble();
+                case T_FLOAT -> readFloat();
+                case T_SHORT -> (short) readZigZagInt();
+                case T_BYTE -> readByte();
+                case T_CHAR -> (char) readVarInt();
+                case T_STRING -> readString();
+                case T_BYTES -> readBytes();
+                case T_LIST -> {
+                    int n = readSize(1);
+                    List<Object> list = new ArrayList<>(n);
+                    for (int i = 0; i < n; i++) list.add(readObject());
+                    yield list;
+                }
+                case T_SET -> {
+                    int n = readSize(1);
+                    Set<Object> set = new LinkedHashSet<>(capacity(n));
+                    for (int i = 0; i < n; i++) set.add(readObject());
+                    yield set;
+                }
+                case T_MAP -> {
+                    int n = readSize(2);
+                    Map<Object, Object> map = new LinkedHashMap<>(capacity(n));
+                    for (int i = 0; i < n; i++) map.put(readObject(), readObject());
+                    yield map;
+                }
+                case T_TUP2 -> Tup2.of(readObject(), readObject());
+                case T_LINE -> Line.of(readObject(), readObject());
+                case T_INDEXED -> Indexed.of(readZigZagInt(), readObject());
+                case T_R_OK -> new R.Ok<>(readObject());
+                case T_R_ERR -> new R.Err<>(JSerializers.<Exception>deSer(readBytes()));
+                case T_CFG -> {
+                    int n = readSize(2);
+                    Map<String, Object> map = new HashMap<>(capacity(n));
+                    for (int i = 0; i < n; i++) {
+                        if (!(readObject() instanceof String key)) {
+                            throw new DeserializeException("Deserialization failed: Cfg key is not a String", null);
+                        }
+                        map.put(key, readObject());
+                    }
+                    yield Cfg.ofMap(() -> map);
+                }
+                case T_NIL -> Nil.nil();
+                case T_USER -> {
+                    int id = readVarInt();
+                    TypeSerializer<?> s = USER_BY_ID.get(id);
+                    if (s == null) {
+                        throw new DeserializeException(Stf.f("Deserialization failed: unregistered typeId {}", id), null);
+                    }
+                    yield s.read(this);
+                }
+                case T_JAVA -> JSerializers.deSer(readBytes());
+                default -> throw new DeserializeException(Stf.f("Deserialization failed: illegal tag {}", tag), null);
+            };
+            depth--;
+            return v;
+        }
+
+        private static int capacity(int n) {
+            return (int) Math.min(n / 0.75f + 1, 1 << 16);
+        }
+    }
+
+    private static int varIntSize(int v) {
+        return v < 0 ? 5 : (38 - Integer.numberOfLeadingZeros(v | 1)) / 7;
+    }
+
+    private static class DeserializeException extends IllegalStateException {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        public DeserializeException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    private static class SerializeException extends IllegalStateException {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        public SerializeException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package io.github.baifangkual.jlib.core.codec;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.function.Function;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -39,6 +40,29 @@ public interface Codec<D, C> {
      */
     D decode(C encoded);
 
+    /**
+     * 将给定的流式编解码器首尾相连为一个流式编解码器<br>
+     * 编码时数据依次经过 {@code stages[0]、stages[1] ...} 编码，解码时顺序相反，
+     * 如 {@code Codec.pipeline(new Gzip(), BNCodec.b64)} 先压缩再以 base64 编码；
+     * 经 {@link StreamCodec#encodingStream(java.io.OutputStream)}、{@link StreamCodec#decodingStream(java.io.InputStream)}
+     * 编解码时，各阶段之间仅有各自固定大小的缓冲区，不产生完整大小的中间数组<br>
+     * 对象的序列化可在返回的编码流之上进行，如 {@code new ObjectOutputStream(pipeline.encodingStream(out))}
+     *
+     * @param stages 流式编解码器，至少一个
+     * @return 流式编解码器
+     * @throws IllegalArgumentException 当未给定流式编解码器时
+     * @throws NullPointerException     当给定的流式编解码器中有空时
+     */
+    static StreamCodec pipeline(StreamCodec... stages) {
+        if (stages == null || stages.length == 0) {
+            throw new IllegalArgumentException("stages is empty");
+        }
+        for (StreamCodec stage : stages) {
+            Objects.requireNonNull(stage, "stage");
+        }
+        return stages.length == 1 ? stages[0] : new StreamPipeline(stages.clone());
+    }
+
 
 
 }
@@ -1,50 +1,283 @@
 package io.github.baifangkual.jlib.core.codec;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import io.github.baifangkual.jlib.core.util.Stf;
+
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
 
 /**
- * gzip 压缩 编解码器
+ * gzip 压缩 编解码器<br>
+ * 不可变，线程安全，可通过 {@link #Gzip(int)} 指定压缩级别（{@code -1, 0-9}，默认 {@link Deflater#DEFAULT_COMPRESSION}）<br>
+ * <p>{@link #encode(byte[])}、{@link #decode(byte[])} 直接读写 gzip 格式（RFC 1952）的头尾，
+ * 压缩/解压使用线程本地缓存的 {@link Deflater}/{@link Inflater}（每个线程每个压缩级别一个），
+ * 以避免每次调用都创建并释放 zlib 的本地内存；
+ * 压缩时结果数组按压缩上界一次分配，解压时按 gzip 尾部记录的原始长度一次分配<br>
+ * <p>大数据可通过 {@link #encodingStream(OutputStream)}、{@link #decodingStream(InputStream)} 流式编解码，
+ * 流持有各自的 {@link Deflater}/{@link Inflater}，应在使用后关闭
  *
  * @author baifangkual
  * @since 2025/5/30 v0.0.7
  */
-public class Gzip implements Codec<byte[], byte[]> {
+public class Gzip implements StreamCodec {
+
+    // gzip 头：magic(2) CM(1) FLG(1) MTIME(4) XFL(1) OS(1)，同 GZIPOutputStream（OS 为 0xff，即未知）
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final int HEADER_LEN = 10;
+    private static final int TRAILER_LEN = 8;
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+    // 流式编解码时的缓冲区大小
+    private static final int STREAM_BUF_SIZE = 8192;
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    // 下标为 level + 1
+    private static final ThreadLocal<Deflater[]> DEFLATERS = ThreadLocal.withInitial(() -> new Deflater[11]);
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(() -> new Inflater(true));
+
+    private final int level;
+
+    /**
+     * 使用默认压缩级别 {@link Deflater#DEFAULT_COMPRESSION}
+     */
+    public Gzip() {
+        this(Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * 使用给定的压缩级别
+     *
+     * @param level 压缩级别，{@code -1}（默认）或 {@code 0}（不压缩）-{@code 9}（最佳压缩）
+     * @throws IllegalArgumentException 当压缩级别不在范围内时
+     */
+    public Gzip(int level) {
+        if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException(Stf.f("illegal gzip level: {}", level));
+        }
+        this.level = level;
+    }
+
+    /**
+     * 压缩级别
+     */
+    public int level() {
+        return level;
+    }
 
     /**
      * 使用gzip压缩给定的字节序列
      */
     @Override
     public byte[] encode(byte[] data) {
-        try (ByteArrayOutputStream bos = new ByteArrayOutputStream();
-             GZIPOutputStream gos = new GZIPOutputStream(bos, data.length)) {
-            gos.write(data);
-            gos.finish();
-            return bos.toByteArray();
-        } catch (IOException e) {
-            throw new IllegalStateException("unable to gzip encode bytes", e);
+        Objects.requireNonNull(data, "data");
+        Deflater def = deflater();
+        try {
+            def.setInput(data);
+            def.finish();
+            byte[] out = new byte[maxEncodedLength(data.length)];
+            System.arraycopy(HEADER, 0, out, 0, HEADER_LEN);
+            int pos = HEADER_LEN;
+            while (!def.finished()) {
+                if (out.length - pos < TRAILER_LEN + 1) {
+                    out = Arrays.copyOf(out, grow(out.length));
+                }
+                pos += def.deflate(out, pos, out.length - pos - TRAILER_LEN);
+            }
+            CRC32 crc = new CRC32();
+            crc.update(data);
+            writeIntLE(out, pos, (int) crc.getValue());
+            writeIntLE(out, pos + 4, data.length);
+            pos += TRAILER_LEN;
+            return pos == out.length ? out : Arrays.copyOf(out, pos);
+        } finally {
+            def.reset();
         }
     }
 
     /**
-     * 使用gzip解码data，data应为已压缩过的数据字节
+     * 使用gzip解码data，data应为已压缩过的数据字节<br>
+     * 支持多个 gzip 成员首尾相连的数据，最后一个成员之后的非 gzip 数据将被忽略（同 {@link GZIPInputStream}）
+     *
+     * @throws IllegalStateException 当 data 不是合法的 gzip 数据时
      */
     @Override
     public byte[] decode(byte[] encoded) {
-        try (ByteArrayOutputStream out = new ByteArrayOutputStream(encoded.length);
-             ByteArrayInputStream bis = new ByteArrayInputStream(encoded);
-             GZIPInputStream gis = new GZIPInputStream(bis, encoded.length)) {
-            byte[] buffer = new byte[encoded.length];
-            int len;
-            while ((len = gis.read(buffer)) > 0) {
-                out.write(buffer, 0, len);
-            }
-            return out.toByteArray();
-        } catch (IOException e) {
+        Objects.requireNonNull(encoded, "encoded");
+        Inflater inf = INFLATER.get();
+        try {
+            byte[] out = new byte[initialDecodedLength(encoded)];
+            int pos = 0;
+            int off = 0;
+            do {
+                int memberStart = pos;
+                off = skipHeader(encoded, off);
+                inf.reset();
+                inf.setInput(encoded, off, encoded.length - off);
+                while (!inf.finished()) {
+                    if (pos == out.length) {
+                        out = Arrays.copyOf(out, grow(out.length));
+                    }
+                    int n = inf.inflate(out, pos, out.length - pos);
+                    pos += n;
+                    if (n == 0 && !inf.finished() && (inf.needsInput() || inf.needsDictionary())) {
+                        throw new IllegalStateException("unable to gzip decode bytes: unexpected end of data");
+                    }
+                }
+                int trailer = encoded.length - inf.getRemaining();
+                if (encoded.length - trailer < TRAILER_LEN) {
+                    throw new IllegalStateException("unable to gzip decode bytes: missing trailer");
+                }
+                CRC32 crc = new CRC32();
+                crc.update(out, memberStart, pos - memberStart);
+                if (readIntLE(encoded, trailer) != (int) crc.getValue()
+                    || readIntLE(encoded, trailer + 4) != pos - memberStart) {
+                    throw new IllegalStateException("unable to gzip decode bytes: corrupt trailer");
+                }
+                off = trailer + TRAILER_LEN;
+            } while (isMemberHeader(encoded, off));
+            return pos == out.length ? out : Arrays.copyOf(out, pos);
+        } catch (DataFormatException e) {
             throw new IllegalStateException("unable to gzip decode bytes", e);
+        } finally {
+            inf.reset();
         }
     }
+
+    /**
+     * 返回以gzip压缩写入给定输出流的输出流，使用该实例的压缩级别<br>
+     * 关闭返回的输出流时将写入 gzip 尾部并关闭给定的输出流
+     *
+     * @param out 输出流
+     * @return 压缩输出流
+     * @throws IOException          当写入 gzip 头失败时
+     * @throws NullPointerException 当给定的输出流为空时
+     */
+    @Override
+    public OutputStream encodingStream(OutputStream out) throws IOException {
+        Objects.requireNonNull(out, "out");
+        return new GZIPOutputStream(out, STREAM_BUF_SIZE) {
+            {
+                def.setLevel(level);
+            }
+        };
+    }
+
+    /**
+     * 返回从给定输入流中读取gzip数据并解压的输入流<br>
+     * 关闭返回的输入流时将关闭给定的输入流
+     *
+     * @param in 输入流
+     * @return 解压输入流
+     * @throws IOException          当读取 gzip 头失败或其不合法时
+     * @throws NullPointerException 当给定的输入流为空时
+     */
+    @Override
+    public InputStream decodingStream(InputStream in) throws IOException {
+        Objects.requireNonNull(in, "in");
+        return new GZIPInputStream(in, STREAM_BUF_SIZE);
+    }
+
+    private Deflater deflater() {
+        Deflater[] cache = DEFLATERS.get();
+        Deflater def = cache[level + 1];
+        if (def == null) {
+            def = new Deflater(level, true);
+            cache[level + 1] = def;
+        }
+        return def;
+    }
+
+    /**
+     * 压缩后的长度上界（同 zlib {@code deflateBound}，加 gzip 头尾）
+     */
+    private static int maxEncodedLength(int len) {
+        long bound = (long) len + (len >> 12) + (len >> 14) + (len >> 25) + 13 + HEADER_LEN + TRAILER_LEN;
+        return (int) Math.min(bound, MAX_ARRAY_SIZE);
+    }
+
+    /**
+     * 以最后一个成员尾部记录的原始长度（ISIZE，模 2^32）作为初始长度，
+     * 该值不可信，遂以 deflate 最大压缩比（约 1032:1）限制
+     */
+    private static int initialDecodedLength(byte[] encoded) {
+        if (encoded.length < HEADER_LEN + TRAILER_LEN) {
+            return 0;
+        }
+        long isize = readIntLE(encoded, encoded.length - 4) & 0xffffffffL;
+        return (int) Math.min(Math.min(isize, encoded.length * 1032L), MAX_ARRAY_SIZE);
+    }
+
+    private static int grow(int len) {
+        if (len >= MAX_ARRAY_SIZE) {
+            throw new OutOfMemoryError("Required array size too large");
+        }
+        return (int) Math.min(Math.max(len * 2L, 64), MAX_ARRAY_SIZE);
+    }
+
+    private static boolean isMemberHeader(byte[] b, int off) {
+        return b.length - off >= HEADER_LEN && b[off] == 0x1f && b[off + 1] == (byte) 0x8b;
+    }
+
+    /**
+     * 校验并跳过 off 处的 gzip 头，返回压缩数据的起始位置
+     */
+    private static int skipHeader(byte[] b, int off) {
+        if (!isMemberHeader(b, off)) {
+            throw new IllegalStateException("unable to gzip decode bytes: not in gzip format");
+        }
+        if (b[off + 2] != Deflater.DEFLATED) {
+            throw new IllegalStateException("unable to gzip decode bytes: unsupported compression method");
+        }
+        int flg = b[off + 3] & 0xff;
+        int p = off + HEADER_LEN;
+        if ((flg & FEXTRA) != 0) {
+            p = checkHeaderIndex(b, p + 2);
+            p = checkHeaderIndex(b, p + ((b[p - 2] & 0xff) | (b[p - 1] & 0xff) << 8));
+        }
+        if ((flg & FNAME) != 0) {
+            p = skipZeroTerminated(b, p);
+        }
+        if ((flg & FCOMMENT) != 0) {
+            p = skipZeroTerminated(b, p);
+        }
+        if ((flg & FHCRC) != 0) {
+            p = checkHeaderIndex(b, p + 2);
+        }
+        return p;
+    }
+
+    private static int skipZeroTerminated(byte[] b, int p) {
+        while (p < b.length && b[p] != 0) {
+            p++;
+        }
+        return checkHeaderIndex(b, p + 1);
+    }
+
+    private static int checkHeaderIndex(byte[] b, int p) {
+        if (p > b.length) {
+            throw new IllegalStateException("unable to gzip decode bytes: truncated header");
+        }
+        return p;
+    }
+
+    private static void writeIntLE(byte[] b, int off, int v) {
+        b[off] = (byte) v;
+        b[off + 1] = (byte) (v >>> 8);
+        b[off + 2] = (byte) (v >>> 16);
+        b[off + 3] = (byte) (v >>> 24);
+    }
+
+    private static int readIntLE(byte[] b, int off) {
+        return (b[off] & 0xff) | (b[off + 1] & 0xff) << 8 | (b[off + 2] & 0xff) << 16 | (b[off + 3] & 0xff) << 24;
+    }
 }
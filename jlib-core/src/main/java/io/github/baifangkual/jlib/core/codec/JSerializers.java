@@ -1,6 +1,12 @@
 package io.github.baifangkual.jlib.core.codec;
 
+import io.github.baifangkual.jlib.core.trait.Closeable;
+
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 
 /**
@@ -8,7 +14,13 @@ import java.util.Objects;
  * java 原生序列化工具类<br>
  * 这是一个简单的工具类，仅来回序列化Java Obj，
  * 而且方法 {@link #ser(Serializable)} 形参引用要求显式的 {@link Serializable} 实现，
- * 该类中方法不考虑各种反序列化的安全性问题，而且序列化的对象不能太大，因为序列化方法返回字节数组
+ * 该类中方法不考虑各种反序列化的安全性问题，而且序列化的对象不能太大，因为序列化方法返回字节数组<br>
+ * <p>序列化时使用线程本地复用的缓冲区，而非每次新建 {@link ByteArrayOutputStream}；
+ * 可通过 {@link #ser(Serializable, OutputStream)}、{@link #ser(Serializable, WritableByteChannel)} 直接写出，
+ * 通过 {@link #deSer(InputStream)} 直接从流中读取，同一个流中可连续写出/读取多个对象<br>
+ * <p>大量对象可通过 {@link #batchWriter(OutputStream)}、{@link #batchReader(InputStream)} 以一个对象流批量写出/读取，
+ * 同一类型的类描述信息仅在每次 {@link ObjectOutputStream#reset()} 后写出一次，
+ * 而非每个对象一次（见 {@link BatchWriter}）
  *
  * @author baifangkual
  * @implNote Java原生序列化（使用ObjectOutputStream）可以处理循环引用。
@@ -37,13 +49,60 @@ public class JSerializers {
      */
     public static byte[] ser(Serializable obj) {
         Objects.requireNonNull(obj);
-        try (ByteArrayOutputStream bout = new ByteArrayOutputStream();
-             ObjectOutputStream out = new ObjectOutputStream(bout)) {
-            out.writeObject(obj);
-            out.flush(); // 写完，虽然在close时会自动调用，toByteArray过程在try内
-            return bout.toByteArray();
+        Scratch scratch = Scratch.acquire();
+        try {
+            scratch.write(obj);
+            return scratch.toByteArray();
+        } finally {
+            scratch.release();
+        }
+    }
+
+    /**
+     * 序列化对象写入给定的输出流，该方法不会关闭或刷新输出流<br>
+     * 写出的字节与 {@link #ser(Serializable)} 的结果相同，同一个流中可连续写入多个对象，
+     * 并以 {@link #deSer(InputStream)} 逐个读取
+     *
+     * @param obj 需序列化的对象（必须实现Serializable接口）
+     * @param os  输出流
+     * @throws SerializeException 如果序列化或写入失败
+     */
+    public static void ser(Serializable obj, OutputStream os) {
+        Objects.requireNonNull(obj);
+        Objects.requireNonNull(os);
+        Scratch scratch = Scratch.acquire();
+        try {
+            scratch.write(obj);
+            scratch.writeTo(os);
+        } catch (IOException e) {
+            throw new SerializeException("Serialization failed: " + e.getMessage(), e);
+        } finally {
+            scratch.release();
+        }
+    }
+
+    /**
+     * 序列化对象写入给定的通道，该方法不会关闭通道<br>
+     * 写出的字节与 {@link #ser(Serializable)} 的结果相同，通道为非阻塞模式时将反复写入直至写完
+     *
+     * @param obj 需序列化的对象（必须实现Serializable接口）
+     * @param ch  通道
+     * @throws SerializeException 如果序列化或写入失败
+     */
+    public static void ser(Serializable obj, WritableByteChannel ch) {
+        Objects.requireNonNull(obj);
+        Objects.requireNonNull(ch);
+        Scratch scratch = Scratch.acquire();
+        try {
+            scratch.write(obj);
+            ByteBuffer buf = ByteBuffer.wrap(scratch.buf(), 0, scratch.size());
+            while (buf.hasRemaining()) {
+                ch.write(buf);
+            }
         } catch (IOException e) {
-            throw new SerializeException("Serialization failed:: " + e.getMessage(), e);
+            throw new SerializeException("Serialization failed: " + e.getMessage(), e);
+        } finally {
+            scratch.release();
         }
     }
 
@@ -73,6 +132,271 @@ public class JSerializers {
         }
     }
 
+    /**
+     * 从给定的输入流读取并反序列化一个对象，该方法仅读取该对象的字节，不会关闭输入流
+     *
+     * @param is 输入流，其中为 {@link #ser(Serializable)} 或 {@link #ser(Serializable, OutputStream)} 写出的字节
+     * @return 反序列化的对象
+     * @throws DeserializeException 如果读取或反序列化失败
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T deSer(InputStream is) {
+        Objects.requireNonNull(is);
+        try {
+            // 不关闭 ObjectInputStream，以免关闭给定的输入流
+            return (T) new ObjectInputStream(is).readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new DeserializeException("Deserialization failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 返回向给定输出流批量写出对象的 {@link BatchWriter}，每 1024 个对象重置一次对象流
+     *
+     * @param os 输出流，关闭 {@link BatchWriter} 时将被关闭
+     * @return BatchWriter
+     * @throws SerializeException 如果写出流头失败
+     * @see #batchWriter(OutputStream, int)
+     */
+    public static BatchWriter batchWriter(OutputStream os) {
+        return batchWriter(os, BatchWriter.DEFAULT_RESET_INTERVAL);
+    }
+
+    /**
+     * 返回向给定输出流批量写出对象的 {@link BatchWriter}
+     *
+     * @param os            输出流，关闭 {@link BatchWriter} 时将被关闭
+     * @param resetInterval 每写出多少个对象重置一次对象流（{@link ObjectOutputStream#reset()}）
+     * @return BatchWriter
+     * @throws IllegalArgumentException 当 resetInterval 小于 1 时
+     * @throws SerializeException       如果写出流头失败
+     */
+    public static BatchWriter batchWriter(OutputStream os, int resetInterval) {
+        Objects.requireNonNull(os);
+        if (resetInterval < 1) {
+            throw new IllegalArgumentException("resetInterval < 1");
+        }
+        try {
+            return new BatchWriter(new ObjectOutputStream(os instanceof BufferedOutputStream
+                    ? os : new BufferedOutputStream(os)), resetInterval);
+        } catch (IOException e) {
+            throw new SerializeException("Serialization failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 返回从给定输入流批量读取 {@link BatchWriter} 写出的对象的 {@link BatchReader}
+     *
+     * @param is 输入流，关闭 {@link BatchReader} 时将被关闭
+     * @return BatchReader
+     * @throws DeserializeException 如果读取流头失败
+     */
+    public static <T> BatchReader<T> batchReader(InputStream is) {
+        Objects.requireNonNull(is);
+        try {
+            return new BatchReader<>(new ObjectInputStream(is instanceof BufferedInputStream
+                    ? is : new BufferedInputStream(is)));
+        } catch (IOException e) {
+            throw new DeserializeException("Deserialization failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * <b>批量写出对象</b><br>
+     * 所有对象写入同一个 {@link ObjectOutputStream}，同一类型的类描述信息仅写出一次，
+     * 对象流会记录所有已写出的对象以处理共享引用，遂每写出 resetInterval 个对象调用一次 {@link ObjectOutputStream#reset()}
+     * 以释放这些引用（重置后类描述信息将再写出一次）；
+     * 重置的另一效果是：重置后再次写出同一个（已被修改的）对象时，写出的是其当前的状态而非共享引用<br>
+     * 关闭时写出结束标记并关闭底层输出流，非线程安全
+     */
+    public static final class BatchWriter implements Closeable {
+        static final int DEFAULT_RESET_INTERVAL = 1024;
+
+        private final ObjectOutputStream out;
+        private final int resetInterval;
+        private int sinceReset;
+        private long count;
+        private boolean closed;
+
+        private BatchWriter(ObjectOutputStream out, int resetInterval) {
+            this.out = out;
+            this.resetInterval = resetInterval;
+        }
+
+        /**
+         * 写出一个对象
+         *
+         * @param obj 需序列化的对象（必须实现Serializable接口）
+         * @return this
+         * @throws SerializeException 如果序列化或写入失败
+         */
+        public BatchWriter write(Serializable obj) {
+            Objects.requireNonNull(obj);
+            if (closed) {
+                throw new SerializeException("Serialization failed: BatchWriter closed", null);
+            }
+            try {
+                out.writeObject(obj);
+                count++;
+                if (++sinceReset == resetInterval) {
+                    out.reset();
+                    sinceReset = 0;
+                }
+            } catch (IOException e) {
+                throw new SerializeException("Serialization failed: " + e.getMessage(), e);
+            }
+            return this;
+        }
+
+        /**
+         * 刷新已写出的对象至底层输出流
+         *
+         * @throws SerializeException 如果刷新失败
+         */
+        public void flush() {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                throw new SerializeException("Serialization failed: " + e.getMessage(), e);
+            }
+        }
+
+        /**
+         * 已写出的对象数
+         */
+        public long count() {
+            return count;
+        }
+
+        @Override
+        public boolean isClosed() {
+            return closed;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try (out) {
+                // 结束标记
+                out.writeObject(null);
+            }
+        }
+    }
+
+    /**
+     * <b>批量读取对象</b><br>
+     * 以迭代器的形式逐个读取 {@link BatchWriter} 写出的对象，读到结束标记时迭代结束，
+     * 关闭时关闭底层输入流，非线程安全
+     *
+     * @param <T> 对象类型
+     */
+    public static final class BatchReader<T> implements Iterator<T>, Closeable {
+        private final ObjectInputStream in;
+        private T next;
+        private boolean end;
+        private boolean closed;
+
+        private BatchReader(ObjectInputStream in) {
+            this.in = in;
+        }
+
+        /**
+         * @throws DeserializeException 如果读取或反序列化失败（包括数据在结束标记前截断）
+         */
+        @SuppressWarnings("unchecked")
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            if (end || closed) {
+                return false;
+            }
+            try {
+                next = (T) in.readObject();
+            } catch (IOException | ClassNotFoundException e) {
+                throw new DeserializeException("Deserialization failed: " + e.getMessage(), e);
+            }
+            end = next == null;
+            return !end;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T v = next;
+            next = null;
+            return v;
+        }
+
+        @Override
+        public boolean isClosed() {
+            return closed;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                in.close();
+            }
+        }
+    }
+
+    /**
+     * 线程本地复用的序列化缓冲区，当其正被使用（如在对象的 writeObject 方法中再次调用 ser）时新建
+     */
+    private static final class Scratch extends ByteArrayOutputStream {
+        private static final ThreadLocal<Scratch> POOL = ThreadLocal.withInitial(Scratch::new);
+        // 复用时保留的缓冲区的最大大小
+        private static final int MAX_RETAINED = 1 << 20;
+
+        private boolean inUse;
+
+        private Scratch() {
+            super(1024);
+        }
+
+        static Scratch acquire() {
+            Scratch s = POOL.get();
+            if (s.inUse) {
+                s = new Scratch();
+            }
+            s.inUse = true;
+            s.reset();
+            return s;
+        }
+
+        void release() {
+            inUse = false;
+            if (buf.length > MAX_RETAINED) {
+                buf = new byte[1024];
+            }
+        }
+
+        /**
+         * 以新的对象流序列化对象写入该缓冲区，结果包含完整的流头
+         */
+        void write(Serializable obj) {
+            try {
+                ObjectOutputStream out = new ObjectOutputStream(this);
+                out.writeObject(obj);
+                out.flush();
+            } catch (IOException e) {
+                throw new SerializeException("Serialization failed: " + e.getMessage(), e);
+            }
+        }
+
+        byte[] buf() {
+            return buf;
+        }
+    }
+
 
     private static class DeserializeException extends IllegalStateException {
         public DeserializeException(String message, Throwable cause) {
@@ -0,0 +1,783 @@
+package io.github.baifangkual.jlib.core.codec;
+
+import io.github.baifangkual.jlib.core.util.Stf;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * <b>LZ4 压缩 编解码器</b><br>
+ * 不可变，线程安全，纯 Java 实现的 LZ4 块格式（block format）快速压缩，无外部依赖，
+ * 以压缩率换取远高于 {@link Gzip} 的压缩/解压速度，适用于缓存数据、传输等 CPU 比带宽更紧张的场景<br>
+ * <p>{@link #encode(byte[])} 的结果为 4 字节小端序的原始长度后接一个 LZ4 块，
+ * {@link #decode(byte[])} 与之对应；
+ * 也可通过 {@link #compress(byte[], int, int, byte[], int)}、{@link #decompress(byte[], int, int, byte[], int, int)}
+ * 直接读写不带长度前缀的 LZ4 块<br>
+ * <p>大数据可通过 {@link #encodingStream(OutputStream)}、{@link #decodingStream(InputStream)}
+ * 以 LZ4 帧格式（frame format）流式编解码，写出的帧为 64KiB 的独立块并带有内容校验和，可被 {@code lz4} 命令行工具读取
+ *
+ * @author baifangkual
+ * @see <a href="https://github.com/lz4/lz4/blob/dev/doc/lz4_Block_format.md">LZ4 Block Format</a>
+ * @see <a href="https://github.com/lz4/lz4/blob/dev/doc/lz4_Frame_format.md">LZ4 Frame Format</a>
+ * @since 2026/10/18 v0.1.2
+ */
+public class Lz4 implements StreamCodec {
+
+    private static final int MIN_MATCH = 4;
+    // 最后 5 个字节总是字面量
+    private static final int LAST_LITERALS = 5;
+    // 最后一个匹配须开始于距末尾至少 12 个字节处
+    private static final int MF_LIMIT = 12;
+    private static final int MAX_DISTANCE = 65535;
+    private static final int ML_MASK = 15;
+    private static final int RUN_MASK = 15;
+    private static final int MAX_HASH_LOG = 12;
+    // 连续未命中时加大步长，每 2^SKIP_TRIGGER 次未命中步长加一
+    private static final int SKIP_TRIGGER = 6;
+    private static final int LENGTH_PREFIX = 4;
+    // 以小端序一次读取 4/8 个字节
+    private static final VarHandle INT_LE = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LONG_LE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * 压缩 len 个字节后的长度上界
+     *
+     * @param len 数据字节数
+     * @return 压缩后长度上界
+     * @throws IllegalArgumentException 当 len 小于 0 或上界超出数组最大长度时
+     */
+    public static int maxCompressedLength(int len) {
+        long bound = (long) len + len / 255 + 16;
+        if (len < 0 || bound > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException(Stf.f("illegal length: {}", len));
+        }
+        return (int) bound;
+    }
+
+    /**
+     * 以 LZ4 压缩数据，结果为 4 字节小端序的原始长度后接一个 LZ4 块
+     *
+     * @param data 数据
+     * @return 压缩后数据
+     */
+    @Override
+    public byte[] encode(byte[] data) {
+        Objects.requireNonNull(data, "data");
+        byte[] out = new byte[LENGTH_PREFIX + maxCompressedLength(data.length)];
+        writeIntLE(out, 0, data.length);
+        int n = compress(data, 0, data.length, out, LENGTH_PREFIX);
+        return Arrays.copyOf(out, LENGTH_PREFIX + n);
+    }
+
+    /**
+     * 解压 {@link #encode(byte[])} 的结果
+     *
+     * @param encoded 压缩后数据
+     * @return 数据
+     * @throws IllegalArgumentException 当数据不合法时
+     */
+    @Override
+    public byte[] decode(byte[] encoded) {
+        Objects.requireNonNull(encoded, "encoded");
+        if (encoded.length < LENGTH_PREFIX + 1) {
+            throw new IllegalArgumentException("malformed lz4 data: too short");
+        }
+        int len = readInt(encoded, 0);
+        // 每个压缩后字节至多展开为约 255 个字节，以此拒绝不可信的长度前缀
+        if (len < 0 || len > (encoded.length - LENGTH_PREFIX) * 255L + 16) {
+            throw new IllegalArgumentException(Stf.f("malformed lz4 data: illegal length {}", len));
+        }
+        byte[] out = new byte[len];
+        decompress(encoded, LENGTH_PREFIX, encoded.length - LENGTH_PREFIX, out, 0, len);
+        return out;
+    }
+
+    /**
+     * 将给定数组 {@code [off, off + len)} 区间的数据压缩为一个 LZ4 块，写入目标数组 dstOff 起<br>
+     * 目标数组的剩余空间应不小于 {@link #maxCompressedLength(int)}
+     *
+     * @param src    数据
+     * @param off    数据起始位置
+     * @param len    数据长度
+     * @param dst    目标数组
+     * @param dstOff 目标数组起始位置
+     * @return 写入的字节数
+     * @throws IndexOutOfBoundsException 当区间超出数据数组范围，或目标数组剩余空间不足时
+     */
+    public int compress(byte[] src, int off, int len, byte[] dst, int dstOff) {
+        Objects.checkFromIndexSize(off, len, src.length);
+        Objects.checkFromIndexSize(dstOff, maxCompressedLength(len), dst.length);
+        final int end = off + len;
+        int d = dstOff;
+        int anchor = off;
+        if (len >= MF_LIMIT + 1) {
+            // 小数据使用小的哈希表，表中存放 位置 - off + 1，0 为空
+            final int hashLog = Math.min(MAX_HASH_LOG, 32 - Integer.numberOfLeadingZeros(len - 1));
+            final int hashShift = 32 - hashLog;
+            final int[] table = new int[1 << hashLog];
+            final int mfLimit = end - MF_LIMIT;
+            final int matchLimit = end - LAST_LITERALS;
+            int ip = off;
+            table[hash(src, ip, hashShift)] = ip - off + 1;
+            ip++;
+            search:
+            while (true) {
+                // 查找匹配
+                int ref;
+                int searchNb = 1 << SKIP_TRIGGER;
+                while (true) {
+                    if (ip > mfLimit) {
+                        break search;
+                    }
+                    int h = hash(src, ip, hashShift);
+                    ref = table[h] - 1 + off;
+                    table[h] = ip - off + 1;
+                    if (ref >= off && ip - ref <= MAX_DISTANCE && readInt(src, ref) == readInt(src, ip)) {
+                        break;
+                    }
+                    ip += searchNb++ >>> SKIP_TRIGGER;
+                }
+                // 向前扩展
+                while (ip > anchor && ref > off && src[ip - 1] == src[ref - 1]) {
+                    ip--;
+                    ref--;
+                }
+                // 向后扩展，每次比较 8 个字节
+                int matchEnd = ip + MIN_MATCH;
+                int r = ref + MIN_MATCH;
+                long diff = 0;
+                while (matchEnd <= matchLimit - 8
+                       && (diff = (long) LONG_LE.get(src, matchEnd) ^ (long) LONG_LE.get(src, r)) == 0) {
+                    matchEnd += 8;
+                    r += 8;
+                }
+                if (diff != 0) {
+                    matchEnd += Long.numberOfTrailingZeros(diff) >>> 3;
+                } else {
+                    while (matchEnd < matchLimit && src[matchEnd] == src[r]) {
+                        matchEnd++;
+                        r++;
+                    }
+                }
+                d = writeSequence(src, anchor, ip - anchor, ip - ref, matchEnd - ip, dst, d);
+                ip = matchEnd;
+                anchor = ip;
+                if (ip > mfLimit) {
+                    break;
+                }
+                table[hash(src, ip - 2, hashShift)] = ip - 2 - off + 1;
+            }
+        }
+        // 最后的字面量
+        d = writeLiterals(src, anchor, end - anchor, dst, d, 0);
+        return d - dstOff;
+    }
+
+    /**
+     * 将给定数组 {@code [off, off + len)} 区间的一个 LZ4 块解压到目标数组 dstOff 起，解压后应恰为 dstLen 个字节
+     *
+     * @param src    LZ4 块
+     * @param off    LZ4 块起始位置
+     * @param len    LZ4 块长度
+     * @param dst    目标数组
+     * @param dstOff 目标数组起始位置
+     * @param dstLen 解压后的字节数
+     * @return 写入的字节数（即 dstLen）
+     * @throws IllegalArgumentException  当 LZ4 块不合法或解压后的字节数不为 dstLen 时
+     * @throws IndexOutOfBoundsException 当区间超出数组范围时
+     */
+    public int decompress(byte[] src, int off, int len, byte[] dst, int dstOff, int dstLen) {
+        Objects.checkFromIndexSize(off, len, src.length);
+        Objects.checkFromIndexSize(dstOff, dstLen, dst.length);
+        int n = decompress0(src, off, len, dst, dstOff, dstLen);
+        if (n != dstLen) {
+            throw new IllegalArgumentException(Stf.f("malformed lz4 block: decompressed {} bytes, expected {}",
+                    n, dstLen));
+        }
+        return n;
+    }
+
+    /**
+     * 解压 LZ4 块到 dst 的 dstOff 起，解压后的字节数不超过 dstCap，返回解压后的字节数
+     */
+    private static int decompress0(byte[] src, int off, int len, byte[] dst, int dstOff, int dstCap) {
+        final int send = off + len;
+        final int dend = dstOff + dstCap;
+        int s = off;
+        int d = dstOff;
+        while (true) {
+            if (s >= send) {
+                throw new IllegalArgumentException("malformed lz4 block: unexpected end of block");
+            }
+            int token = src[s++] & 0xff;
+            // 字面量
+            int litLen = token >>> 4;
+            if (litLen == RUN_MASK) {
+                int b;
+                do {
+                    if (s >= send) {
+                        throw new IllegalArgumentException("malformed lz4 block: unexpected end of block");
+                    }
+                    b = src[s++] & 0xff;
+                    litLen += b;
+                } while (b == 255 && litLen < len);
+            }
+            if (litLen > send - s || litLen > dend - d) {
+                throw new IllegalArgumentException("malformed lz4 block: literals out of range");
+            }
+            System.arraycopy(src, s, dst, d, litLen);
+            s += litLen;
+            d += litLen;
+            if (s == send) {
+                break;
+            }
+            // 匹配
+            if (send - s < 2) {
+                throw new IllegalArgumentException("malformed lz4 block: unexpected end of block");
+            }
+            int offset = (src[s] & 0xff) | (src[s + 1] & 0xff) << 8;
+            s += 2;
+            if (offset == 0 || offset > d - dstOff) {
+                throw new IllegalArgumentException(Stf.f("malformed lz4 block: illegal offset {}", offset));
+            }
+            int matchLen = token & ML_MASK;
+            if (matchLen == ML_MASK) {
+                int b;
+                do {
+                    if (s >= send) {
+                        throw new IllegalArgumentException("malformed lz4 block: unexpected end of block");
+                    }
+                    b = src[s++] & 0xff;
+                    matchLen += b;
+                } while (b == 255 && matchLen <= dstCap);
+            }
+            matchLen += MIN_MATCH;
+            if (matchLen > dend - d) {
+                throw new IllegalArgumentException("malformed lz4 block: match out of range");
+            }
+            // 重叠时以已复制的部分为源倍增复制
+            int ref = d - offset;
+            while (matchLen > 0) {
+                int n = Math.min(matchLen, d - ref);
+                System.arraycopy(dst, ref, dst, d, n);
+                d += n;
+                matchLen -= n;
+            }
+        }
+        return d - dstOff;
+    }
+
+    /**
+     * 返回以 LZ4 帧格式压缩写入给定输出流的输出流<br>
+     * 数据按 64KiB 分块，{@link OutputStream#flush()} 时不足一块的数据也将作为一个块写出，
+     * 关闭返回的输出流时将写入结束标记及内容校验和并关闭给定的输出流
+     *
+     * @param out 输出流
+     * @return 压缩输出流
+     * @throws NullPointerException 当给定的输出流为空时
+     */
+    @Override
+    public OutputStream encodingStream(OutputStream out) {
+        Objects.requireNonNull(out, "out");
+        return new FrameOutputStream(out);
+    }
+
+    /**
+     * 返回从给定输入流中读取 LZ4 帧并解压的输入流<br>
+     * 支持首尾相连的多个帧及可跳过帧（skippable frame），支持块校验和、内容校验和及内容长度字段，
+     * 不支持依赖前一块的链接块（linked blocks）及字典<br>
+     * 关闭返回的输入流时将关闭给定的输入流
+     *
+     * @param in 输入流
+     * @return 解压输入流
+     * @throws NullPointerException 当给定的输入流为空时
+     */
+    @Override
+    public InputStream decodingStream(InputStream in) {
+        Objects.requireNonNull(in, "in");
+        return new FrameInputStream(in);
+    }
+
+    private static int hash(byte[] b, int i, int shift) {
+        return (readInt(b, i) * -1640531535) >>> shift;
+    }
+
+    private static int readInt(byte[] b, int i) {
+        return (int) INT_LE.get(b, i);
+    }
+
+    private static void writeIntLE(byte[] b, int i, int v) {
+        b[i] = (byte) v;
+        b[i + 1] = (byte) (v >>> 8);
+        b[i + 2] = (byte) (v >>> 16);
+        b[i + 3] = (byte) (v >>> 24);
+    }
+
+    /**
+     * 写一个完整的序列：token、字面量、偏移量及匹配长度
+     */
+    private static int writeSequence(byte[] src, int litOff, int litLen, int offset, int matchLen,
+                                     byte[] dst, int d) {
+        int ml = matchLen - MIN_MATCH;
+        d = writeLiterals(src, litOff, litLen, dst, d, Math.min(ml, ML_MASK));
+        dst[d++] = (byte) offset;
+        dst[d++] = (byte) (offset >>> 8);
+        if (ml >= ML_MASK) {
+            d = writeLength(ml - ML_MASK, dst, d);
+        }
+        return d;
+    }
+
+    /**
+     * 写 token（低 4 位为 matchNibble）及字面量
+     */
+    private static int writeLiterals(byte[] src, int litOff, int litLen, byte[] dst, int d, int matchNibble) {
+        if (litLen >= RUN_MASK) {
+            dst[d++] = (byte) (RUN_MASK << 4 | matchNibble);
+            d = writeLength(litLen - RUN_MASK, dst, d);
+        } else {
+            dst[d++] = (byte) (litLen << 4 | matchNibble);
+        }
+        System.arraycopy(src, litOff, dst, d, litLen);
+        return d + litLen;
+    }
+
+    private static int writeLength(int len, byte[] dst, int d) {
+        while (len >= 255) {
+            dst[d++] = (byte) 255;
+            len -= 255;
+        }
+        dst[d++] = (byte) len;
+        return d;
+    }
+
+    // -------------------------------- 帧格式 --------------------------------
+
+    private static final int FRAME_MAGIC = 0x184D2204;
+    private static final int SKIPPABLE_MAGIC_MASK = 0xFFFFFFF0;
+    private static final int SKIPPABLE_MAGIC = 0x184D2A50;
+    private static final int FLG_VERSION = 0x40;
+    private static final int FLG_BLOCK_INDEPENDENCE = 0x20;
+    private static final int FLG_BLOCK_CHECKSUM = 0x10;
+    private static final int FLG_CONTENT_SIZE = 0x08;
+    private static final int FLG_CONTENT_CHECKSUM = 0x04;
+    private static final int FLG_DICT_ID = 0x01;
+    // 块大小字段最高位为 1 时表示该块未压缩
+    private static final int UNCOMPRESSED_BIT = 0x80000000;
+    // 写出帧时使用的块大小 64KiB，BD 字段值 4
+    private static final int FRAME_BLOCK_SIZE = 64 * 1024;
+    private static final int FRAME_BD = 4 << 4;
+
+    /**
+     * 帧格式压缩输出流
+     */
+    private final class FrameOutputStream extends OutputStream {
+        private final OutputStream out;
+        private final byte[] buf = new byte[FRAME_BLOCK_SIZE];
+        private final byte[] compressed = new byte[4 + maxCompressedLength(FRAME_BLOCK_SIZE)];
+        private final Xxh32 contentHash = new Xxh32(0);
+        private int pos;
+        private boolean headerWritten;
+        private boolean closed;
+
+        FrameOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            ensureOpen();
+            buf[pos++] = (byte) b;
+            if (pos == buf.length) {
+                writeBlock();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            Objects.checkFromIndexSize(off, len, b.length);
+            ensureOpen();
+            while (len > 0) {
+                int n = Math.min(len, buf.length - pos);
+                System.arraycopy(b, off, buf, pos, n);
+                pos += n;
+                off += n;
+                len -= n;
+                if (pos == buf.length) {
+                    writeBlock();
+                }
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            ensureOpen();
+            if (pos > 0) {
+                writeBlock();
+            }
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try (out) {
+                if (pos > 0) {
+                    writeBlock();
+                }
+                writeHeaderIfNeeded();
+                byte[] tail = new byte[8];
+                writeIntLE(tail, 0, 0);
+                writeIntLE(tail, 4, contentHash.digest());
+                out.write(tail);
+            }
+        }
+
+        private void ensureOpen() throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+        }
+
+        private void writeHeaderIfNeeded() throws IOException {
+            if (headerWritten) {
+                return;
+            }
+            headerWritten = true;
+            byte[] header = new byte[7];
+            writeIntLE(header, 0, FRAME_MAGIC);
+            header[4] = (byte) (FLG_VERSION | FLG_BLOCK_INDEPENDENCE | FLG_CONTENT_CHECKSUM);
+            header[5] = (byte) FRAME_BD;
+            header[6] = (byte) (Xxh32.hash(header, 4, 2, 0) >>> 8);
+            out.write(header);
+        }
+
+        private void writeBlock() throws IOException {
+            writeHeaderIfNeeded();
+            contentHash.update(buf, 0, pos);
+            int n = compress(buf, 0, pos, compressed, 4);
+            if (n < pos) {
+                writeIntLE(compressed, 0, n);
+                out.write(compressed, 0, 4 + n);
+            } else {
+                // 不可压缩的块原样写出
+                writeIntLE(compressed, 0, pos | UNCOMPRESSED_BIT);
+                out.write(compressed, 0, 4);
+                out.write(buf, 0, pos);
+            }
+            pos = 0;
+        }
+    }
+
+    /**
+     * 帧格式解压输入流
+     */
+    private final class FrameInputStream extends InputStream {
+        private final InputStream in;
+        private final byte[] word = new byte[8];
+        private byte[] block = new byte[0];
+        private byte[] decoded = new byte[0];
+        private int pos;
+        private int limit;
+        // 当前帧的状态，frameFlg 为 -1 时表示不在帧中
+        private int frameFlg = -1;
+        private Xxh32 contentHash;
+        private boolean eof;
+        private boolean closed;
+
+        FrameInputStream(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return read(word, 0, 1) == -1 ? -1 : word[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            Objects.checkFromIndexSize(off, len, b.length);
+            ensureOpen();
+            if (len == 0) {
+                return 0;
+            }
+            while (pos == limit) {
+                if (eof || !nextBlock()) {
+                    eof = true;
+                    return -1;
+                }
+            }
+            int n = Math.min(len, limit - pos);
+            System.arraycopy(decoded, pos, b, off, n);
+            pos += n;
+            return n;
+        }
+
+        @Override
+        public int available() throws IOException {
+            ensureOpen();
+            return limit - pos;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            in.close();
+        }
+
+        private void ensureOpen() throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+        }
+
+        /**
+         * 读取下一个块，返回 false 表示数据结束
+         */
+        private boolean nextBlock() throws IOException {
+            if (frameFlg == -1 && !readFrameHeader()) {
+                return false;
+            }
+            readFully(word, 0, 4);
+            int size = readInt(word, 0);
+            if (size == 0) {
+                // 结束标记
+                if ((frameFlg & FLG_CONTENT_CHECKSUM) != 0) {
+                    readFully(word, 0, 4);
+                    if (readInt(word, 0) != contentHash.digest()) {
+                        throw new IOException("malformed lz4 frame: content checksum mismatch");
+                    }
+                }
+                frameFlg = -1;
+                limit = pos = 0;
+                return true;
+            }
+            boolean uncompressed = (size & UNCOMPRESSED_BIT) != 0;
+            size &= ~UNCOMPRESSED_BIT;
+            if (size > decoded.length) {
+                throw new IOException(Stf.f("malformed lz4 frame: block size {} exceeds maximum", size));
+            }
+            if (block.length < size) {
+                block = new byte[decoded.length];
+            }
+            readFully(block, 0, size);
+            if ((frameFlg & FLG_BLOCK_CHECKSUM) != 0) {
+                readFully(word, 0, 4);
+                if (readInt(word, 0) != Xxh32.hash(block, 0, size, 0)) {
+                    throw new IOException("malformed lz4 frame: block checksum mismatch");
+                }
+            }
+            if (uncompressed) {
+                System.arraycopy(block, 0, decoded, 0, size);
+                limit = size;
+            } else {
+                limit = decompressBlock(size);
+            }
+            pos = 0;
+            if (contentHash != null) {
+                contentHash.update(decoded, 0, limit);
+            }
+            return true;
+        }
+
+        /**
+         * 块中不记录解压后的长度，以块的最大大小为上限解压，返回实际的字节数
+         */
+        private int decompressBlock(int size) throws IOException {
+            try {
+                return decompress0(block, 0, size, decoded, 0, decoded.length);
+            } catch (IllegalArgumentException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        }
+
+        /**
+         * 读取帧头（跳过可跳过帧），返回 false 表示数据结束
+         */
+        private boolean readFrameHeader() throws IOException {
+            while (true) {
+                int first = in.read();
+                if (first == -1) {
+                    return false;
+                }
+                word[0] = (byte) first;
+                readFully(word, 1, 3);
+                int magic = readInt(word, 0);
+                if ((magic & SKIPPABLE_MAGIC_MASK) == SKIPPABLE_MAGIC) {
+                    readFully(word, 0, 4);
+                    long skip = readInt(word, 0) & 0xffffffffL;
+                    while (skip > 0) {
+                        long n = in.skip(skip);
+                        if (n <= 0) {
+                            if (in.read() == -1) {
+                                throw new EOFException("malformed lz4 frame: unexpected end of stream");
+                            }
+                            n = 1;
+                        }
+                        skip -= n;
+                    }
+                    continue;
+                }
+                if (magic != FRAME_MAGIC) {
+                    throw new IOException("malformed lz4 frame: illegal magic number");
+                }
+                readFully(word, 0, 2);
+                int flg = word[0] & 0xff;
+                int bd = word[1] & 0xff;
+                if ((flg & 0xC0) != FLG_VERSION) {
+                    throw new IOException("unsupported lz4 frame: version");
+                }
+                if ((flg & FLG_BLOCK_INDEPENDENCE) == 0 || (flg & FLG_DICT_ID) != 0) {
+                    throw new IOException("unsupported lz4 frame: linked blocks or dictionary");
+                }
+                int blockMaxId = bd >>> 4 & 0x7;
+                if (blockMaxId < 4) {
+                    throw new IOException("malformed lz4 frame: illegal block maximum size");
+                }
+                byte[] descriptor = new byte[10];
+                descriptor[0] = word[0];
+                descriptor[1] = word[1];
+                int descLen = 2;
+                if ((flg & FLG_CONTENT_SIZE) != 0) {
+                    readFully(descriptor, 2, 8);
+                    descLen = 10;
+                }
+                int hc = in.read();
+                if (hc == -1) {
+                    throw new EOFException("malformed lz4 frame: unexpected end of stream");
+                }
+                if (hc != (Xxh32.hash(descriptor, 0, descLen, 0) >>> 8 & 0xff)) {
+                    throw new IOException("malformed lz4 frame: header checksum mismatch");
+                }
+                int blockMax = 1 << (8 + 2 * blockMaxId);
+                if (decoded.length != blockMax) {
+                    decoded = new byte[blockMax];
+                    block = new byte[0];
+                }
+                contentHash = (flg & FLG_CONTENT_CHECKSUM) != 0 ? new Xxh32(0) : null;
+                frameFlg = flg;
+                return true;
+            }
+        }
+
+        private void readFully(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                int n = in.read(b, off, len);
+                if (n == -1) {
+                    throw new EOFException("malformed lz4 frame: unexpected end of stream");
+                }
+                off += n;
+                len -= n;
+            }
+        }
+    }
+
+    /**
+     * xxHash32，LZ4 帧格式的校验和算法
+     */
+    static final class Xxh32 {
+        private static final int P1 = 0x9E3779B1;
+        private static final int P2 = 0x85EBCA77;
+        private static final int P3 = 0xC2B2AE3D;
+        private static final int P4 = 0x27D4EB2F;
+        private static final int P5 = 0x165667B1;
+
+        private final int seed;
+        private final byte[] mem = new byte[16];
+        private int memSize;
+        private long total;
+        private int v1;
+        private int v2;
+        private int v3;
+        private int v4;
+
+        Xxh32(int seed) {
+            this.seed = seed;
+            this.v1 = seed + P1 + P2;
+            this.v2 = seed + P2;
+            this.v3 = seed;
+            this.v4 = seed - P1;
+        }
+
+        static int hash(byte[] b, int off, int len, int seed) {
+            Xxh32 x = new Xxh32(seed);
+            x.update(b, off, len);
+            return x.digest();
+        }
+
+        void update(byte[] b, int off, int len) {
+            total += len;
+            if (memSize + len < 16) {
+                System.arraycopy(b, off, mem, memSize, len);
+                memSize += len;
+                return;
+            }
+            if (memSize > 0) {
+                int n = 16 - memSize;
+                System.arraycopy(b, off, mem, memSize, n);
+                stripe(mem, 0);
+                off += n;
+                len -= n;
+                memSize = 0;
+            }
+            while (len >= 16) {
+                stripe(b, off);
+                off += 16;
+                len -= 16;
+            }
+            System.arraycopy(b, off, mem, 0, len);
+            memSize = len;
+        }
+
+        int digest() {
+            int h = total >= 16
+                    ? Integer.rotateLeft(v1, 1) + Integer.rotateLeft(v2, 7)
+                      + Integer.rotateLeft(v3, 12) + Integer.rotateLeft(v4, 18)
+                    : seed + P5;
+            h += (int) total;
+            int p = 0;
+            while (p + 4 <= memSize) {
+                h += readInt(mem, p) * P3;
+                h = Integer.rotateLeft(h, 17) * P4;
+                p += 4;
+            }
+            while (p < memSize) {
+                h += (mem[p] & 0xff) * P5;
+                h = Integer.rotateLeft(h, 11) * P1;
+                p++;
+            }
+            h ^= h >>> 15;
+            h *= P2;
+            h ^= h >>> 13;
+            h *= P3;
+            h ^= h >>> 16;
+            return h;
+        }
+
+        private void stripe(byte[] b, int off) {
+            v1 = round(v1, readInt(b, off));
+            v2 = round(v2, readInt(b, off + 4));
+            v3 = round(v3, readInt(b, off + 8));
+            v4 = round(v4, readInt(b, off + 12));
+        }
+
+        private static int round(int acc, int input) {
+            acc += input * P2;
+            acc = Integer.rotateLeft(acc, 13);
+            return acc * P1;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package io.github.baifangkual.jlib.core.codec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * <b>流式编解码器</b><br>
+ * 除整体编解码外，还可将编解码过程包装为流，以固定大小的缓冲区处理任意大小的数据，
+ * 多个流式编解码器可通过 {@link Codec#pipeline(StreamCodec...)} 首尾相连，数据逐段流经各个阶段，
+ * 不产生各阶段完整大小的中间数组<br>
+ * 所有实现都应保证经流编码的数据可被 {@link #decode(Object)} 解码，反之亦然
+ *
+ * @author baifangkual
+ * @since 2026/10/18 v0.1.2
+ */
+public interface StreamCodec extends Codec<byte[], byte[]> {
+
+    /**
+     * 返回一个编码输出流，写入该流的数据编码后写入给定的输出流<br>
+     * 关闭该流时将写出剩余的编码数据（如填充、尾部等）并关闭给定的输出流
+     *
+     * @param out 输出流
+     * @return 编码输出流
+     * @throws IOException 当写入编码头等失败时
+     */
+    OutputStream encodingStream(OutputStream out) throws IOException;
+
+    /**
+     * 返回一个解码输入流，从该流读取的数据为从给定输入流读取的编码数据解码后的数据<br>
+     * 关闭该流时将关闭给定的输入流
+     *
+     * @param in 输入流
+     * @return 解码输入流
+     * @throws IOException 当读取编码头等失败或其不合法时
+     */
+    InputStream decodingStream(InputStream in) throws IOException;
+
+}
@@ -0,0 +1,72 @@
+package io.github.baifangkual.jlib.core.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Objects;
+
+/**
+ * 首尾相连的流式编解码器，见 {@link Codec#pipeline(StreamCodec...)}
+ *
+ * @author baifangkual
+ * @since 2026/10/18 v0.1.2
+ */
+final class StreamPipeline implements StreamCodec {
+
+    // 编码时数据依次流经的阶段
+    private final StreamCodec[] stages;
+
+    StreamPipeline(StreamCodec[] stages) {
+        this.stages = stages;
+    }
+
+    /**
+     * 第一个阶段最外层：写入的数据先经第一个阶段编码，再交由后一个阶段，最后一个阶段写入给定的输出流
+     */
+    @Override
+    public OutputStream encodingStream(OutputStream out) throws IOException {
+        Objects.requireNonNull(out, "out");
+        OutputStream s = out;
+        for (int i = stages.length - 1; i >= 0; i--) {
+            s = stages[i].encodingStream(s);
+        }
+        return s;
+    }
+
+    /**
+     * 最后一个阶段最内层：最先解码从给定输入流读取的数据，第一个阶段的解码结果即为读取的数据
+     */
+    @Override
+    public InputStream decodingStream(InputStream in) throws IOException {
+        Objects.requireNonNull(in, "in");
+        InputStream s = in;
+        for (int i = stages.length - 1; i >= 0; i--) {
+            s = stages[i].decodingStream(s);
+        }
+        return s;
+    }
+
+    @Override
+    public byte[] encode(byte[] data) {
+        Objects.requireNonNull(data, "data");
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (OutputStream out = encodingStream(bos)) {
+            out.write(data);
+        } catch (IOException e) {
+            throw new IllegalStateException("unable to pipeline encode bytes", e);
+        }
+        return bos.toByteArray();
+    }
+
+    @Override
+    public byte[] decode(byte[] encoded) {
+        Objects.requireNonNull(encoded, "encoded");
+        try (InputStream in = decodingStream(new ByteArrayInputStream(encoded))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new IllegalStateException("unable to pipeline decode bytes", e);
+        }
+    }
+}
@@ -8,7 +8,11 @@ import io.github.baifangkual.jlib.core.util.Stf;
 
 import java.io.Serial;
 import java.io.Serializable;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 /**
@@ -21,6 +25,8 @@ import java.util.function.Supplier;
  * <p>通过{@link #tryGet(Option)}或{@link #get(Option)}获取配置值时，将不会使用配置项的默认值({@link Option#defaultValue()})，
  * 而通过{@link #tryGetOrDefault(Option)}或{@link #getOrDefault(Option)}获取配置值时，若配置类中没有该配置项，则将使用配置项的默认值<br>
  * 该配置类实体状态可变，线程不安全，若需要将该对象用以线程共享变量，则应当使用 {@link #toReadonly()} 方法共享不可变只读Cfg对象<br>
+ * 对于频繁读取配置值的场景，可使用 {@link #freeze()} 方法获取冻结的Cfg对象，其以配置键的整数标识为下标将配置值存于数组中，
+ * 读取配置值时仅需数组访问，而无需计算配置键的哈希值<br>
  * 该配置类参考seatunnel.Config、ReadOnlyConfig和flink.Config创建<br>
  * 该配置类实体对象设定为运行时对象，非传输对象，遂对Jackson等JSON序列化和反序列化支持并不友好，如果一定要通过JSON序列化和反序列化该类型，
  * 可选择向Jackson实现{@code com.fasterxml.jackson.databind.JsonSerializer}和{@code com.fasterxml.jackson.databind.JsonDeserializer},
@@ -70,6 +76,28 @@ public class Cfg implements Iter<Tup2<String, Object>>, Serializable {
      * 存储配置项的实际结构
      */
     private final Map<String, Object> map;
+    /**
+     * 冻结的Cfg中以配置键的整数标识（{@link #keyId(String)}）为下标的配置值，非冻结的Cfg中为null<br>
+     * 配置键的整数标识仅在当前JVM中有效，遂该不参与序列化，反序列化时重新构建
+     */
+    private final transient Object[] slots;
+    /**
+     * 冻结的Cfg中是否有未分配整数标识（即未被任何 {@link Option} 使用）而未放入 {@link #slots} 的配置键，
+     * 为true时，在 {@link #slots} 中找不到的配置值还需在 {@link #map} 中查找
+     */
+    private final transient boolean unslotted;
+    /**
+     * 是否为冻结的Cfg
+     */
+    private final boolean frozen;
+
+    /**
+     * 配置键与其整数标识的映射，整数标识自0开始连续分配，一个配置键的标识一经分配即不再变化<br>
+     * 仅在构建 {@link Option} 时为其配置键分配整数标识，遂该映射的大小受限于程序中定义的配置项数量，
+     * 不会因放入Cfg的任意配置键（如从外部文件加载的未知配置键）而无限增长
+     */
+    private static final Map<String, Integer> KEY_IDS = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_KEY_ID = new AtomicInteger();
 
     /**
      * 私有构造，给定一个map的提供者函数，使用该提供者获取存储配置项的map结构
@@ -80,6 +108,62 @@ public class Cfg implements Iter<Tup2<String, Object>>, Serializable {
         map = Optional.ofNullable(cfgMapSup)
                 .map(Supplier::get)
                 .orElseThrow(() -> new NullPointerException("cfgMapSup is null or map is null"));
+        slots = null;
+        unslotted = false;
+        frozen = false;
+    }
+
+    /**
+     * 私有构造，冻结的Cfg，给定的map应不可变
+     *
+     * @param frozenMap 不可变的map
+     */
+    private Cfg(Map<String, Object> frozenMap) {
+        map = frozenMap;
+        int maxId = -1;
+        boolean hasUnslotted = false;
+        int[] ids = new int[frozenMap.size()];
+        int i = 0;
+        for (String key : frozenMap.keySet()) {
+            // 不为配置键分配整数标识，未分配的（之后才分配的）配置键的配置值仅在map中查找
+            Integer id = KEY_IDS.get(key);
+            ids[i++] = id != null ? id : -1;
+            if (id != null) {
+                maxId = Math.max(maxId, id);
+            } else {
+                hasUnslotted = true;
+            }
+        }
+        Object[] s = new Object[maxId + 1];
+        i = 0;
+        for (Object value : frozenMap.values()) {
+            int id = ids[i++];
+            if (id >= 0) {
+                s[id] = value;
+            }
+        }
+        slots = s;
+        unslotted = hasUnslotted;
+        frozen = true;
+    }
+
+    /**
+     * 返回配置键的整数标识，未分配时为其分配，仅应在构建 {@link Option} 时调用
+     *
+     * @param key 配置键
+     * @return 配置键的整数标识
+     */
+    static int keyId(String key) {
+        Integer id = KEY_IDS.get(key);
+        return id != null ? id : KEY_IDS.computeIfAbsent(key, k -> NEXT_KEY_ID.getAndIncrement());
+    }
+
+    /**
+     * 冻结的Cfg在反序列化后重新构建配置值数组
+     */
+    @Serial
+    private Object readResolve() {
+        return frozen && slots == null ? new Cfg(map) : this;
     }
 
     /**
@@ -150,7 +234,30 @@ public class Cfg implements Iter<Tup2<String, Object>>, Serializable {
      * @return immutable readonly Cfg
      */
     public Cfg toReadonly() {
-        return new Cfg(this::toReadonlyMap);
+        return frozen ? this : new Cfg(this::toReadonlyMap);
+    }
+
+    /**
+     * 以当前配置类中的配置项为基础，返回一个冻结的Cfg对象<br>
+     * 冻结的Cfg不可修改，线程安全，其以配置键的整数标识为下标将配置值存于数组中，
+     * 读取配置值时按{@link Option}构建时已确定的配置键及其{@link Option#fallbackOf}的整数标识依次访问数组，
+     * 无需计算配置键的哈希值，适用于频繁读取配置值的场景<br>
+     * 与{@link #toReadonly()}不同，该方法复制当前配置类中的配置项，之后对当前配置类的修改不会影响返回的Cfg
+     *
+     * @return frozen immutable Cfg
+     * @see #isFrozen()
+     */
+    public Cfg freeze() {
+        return frozen ? this : new Cfg(Collections.unmodifiableMap(new HashMap<>(map)));
+    }
+
+    /**
+     * 返回当前配置类是否为{@link #freeze()}返回的冻结的Cfg
+     *
+     * @return true 表示该配置类为冻结的Cfg
+     */
+    public boolean isFrozen() {
+        return frozen;
     }
 
     /**
@@ -315,8 +422,12 @@ public class Cfg implements Iter<Tup2<String, Object>>, Serializable {
      * @see #tryGetOrDefault(Option)
      */
     public <T> T get(Cfg.Option<T> option) throws OptionValueNotFoundException {
-        return tryGet(option)
-                .orElseThrow(() -> new OptionValueNotFoundException(option));
+        Objects.requireNonNull(option, "Cfg.Option is null");
+        T nullableValue = lookup(option);
+        if (nullableValue == null) {
+            throw new OptionValueNotFoundException(option);
+        }
+        return nullableValue;
     }
 
     /**
@@ -334,8 +445,36 @@ public class Cfg implements Iter<Tup2<String, Object>>, Serializable {
      */
     public <T> Optional<T> tryGet(Cfg.Option<T> option) {
         Objects.requireNonNull(option, "Cfg.Option is null");
-        String key = option.key();
-        T nullableValue = preciseGetByKey(key);
+        return Optional.ofNullable(lookup(option));
+    }
+
+    /**
+     * 以配置键及其{@link Option#fallbackOf}顺序找配置值，找不到时返回null
+     *
+     * @param option 配置键
+     * @param <T>    配置值类型
+     * @return nullable 配置值
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T lookup(Cfg.Option<T> option) {
+        final Object[] s = slots;
+        if (s != null) {
+            // 冻结的Cfg，配置键及fallbackOf的整数标识已在Option构建时确定
+            final int[] ids = option.lookupIds;
+            for (int i = 0; i < ids.length; i++) {
+                int id = ids[i];
+                Object v = id < s.length ? s[id] : null;
+                if (v == null && unslotted) {
+                    // 配置键在冻结时未分配整数标识，其配置值仅在map中
+                    v = map.get(i == 0 ? option.key() : option.fallbackOf.get(i - 1).key());
+                }
+                if (v != null) {
+                    return (T) v;
+                }
+            }
+            return null;
+        }
+        T nullableValue = preciseGetByKey(option.key());
         if (nullableValue == null) {
             List<Option<T>> fallbackOf = option.fallbackOf;
             if (fallbackOf != null && !fallbackOf.isEmpty()) {
@@ -348,7 +487,7 @@ public class Cfg implements Iter<Tup2<String, Object>>, Serializable {
                 }
             }
         }
-        return Optional.ofNullable(nullableValue);
+        return nullableValue;
     }
 
     /**
@@ -367,8 +506,15 @@ public class Cfg implements Iter<Tup2<String, Object>>, Serializable {
      * @see #tryGetOrDefault(Option)
      */
     public <T> T getOrDefault(Cfg.Option<T> option) throws OptionValueNotFoundException {
-        return tryGetOrDefault(option)
-                .orElseThrow(() -> new OptionValueNotFoundException(option));
+        Objects.requireNonNull(option, "Cfg.Option is null");
+        T nullableValue = lookup(option);
+        if (nullableValue == null) {
+            nullableValue = option.resolvedDefaultValue;
+            if (nullableValue == null) {
+                throw new OptionValueNotFoundException(option);
+            }
+        }
+        return nullableValue;
     }
 
     /**
@@ -406,25 +552,12 @@ public class Cfg implements Iter<Tup2<String, Object>>, Serializable {
         20250509:
         该方法在整理时语义已重新规划，现能与get()方法以及unsafeGet()方法语义对齐
          */
-        T nullableValue = tryGet(option).orElse(null);
+        Objects.requireNonNull(option, "Cfg.Option is null");
+        T nullableValue = lookup(option);
         if (nullableValue == null) {
-            // get 并且也使用了failBack 还是为null，则开始寻找并使用默认值
-            nullableValue = option.defaultValue;
-            if (nullableValue == null) {
-                // 给定的默认值仍为null，则开始寻找使用failBack的默认值
-                List<Option<T>> fallbackOf = option.fallbackOf;
-                if (fallbackOf != null && !fallbackOf.isEmpty()) {
-                    for (Option<T> fbOption : fallbackOf) {
-                        T fbDefaultValue = fbOption.defaultValue;
-                        if (fbDefaultValue != null) {
-                            // fb的默认值也按照list顺序寻找，若找到，则直接返回顺序第一个非空的，
-                            // 否则，循环到最后仍没有找到，则返回null
-                            nullableValue = fbDefaultValue;
-                            break;
-                        }
-                    }
-                }
-            }
+            // get 并且也使用了failBack 还是为null，则使用默认值
+            // 默认值已在Option构建时按 defaultValue -> failBack的默认值 的顺序确定（见 Option.resolvedDefaultValue）
+            nullableValue = option.resolvedDefaultValue;
         }
         return Optional.ofNullable(nullableValue);
     }
@@ -552,6 +685,25 @@ public class Cfg implements Iter<Tup2<String, Object>>, Serializable {
          * （可选）当找不到该配置项时，将使用的“回滚”配置项
          */
         private final List<Option<T>> fallbackOf;
+        /**
+         * 配置键及各“回滚”配置项的配置键的整数标识（{@link Cfg#keyId(String)}），按查找顺序，
+         * 仅在当前JVM中有效，遂不参与序列化，反序列化时重新构建
+         */
+        private final transient int[] lookupIds;
+        /**
+         * 按 {@link #defaultValue} -> 各“回滚”配置项的默认值 的顺序找到的第一个非空的默认值，可能为null
+         */
+        private final transient T resolvedDefaultValue;
+        /**
+         * （可选）配置值的类型，由 {@link KeyBindBuilder} 的类型绑定方法给定或由默认值推断，
+         * 用于从字符串转换配置值（见 {@link CfgLoader}），参数化类型不可序列化，遂不参与序列化，
+         * 反序列化时由 {@link #valueClass} 及默认值重新构建
+         */
+        private final transient Type valueType;
+        /**
+         * 配置值的类型为 {@link Class} 时同 {@link #valueType}，否则为null，参与序列化
+         */
+        private final Class<?> valueClass;
 
         /**
          * 配置项的“配置键”
@@ -598,6 +750,16 @@ public class Cfg implements Iter<Tup2<String, Object>>, Serializable {
             return fallbackOf;
         }
 
+        /**
+         * 配置值的类型，可能为空（通过 {@link KeyBindBuilder#type()} 绑定类型且无法由默认值推断的情况下）<br>
+         * 为 {@link Class} 或携带泛型参数的类型（{@link KeyBindBuilder#typeRef(TypeRef)}）
+         *
+         * @return 配置值的类型
+         */
+        public Optional<Type> valueType() {
+            return Optional.ofNullable(valueType);
+        }
+
         @Override
         public boolean equals(Object o) {
             if (!(o instanceof Option<?> option)) return false;
@@ -633,10 +795,11 @@ public class Cfg implements Iter<Tup2<String, Object>>, Serializable {
         }
 
         private Option(String key, T defaultValue, String description, String notFoundValueMsg) {
-            this(key, defaultValue, description, notFoundValueMsg, Collections.emptyList());
+            this(key, defaultValue, description, notFoundValueMsg, Collections.emptyList(), null);
         }
 
-        private Option(String key, T defaultValue, String description, String notFoundValueMsg, List<Option<T>> fallbackOf) {
+        private Option(String key, T defaultValue, String description, String notFoundValueMsg, List<Option<T>> fallbackOf,
+                       Type valueType) {
             if (key == null) {
                 throw new NullPointerException("Cfg.Option.key must not be null");
             }
@@ -644,7 +807,83 @@ public class Cfg implements Iter<Tup2<String, Object>>, Serializable {
             this.defaultValue = defaultValue;
             this.description = description;
             this.notFoundValueMsg = notFoundValueMsg;
-            this.fallbackOf = fallbackOf == null ? Collections.emptyList() : fallbackOf;
+            // 复制，以免构造器中的列表在构建后被修改，致使 lookupIds 与其不一致
+            this.fallbackOf = fallbackOf == null || fallbackOf.isEmpty()
+                    ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(fallbackOf));
+            int[] ids = new int[this.fallbackOf.size() + 1];
+            ids[0] = Cfg.keyId(key);
+            T resolvedDef = defaultValue;
+            for (int i = 0; i < this.fallbackOf.size(); i++) {
+                Option<T> fbOption = this.fallbackOf.get(i);
+                ids[i + 1] = fbOption.lookupIds[0];
+                if (resolvedDef == null) {
+                    resolvedDef = fbOption.defaultValue;
+                }
+            }
+            this.lookupIds = ids;
+            this.resolvedDefaultValue = resolvedDef;
+            this.valueType = valueType;
+            this.valueClass = valueType instanceof Class<?> c ? c : null;
+        }
+
+        /**
+         * 反序列化后重新构建配置键的整数标识及配置值的类型<br>
+         * 配置值的类型按 序列化的类型 -> 由默认值推断 -> “回滚”配置项的类型 的顺序确定，
+         * 遂仅由参数化类型（{@link KeyBindBuilder#typeRef(TypeRef)}）给定且无法由默认值推断的类型在反序列化后丢失
+         */
+        @Serial
+        private Object readResolve() {
+            Type type = resolveValueType(valueClass != null ? valueClass : inferValueType(defaultValue), fallbackOf);
+            return new Option<>(key, defaultValue, description, notFoundValueMsg, fallbackOf, type);
+        }
+
+        /**
+         * 给定的类型为null时，使用“回滚”配置项的类型
+         */
+        private static <T> Type resolveValueType(Type type, List<Option<T>> fallbackOf) {
+            if (type == null && fallbackOf != null) {
+                return fallbackOf.stream().map(o -> o.valueType).filter(Objects::nonNull).findFirst().orElse(null);
+            }
+            return type;
+        }
+
+        /**
+         * 由默认值推断配置值的类型，集合、Map及匿名类等无法确定类型的值返回null<br>
+         * 默认值的运行时类型可能为非公开的实现类（如 {@code sun.nio.fs.UnixPath}、{@code sun.nio.cs.UTF_8}），
+         * 遂推断的类型为其公开的API类型（{@link java.nio.file.Path}、{@link java.nio.charset.Charset} 等）
+         */
+        private static Type inferValueType(Object value) {
+            if (value == null || value instanceof Collection<?> || value instanceof Map<?, ?>) {
+                return null;
+            }
+            if (value instanceof Enum<?> e) {
+                return e.getDeclaringClass();
+            }
+            if (value instanceof java.nio.file.Path) {
+                return java.nio.file.Path.class;
+            }
+            if (value instanceof java.nio.charset.Charset) {
+                return java.nio.charset.Charset.class;
+            }
+            if (value instanceof java.time.ZoneId) {
+                return java.time.ZoneId.class;
+            }
+            Class<?> c = value.getClass();
+            if (c.isAnonymousClass() || c.isSynthetic() || c.isHidden()) {
+                return null;
+            }
+            // 非公开的实现类，使用其第一个公开的超类
+            while (c != null && c != Object.class && !isPublicApi(c)) {
+                c = c.getSuperclass();
+            }
+            return c == null || c == Object.class ? null : c;
+        }
+
+        /**
+         * 给定的类是否为公开的（public 且其所在包被其模块导出）
+         */
+        private static boolean isPublicApi(Class<?> c) {
+            return Modifier.isPublic(c.getModifiers()) && c.getModule().isExported(c.getPackageName());
         }
 
         /**
@@ -696,7 +935,7 @@ public class Cfg implements Iter<Tup2<String, Object>>, Serializable {
             public <T> Builder<T> defaultValue(T defaultValue) {
                 Err.realIf(defaultValue == null,
                         NullPointerException::new, "Cfg.Option({}), setting null default value.", key);
-                return new Builder<T>(key).defaultValue(defaultValue);
+                return new Builder<T>(key, null).defaultValue(defaultValue);
             }
 
             /**
@@ -715,7 +954,7 @@ public class Cfg implements Iter<Tup2<String, Object>>, Serializable {
              * @return 配置项构造器对象
              */
             public <T> Builder<T> type() {
-                return new Builder<T>(key);
+                return new Builder<T>(key, null);
             }
 
             /**
@@ -736,7 +975,7 @@ public class Cfg implements Iter<Tup2<String, Object>>, Serializable {
              * @see #type()
              */
             public <T> Builder<T> type(Class<T> type) {
-                return new Builder<T>(key);
+                return new Builder<T>(key, type);
             }
 
             /**
@@ -757,7 +996,7 @@ public class Cfg implements Iter<Tup2<String, Object>>, Serializable {
              * @see #type()
              */
             public <T> Builder<T> typeRef(TypeRef<T> type) {
-                return new Builder<T>(key);
+                return new Builder<T>(key, type == null ? null : type.type());
             }
 
             /**
@@ -766,7 +1005,7 @@ public class Cfg implements Iter<Tup2<String, Object>>, Serializable {
              * @return 配置项构造器对象
              */
             public Builder<String> stringType() {
-                return new Builder<>(key);
+                return new Builder<>(key, String.class);
             }
 
             /**
@@ -775,7 +1014,7 @@ public class Cfg implements Iter<Tup2<String, Object>>, Serializable {
              * @return 配置项构造器对象
              */
             public Builder<Integer> intType() {
-                return new Builder<>(key);
+                return new Builder<>(key, Integer.class);
             }
 
             /**
@@ -784,7 +1023,7 @@ public class Cfg implements Iter<Tup2<String, Object>>, Serializable {
              * @return 配置项构造器对象
              */
             public Builder<Long> longType() {
-                return new Builder<>(key);
+                return new Builder<>(key, Long.class);
             }
 
             /**
@@ -793,7 +1032,7 @@ public class Cfg implements Iter<Tup2<String, Object>>, Serializable {
              * @return 配置项构造器对象
              */
             public Builder<Float> floatType() {
-                return new Builder<>(key);
+                return new Builder<>(key, Float.class);
             }
 
             /**
@@ -802,7 +1041,7 @@ public class Cfg implements Iter<Tup2<String, Object>>, Serializable {
              * @return 配置项构造器对象
              */
             public Builder<Double> doubleType() {
-                return new Builder<>(key);
+                return new Builder<>(key, Double.class);
             }
 
             /**
@@ -811,7 +1050,7 @@ public class Cfg implements Iter<Tup2<String, Object>>, Serializable {
              * @return 配置项构造器对象
              */
             public Builder<Boolean> booleanType() {
-                return new Builder<>(key);
+                return new Builder<>(key, Boolean.class);
             }
 
             /**
@@ -820,7 +1059,7 @@ public class Cfg implements Iter<Tup2<String, Object>>, Serializable {
              * @return 配置项构造器对象
              */
             public Builder<Character> charType() {
-                return new Builder<>(key);
+                return new Builder<>(key, Character.class);
             }
 
         }
@@ -843,8 +1082,11 @@ public class Cfg implements Iter<Tup2<String, Object>>, Serializable {
 
             private List<Option<T>> fallbackOf;
 
-            private Builder(String key) {
+            private Type valueType;
+
+            private Builder(String key, Type valueType) {
                 this.key = key;
+                this.valueType = valueType;
             }
 
             /**
@@ -857,6 +1099,9 @@ public class Cfg implements Iter<Tup2<String, Object>>, Serializable {
              */
             public Builder<T> defaultValue(T defaultValue) {
                 this.defaultValue = defaultValue;
+                if (this.valueType == null) {
+                    this.valueType = inferValueType(defaultValue);
+                }
                 return this;
             }
 
@@ -935,7 +1180,9 @@ public class Cfg implements Iter<Tup2<String, Object>>, Serializable {
              * @return 配置项
              */
             public Option<T> build() {
-                return new Option<>(key, defaultValue, description, notFoundValueMsg, fallbackOf);
+                // 未给定类型时，使用“回滚”配置项的类型
+                Type type = resolveValueType(this.valueType, fallbackOf);
+                return new Option<>(key, defaultValue, description, notFoundValueMsg, fallbackOf, type);
             }
         }
 
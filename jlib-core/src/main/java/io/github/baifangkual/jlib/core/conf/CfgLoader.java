@@ -0,0 +1,614 @@
+package io.github.baifangkual.jlib.core.conf;
+
+import io.github.baifangkual.jlib.core.util.Stf;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * <b>配置加载器</b><br>
+ * 从字符串键值对（{@link Properties}、{@code Map<String, String>}、properties文件等）中按已登记的配置项（{@link Cfg.Option}）
+ * 加载配置，配置值依配置项的类型（{@link Cfg.Option#valueType()}）由字符串转换而来<br>
+ * <p>加载（{@link #load(Map)}）仅复制字符串键值对，不做转换，转换在首次读取某配置键时进行并缓存，
+ * 遂每个配置键至多被转换一次（转换失败亦缓存），后续读取仅为一次哈希表查找<br>
+ * <p>{@link Source#validate()} 一次遍历所有字符串键值对，报告所有未登记的配置键与所有无法转换的配置值，
+ * 而非遇到第一个错误即抛出异常；{@link Source#toCfg()} 在校验通过后构建 {@link Cfg}
+ * <p>支持的配置值类型：
+ * <ul>
+ *     <li>{@link String}、基本类型的包装类型、{@link BigInteger}、{@link BigDecimal}</li>
+ *     <li>{@link Boolean}：{@code true/false/yes/no/on/off}（不区分大小写）</li>
+ *     <li>{@link Duration}：ISO-8601 格式（如 {@code PT30S}）或 数值加单位（{@code ns/us/ms/s/m/h/d}，如 {@code 30s}）</li>
+ *     <li>枚举：按名称，先区分大小写匹配，再不区分大小写匹配</li>
+ *     <li>{@link Path}、{@link Charset}、{@link ZoneId}</li>
+ *     <li>{@link List}、{@link Set}、{@link Collection}：以逗号分隔，元素按泛型参数类型转换</li>
+ *     <li>{@link Map}：以 {@code k1=v1,k2=v2} 形式给定，或以 {@code 配置键.子键=值} 形式展开给定（此时这些配置键视为已登记）</li>
+ *     <li>其他类型：该类型的静态 {@code valueOf(String)}、{@code of(String)}、{@code parse(CharSequence)} 方法或 {@code (String)} 构造器</li>
+ *     <li>未给定类型的配置项：保持字符串</li>
+ * </ul>
+ * <pre>
+ *     {@code
+ *     CfgLoader loader = CfgLoader.ofOptionHolder(DBCCfgOptions.class);
+ *     CfgLoader.Source src = loader.load(Path.of("db.properties"));
+ *     CfgLoader.Report report = src.validate();
+ *     if (!report.isClean()) {
+ *         log.warn("{}", report);
+ *     }
+ *     Cfg cfg = src.toCfg();
+ *     }
+ * </pre>
+ * 该类线程安全
+ *
+ * @author baifangkual
+ * @see Cfg.Option.KeyBindBuilder#typeRef(io.github.baifangkual.jlib.core.ref.TypeRef)
+ * @since 2026/10/18 v0.1.2
+ */
+public final class CfgLoader {
+
+    private static final Pattern DURATION = Pattern.compile("([-+]?\\d+)\\s*(ns|us|ms|s|m|min|h|d)");
+    private static final Map<String, ChronoUnit> DURATION_UNITS = Map.of(
+            "ns", ChronoUnit.NANOS, "us", ChronoUnit.MICROS, "ms", ChronoUnit.MILLIS, "s", ChronoUnit.SECONDS,
+            "m", ChronoUnit.MINUTES, "min", ChronoUnit.MINUTES, "h", ChronoUnit.HOURS, "d", ChronoUnit.DAYS);
+
+    /**
+     * 配置键 -> 配置项，同配置键的配置项以先登记的为准
+     */
+    private final Map<String, Cfg.Option<?>> options;
+
+    private CfgLoader(Map<String, Cfg.Option<?>> options) {
+        this.options = options;
+    }
+
+    /**
+     * 以给定的配置项创建配置加载器
+     *
+     * @param options 配置项
+     * @return 配置加载器
+     * @throws NullPointerException 当给定的配置项为空时
+     */
+    public static CfgLoader of(Cfg.Option<?>... options) {
+        Objects.requireNonNull(options, "options is null");
+        return of(Arrays.asList(options));
+    }
+
+    /**
+     * 以给定的配置项创建配置加载器
+     *
+     * @param options 配置项
+     * @return 配置加载器
+     * @throws NullPointerException 当给定的配置项为空时
+     */
+    public static CfgLoader of(Collection<? extends Cfg.Option<?>> options) {
+        Objects.requireNonNull(options, "options is null");
+        Map<String, Cfg.Option<?>> m = new LinkedHashMap<>();
+        for (Cfg.Option<?> o : options) {
+            Objects.requireNonNull(o, "option is null");
+            m.putIfAbsent(o.key(), o);
+        }
+        return new CfgLoader(Collections.unmodifiableMap(m));
+    }
+
+    /**
+     * 以给定的类中所有公开静态的 {@link Cfg.Option} 字段创建配置加载器（如 {@code XxxCfgOptions} 类）
+     *
+     * @param holders 持有配置项的类
+     * @return 配置加载器
+     * @throws IllegalStateException 当无法读取字段值时
+     */
+    public static CfgLoader ofOptionHolder(Class<?>... holders) {
+        List<Cfg.Option<?>> list = new ArrayList<>();
+        for (Class<?> holder : holders) {
+            for (Field f : holder.getFields()) {
+                if (Modifier.isStatic(f.getModifiers()) && Cfg.Option.class.isAssignableFrom(f.getType())) {
+                    try {
+                        Cfg.Option<?> o = (Cfg.Option<?>) f.get(null);
+                        if (o != null) {
+                            list.add(o);
+                        }
+                    } catch (IllegalAccessException e) {
+                        throw new IllegalStateException(Stf.f("unable to read option field: {}", f), e);
+                    }
+                }
+            }
+        }
+        return of(list);
+    }
+
+    /**
+     * 已登记的配置项（配置键 -> 配置项），不可变
+     *
+     * @return 已登记的配置项
+     */
+    public Map<String, Cfg.Option<?>> options() {
+        return options;
+    }
+
+    /**
+     * 加载给定的字符串键值对，该方法复制给定的键值对，不做转换
+     *
+     * @param raw 字符串键值对
+     * @return 配置源
+     * @throws NullPointerException 当给定的键值对为空或含有空键、空值时
+     */
+    public Source load(Map<String, String> raw) {
+        Objects.requireNonNull(raw, "raw map is null");
+        return new Source(this, Map.copyOf(raw));
+    }
+
+    /**
+     * 加载给定的 {@link Properties}（包括其默认值）
+     *
+     * @param properties properties
+     * @return 配置源
+     * @throws NullPointerException 当给定的properties为空时
+     */
+    public Source load(Properties properties) {
+        Objects.requireNonNull(properties, "properties is null");
+        Map<String, String> m = new HashMap<>();
+        for (String k : properties.stringPropertyNames()) {
+            m.put(k, properties.getProperty(k));
+        }
+        return new Source(this, Map.copyOf(m));
+    }
+
+    /**
+     * 以 UTF-8 编码读取并加载给定的 properties 文件
+     *
+     * @param propertiesFile properties 文件
+     * @return 配置源
+     * @throws IOException 当读取文件失败时
+     */
+    public Source load(Path propertiesFile) throws IOException {
+        Objects.requireNonNull(propertiesFile, "propertiesFile is null");
+        Properties p = new Properties();
+        try (Reader r = Files.newBufferedReader(propertiesFile, StandardCharsets.UTF_8)) {
+            p.load(r);
+        }
+        return load(p);
+    }
+
+    /**
+     * 配置源，持有加载的字符串键值对，按需转换并缓存配置值，线程安全
+     */
+    public static final class Source {
+
+        private final CfgLoader loader;
+        private final Map<String, String> raw;
+        /**
+         * 配置键 -> 转换后的配置值 或 {@link Invalid}，不存在于字符串键值对中的配置键不缓存
+         */
+        private final ConcurrentHashMap<String, Object> converted = new ConcurrentHashMap<>();
+
+        private Source(CfgLoader loader, Map<String, String> raw) {
+            this.loader = loader;
+            this.raw = raw;
+        }
+
+        /**
+         * 加载的字符串键值对，不可变
+         *
+         * @return 字符串键值对
+         */
+        public Map<String, String> raw() {
+            return raw;
+        }
+
+        /**
+         * 获取配置值，依次查找给定的配置项及其“回滚”配置项，不使用默认值
+         *
+         * @param option 配置项
+         * @param <T>    配置值类型
+         * @return 配置值，不存在时为 {@link Optional#empty()}
+         * @throws IllegalArgumentException 当配置值无法转换为配置项的类型时
+         */
+        public <T> Optional<T> tryGet(Cfg.Option<T> option) {
+            Object v = valueOf(option);
+            if (v instanceof Invalid i) {
+                throw new IllegalArgumentException(Stf.f("invalid value of cfg key '{}': {}", i.key, i.message));
+            }
+            @SuppressWarnings("unchecked") T t = (T) v;
+            return Optional.ofNullable(t);
+        }
+
+        /**
+         * 获取配置值，不存在时使用配置项（及其“回滚”配置项）的默认值，同 {@link Cfg#tryGetOrDefault(Cfg.Option)}
+         *
+         * @param option 配置项
+         * @param <T>    配置值类型
+         * @return 配置值，不存在且无默认值时为 {@link Optional#empty()}
+         * @throws IllegalArgumentException 当配置值无法转换为配置项的类型时
+         */
+        public <T> Optional<T> tryGetOrDefault(Cfg.Option<T> option) {
+            Optional<T> v = tryGet(option);
+            if (v.isPresent()) {
+                return v;
+            }
+            if (option.defaultValue().isPresent()) {
+                return option.defaultValue();
+            }
+            for (Cfg.Option<T> fb : option.fallbackOf()) {
+                if (fb.defaultValue().isPresent()) {
+                    return fb.defaultValue();
+                }
+            }
+            return Optional.empty();
+        }
+
+        /**
+         * 获取配置值，不存在时使用默认值
+         *
+         * @param option 配置项
+         * @param <T>    配置值类型
+         * @return 配置值
+         * @throws IllegalArgumentException 当配置值无法转换为配置项的类型时
+         * @throws Cfg.OptionValueNotFoundException 当配置值不存在且无默认值时
+         */
+        public <T> T getOrDefault(Cfg.Option<T> option) {
+            return tryGetOrDefault(option).orElseThrow(() -> new Cfg.OptionValueNotFoundException(option));
+        }
+
+        /**
+         * 一次遍历所有字符串键值对，转换所有已登记的配置键的配置值，报告所有未登记的配置键与所有无法转换的配置值
+         *
+         * @return 校验报告
+         */
+        public Report validate() {
+            Set<String> unknown = new TreeSet<>();
+            Map<String, String> invalid = new TreeMap<>();
+            for (String key : raw.keySet()) {
+                Cfg.Option<?> o = loader.options.get(key);
+                if (o == null) {
+                    o = flattenedMapOwner(key);
+                }
+                if (o == null) {
+                    unknown.add(key);
+                    continue;
+                }
+                if (convertedOf(o.key(), o.valueType().orElse(null)) instanceof Invalid i) {
+                    invalid.put(i.key, i.message);
+                }
+            }
+            return new Report(Collections.unmodifiableSet(unknown), Collections.unmodifiableMap(invalid));
+        }
+
+        /**
+         * 校验并构建配置类，配置类中含有所有已登记的配置键的转换后的配置值，
+         * 未登记的配置键以字符串配置值放入（同 {@link Cfg#ofMap(Map)}），以展开形式给定的 Map 配置值的子键不放入
+         *
+         * @return 新配置类
+         * @throws IllegalArgumentException 当存在无法转换的配置值时，异常信息中含有所有无法转换的配置值
+         */
+        public Cfg toCfg() {
+            Report report = validate();
+            if (!report.isValid()) {
+                throw new IllegalArgumentException(Stf.f("invalid cfg values: {}", report.invalidKeys()));
+            }
+            Map<String, Object> m = new HashMap<>();
+            for (String key : report.unknownKeys()) {
+                m.put(key, raw.get(key));
+            }
+            for (Cfg.Option<?> o : loader.options.values()) {
+                Object v = convertedOf(o.key(), o.valueType().orElse(null));
+                if (v != null) {
+                    m.put(o.key(), v);
+                }
+            }
+            return Cfg.ofMap(m);
+        }
+
+        private Object valueOf(Cfg.Option<?> option) {
+            Object v = convertedOf(option.key(), typeOf(option));
+            if (v != null) {
+                return v;
+            }
+            for (Cfg.Option<?> fb : option.fallbackOf()) {
+                v = convertedOf(fb.key(), typeOf(fb));
+                if (v != null) {
+                    return v;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * 以已登记的配置项的类型为准，未登记时使用给定配置项的类型
+         */
+        private Type typeOf(Cfg.Option<?> option) {
+            Cfg.Option<?> registered = loader.options.get(option.key());
+            return (registered != null ? registered : option).valueType().orElse(null);
+        }
+
+        /**
+         * 返回转换后的配置值，配置键不存在时返回null，无法转换时返回 {@link Invalid}
+         */
+        private Object convertedOf(String key, Type type) {
+            Object v = converted.get(key);
+            if (v != null) {
+                return v;
+            }
+            if (!raw.containsKey(key) && !(isMapType(type) && hasFlattened(key))) {
+                return null;
+            }
+            return converted.computeIfAbsent(key, k -> {
+                try {
+                    String s = raw.get(k);
+                    if (s == null) {
+                        return flattenedMap(k, type);
+                    }
+                    return convert(s, type);
+                } catch (RuntimeException e) {
+                    return new Invalid(k, e.getMessage() != null ? e.getMessage() : e.toString());
+                }
+            });
+        }
+
+        private Cfg.Option<?> flattenedMapOwner(String key) {
+            int dot = key.lastIndexOf('.');
+            while (dot > 0) {
+                Cfg.Option<?> o = loader.options.get(key.substring(0, dot));
+                if (o != null && isMapType(o.valueType().orElse(null))) {
+                    return o;
+                }
+                dot = key.lastIndexOf('.', dot - 1);
+            }
+            return null;
+        }
+
+        private boolean hasFlattened(String key) {
+            String prefix = key + ".";
+            for (String k : raw.keySet()) {
+                if (k.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private Map<Object, Object> flattenedMap(String key, Type type) {
+            Type[] kv = typeArgs(type, 2);
+            String prefix = key + ".";
+            Map<Object, Object> m = new LinkedHashMap<>();
+            new TreeMap<>(raw).forEach((k, v) -> {
+                if (k.startsWith(prefix)) {
+                    m.put(convert(k.substring(prefix.length()), kv[0]), convert(v, kv[1]));
+                }
+            });
+            return Collections.unmodifiableMap(m);
+        }
+    }
+
+    /**
+     * 校验报告
+     *
+     * @param unknownKeys 未登记的配置键
+     * @param invalidKeys 无法转换的配置键 -> 原因
+     */
+    public record Report(Set<String> unknownKeys, Map<String, String> invalidKeys) {
+
+        /**
+         * 所有配置值均可转换
+         */
+        public boolean isValid() {
+            return invalidKeys.isEmpty();
+        }
+
+        /**
+         * 所有配置值均可转换且不存在未登记的配置键
+         */
+        public boolean isClean() {
+            return invalidKeys.isEmpty() && unknownKeys.isEmpty();
+        }
+    }
+
+    /**
+     * 缓存的转换失败结果
+     */
+    private record Invalid(String key, String message) {
+    }
+
+    private static boolean isMapType(Type type) {
+        return type != null && Map.class.isAssignableFrom(rawClass(type));
+    }
+
+    private static Class<?> rawClass(Type type) {
+        if (type instanceof Class<?> c) {
+            return c;
+        }
+        if (type instanceof ParameterizedType p) {
+            return rawClass(p.getRawType());
+        }
+        if (type instanceof WildcardType w) {
+            return rawClass(w.getUpperBounds()[0]);
+        }
+        return Object.class;
+    }
+
+    /**
+     * 泛型参数类型，未给定时为 {@link String}
+     */
+    private static Type[] typeArgs(Type type, int n) {
+        Type[] r = new Type[n];
+        Arrays.fill(r, String.class);
+        if (type instanceof ParameterizedType p && p.getActualTypeArguments().length == n) {
+            Type[] args = p.getActualTypeArguments();
+            for (int i = 0; i < n; i++) {
+                r[i] = args[i] instanceof WildcardType w ? w.getUpperBounds()[0] : args[i];
+            }
+        }
+        return r;
+    }
+
+    /**
+     * 将字符串转换为给定类型的值
+     *
+     * @throws IllegalArgumentException 当无法转换时
+     */
+    static Object convert(String s, Type type) {
+        Class<?> c = type == null ? String.class : rawClass(type);
+        if (c == String.class || c == Object.class || c == CharSequence.class) {
+            return s;
+        }
+        if (c.isPrimitive()) {
+            throw new IllegalArgumentException(Stf.f("unsupported primitive type: {}", c));
+        }
+        String t = s.trim();
+        try {
+            if (c == Integer.class) return Integer.valueOf(t);
+            if (c == Long.class) return Long.valueOf(t);
+            if (c == Double.class) return Double.valueOf(t);
+            if (c == Float.class) return Float.valueOf(t);
+            if (c == Short.class) return Short.valueOf(t);
+            if (c == Byte.class) return Byte.valueOf(t);
+            if (c == BigDecimal.class) return new BigDecimal(t);
+            if (c == BigInteger.class) return new BigInteger(t);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(Stf.f("'{}' is not a valid {}", s, c.getSimpleName()));
+        }
+        if (c == Boolean.class) return parseBoolean(s, t);
+        if (c == Character.class) {
+            if (s.length() != 1) {
+                throw new IllegalArgumentException(Stf.f("'{}' is not a single character", s));
+            }
+            return s.charAt(0);
+        }
+        if (c == Duration.class) return parseDuration(s, t);
+        if (c.isEnum()) return parseEnum(s, t, c);
+        if (isApiType(c, Path.class)) return Path.of(t);
+        if (isApiType(c, Charset.class)) return Charset.forName(t);
+        if (isApiType(c, ZoneId.class)) return ZoneId.of(t);
+        if (c == List.class || c == Collection.class || c == Iterable.class) {
+            return List.copyOf(parseElements(t, typeArgs(type, 1)[0]));
+        }
+        if (c == Set.class) {
+            return Collections.unmodifiableSet(new LinkedHashSet<>(parseElements(t, typeArgs(type, 1)[0])));
+        }
+        if (c == Map.class) return parseMap(s, t, typeArgs(type, 2));
+        return parseByFactory(s, t, c);
+    }
+
+    /**
+     * 给定的类为给定的API类型或其非公开的实现类（如 {@code sun.nio.fs.UnixPath}）
+     */
+    private static boolean isApiType(Class<?> c, Class<?> api) {
+        return c == api || api.isAssignableFrom(c)
+                           && !(Modifier.isPublic(c.getModifiers()) && c.getModule().isExported(c.getPackageName()));
+    }
+
+    private static Boolean parseBoolean(String s, String t) {
+        switch (t.toLowerCase(Locale.ROOT)) {
+            case "true", "yes", "on" -> {
+                return Boolean.TRUE;
+            }
+            case "false", "no", "off" -> {
+                return Boolean.FALSE;
+            }
+            default -> throw new IllegalArgumentException(Stf.f("'{}' is not a valid Boolean", s));
+        }
+    }
+
+    private static Duration parseDuration(String s, String t) {
+        if (!t.isEmpty() && (t.charAt(0) == 'P' || t.charAt(0) == 'p' || t.startsWith("-P") || t.startsWith("-p"))) {
+            try {
+                return Duration.parse(t);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException(Stf.f("'{}' is not a valid Duration", s));
+            }
+        }
+        Matcher m = DURATION.matcher(t.toLowerCase(Locale.ROOT));
+        if (!m.matches()) {
+            throw new IllegalArgumentException(Stf.f("'{}' is not a valid Duration", s));
+        }
+        try {
+            return Duration.of(Long.parseLong(m.group(1)), DURATION_UNITS.get(m.group(2)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException(Stf.f("'{}' is not a valid Duration", s));
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object parseEnum(String s, String t, Class<?> c) {
+        try {
+            return Enum.valueOf((Class) c, t);
+        } catch (IllegalArgumentException ignored) {
+            for (Object e : c.getEnumConstants()) {
+                if (((Enum<?>) e).name().equalsIgnoreCase(t)) {
+                    return e;
+                }
+            }
+            throw new IllegalArgumentException(Stf.f("'{}' is not a constant of {}, expected one of {}",
+                    s, c.getSimpleName(), Arrays.toString(c.getEnumConstants())));
+        }
+    }
+
+    private static List<Object> parseElements(String t, Type elementType) {
+        if (t.isEmpty()) {
+            return List.of();
+        }
+        List<Object> list = new ArrayList<>();
+        for (String e : t.split(",")) {
+            list.add(convert(e.trim(), elementType));
+        }
+        return list;
+    }
+
+    private static Map<Object, Object> parseMap(String s, String t, Type[] kv) {
+        Map<Object, Object> m = new LinkedHashMap<>();
+        if (t.isEmpty()) {
+            return Collections.unmodifiableMap(m);
+        }
+        for (String e : t.split(",")) {
+            int eq = e.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException(Stf.f("'{}' is not a valid Map, expected 'k1=v1,k2=v2'", s));
+            }
+            m.put(convert(e.substring(0, eq).trim(), kv[0]), convert(e.substring(eq + 1).trim(), kv[1]));
+        }
+        return Collections.unmodifiableMap(m);
+    }
+
+    private static Object parseByFactory(String s, String t, Class<?> c) {
+        for (String name : new String[]{"valueOf", "of", "parse"}) {
+            for (Class<?> param : new Class<?>[]{String.class, CharSequence.class}) {
+                try {
+                    Method m = c.getMethod(name, param);
+                    if (Modifier.isStatic(m.getModifiers()) && c.isAssignableFrom(m.getReturnType())) {
+                        return m.invoke(null, t);
+                    }
+                } catch (NoSuchMethodException ignored) {
+                    // 尝试下一个
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalArgumentException(Stf.f("'{}' is not a valid {}: {}",
+                            s, c.getSimpleName(), e.getCause() != null ? e.getCause().getMessage() : e));
+                }
+            }
+        }
+        try {
+            Constructor<?> ctor = c.getConstructor(String.class);
+            return ctor.newInstance(t);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException(Stf.f("unsupported cfg value type: {}", c.getName()));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException(Stf.f("'{}' is not a valid {}: {}",
+                    s, c.getSimpleName(), e.getCause() != null ? e.getCause().getMessage() : e));
+        }
+    }
+}
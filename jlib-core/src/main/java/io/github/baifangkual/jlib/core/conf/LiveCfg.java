@@ -0,0 +1,319 @@
+package io.github.baifangkual.jlib.core.conf;
+
+import io.github.baifangkual.jlib.core.trait.Closeable;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * <b>可热更新的配置类</b><br>
+ * 持有一系列不可变、带版本号的 {@link Cfg} 快照（均为 {@link Cfg#freeze()} 冻结的Cfg），
+ * 通过原子引用发布新的快照，读取当前快照（{@link #get()}）仅为一次 volatile 读，
+ * 遂适合在各操作中读取运行时可能变更的配置（如连接池大小、超时时间、缓冲区大小等）<br>
+ * 可通过 {@link #onChange(Cfg.Option, Listener)} 监听某配置项的配置值的变更，
+ * 配置值以 {@link Cfg#tryGetOrDefault(Cfg.Option)} 的语义比较，仅当新旧配置值不相等时通知<br>
+ * 可通过 {@link #of(Cfg, Consumer)}、{@link #addValidator(Consumer)} 注册校验函数，新快照在发布前（替换当前快照前）被校验，
+ * 校验不通过（校验函数抛出异常）时新快照不会被发布，遂当前快照总是通过了所有校验函数的配置，
+ * 监听器应仅应用已校验的配置值，而不应在监听器中校验配置值（监听器被调用时新快照已发布）<br>
+ * 线程安全
+ * <pre>
+ *     {@code
+ *     LiveCfg live = LiveCfg.of(cfg, c -> {
+ *         if (c.getOrDefault(POOL_SIZE) < 1) throw new IllegalArgumentException("pool size < 1");
+ *     });
+ *     live.onChange(POOL_SIZE, (oldV, newV) -> pool.resize(newV));
+ *     // 读取
+ *     int size = live.get().getOrDefault(POOL_SIZE);
+ *     // 更新，在当前快照的副本上修改并发布新快照
+ *     live.update(c -> c.reset(POOL_SIZE, 32));
+ *     }
+ * </pre>
+ *
+ * @author baifangkual
+ * @see Cfg#freeze()
+ * @since 2026/10/18 v0.1.2
+ */
+public final class LiveCfg {
+
+    /**
+     * 当前快照
+     */
+    private final AtomicReference<Snapshot> current;
+    /**
+     * 监听器，读多写少
+     */
+    private final List<Subscription<?>> subscriptions = new CopyOnWriteArrayList<>();
+    /**
+     * 校验函数，读多写少
+     */
+    private final List<Consumer<? super Cfg>> validators = new CopyOnWriteArrayList<>();
+    /**
+     * 已通知至的快照，通知过程在该对象的锁内进行，以保证监听器按版本顺序收到通知
+     */
+    private Snapshot notified;
+
+    private LiveCfg(Cfg initial) {
+        Snapshot s = new Snapshot(0L, initial);
+        this.current = new AtomicReference<>(s);
+        this.notified = s;
+    }
+
+    /**
+     * 以给定的配置类为初始快照（版本号为0）创建可热更新的配置类，
+     * 该方法复制给定的配置类中的配置项，之后对给定的配置类的修改不会影响返回的对象
+     *
+     * @param initial 初始配置类
+     * @return 可热更新的配置类
+     * @throws NullPointerException 当给定的配置类为空时
+     */
+    public static LiveCfg of(Cfg initial) {
+        Objects.requireNonNull(initial, "initial Cfg is null");
+        return new LiveCfg(initial.freeze());
+    }
+
+    /**
+     * 以给定的配置类为初始快照（版本号为0）创建可热更新的配置类，并注册校验函数，
+     * 初始快照同样需通过该校验函数
+     *
+     * @param initial   初始配置类
+     * @param validator 校验函数，配置不合法时应抛出异常
+     * @return 可热更新的配置类
+     * @throws NullPointerException 当给定的配置类或校验函数为空时
+     * @see #addValidator(Consumer)
+     */
+    public static LiveCfg of(Cfg initial, Consumer<? super Cfg> validator) {
+        Objects.requireNonNull(initial, "initial Cfg is null");
+        Objects.requireNonNull(validator, "validator is null");
+        Cfg frozen = initial.freeze();
+        validator.accept(frozen);
+        LiveCfg live = new LiveCfg(frozen);
+        live.validators.add(validator);
+        return live;
+    }
+
+    /**
+     * 注册校验函数，之后发布的每个新快照在发布前均需通过该校验函数，
+     * 校验函数抛出异常时，发布新快照的操作（{@link #update(Consumer)}、{@link #publish(Cfg)}）抛出该异常且不发布新快照<br>
+     * 该方法不校验当前快照，若需校验初始快照，应使用 {@link #of(Cfg, Consumer)}
+     *
+     * @param validator 校验函数，配置不合法时应抛出异常，可能被多次调用（见 {@link #update(Consumer)}），其应无副作用
+     * @throws NullPointerException 当给定的校验函数为空时
+     */
+    public void addValidator(Consumer<? super Cfg> validator) {
+        Objects.requireNonNull(validator, "validator is null");
+        validators.add(validator);
+    }
+
+    /**
+     * 返回当前快照的配置类，该配置类不可变
+     *
+     * @return 当前配置类
+     */
+    public Cfg get() {
+        return current.get().cfg();
+    }
+
+    /**
+     * 返回当前快照
+     *
+     * @return 当前快照
+     */
+    public Snapshot snapshot() {
+        return current.get();
+    }
+
+    /**
+     * 返回当前快照的版本号
+     *
+     * @return 当前版本号
+     */
+    public long version() {
+        return current.get().version();
+    }
+
+    /**
+     * 在当前快照的可变副本上执行给定的修改函数，并将修改后的配置类作为新快照发布<br>
+     * 若其他线程在此期间发布了新快照，则将基于其重新执行修改函数，遂修改函数可能被多次执行，其应无副作用<br>
+     * 修改后的配置类在发布前经所有校验函数校验，校验不通过时抛出校验函数的异常，不发布新快照，当前快照及版本号不变<br>
+     * 发布后在当前线程中通知监听器，若有监听器抛出异常，则在通知完所有监听器后抛出第一个异常（其余异常附于其上），
+     * 此时新快照已发布
+     *
+     * @param mutator 修改函数
+     * @return 新快照
+     * @throws NullPointerException 当给定的修改函数为空时
+     */
+    public Snapshot update(Consumer<? super Cfg> mutator) {
+        Objects.requireNonNull(mutator, "mutator is null");
+        Snapshot prev;
+        Snapshot next;
+        do {
+            prev = current.get();
+            Cfg copy = Cfg.ofMap(prev.cfg().toReadonlyMap());
+            mutator.accept(copy);
+            Cfg candidate = copy.freeze();
+            validate(candidate);
+            next = new Snapshot(prev.version() + 1, candidate);
+        } while (!current.compareAndSet(prev, next));
+        fireChanges();
+        return next;
+    }
+
+    /**
+     * 以给定的配置类替换当前快照发布新快照，该方法复制给定的配置类中的配置项，
+     * 给定的配置类在发布前经所有校验函数校验，校验不通过时抛出校验函数的异常，不发布新快照
+     *
+     * @param cfg 新配置类
+     * @return 新快照
+     * @throws NullPointerException 当给定的配置类为空时
+     * @see #update(Consumer)
+     */
+    public Snapshot publish(Cfg cfg) {
+        Objects.requireNonNull(cfg, "Cfg is null");
+        Cfg frozen = cfg.freeze();
+        validate(frozen);
+        Snapshot prev;
+        Snapshot next;
+        do {
+            prev = current.get();
+            next = new Snapshot(prev.version() + 1, frozen);
+        } while (!current.compareAndSet(prev, next));
+        fireChanges();
+        return next;
+    }
+
+    /**
+     * 监听给定配置项的配置值的变更<br>
+     * 监听器在发布新快照的线程中被调用，新旧配置值以 {@link Cfg#tryGetOrDefault(Cfg.Option)} 的语义获取，可能为null，
+     * 若监听器注册时有其他线程正在发布新快照，则该次变更可能不会通知至该监听器
+     *
+     * @param option   配置项
+     * @param listener 监听器
+     * @param <T>      配置值类型
+     * @return 订阅，关闭后不再通知该监听器
+     * @throws NullPointerException 当给定的配置项或监听器为空时
+     */
+    public <T> Subscription<T> onChange(Cfg.Option<T> option, Listener<? super T> listener) {
+        Objects.requireNonNull(option, "Cfg.Option is null");
+        Objects.requireNonNull(listener, "listener is null");
+        Subscription<T> sub = new Subscription<>(this, option, listener);
+        subscriptions.add(sub);
+        return sub;
+    }
+
+    private void validate(Cfg candidate) {
+        for (Consumer<? super Cfg> v : validators) {
+            v.accept(candidate);
+        }
+    }
+
+    /**
+     * 比较已通知至的快照与当前快照，通知配置值发生变更的监听器<br>
+     * 并发发布的多个快照可能被合并为一次通知
+     */
+    private void fireChanges() {
+        RuntimeException err = null;
+        synchronized (this) {
+            Snapshot next = current.get();
+            Snapshot prev = notified;
+            if (next.version() <= prev.version()) {
+                return;
+            }
+            notified = next;
+            for (Subscription<?> sub : subscriptions) {
+                try {
+                    sub.fireIfChanged(prev.cfg(), next.cfg());
+                } catch (RuntimeException e) {
+                    if (err == null) {
+                        err = e;
+                    } else {
+                        err.addSuppressed(e);
+                    }
+                }
+            }
+        }
+        if (err != null) {
+            throw err;
+        }
+    }
+
+    @Override
+    public String toString() {
+        Snapshot s = current.get();
+        return "LiveCfg[version=" + s.version() + ", " + s.cfg() + "]";
+    }
+
+    /**
+     * 带版本号的不可变配置类快照
+     *
+     * @param version 版本号，初始快照为0，每发布一个新快照加1
+     * @param cfg     冻结的配置类
+     */
+    public record Snapshot(long version, Cfg cfg) {
+    }
+
+    /**
+     * 配置值变更监听器
+     *
+     * @param <T> 配置值类型
+     */
+    @FunctionalInterface
+    public interface Listener<T> {
+        /**
+         * 配置值变更时调用
+         *
+         * @param oldValue 旧配置值，可能为null
+         * @param newValue 新配置值，可能为null
+         */
+        void onChange(T oldValue, T newValue);
+    }
+
+    /**
+     * 对某配置项的监听，关闭后不再通知
+     *
+     * @param <T> 配置值类型
+     */
+    public static final class Subscription<T> implements Closeable {
+        private final LiveCfg owner;
+        private final Cfg.Option<T> option;
+        private final Listener<? super T> listener;
+        private volatile boolean closed;
+
+        private Subscription(LiveCfg owner, Cfg.Option<T> option, Listener<? super T> listener) {
+            this.owner = owner;
+            this.option = option;
+            this.listener = listener;
+        }
+
+        private void fireIfChanged(Cfg prev, Cfg next) {
+            if (closed) {
+                return;
+            }
+            T oldValue = prev.tryGetOrDefault(option).orElse(null);
+            T newValue = next.tryGetOrDefault(option).orElse(null);
+            if (!Objects.equals(oldValue, newValue)) {
+                listener.onChange(oldValue, newValue);
+            }
+        }
+
+        /**
+         * 被监听的配置项
+         */
+        public Cfg.Option<T> option() {
+            return option;
+        }
+
+        @Override
+        public boolean isClosed() {
+            return closed;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            owner.subscriptions.remove(this);
+        }
+    }
+}
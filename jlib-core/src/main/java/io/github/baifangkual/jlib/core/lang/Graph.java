@@ -0,0 +1,754 @@
+package io.github.baifangkual.jlib.core.lang;
+
+import io.github.baifangkual.jlib.core.mark.Iter;
+import io.github.baifangkual.jlib.core.panic.Err;
+
+import java.util.*;
+import java.util.function.IntConsumer;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * <b>紧凑索引有向图</b>
+ * <p>将 n 个有向关系（{@link Line} 或 begin/end 对）一次性摄入为以 {@code int} 索引表达的紧凑图结构（CSR，压缩邻接表），
+ * 每个节点 {@link P} 仅被引用一次并被分配一个 {@code [0, nodeCount)} 区间的索引，
+ * 每条边在图中仅占用一个 {@code int}（终点索引），节点的出边在 {@code outTarget} 中连续存放<br>
+ * 与 {@link Line} 中各静态方法不同，构建该图时不会复制给定的边集合，
+ * 边可以来自 {@link Iterator}（流式、单次遍历），也可以直接以 begin/end 对给定而无需创建 {@link Line} 对象，
+ * 遂峰值内存仅与图本身的大小成正比，而非与边集合的多份拷贝成正比
+ * <p>该类型实例不可变，线程安全，不建议序列化（与 {@link Tree} 一样，该类型仅应当为一种临时数据结构）
+ * <pre>{@code
+ * Iterator<Line<String>> it = ...; // 来自文件、数据库游标等
+ * Graph<String> g = Graph.<String>builder()
+ *         .lines(it)
+ *         .edge("a", "b")
+ *         .node("isolated")
+ *         .build();
+ * Assert.isTrue(g.isDirectedAcyclicGraph());
+ * LinkedList<List<String>> queue = g.orderDAGQueue().unwrap();
+ * }</pre>
+ *
+ * @param <P> 节点类型
+ * @author baifangkual
+ * @apiNote 构建时使用 {@link P} 做 MapKey 来为节点分配索引，
+ * 遂 {@link P} 类型是否实现 equals 和 hashcode 应在业务侧做考量（与 {@link Line} 中各静态方法一致）
+ * @see #builder()
+ * @see #ofLines(Iterator)
+ * @see #schedule(ToLongFunction)
+ * @see Line#orderDAGQueue(Iterable)
+ * @since 2026/10/18 v0.1.2
+ */
+public final class Graph<P> implements Iter<P> {
+
+    private final Object[] nodes; // index -> P
+    private final Map<P, Integer> index; // P -> index
+    private final int edgeCount;
+    // CSR: 节点 i 的出边终点为 outTarget[outOffset[i] .. outOffset[i + 1])
+    private final int[] outOffset;
+    private final int[] outTarget;
+    private final int[] inDegree;
+
+    private Graph(Object[] nodes, Map<P, Integer> index, int edgeCount,
+                  int[] outOffset, int[] outTarget, int[] inDegree) {
+        this.nodes = nodes;
+        this.index = index;
+        this.edgeCount = edgeCount;
+        this.outOffset = outOffset;
+        this.outTarget = outTarget;
+        this.inDegree = inDegree;
+    }
+
+    /**
+     * 创建图构建器
+     *
+     * @param <P> 节点类型
+     * @return 图构建器
+     */
+    public static <P> Builder<P> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * 消费给定的迭代器，以其中的有向线段构建图<br>
+     * 迭代器仅被遍历一次，其中的 {@link Line} 对象不会被图持有
+     *
+     * @param lines n个有向线段
+     * @param <P>   节点类型
+     * @return 图
+     * @throws NullPointerException 当给定的迭代器为空或其中有元素为空时
+     */
+    public static <P> Graph<P> ofLines(Iterator<? extends Line<P>> lines) {
+        return Graph.<P>builder().lines(lines).build();
+    }
+
+    /**
+     * 以给定可迭代对象中的有向线段构建图
+     *
+     * @param lines n个有向线段
+     * @param <P>   节点类型
+     * @return 图
+     * @throws NullPointerException 当给定的可迭代对象为空或其中有元素为空时
+     * @see #ofLines(Iterator)
+     */
+    public static <P> Graph<P> ofLines(Iterable<? extends Line<P>> lines) {
+        return Graph.<P>builder().lines(lines).build();
+    }
+
+    /**
+     * 节点个数
+     *
+     * @return 节点个数
+     */
+    public int nodeCount() {
+        return nodes.length;
+    }
+
+    /**
+     * 边个数（给定的重复边将被分别计数）
+     *
+     * @return 边个数
+     */
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * 返回指定索引的节点
+     *
+     * @param idx 节点索引
+     * @return 节点
+     * @throws IndexOutOfBoundsException 当索引不在 {@code [0, nodeCount)} 区间时
+     */
+    @SuppressWarnings("unchecked")
+    public P node(int idx) {
+        Objects.checkIndex(idx, nodes.length);
+        return (P) nodes[idx];
+    }
+
+    /**
+     * 返回给定节点的索引，若图中没有该节点，则返回 {@code -1}
+     *
+     * @param node 节点
+     * @return 节点索引 | -1
+     * @throws NullPointerException 当给定的节点为空时
+     */
+    public int indexOf(P node) {
+        Objects.requireNonNull(node, "node is null");
+        Integer i = index.get(node);
+        return i == null ? -1 : i;
+    }
+
+    /**
+     * 图中是否有给定的节点
+     *
+     * @param node 节点
+     * @return true 有，反之则没有
+     * @throws NullPointerException 当给定的节点为空时
+     */
+    public boolean contains(P node) {
+        return indexOf(node) != -1;
+    }
+
+    /**
+     * 返回指定索引节点的出度
+     *
+     * @param idx 节点索引
+     * @return 出度
+     * @throws IndexOutOfBoundsException 当索引不在 {@code [0, nodeCount)} 区间时
+     */
+    public int outDegree(int idx) {
+        Objects.checkIndex(idx, nodes.length);
+        return outOffset[idx + 1] - outOffset[idx];
+    }
+
+    /**
+     * 返回指定索引节点的入度
+     *
+     * @param idx 节点索引
+     * @return 入度
+     * @throws IndexOutOfBoundsException 当索引不在 {@code [0, nodeCount)} 区间时
+     */
+    public int inDegree(int idx) {
+        Objects.checkIndex(idx, nodes.length);
+        return inDegree[idx];
+    }
+
+    /**
+     * 对指定索引节点的每个直接后继节点的索引执行给定函数<br>
+     * 后继节点的访问顺序与边被给定的顺序一致
+     *
+     * @param idx  节点索引
+     * @param fnAcc 函数-接收后继节点索引
+     * @throws IndexOutOfBoundsException 当索引不在 {@code [0, nodeCount)} 区间时
+     * @throws NullPointerException      当给定的函数为空时
+     */
+    public void forEachSuccessor(int idx, IntConsumer fnAcc) {
+        Objects.checkIndex(idx, nodes.length);
+        Objects.requireNonNull(fnAcc, "fnAcc is null");
+        for (int e = outOffset[idx], end = outOffset[idx + 1]; e < end; e++) {
+            fnAcc.accept(outTarget[e]);
+        }
+    }
+
+    /**
+     * 返回所有头节点（入度为0的节点，孤立点也被认为是头节点）<br>
+     * 返回的 List 为 unmodifiableList，其中节点按索引顺序排列
+     *
+     * @return 头节点，若没有头节点，则返回的 List 为 empty
+     * @see Line#findHeaderNodes(Iterable, Iterable)
+     */
+    public List<P> headerNodes() {
+        List<P> headers = new ArrayList<>();
+        for (int i = 0; i < nodes.length; i++) {
+            if (inDegree[i] == 0) headers.add(node(i));
+        }
+        return Collections.unmodifiableList(headers);
+    }
+
+    /**
+     * 检测该图是否为有向无环图(directed acyclic graph)<br>
+     * 时间复杂度 O(V+E)
+     *
+     * @return true 是一个dag图，反之则不是（图中有循环）
+     * @see Line#isDirectedAcyclicGraph(Iterable, Iterable)
+     */
+    public boolean isDirectedAcyclicGraph() {
+        return topologicalOrder(null) != null;
+    }
+
+    /**
+     * 返回可从头节点遍历完所有节点且按照边关系顺序获取的队列<br>
+     * 返回的 LinkedList[List[P]] 当中 List[P] 表示这个 List 内的节点可同时被获取到/为平行关系，
+     * 节点所在的层级为从任意头节点到其的最长路径的边数，孤立点将被直接当作头节点，
+     * 所有节点能被遍历且仅遍历一次，时间复杂度 O(V+E)<br>
+     * 与 {@link Line#orderDAGQueue(Iterable)} 结果的分层一致，同一层内节点按索引顺序排列
+     *
+     * @return {@code R.Ok(LinkedList[List[P]])} | {@code R.Err(IllegalStateException)}（当图不是dag图，或图中没有节点时）
+     * @see Line#orderDAGQueue(Iterable)
+     */
+    public R<LinkedList<List<P>>> orderDAGQueue() {
+        return R.ofFnCallable(() -> {
+            Err.realIf(nodes.length == 0, IllegalStateException::new, "not found any node");
+            int[] level = new int[nodes.length];
+            Err.realIf(topologicalOrder(level) == null, IllegalStateException::new,
+                    "lines is not a directed acyclic graph");
+            int[] byIndex = new int[nodes.length];
+            Arrays.setAll(byIndex, i -> i);
+            return toLayers(level, byIndex);
+        });
+    }
+
+    /**
+     * 给定各节点的耗时估计，计算关键路径调度信息（最早开始时间、最晚开始时间、松弛时间、剩余最长路径等）<br>
+     * 图中节点被视为任务，边 {@code begin -> end} 表示 {@code end} 须在 {@code begin} 完成后才可开始，
+     * 计算过程时间复杂度 O(V+E)，给定的函数对每个节点仅执行一次
+     * <pre>{@code
+     * Graph<Task> g = ...;
+     * Graph.Schedule<Task> s = g.schedule(Task::estimateMillis).unwrap();
+     * // 每层内剩余最长路径大的节点在前，工作线程数小于层宽时，最长的链最先开始
+     * LinkedList<List<Task>> layers = s.orderDAGQueue();
+     * // 或：全局就绪队列顺序（列表调度）
+     * List<Task> order = s.readyQueue();
+     * }</pre>
+     *
+     * @param fnCost 函数-给定节点，返回该节点的耗时估计（不可为负数，单位由调用方决定）
+     * @return {@code R.Ok(Schedule)} | {@code R.Err(...)}（当图不是dag图，或耗时估计为负数，或路径总耗时溢出 long 时）
+     * @throws NullPointerException 当给定的函数为空时
+     * @see Schedule
+     */
+    public R<Schedule<P>> schedule(ToLongFunction<? super P> fnCost) {
+        Objects.requireNonNull(fnCost, "fnCost is null");
+        return R.ofFnCallable(() -> {
+            final int n = nodes.length;
+            final int[] level = new int[n];
+            final int[] topo = topologicalOrder(level);
+            Err.realIf(topo == null, IllegalStateException::new, "lines is not a directed acyclic graph");
+            final long[] cost = new long[n];
+            for (int i = 0; i < n; i++) {
+                long c = fnCost.applyAsLong(node(i));
+                Err.realIf(c < 0, IllegalArgumentException::new, "negative cost {} of node {}", c, node(i));
+                cost[i] = c;
+            }
+            // 正向：最早开始时间
+            final long[] earliestStart = new long[n];
+            long makespan = 0;
+            for (int u : topo) {
+                long finish = Math.addExact(earliestStart[u], cost[u]);
+                makespan = Math.max(makespan, finish);
+                for (int e = outOffset[u], end = outOffset[u + 1]; e < end; e++) {
+                    int v = outTarget[e];
+                    if (earliestStart[v] < finish) earliestStart[v] = finish;
+                }
+            }
+            // 反向：从该节点开始（包含自身）到任意尾节点的最长路径耗时
+            final long[] remaining = new long[n];
+            for (int k = n - 1; k >= 0; k--) {
+                int u = topo[k];
+                long maxNext = 0;
+                for (int e = outOffset[u], end = outOffset[u + 1]; e < end; e++) {
+                    maxNext = Math.max(maxNext, remaining[outTarget[e]]);
+                }
+                remaining[u] = Math.addExact(cost[u], maxNext);
+            }
+            return new Schedule<>(this, cost, earliestStart, remaining, level, makespan);
+        });
+    }
+
+    /**
+     * 以 Kahn 算法进行拓扑排序，返回拓扑序的节点索引，若图中有环，则返回 {@code null}<br>
+     * 若给定的 {@code level} 不为空，则其中将被写入各节点所在层级（从任意头节点到其的最长路径的边数）
+     *
+     * @param level 长度为 {@code nodeCount} 的数组（nullable）
+     * @return 拓扑序 | null
+     */
+    private int[] topologicalOrder(int[] level) {
+        final int n = nodes.length;
+        final int[] remainIn = inDegree.clone();
+        final int[] queue = new int[n]; // 每个节点仅入队一次，遂可使用定长数组做队列
+        int head = 0, tail = 0;
+        for (int i = 0; i < n; i++) {
+            if (remainIn[i] == 0) queue[tail++] = i;
+        }
+        while (head < tail) {
+            int u = queue[head++];
+            for (int e = outOffset[u], end = outOffset[u + 1]; e < end; e++) {
+                int v = outTarget[e];
+                if (level != null && level[v] <= level[u]) level[v] = level[u] + 1;
+                if (--remainIn[v] == 0) queue[tail++] = v;
+            }
+        }
+        return tail == n ? queue : null;
+    }
+
+    /**
+     * 将节点按层级分组，同一层内节点按给定的顺序排列
+     *
+     * @param level 各节点所在层级
+     * @param order 节点索引的排列顺序
+     * @return 分层的节点
+     */
+    private LinkedList<List<P>> toLayers(int[] level, int[] order) {
+        int maxLevel = 0;
+        for (int l : level) maxLevel = Math.max(maxLevel, l);
+        List<List<P>> layers = new ArrayList<>(maxLevel + 1);
+        for (int l = 0; l <= maxLevel; l++) layers.add(new ArrayList<>());
+        for (int i : order) {
+            layers.get(level[i]).add(node(i));
+        }
+        return new LinkedList<>(layers);
+    }
+
+    /**
+     * 返回按索引顺序迭代所有节点的迭代器
+     *
+     * @return 迭代器
+     */
+    @SuppressWarnings("NullableProblems")
+    @Override
+    public Iterator<P> iterator() {
+        return new Iterator<>() {
+            private int cursor = 0;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < nodes.length;
+            }
+
+            @Override
+            public P next() {
+                if (cursor >= nodes.length) throw new NoSuchElementException("No more!");
+                return node(cursor++);
+            }
+        };
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Spliterator<P> spliterator() {
+        return (Spliterator<P>) Spliterators.spliterator(nodes,
+                Spliterator.ORDERED | Spliterator.IMMUTABLE | Spliterator.NONNULL);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Stream<P> stream() {
+        return Arrays.stream(nodes).map(o -> (P) o);
+    }
+
+    @Override
+    public String toString() {
+        return "Graph[nodeCount=" + nodes.length + ", edgeCount=" + edgeCount + "]";
+    }
+
+    /**
+     * <b>关键路径调度信息</b>
+     * <p>由 {@link Graph#schedule(ToLongFunction)} 构建，以节点索引查询各节点的调度信息：
+     * <ul>
+     *     <li>{@code earliestStart}：所有前驱均完成后该节点最早可开始的时间</li>
+     *     <li>{@code remaining}：从该节点开始（包含自身耗时）到任意尾节点的最长路径耗时，即该节点的调度优先级</li>
+     *     <li>{@code latestStart}：在不拖延整体完成时间（{@link #criticalPathLength()}）的前提下该节点最晚可开始的时间</li>
+     *     <li>{@code slack}：松弛时间 {@code latestStart - earliestStart}，为 {@code 0} 的节点位于关键路径上</li>
+     * </ul>
+     * 该类型实例不可变，线程安全
+     *
+     * @param <P> 节点类型
+     */
+    public static final class Schedule<P> {
+
+        private final Graph<P> graph;
+        private final long[] cost;
+        private final long[] earliestStart;
+        private final long[] remaining;
+        private final int[] level;
+        private final long makespan;
+
+        private Schedule(Graph<P> graph, long[] cost, long[] earliestStart,
+                         long[] remaining, int[] level, long makespan) {
+            this.graph = graph;
+            this.cost = cost;
+            this.earliestStart = earliestStart;
+            this.remaining = remaining;
+            this.level = level;
+            this.makespan = makespan;
+        }
+
+        /**
+         * 返回该调度信息所属的图
+         *
+         * @return 图
+         */
+        public Graph<P> graph() {
+            return graph;
+        }
+
+        /**
+         * 关键路径总耗时（即无限工作线程下所有节点完成的最早时间）
+         *
+         * @return 关键路径总耗时
+         */
+        public long criticalPathLength() {
+            return makespan;
+        }
+
+        /**
+         * 返回指定索引节点的耗时估计
+         *
+         * @param idx 节点索引
+         * @return 耗时估计
+         * @throws IndexOutOfBoundsException 当索引不在 {@code [0, nodeCount)} 区间时
+         */
+        public long cost(int idx) {
+            return cost[Objects.checkIndex(idx, cost.length)];
+        }
+
+        /**
+         * 返回指定索引节点的最早开始时间
+         *
+         * @param idx 节点索引
+         * @return 最早开始时间
+         * @throws IndexOutOfBoundsException 当索引不在 {@code [0, nodeCount)} 区间时
+         */
+        public long earliestStart(int idx) {
+            return earliestStart[Objects.checkIndex(idx, cost.length)];
+        }
+
+        /**
+         * 返回指定索引节点的最晚开始时间
+         *
+         * @param idx 节点索引
+         * @return 最晚开始时间
+         * @throws IndexOutOfBoundsException 当索引不在 {@code [0, nodeCount)} 区间时
+         */
+        public long latestStart(int idx) {
+            return makespan - remaining[Objects.checkIndex(idx, cost.length)];
+        }
+
+        /**
+         * 返回指定索引节点的松弛时间
+         *
+         * @param idx 节点索引
+         * @return 松弛时间（{@code >= 0}）
+         * @throws IndexOutOfBoundsException 当索引不在 {@code [0, nodeCount)} 区间时
+         */
+        public long slack(int idx) {
+            return latestStart(idx) - earliestStart[idx];
+        }
+
+        /**
+         * 返回从指定索引节点开始（包含自身耗时）到任意尾节点的最长路径耗时
+         *
+         * @param idx 节点索引
+         * @return 剩余最长路径耗时
+         * @throws IndexOutOfBoundsException 当索引不在 {@code [0, nodeCount)} 区间时
+         */
+        public long remaining(int idx) {
+            return remaining[Objects.checkIndex(idx, cost.length)];
+        }
+
+        /**
+         * 指定索引节点是否位于关键路径上（松弛时间为 {@code 0}）
+         *
+         * @param idx 节点索引
+         * @return true 是，反之则不是
+         * @throws IndexOutOfBoundsException 当索引不在 {@code [0, nodeCount)} 区间时
+         */
+        public boolean isCritical(int idx) {
+            return slack(idx) == 0;
+        }
+
+        /**
+         * 返回一条关键路径上的节点（从头节点到尾节点）<br>
+         * 若有多条关键路径，则返回索引较小者优先的一条，图中没有节点时返回的 List 为 empty
+         *
+         * @return 关键路径（unmodifiableList）
+         */
+        public List<P> criticalPath() {
+            final int n = cost.length;
+            int cur = -1;
+            for (int i = 0; i < n; i++) {
+                if (graph.inDegree[i] == 0 && remaining[i] == makespan) {
+                    cur = i;
+                    break;
+                }
+            }
+            List<P> path = new ArrayList<>();
+            while (cur != -1) {
+                path.add(graph.node(cur));
+                long want = remaining[cur] - cost[cur];
+                int next = -1;
+                for (int e = graph.outOffset[cur], end = graph.outOffset[cur + 1]; e < end; e++) {
+                    int v = graph.outTarget[e];
+                    if (remaining[v] == want && (next == -1 || v < next)) next = v;
+                }
+                cur = next;
+            }
+            return Collections.unmodifiableList(path);
+        }
+
+        /**
+         * 返回按层分组的节点队列，分层与 {@link Graph#orderDAGQueue()} 一致，
+         * 同一层内节点按剩余最长路径耗时从大到小排列（相同时按索引顺序）<br>
+         * 当工作线程数小于层宽时，按该顺序提交可使最长的链最先开始
+         *
+         * @return 分层的节点队列
+         */
+        public LinkedList<List<P>> orderDAGQueue() {
+            return graph.toLayers(level, priorityOrder());
+        }
+
+        /**
+         * 返回全局就绪队列顺序（列表调度顺序）<br>
+         * 模拟调度过程：每次从所有前驱均已出队的就绪节点中取出剩余最长路径耗时最大者（相同时取索引较小者），
+         * 返回的顺序一定是一个拓扑序，按该顺序向工作线程池提交（并在前驱完成后执行）可使最长的链最先开始，
+         * 时间复杂度 O((V+E)logV)
+         *
+         * @return 节点顺序（unmodifiableList）
+         */
+        public List<P> readyQueue() {
+            final int n = cost.length;
+            final int[] remainIn = graph.inDegree.clone();
+            final PriorityQueue<Integer> ready = new PriorityQueue<>(Math.max(1, n), priorityComparator());
+            for (int i = 0; i < n; i++) {
+                if (remainIn[i] == 0) ready.add(i);
+            }
+            List<P> order = new ArrayList<>(n);
+            while (!ready.isEmpty()) {
+                int u = ready.poll();
+                order.add(graph.node(u));
+                for (int e = graph.outOffset[u], end = graph.outOffset[u + 1]; e < end; e++) {
+                    int v = graph.outTarget[e];
+                    if (--remainIn[v] == 0) ready.add(v);
+                }
+            }
+            return Collections.unmodifiableList(order);
+        }
+
+        private Comparator<Integer> priorityComparator() {
+            return (a, b) -> {
+                int c = Long.compare(remaining[b], remaining[a]);
+                return c != 0 ? c : Integer.compare(a, b);
+            };
+        }
+
+        private int[] priorityOrder() {
+            return IntStream.range(0, cost.length)
+                    .boxed()
+                    .sorted(priorityComparator())
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+
+        @Override
+        public String toString() {
+            return "Graph.Schedule[nodeCount=" + cost.length + ", criticalPathLength=" + makespan + "]";
+        }
+    }
+
+    /**
+     * <b>图构建器</b>
+     * <p>以单次遍历摄入节点与边，节点首次出现时被分配索引，边以 begin/end 索引对的形式存放在 {@code int[]} 中，
+     * 在 {@link #build()} 时以计数排序原地转为 CSR 结构<br>
+     * 该构建器状态可变，线程不安全，仅可使用一次，调用 {@link #build()} 后其内部存储将被释放，
+     * 再次调用任何方法将抛出 {@link IllegalStateException}
+     *
+     * @param <P> 节点类型
+     */
+    public static final class Builder<P> {
+
+        private Map<P, Integer> index = new HashMap<>();
+        private Object[] nodes = new Object[16];
+        private int nodeCount = 0;
+        // packed: edges[2k] = begin, edges[2k + 1] = end
+        private int[] edges = new int[32];
+        private int edgeCount = 0;
+
+        private Builder() {
+        }
+
+        private void checkNotBuilt() {
+            Err.realIf(index == null, IllegalStateException::new, "Graph.Builder already built");
+        }
+
+        private int indexOrAdd(P p) {
+            Objects.requireNonNull(p, "node is null");
+            Integer i = index.get(p);
+            if (i != null) return i;
+            if (nodeCount == nodes.length) {
+                nodes = Arrays.copyOf(nodes, nodeCount << 1);
+            }
+            nodes[nodeCount] = p;
+            index.put(p, nodeCount);
+            return nodeCount++;
+        }
+
+        /**
+         * 添加一个节点（可以为孤立点），若节点已存在，则什么都不做
+         *
+         * @param node 节点
+         * @return this
+         * @throws NullPointerException  当给定的节点为空时
+         * @throws IllegalStateException 当该构建器已构建过图时
+         */
+        public Builder<P> node(P node) {
+            checkNotBuilt();
+            indexOrAdd(node);
+            return this;
+        }
+
+        /**
+         * 添加一条有向边 {@code begin -> end}，不会创建 {@link Line} 对象
+         *
+         * @param begin 起点
+         * @param end   终点
+         * @return this
+         * @throws NullPointerException  当给定的起点或终点为空时
+         * @throws IllegalStateException 当该构建器已构建过图时，或边个数过多（超过 int 数组可承载的大小）时
+         */
+        public Builder<P> edge(P begin, P end) {
+            checkNotBuilt();
+            int b = indexOrAdd(begin);
+            int e = indexOrAdd(end);
+            int pos = edgeCount << 1;
+            if (pos == edges.length) {
+                Err.realIf(edges.length > (Integer.MAX_VALUE >> 1) - 8, IllegalStateException::new,
+                        "too many edges: {}", edgeCount);
+                edges = Arrays.copyOf(edges, Math.min(edges.length << 1, Integer.MAX_VALUE - 8) & ~1);
+            }
+            edges[pos] = b;
+            edges[pos + 1] = e;
+            edgeCount++;
+            return this;
+        }
+
+        /**
+         * 添加一条有向线段，图不会持有给定的 {@link Line} 对象
+         *
+         * @param line 有向线段
+         * @return this
+         * @throws NullPointerException  当给定的有向线段为空时
+         * @throws IllegalStateException 当该构建器已构建过图时
+         */
+        public Builder<P> line(Line<P> line) {
+            Objects.requireNonNull(line, "line is null");
+            return edge(line.begin(), line.end());
+        }
+
+        /**
+         * 消费给定的迭代器，添加其中所有有向线段，迭代器仅被遍历一次
+         *
+         * @param lines n个有向线段
+         * @return this
+         * @throws NullPointerException  当给定的迭代器为空或其中有元素为空时
+         * @throws IllegalStateException 当该构建器已构建过图时
+         */
+        public Builder<P> lines(Iterator<? extends Line<P>> lines) {
+            Objects.requireNonNull(lines, "lines is null");
+            while (lines.hasNext()) {
+                line(lines.next());
+            }
+            return this;
+        }
+
+        /**
+         * 添加给定可迭代对象中的所有有向线段
+         *
+         * @param lines n个有向线段
+         * @return this
+         * @throws NullPointerException  当给定的可迭代对象为空或其中有元素为空时
+         * @throws IllegalStateException 当该构建器已构建过图时
+         */
+        public Builder<P> lines(Iterable<? extends Line<P>> lines) {
+            Objects.requireNonNull(lines, "lines is null");
+            return lines(lines.iterator());
+        }
+
+        /**
+         * 添加给定可迭代对象中的所有节点
+         *
+         * @param nodes n个节点
+         * @return this
+         * @throws NullPointerException  当给定的可迭代对象为空或其中有元素为空时
+         * @throws IllegalStateException 当该构建器已构建过图时
+         */
+        public Builder<P> nodes(Iterable<? extends P> nodes) {
+            Objects.requireNonNull(nodes, "nodes is null");
+            for (P p : nodes) node(p);
+            return this;
+        }
+
+        /**
+         * 构建图，构建后该构建器不可再使用
+         *
+         * @return 图
+         * @throws IllegalStateException 当该构建器已构建过图时
+         */
+        public Graph<P> build() {
+            checkNotBuilt();
+            final int n = nodeCount;
+            final int m = edgeCount;
+            final int[] outOffset = new int[n + 1];
+            final int[] inDegree = new int[n];
+            for (int k = 0; k < m; k++) {
+                outOffset[edges[k << 1] + 1]++;
+                inDegree[edges[(k << 1) + 1]]++;
+            }
+            for (int i = 0; i < n; i++) {
+                outOffset[i + 1] += outOffset[i];
+            }
+            // 稳定的计数排序，同一起点的边保持给定顺序
+            final int[] cursor = Arrays.copyOf(outOffset, n);
+            final int[] outTarget = new int[m];
+            for (int k = 0; k < m; k++) {
+                outTarget[cursor[edges[k << 1]]++] = edges[(k << 1) + 1];
+            }
+            Graph<P> g = new Graph<>(Arrays.copyOf(nodes, n), index, m, outOffset, outTarget, inDegree);
+            // release
+            this.index = null;
+            this.nodes = null;
+            this.edges = null;
+            return g;
+        }
+    }
+
+}
@@ -377,20 +377,16 @@ public class Line<P> implements Iter<P>, Serializable, Cloneable<Line<P>> {
      * @throws IllegalArgumentException 当给定的headers可迭代对象中没有元素时，即认定无头节点时
      * @throws IllegalStateException    当给定的节点中有些节点无法从头节点被遍历到时，或者给定的节点关系无法构成一个DAG图时
      * @apiNote P类型是否实现equals和hashcode应在业务侧做考量
-     * @implNote 该方法内将根据参数lines自动寻找参与的所有节点和头节点
+     * @implNote 该方法内将单次遍历lines构建 {@link Graph}，不会复制lines，时间复杂度 O(V+E)，
+     * 同一层内节点按其在lines中首次出现的顺序排列
      * @see #orderDAGQueue(Iterable, Iterable)
      * @see #isDirectedAcyclicGraph(Iterable, Iterable)
-     * @see #findHeaderNodes(Iterable, Iterable)
-     * @see #findAllNode(Iterable)
+     * @see Graph#orderDAGQueue()
      */
     public static <P> R<LinkedList<List<P>>> orderDAGQueue(Iterable<Line<P>> lines) {
         // 20250528 because eq & hash. change to use IdentityHashMap?
-        return R.ofFnCallable(() -> {
-            Set<P> all = findAllNode(lines);
-            Err.realIf(!isDirectedAcyclicGraph(lines, all),
-                    IllegalStateException::new, "lines is not a directed acyclic graph");
-            return orderDAGQueue(lines, all);
-        });
+        return R.ofFnCallable(() -> Graph.ofLines(lines))
+                .flatMap(Graph::orderDAGQueue);
     }
 
     /**
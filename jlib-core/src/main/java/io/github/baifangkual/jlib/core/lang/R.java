@@ -3,13 +3,20 @@ package io.github.baifangkual.jlib.core.lang;
 import io.github.baifangkual.jlib.core.func.Fn;
 import io.github.baifangkual.jlib.core.func.FnAcc;
 import io.github.baifangkual.jlib.core.func.FnRun;
+import io.github.baifangkual.jlib.core.panic.StacklessException;
 
 import java.io.Serial;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -121,6 +128,19 @@ public sealed interface R<T> extends Serializable
                 : new R.Err<>(err);
     }
 
+    /**
+     * 创建"错误结果"，“错误结果值”为以给定信息构造的无栈追踪的异常 {@link StacklessException}<br>
+     * 该异常构造时不填充栈回溯，适用于预期内的失败（如“文件不存在”），在高失败率的批量操作中可避免栈回溯填充的开销，
+     * 对于固定的失败原因，亦可缓存 {@link StacklessException} 实例并通过 {@link #ofErr(Exception)} 重复使用
+     *
+     * @param message 异常信息
+     * @param <T>     正常结果类型
+     * @return {@code R.Err(StacklessException)}
+     */
+    static <T> R.Err<T> ofStacklessErr(String message) {
+        return new R.Err<>(new StacklessException(message));
+    }
+
     /**
      * 尝试创建"正常结果"<br>
      * 给定“正常结果值”，若“正常结果值”不为 {@code null}，则返回 {@code R.Ok(ok)}，
@@ -234,6 +254,176 @@ public sealed interface R<T> extends Serializable
         }
     }
 
+    /**
+     * 将给定的一系列结果合并为一个结果<br>
+     * 若给定的结果均为“正常结果”，则返回 {@code R.Ok(List)}，其中按序为各“正常结果值”，
+     * 否则返回第一个“错误结果”的“错误结果值”构成的 {@code R.Err(err)}
+     *
+     * @param rs  一系列结果
+     * @param <T> 正常结果类型
+     * @return {@code R.Ok(List)} | {@code R.Err(err)}
+     * @throws NullPointerException 当给定的一系列结果为空或其中某结果为空时
+     */
+    static <T> R<List<T>> sequence(Iterable<? extends R<? extends T>> rs) {
+        Objects.requireNonNull(rs, "'rs' is null");
+        List<T> oks = new ArrayList<>();
+        for (R<? extends T> r : rs) {
+            Objects.requireNonNull(r, "'r' is null");
+            if (r.isErr()) {
+                return new Err<>(r.err());
+            }
+            oks.add(r.ok());
+        }
+        return new Ok<>(Collections.unmodifiableList(oks));
+    }
+
+    /**
+     * 在给定的执行器中以至多 {@code maxConcurrency} 的并发度对每个元素执行给定函数，并将结果合并为一个结果<br>
+     * 若所有函数执行结果均为“正常结果”，返回 {@code R.Ok(List)}，其中按元素顺序为各“正常结果值”；
+     * 当某函数执行结果为“错误结果”（函数执行过程抛出的异常、函数返回 {@code null} 亦视为“错误结果”）时，
+     * 不再对未开始执行的元素执行函数，并中断正在执行的函数所在的线程，立即返回最先完成的“错误结果”的“错误结果值”构成的 {@code R.Err(err)}，
+     * 不等待正在执行的函数结束（不响应中断的函数将在其所在线程中继续执行至结束，其结果被忽略）<br>
+     * 调用方线程将阻塞至执行结束或出现“错误结果”，若调用方线程在等待过程中被中断，则同样取消执行，
+     * 返回 {@code R.Err(InterruptedException)} 并保留中断状态<br>
+     * 该方法不为每个元素创建 {@link CompletableFuture}，而是向执行器提交至多 {@code maxConcurrency} 个工作者，各工作者依次领取元素执行；
+     * 执行器拒绝提交时，该工作者在调用方线程中执行<br>
+     * 执行器可为任意线程池（大量阻塞IO操作应使用足够大的线程池，jdk21+ 可使用虚拟线程执行器），
+     * 应避免在执行器的线程中调用该方法并使用同一个有界执行器，否则可能因工作者无法被执行而死锁
+     * <pre>
+     *     {@code
+     *     R<List<List<VPath>>> r = R.traverseParallel(dirs, vfs::tryLsDir, pool, 8);
+     *     }
+     * </pre>
+     *
+     * @param items          元素
+     * @param fn             函数
+     * @param executor       执行器
+     * @param maxConcurrency 最大并发数
+     * @param <P>            元素类型
+     * @param <T>            正常结果类型
+     * @return {@code R.Ok(List)} | {@code R.Err(err)} | {@code R.Err(InterruptedException)}
+     * @throws NullPointerException     当给定的元素、函数或执行器为空时
+     * @throws IllegalArgumentException 当最大并发数小于1时
+     * @see #traverseParallelEach(Collection, Function, Executor, int)
+     */
+    static <P, T> R<List<T>> traverseParallel(Collection<? extends P> items,
+                                              Function<? super P, ? extends R<? extends T>> fn,
+                                              Executor executor,
+                                              int maxConcurrency) {
+        Objects.requireNonNull(items, "'items' is null");
+        Objects.requireNonNull(fn, "'fn' is null");
+        @SuppressWarnings("unchecked") P[] ps = (P[]) items.toArray();
+        RParallel<T> run = RParallel.run(ps.length, i -> fn.apply(ps[i]), executor, maxConcurrency, R::isErr, null);
+        R<T> stoppedBy = run.stoppedBy();
+        if (stoppedBy != null) { // 某函数执行结果为“错误结果”或调用方线程被中断
+            return new Err<>(stoppedBy.err());
+        }
+        // 未停止，所有函数均已执行结束
+        List<T> oks = new ArrayList<>(ps.length);
+        for (int i = 0; i < ps.length; i++) {
+            oks.add(run.result(i).ok());
+        }
+        return new Ok<>(Collections.unmodifiableList(oks));
+    }
+
+    /**
+     * 在给定的执行器中以至多 {@code maxConcurrency} 的并发度对每个元素执行给定函数，返回各元素的结果<br>
+     * 与 {@link #traverseParallel(Collection, Function, Executor, int)} 不同，某函数执行结果为“错误结果”时不会取消其他元素的执行，
+     * 返回的列表按元素顺序为各元素的结果；若调用方线程在等待过程中被中断，则取消执行，
+     * 未执行的元素的结果为 {@code R.Err(CancellationException)}，并保留中断状态
+     *
+     * @param items          元素
+     * @param fn             函数
+     * @param executor       执行器
+     * @param maxConcurrency 最大并发数
+     * @param <P>            元素类型
+     * @param <T>            正常结果类型
+     * @return 各元素的结果
+     * @throws NullPointerException     当给定的元素、函数或执行器为空时
+     * @throws IllegalArgumentException 当最大并发数小于1时
+     */
+    static <P, T> List<R<T>> traverseParallelEach(Collection<? extends P> items,
+                                                  Function<? super P, ? extends R<? extends T>> fn,
+                                                  Executor executor,
+                                                  int maxConcurrency) {
+        Objects.requireNonNull(items, "'items' is null");
+        Objects.requireNonNull(fn, "'fn' is null");
+        @SuppressWarnings("unchecked") P[] ps = (P[]) items.toArray();
+        RParallel<T> run = RParallel.run(ps.length, i -> fn.apply(ps[i]), executor, maxConcurrency, null, null);
+        List<R<T>> rs = new ArrayList<>(ps.length);
+        for (int i = 0; i < ps.length; i++) {
+            rs.add(run.result(i));
+        }
+        return Collections.unmodifiableList(rs);
+    }
+
+    /**
+     * 在给定的执行器中同时执行给定的一系列任务，返回最先完成的“正常结果”（竞速）<br>
+     * 同 {@link #firstOk(Collection, Executor, Consumer)}，竞争失败的任务的“正常结果值”被忽略，
+     * 遂任务的“正常结果值”持有需关闭的资源时（如连接），应使用 {@link #firstOk(Collection, Executor, Consumer)} 关闭之
+     *
+     * @param tasks    任务
+     * @param executor 执行器
+     * @param <T>      正常结果类型
+     * @return {@code R.Ok(ok)} | {@code R.Err(IllegalStateException)} | {@code R.Err(NoSuchElementException)} | {@code R.Err(InterruptedException)}
+     * @throws NullPointerException 当给定的任务或执行器为空时
+     */
+    static <T> R<T> firstOk(Collection<? extends Supplier<? extends R<? extends T>>> tasks, Executor executor) {
+        return firstOk(tasks, executor, null);
+    }
+
+    /**
+     * 在给定的执行器中同时执行给定的一系列任务，返回最先完成的“正常结果”（竞速）<br>
+     * 当某任务的执行结果为“正常结果”时，不再执行未开始的任务，中断正在执行的任务所在的线程并立即返回该结果，
+     * 不等待正在执行的任务结束（任务可能不响应中断，如建立JDBC连接），这些任务在其所在线程中继续执行至结束，
+     * 其后完成的“正常结果值”（竞争失败者）将在该任务所在线程中交由 {@code onDiscard} 处理（如关闭之），丢弃函数抛出的异常被忽略；
+     * 若所有任务的执行结果均为“错误结果”，则返回新建的 {@code R.Err(IllegalStateException)}，
+     * 各任务的“错误结果值”按任务顺序被添加为其次级异常（{@link Throwable#addSuppressed(Throwable)}），
+     * 任务的“错误结果值”本身不被修改（其可能为多处共享的异常实例）；
+     * 若给定的任务为空集合，返回 {@code R.Err(NoSuchElementException)}；
+     * 若调用方线程在等待过程中被中断，则取消执行，返回 {@code R.Err(InterruptedException)} 并保留中断状态，
+     * 其后完成的“正常结果值”同样交由 {@code onDiscard} 处理
+     * <pre>
+     *     {@code
+     *     R<Connection> r = R.firstOk(List.of(primary::tryGetConn, replica::tryGetConn), pool,
+     *             conn -> R.ofFnRun(conn::close));
+     *     }
+     * </pre>
+     *
+     * @param tasks     任务
+     * @param executor  执行器
+     * @param onDiscard 竞争失败的任务的“正常结果值”的丢弃函数，为null表示忽略之
+     * @param <T>       正常结果类型
+     * @return {@code R.Ok(ok)} | {@code R.Err(IllegalStateException)} | {@code R.Err(NoSuchElementException)} | {@code R.Err(InterruptedException)}
+     * @throws NullPointerException 当给定的任务或执行器为空时
+     * @see #traverseParallel(Collection, Function, Executor, int)
+     */
+    @SuppressWarnings("unchecked")
+    static <T> R<T> firstOk(Collection<? extends Supplier<? extends R<? extends T>>> tasks, Executor executor,
+                            Consumer<? super T> onDiscard) {
+        Objects.requireNonNull(tasks, "'tasks' is null");
+        Object[] ts = tasks.toArray();
+        if (ts.length == 0) {
+            return new Err<>(new NoSuchElementException("'tasks' is empty"));
+        }
+        RParallel<T> run = RParallel.run(ts.length, i -> ((Supplier<? extends R<? extends T>>) ts[i]).get(),
+                executor, ts.length, R::isOk, onDiscard == null ? null : r -> {
+                    if (r.isOk()) {
+                        onDiscard.accept(r.ok());
+                    }
+                });
+        R<T> stoppedBy = run.stoppedBy();
+        if (stoppedBy != null) { // 最先完成的“正常结果”或调用方线程被中断
+            return stoppedBy;
+        }
+        // 未停止，所有任务均已执行结束且均为“错误结果”
+        List<Exception> errs = run.errs();
+        IllegalStateException allErr = new IllegalStateException(
+                "all " + errs.size() + " tasks of 'firstOk' failed, first err: " + errs.get(0));
+        errs.forEach(allErr::addSuppressed);
+        return new Err<>(allErr);
+    }
+
     /**
      * 执行给定函数，若发生异常，发生的异常在返回的 {@code R.err()}
      *
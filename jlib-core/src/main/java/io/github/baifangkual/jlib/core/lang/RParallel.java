@@ -0,0 +1,248 @@
+package io.github.baifangkual.jlib.core.lang;
+
+import io.github.baifangkual.jlib.core.util.Stf;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+
+/**
+ * {@link R} 的并行组合操作的执行器，一次执行对应一个实例<br>
+ * 在给定的 {@link Executor} 中提交至多 {@code maxConcurrency} 个工作者，
+ * 各工作者循环领取下一个未执行的任务下标并执行，直到所有任务被领取或执行被停止，
+ * 遂同时执行的任务数不超过 {@code maxConcurrency}，且无需为每个任务创建 {@link java.util.concurrent.Future}<br>
+ * 当某任务的结果满足停止条件时，停止领取新任务，并中断正在执行的任务所在的线程（同 {@code Future.cancel(true)}），
+ * 工作者在每个任务结束后清除其可能被设置的中断状态，遂不会影响 {@link Executor} 中线程执行后续无关的任务<br>
+ * 调用方线程在停止条件满足（或调用方线程被中断）时立即返回，而不等待正在执行的任务结束（任务可能不响应中断，如建立JDBC连接），
+ * 这些任务在其所在线程中继续执行至结束，其后满足停止条件的结果（竞争失败者）将交由给定的丢弃函数处理（如关闭其持有的资源），
+ * 其余结果被忽略<br>
+ * 当 {@link Executor} 拒绝提交工作者时，该工作者在调用方线程中执行
+ *
+ * @param <T> 正常结果值类型
+ * @author baifangkual
+ * @see R#traverseParallel(java.util.Collection, java.util.function.Function, Executor, int)
+ * @see R#firstOk(java.util.Collection, Executor, Consumer)
+ * @since 2026/10/18 v0.1.2
+ */
+final class RParallel<T> {
+
+    private final int n;
+    private final IntFunction<? extends R<? extends T>> task;
+    private final Predicate<? super R<T>> stopWhen;
+    private final Consumer<? super R<T>> onDiscard;
+    private final AtomicReferenceArray<R<T>> results;
+    private final AtomicInteger next = new AtomicInteger();
+    /**
+     * 满足停止条件的第一个结果，或调用方线程被中断时的 {@code R.Err(InterruptedException)}
+     */
+    private final AtomicReference<R<T>> stoppedBy = new AtomicReference<>();
+    private final List<Worker> workers;
+    /**
+     * 未结束的工作者数
+     */
+    private final AtomicInteger liveWorkers;
+    /**
+     * 所有工作者结束或停止条件满足时释放调用方线程
+     */
+    private final CountDownLatch released = new CountDownLatch(1);
+    private volatile boolean stopped;
+
+    private RParallel(int n, IntFunction<? extends R<? extends T>> task, int maxConcurrency,
+                      Predicate<? super R<T>> stopWhen, Consumer<? super R<T>> onDiscard) {
+        this.n = n;
+        this.task = task;
+        this.stopWhen = stopWhen;
+        this.onDiscard = onDiscard;
+        this.results = new AtomicReferenceArray<>(n);
+        int w = Math.min(n, maxConcurrency);
+        this.workers = new ArrayList<>(w);
+        for (int i = 0; i < w; i++) {
+            workers.add(new Worker());
+        }
+        this.liveWorkers = new AtomicInteger(w);
+        if (w == 0) {
+            released.countDown();
+        }
+    }
+
+    /**
+     * 执行所有任务并等待结束、停止条件满足或调用方线程被中断<br>
+     * 停止条件满足或调用方线程被中断后，正在执行的任务可能仍在执行，
+     * 其后满足停止条件的结果交由 {@code onDiscard} 处理
+     *
+     * @param n              任务数
+     * @param task           以下标执行任务
+     * @param executor       执行器
+     * @param maxConcurrency 最大并发数
+     * @param stopWhen       停止条件，为null表示不停止
+     * @param onDiscard      满足停止条件但竞争失败的结果的丢弃函数，为null表示忽略之
+     * @param <T>            正常结果值类型
+     * @return 执行器，可通过 {@link #result(int)}、{@link #stoppedBy()} 获取结果
+     * @throws IllegalArgumentException 当最大并发数小于1时
+     */
+    static <T> RParallel<T> run(int n, IntFunction<? extends R<? extends T>> task, Executor executor,
+                                int maxConcurrency, Predicate<? super R<T>> stopWhen,
+                                Consumer<? super R<T>> onDiscard) {
+        Objects.requireNonNull(executor, "executor is null");
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException(Stf.f("maxConcurrency must be greater than 0, but got {}", maxConcurrency));
+        }
+        RParallel<T> run = new RParallel<>(n, task, maxConcurrency, stopWhen, onDiscard);
+        run.start(executor);
+        run.await();
+        return run;
+    }
+
+    /**
+     * 给定下标的任务的结果，未执行（或尚未执行结束）时返回 {@code R.Err(CancellationException)}
+     */
+    R<T> result(int i) {
+        R<T> r = results.get(i);
+        return r != null ? r : new R.Err<>(new CancellationException(Stf.f("task {} is not executed", i)));
+    }
+
+    /**
+     * 满足停止条件的第一个结果，调用方线程被中断时为 {@code R.Err(InterruptedException)}，可能为null
+     */
+    R<T> stoppedBy() {
+        return stoppedBy.get();
+    }
+
+    /**
+     * 所有已执行的任务的“错误结果值”，按任务下标排列
+     */
+    List<Exception> errs() {
+        List<Exception> errs = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            R<T> r = results.get(i);
+            if (r instanceof R.Err<T> e) {
+                errs.add(e.err());
+            }
+        }
+        return errs;
+    }
+
+    private void start(Executor executor) {
+        for (Worker w : workers) {
+            try {
+                executor.execute(w);
+            } catch (RejectedExecutionException e) {
+                w.run();
+            }
+        }
+    }
+
+    private void await() {
+        try {
+            released.await();
+        } catch (InterruptedException e) {
+            // 占据 stoppedBy，其后满足停止条件的结果均为竞争失败者，交由 onDiscard 处理
+            stoppedBy.compareAndSet(null, new R.Err<>(
+                    new InterruptedException("interrupted while waiting for parallel tasks")));
+            stop();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void discard(R<T> r) {
+        if (onDiscard != null) {
+            try {
+                onDiscard.accept(r);
+            } catch (RuntimeException ignore) {
+                // 丢弃函数的异常无处可抛，忽略之，不影响工作者继续执行
+            }
+        }
+    }
+
+    private void stop() {
+        stopped = true;
+        for (Worker w : workers) {
+            w.cancel();
+        }
+    }
+
+    private R<T> exec(int i) {
+        try {
+            @SuppressWarnings("unchecked") R<T> r = (R<T>) task.apply(i);
+            return r != null ? r : new R.Err<>(new NullPointerException(Stf.f("task {} return null", i)));
+        } catch (Exception e) {
+            return new R.Err<>(e);
+        }
+    }
+
+    private final class Worker implements Runnable {
+        /**
+         * 正在执行任务的线程，在该对象的锁内读写，以保证仅中断正在执行任务的线程
+         */
+        private Thread running;
+        private boolean cancelled;
+        private boolean interrupted;
+
+        @Override
+        public void run() {
+            try {
+                int i;
+                while (!stopped && (i = next.getAndIncrement()) < n) {
+                    if (!begin()) {
+                        break;
+                    }
+                    R<T> r;
+                    try {
+                        r = exec(i);
+                    } finally {
+                        end();
+                    }
+                    results.set(i, r);
+                    if (stopWhen != null && stopWhen.test(r)) {
+                        if (stoppedBy.compareAndSet(null, r)) {
+                            stop();
+                            released.countDown();
+                        } else {
+                            discard(r);
+                        }
+                    }
+                }
+            } finally {
+                if (liveWorkers.decrementAndGet() == 0) {
+                    released.countDown();
+                }
+            }
+        }
+
+        private synchronized boolean begin() {
+            if (cancelled) {
+                return false;
+            }
+            running = Thread.currentThread();
+            return true;
+        }
+
+        private synchronized void end() {
+            running = null;
+            if (interrupted) {
+                // 清除 cancel 设置的中断状态
+                interrupted = false;
+                //noinspection ResultOfMethodCallIgnored
+                Thread.interrupted();
+            }
+        }
+
+        private synchronized void cancel() {
+            cancelled = true;
+            if (running != null && running != Thread.currentThread()) {
+                interrupted = true;
+                running.interrupt();
+            }
+        }
+    }
+}
@@ -45,6 +45,7 @@ import java.util.function.Supplier;
  * @see #getOrThrowReal(FnGet)
  * @see #runOrThrowPanic(FnRun)
  * @see #getOrThrowPanic(FnGet)
+ * @see #stackless(String)
  * @since 2024/4/15 v0.0.3
  */
 public final class Err {
@@ -232,6 +233,34 @@ public final class Err {
     }
 
 
+    /**
+     * 创建无栈追踪的异常 {@link StacklessException}，适用于预期内的失败，
+     * 该异常构造时不填充栈回溯，遂可在高失败率的批量操作中避免栈回溯填充的开销
+     * <pre>
+     *     {@code
+     *     if (!exists) throw Err.stackless("file not found");
+     *     }
+     * </pre>
+     *
+     * @param msg 异常信息
+     * @return 无栈追踪的异常
+     */
+    public static StacklessException stackless(String msg) {
+        return new StacklessException(msg);
+    }
+
+    /**
+     * 创建无栈追踪的异常 {@link StacklessException}，异常信息由 {@link Stf#f(String, Object...)} 格式化
+     *
+     * @param msgTemp 异常信息模板
+     * @param msgArgs 异常信息模板参数
+     * @return 无栈追踪的异常
+     * @see #stackless(String)
+     */
+    public static StacklessException stackless(String msgTemp, Object... msgArgs) {
+        return new StacklessException(Stf.f(msgTemp, msgArgs));
+    }
+
     /**
      * 执行给定的可能抛出异常的函数，当发生异常时，直接抛出相应异常，即使该异常为预检异常<br>
      * <pre>
@@ -52,6 +52,18 @@ public final class PanicException extends RuntimeException implements Serializab
         return new PanicException(realCause);
     }
 
+    /**
+     * 以无栈追踪的异常 {@link StacklessException} 为实际异常创建恐慌异常，
+     * 恐慌异常自身不填充栈回溯，遂返回的实例的构造过程均不填充栈回溯，适用于预期内的失败
+     *
+     * @param msg 异常信息
+     * @return PanicException实例，该实例为运行时异常
+     * @see StacklessException
+     */
+    public static PanicException stackless(String msg) {
+        return new PanicException(new StacklessException(msg));
+    }
+
     /**
      * 将该类型构造使用私有作用域，使该类型唯一构造方式使用{@link #wrap(Throwable)} 方法
      *
@@ -0,0 +1,51 @@
+package io.github.baifangkual.jlib.core.panic;
+
+import java.io.Serial;
+
+/**
+ * <b>无栈追踪的异常</b><br>
+ * 构造时不调用 {@link Throwable#fillInStackTrace()}（栈追踪为空数组），且不可添加次级异常（{@link #addSuppressed(Throwable)}无效），
+ * 遂构造开销仅为一次对象分配，适用于“预期内的失败”（如文件不存在、连接池暂无可用连接、参数校验失败等），
+ * 这类失败在批量操作中可能大量发生，而其栈追踪几乎无排查价值，
+ * 普通异常的栈回溯填充（与调用栈深度成正比）将成为这类操作的主要开销<br>
+ * 该类实例构造后不可变（异常原因仅能在构造时给定，{@link #initCause(Throwable)} 将抛出异常），
+ * 遂可作为静态常量缓存并在多个线程中重复使用（例如作为 {@link io.github.baifangkual.jlib.core.lang.R.Err} 的载荷）：
+ * <pre>
+ *     {@code
+ *     static final StacklessException NOT_FOUND = new StacklessException("not found");
+ *     R<V> r = cache.containsKey(k) ? R.ofOk(cache.get(k)) : R.ofErr(NOT_FOUND);
+ *     }
+ * </pre>
+ * 该类型不是final的，表达特定含义的预期内失败可继承该类型<br>
+ * 应仅对预期内的失败使用该类型，对于需要排查的异常，栈追踪仍是必要的
+ *
+ * @author baifangkual
+ * @see Err#stackless(String)
+ * @see PanicException#stackless(String)
+ * @see io.github.baifangkual.jlib.core.lang.R#ofStacklessErr(String)
+ * @since 2026/10/18 v0.1.2
+ */
+public class StacklessException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 以给定的异常信息构造无栈追踪的异常
+     *
+     * @param message 异常信息
+     */
+    public StacklessException(String message) {
+        super(message, null, false, false);
+    }
+
+    /**
+     * 以给定的异常信息及异常原因构造无栈追踪的异常
+     *
+     * @param message 异常信息
+     * @param cause   异常原因
+     */
+    public StacklessException(String message, Throwable cause) {
+        super(message, cause, false, false);
+    }
+}
@@ -1,5 +1,7 @@
 package io.github.baifangkual.jlib.core.util;
 
+import io.github.baifangkual.jlib.core.trait.Closeable;
+
 import java.lang.management.ManagementFactory;
 import java.net.InetAddress;
 import java.net.NetworkInterface;
@@ -9,16 +11,20 @@ import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * <b>ID Generator</b><br>
- * ID生成器，线程安全，生成的ID为雪花ID，共 63 位有效位，符号位永远为 0，
+ * ID生成器，线程安全（无锁），生成的ID为雪花ID，共 63 位有效位，符号位永远为 0，
  * 最多可生成 {@code 2^62 - 1} 个ID<br>
  * 63 个有效位中 {@value TIMESTAMP_BITS} 位为时间偏移量，{@value MACHINE_ID_BITS} 位为 machineId 标识，
  * {@value SEQUENCE_BITS} 位为同毫秒细分的序列号<br>
  * 该Id构成: {@code 0(符号位) - 时间偏移量 - 机器码 - 同毫秒序列号}<br>
+ * 上述为默认布局 {@link Layout#DEFAULT}，各部分占用位数及时间偏移量的起点可通过 {@link Layout} 自定义，
+ * 如减少机器码位数以增加每毫秒可生成的ID数，见 {@link #Idg(Layout, long, FnGenTimeMillis)}<br>
+ * 实例内的可变状态（上次生成ID的时间偏移量及同毫秒序列号）被打包在一个 {@link AtomicLong} 中，
+ * 以 CAS 推进，多线程竞争时线程不会挂起/唤醒，而是重试 CAS<br>
  * 该算法及代码参考：
  * <a href="https://zh.wikipedia.org/wiki/%E9%9B%AA%E8%8A%B1%E7%AE%97%E6%B3%95">雪花算法</a>
  * <a href="https://gitee.com/yu120/sequence/blob/master/src/main/java/cn/ms/sequence/Sequence.java">分布式高效ID生产黑科技</a>
@@ -51,6 +57,21 @@ public final class Idg {
         return defaultSingle().nextLongId();
     }
 
+    /**
+     * 返回 n 个严格递增的雪花ID
+     *
+     * @param n 个数
+     * @return n 个雪花ID
+     * @throws IllegalArgumentException 当给定的个数小于 0 时
+     * @throws IllegalStateException    当时间发生至少两次连续回溯,
+     *                                  或时间发生一次大于 {@value MAX_FAULT_TOLERANT_BACKTRACKING_CAPACITY} ms 的回溯时
+     * @throws IllegalStateException    当线程收到中断信号时
+     * @see Idg#nextLongIds(int)
+     */
+    public static long[] longIds(int n) {
+        return defaultSingle().nextLongIds(n);
+    }
+
     /**
      * 返回一个62进制的雪花ID
      *
@@ -62,7 +83,7 @@ public final class Idg {
     }
 
 
-    // DEFINITION ==================================
+    // DEFINITION（默认布局 Layout.DEFAULT）======
     /**
      * 同毫秒区分-机器码区分，占多少bit，机器最多区分 {@value MAX_MACHINE_ID_VALUE} 个
      */
@@ -101,15 +122,20 @@ public final class Idg {
 
     // 区分-机器码
     private final long machineId;
+    // 布局，及由布局计算的各值（热路径上直接使用，不经过 layout 对象）
+    private final Layout layout;
+    private final long epochBegin;
+    private final long epochEnd;
+    private final int sequenceBits;
+    private final long maxSequence;
+    private final int timestampOffset;
 
     // 获取当前时间(UTC)与 1970-01-01 00:00:00(UTC)之间的差值（以毫秒为单位）的方法引用
     private final FnGenTimeMillis fnGenTimeMillis;
-    private final Lock lock = new ReentrantLock();
-    // MUTABLE ===================================== （sync方法内，该不用原子）
-    // 同毫秒内生成的id的序列号
-    private long sequence = 0;
-    // 上次生产 ID 时间戳, 初始值设定为 -1L
-    private long lastTime = -1L;
+    // MUTABLE =====================================
+    // 打包的状态：(上次生成ID的时间戳 - epochBegin) << sequenceBits | 同毫秒内生成的id的序列号
+    // 即该值恰为不含机器码部分的雪花ID，该值只增不减
+    private final AtomicLong state = new AtomicLong(0L);
 
     /**
      * 默认使用 mac 地址后 16位 和 当前计算机名+进程pid哈希后 {@value #MACHINE_ID_BITS} 位及 {@link System#currentTimeMillis()} 方法引用构造实例
@@ -128,7 +154,7 @@ public final class Idg {
      * 该 {@link #Idg()} 的无参构造会将该函数设定为 {@link System#currentTimeMillis()}<br>
      *
      * @apiNote 若 {@link #Idg(long, FnGenTimeMillis)} 构造中设定该函数返回常量，
-     * 则 {@link Idg} 会在 {@link #sequence} 达到最大值 {@value MAX_SEQUENCE_VALUE}
+     * 则 {@link Idg} 会在同毫秒序列号达到最大值 {@value MAX_SEQUENCE_VALUE}
      * 且接收到生成ID的请求时在方法 {@link #loop2NextTime(long)} 中死循环，遂请确保该函数的正确性，
      * 同理，该函数返回的值粒度越高，则 {@link Idg} 实例性能越好<br>
      * 该函数每次调用返回的值最好大于等于上一次调用返回的值，在最坏的情况下（闰秒或时间回溯），
@@ -149,7 +175,118 @@ public final class Idg {
     }
 
     /**
-     * 明确指定 machineId 的构造参数<br>
+     * <b>粗粒度时钟</b>
+     * <p>{@link FnGenTimeMillis} 的一种实现，由一个后台守护线程以固定间隔（tick）读取 {@link System#currentTimeMillis()}
+     * 并发布到一个 volatile 变量，{@link #gen()} 仅读取该变量，
+     * 遂生成ID的线程不再直接调用 {@link System#currentTimeMillis()}（包括同毫秒序列号耗尽时 {@link #loop2NextTime(long)} 中的忙自旋）
+     * <p>精度取舍：
+     * <ul>
+     *     <li>{@link #gen()} 返回的值相较真实时间最多滞后约一个 tick 加上后台线程的调度延迟，
+     *     tick 默认为 {@value #DEFAULT_TICK_MICROS} 微秒，在 Linux 上 {@link LockSupport#parkNanos(long)} 的实际唤醒延迟通常为数十微秒，
+     *     但在负载很高或计时器分辨率较低的系统（如部分 Windows 系统，约 15ms）上滞后可能明显变大，
+     *     此时同毫秒序列号耗尽后的忙自旋时间也会相应变长</li>
+     *     <li>单调保护：发布的值只增不减，当系统时间发生回溯时，{@link #gen()} 将停在回溯前的值直到系统时间追上，
+     *     遂 {@link Idg} 不会再因回溯抛出异常，但回溯期间每个 {@link Idg} 实例每毫秒可生成的ID会被限制在同一个“停住”的毫秒内，
+     *     系统时间大幅回溯（如手动修改时间）时请注意这点</li>
+     *     <li>后台线程只占用一个线程，但会以 tick 为间隔持续唤醒，不需要时请调用 {@link #close()} 关闭，
+     *     关闭后 {@link #gen()} 退化为直接调用 {@link System#currentTimeMillis()}</li>
+     * </ul>
+     * 该类型线程安全
+     * <pre>{@code
+     * Idg idg = new Idg(1L, Idg.CoarseClock.shared());
+     * }</pre>
+     *
+     * @author baifangkual
+     * @since 2026/10/18 v0.1.2
+     */
+    public static final class CoarseClock implements FnGenTimeMillis, Closeable {
+
+        /**
+         * 默认 tick（微秒）
+         */
+        static final long DEFAULT_TICK_MICROS = 200L;
+
+        private static class SharedHolder {
+            private static final CoarseClock INSTANCE = new CoarseClock(DEFAULT_TICK_MICROS, TimeUnit.MICROSECONDS);
+        }
+
+        /**
+         * 返回全局共享的粗粒度时钟（tick 为 {@value #DEFAULT_TICK_MICROS} 微秒），该实例在首次调用该方法时启动<br>
+         * 该实例被多个 {@link Idg} 共享，遂不应关闭该实例
+         *
+         * @return 全局共享的粗粒度时钟
+         */
+        public static CoarseClock shared() {
+            return SharedHolder.INSTANCE;
+        }
+
+        private final long tickNanos;
+        private final Thread ticker;
+        private volatile long nowMillis;
+        private volatile boolean closed = false;
+
+        /**
+         * 构造并启动一个粗粒度时钟
+         *
+         * @param tick 后台线程读取系统时间的间隔
+         * @param unit tick 的时间单位
+         * @throws IllegalArgumentException 当 tick 小于等于 0 或大于 1 毫秒时（大于 1 毫秒的 tick 会导致时钟跳过毫秒）
+         * @throws NullPointerException     当给定的时间单位为空时
+         */
+        public CoarseClock(long tick, TimeUnit unit) {
+            Objects.requireNonNull(unit, "unit is null");
+            long nanos = unit.toNanos(tick);
+            if (nanos <= 0 || nanos > TimeUnit.MILLISECONDS.toNanos(1)) {
+                throw new IllegalArgumentException(Stf.f("tick: {} {} not in (0, 1ms]", tick, unit));
+            }
+            this.tickNanos = nanos;
+            this.nowMillis = System.currentTimeMillis();
+            this.ticker = new Thread(this::tickLoop, "idg-coarse-clock");
+            this.ticker.setDaemon(true);
+            this.ticker.start();
+        }
+
+        private void tickLoop() {
+            while (!closed) {
+                LockSupport.parkNanos(this, tickNanos);
+                long t = System.currentTimeMillis();
+                // 单调保护，仅该线程写入
+                if (t > nowMillis) {
+                    nowMillis = t;
+                }
+            }
+        }
+
+        /**
+         * 返回后台线程最近一次发布的毫秒值，该值只增不减<br>
+         * 当该时钟已关闭时，返回 {@link System#currentTimeMillis()}
+         *
+         * @return 当前时间（毫秒数差值）
+         */
+        @Override
+        public long gen() {
+            return closed ? System.currentTimeMillis() : nowMillis;
+        }
+
+        @Override
+        public boolean isClosed() {
+            return closed;
+        }
+
+        /**
+         * 停止后台线程，重复调用无副作用
+         */
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                LockSupport.unpark(ticker);
+            }
+        }
+    }
+
+    /**
+     * 明确指定 machineId 的构造参数，使用默认布局 {@link Layout#DEFAULT}<br>
      * machineId {@value  #MACHINE_ID_BITS} 位，最多能区分 {@value MAX_MACHINE_ID_VALUE} 个
      *
      * @param machineId 同毫秒区分-机器码
@@ -164,41 +301,81 @@ public final class Idg {
      * @see #EPOCH_END
      */
     public Idg(long machineId, FnGenTimeMillis fn) {
+        this(Layout.DEFAULT, machineId, fn);
+    }
+
+    /**
+     * 明确指定布局及 machineId 的构造参数<br>
+     * <pre>{@code
+     * // 8 位机器码（256 个节点），13 位序列号（每毫秒 8192 个ID），时间偏移量仍为 42 位
+     * Idg.Layout layout = new Idg.Layout(8, 13, Idg.Layout.DEFAULT.epochBegin());
+     * Idg idg = new Idg(layout, 1L, System::currentTimeMillis);
+     * Idg.Id id = Idg.Id.ofLongId(idg.nextLongId(), layout);
+     * }</pre>
+     *
+     * @param layout    布局
+     * @param machineId 同毫秒区分-机器码，应在 {@code [0, layout.maxMachineId()]} 区间
+     * @param fn        每次调用都能获取当前时间(UTC)与 1970-01-01 00:00:00(UTC)之间的差值（以毫秒为单位）的函数
+     * @throws IllegalArgumentException 当给定 machineId 小于 0 或大于 {@code layout.maxMachineId()} 时
+     * @throws IllegalStateException    当给定函数返回的毫秒值大于 {@code layout.epochEnd()}
+     *                                  或 小于 {@code layout.epochBegin()} 时
+     * @throws NullPointerException     当给定的布局或函数为空时
+     * @apiNote 在该 {@link Idg} 实例构造时便会调用给定的 {@link FnGenTimeMillis} 函数校验当前时间在给定布局下的合法性，
+     * 遂请确定在构造该对象时给定的函数已可使用
+     */
+    public Idg(Layout layout, long machineId, FnGenTimeMillis fn) {
+        Objects.requireNonNull(layout, "layout is null");
         Objects.requireNonNull(fn, "fnGenCurrTimeMillis is null");
+        this.layout = layout;
+        this.epochBegin = layout.epochBegin();
+        this.epochEnd = layout.epochEnd();
+        this.sequenceBits = layout.sequenceBits();
+        this.maxSequence = layout.maxSequence();
+        this.timestampOffset = layout.timestampOffset();
         long nowTimeMillis = fn.gen();
         if (testIsOutOfEpoch(nowTimeMillis)) {
             LocalDateTime now = LocalDateTime
                     .ofInstant(Instant.ofEpochMilli(nowTimeMillis), ZoneId.systemDefault());
             LocalDateTime bigBang = LocalDateTime
-                    .ofInstant(Instant.ofEpochMilli(EPOCH_BEGIN), ZoneId.systemDefault());
+                    .ofInstant(Instant.ofEpochMilli(epochBegin), ZoneId.systemDefault());
             LocalDateTime deathOfTime = LocalDateTime
-                    .ofInstant(Instant.ofEpochMilli(EPOCH_END), ZoneId.systemDefault());
+                    .ofInstant(Instant.ofEpochMilli(epochEnd), ZoneId.systemDefault());
             DateTimeFormatter dft = DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm:ss:SSS");
             throw new IllegalStateException(Stf.f("ID生成器初始化失败，不允许当前系统时间 '{}' 早于 '{}' 或晚于 '{}'",
                     now.format(dft), bigBang.format(dft), deathOfTime.format(dft)));
         }
-        if (machineId > MAX_MACHINE_ID_VALUE || machineId < 0) {
-            throw new IllegalArgumentException(Stf.f("machineId > {} or < 0", MAX_MACHINE_ID_VALUE));
+        if (machineId > layout.maxMachineId() || machineId < 0) {
+            throw new IllegalArgumentException(Stf.f("machineId > {} or < 0", layout.maxMachineId()));
         }
         this.machineId = machineId;
         this.fnGenTimeMillis = fn;
+        this.state.set(0L); // epochBegin, sequence 0
     }
 
     /**
-     * 判断给定的时间是否早于 {@link #EPOCH_BEGIN} 或晚于 {@link #EPOCH_END} <br>
+     * 返回该实例生成ID所使用的布局
+     *
+     * @return 布局
+     */
+    public Layout layout() {
+        return layout;
+    }
+
+    /**
+     * 判断给定的时间是否早于布局的 {@link Layout#epochBegin()} 或晚于 {@link Layout#epochEnd()} <br>
      *
      * @param timeMillis 时间戳
-     * @return 早于 {@link #EPOCH_BEGIN} 或晚于 {@link #EPOCH_END} 时返回 {@code true}
+     * @return 早于 {@link Layout#epochBegin()} 或晚于 {@link Layout#epochEnd()} 时返回 {@code true}
      */
     private boolean testIsOutOfEpoch(long timeMillis) {
-        return timeMillis < EPOCH_BEGIN || timeMillis > EPOCH_END;
+        return timeMillis < epochBegin || timeMillis > epochEnd;
     }
 
     /**
      * 生成雪花ID<br>
-     * 在同一毫秒内最多可生成 {@value #MAX_SEQUENCE_VALUE} 个雪花Id，
-     * 若一个毫秒内请求数大于 {@value #MAX_SEQUENCE_VALUE} 则从第 {@value #MAX_SEQUENCE_VALUE} +1 个请求开始，
-     * 请求所在的线程将会忙自旋到下一毫秒再从该方法返回雪花ID
+     * 在同一毫秒内最多可生成 {@code layout.maxSequence() + 1} 个雪花Id（默认布局下为 {@code 2048}），
+     * 若一个毫秒内请求数大于该值，则超出的请求
+     * 所在的线程将会忙自旋到下一毫秒再从该方法返回雪花ID
      *
      * @return 雪花ID
      * @throws IllegalStateException 当时间发生至少两次连续回溯,
@@ -206,61 +383,167 @@ public final class Idg {
      * @throws IllegalStateException 当线程收到中断信号时
      */
     public long nextLongId() {
-        lock.lock();
-        try {
+        for (; ; ) {
+            final long prev = state.get();
+            final long lastTime = unpackTime(prev);
             long timestamp = nowSystemTime();
             if (testIsOutOfEpoch(timestamp)) { // 已经结束咧！
                 throw new IllegalStateException("current time is out of epoch");
             }
             if (timestamp < lastTime) {  // 可能闰秒，可能发生大回溯
-                long offset = lastTime - timestamp;
-                if (offset <= MAX_FAULT_TOLERANT_BACKTRACKING_CAPACITY) {  // 差值小于设定可容忍值，等待
-                    try {
-                        TimeUnit.MILLISECONDS.sleep(offset << 1);  // 尝试休眠双倍差值后重新获取，再次校验
-                        timestamp = nowSystemTime();
-                        if (timestamp < lastTime) {  // 等待结束后，如果新获取的仍小于，则证明时间又发生回溯
-                            throw new IllegalStateException(Stf
-                                    .f("系统时间发生回溯，拒绝在 {} 毫秒内生成Id", lastTime - timestamp));
-                        }
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt(); // 恢复中断信号，闰秒或极小回溯的线程休眠情况几乎不可能发生或被观测到
-                        throw new IllegalStateException(e);
-                    }
-                } else { // 大的回溯，直接他妈异常
-                    throw new IllegalStateException(Stf.f("系统时间发生回溯，拒绝在 {} 毫秒内生成Id", offset));
-                }
+                timestamp = waitBacktracking(lastTime, timestamp);
             }
-
+            final long next;
             if (lastTime == timestamp) {
                 // 相同毫秒内，序列号自增
-                sequence = (sequence + 1) & MAX_SEQUENCE_VALUE;
-                if (sequence == 0L) {
+                if ((prev & maxSequence) == maxSequence) {
                     // 当进入该块，则表示毫秒数相同且序列号已达到最大, 线程则在该方法内忙自旋到至少下一毫秒才返回
-                    timestamp = loop2NextTime(lastTime);
+                    next = pack(loop2NextTime(lastTime), 0L);
+                } else {
+                    next = prev + 1;
                 }
             } else {
-                sequence = 0L;
+                next = pack(timestamp, 0L);
+            }
+            // CAS 失败表示其他线程已推进状态，重新读取状态及时间
+            if (state.compareAndSet(prev, next)) {
+                return buildId(unpackTime(next), machineId, next & maxSequence);
             }
+        }
+    }
 
-            lastTime = timestamp;
-            return buildId(timestamp, machineId, sequence);
-        } finally {
-            lock.unlock();
+    /**
+     * 生成 n 个雪花ID<br>
+     * 返回的ID严格递增，且与该实例其他方法生成的ID不重复
+     *
+     * @param n 个数
+     * @return n 个雪花ID
+     * @throws IllegalArgumentException 当给定的个数小于 0 时
+     * @throws IllegalStateException    当时间发生至少两次连续回溯,
+     *                                  或时间发生一次大于 {@value #MAX_FAULT_TOLERANT_BACKTRACKING_CAPACITY} ms 的回溯时
+     * @throws IllegalStateException    当线程收到中断信号时
+     * @see #nextLongIds(long[], int, int)
+     */
+    public long[] nextLongIds(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException(Stf.f("n: {} < 0", n));
         }
+        long[] ids = new long[n];
+        nextLongIds(ids, 0, n);
+        return ids;
     }
 
-    private static long buildId(long genTimeMillis, long machineId, long sequence) {
+    /**
+     * 生成 len 个雪花ID，写入给定数组的 {@code [off, off + len)} 区间<br>
+     * 与循环调用 {@link #nextLongId()} 不同，该方法在每个毫秒内仅读取一次时间并进行一次 CAS，
+     * 即一次预留当前毫秒内剩余的连续序列号区间（至多 {@code len} 个），当前毫秒的序列号耗尽时，
+     * 线程将忙自旋到下一毫秒继续预留，直到写满 len 个<br>
+     * 写入的ID严格递增，且与该实例其他方法生成的ID不重复，因为单实例每毫秒最多生成 {@code layout.maxSequence() + 1} 个ID，
+     * 遂 len 较大时该方法耗时至少为 {@code len / (layout.maxSequence() + 1)} 毫秒
+     *
+     * @param dst 目标数组
+     * @param off 写入起始位置
+     * @param len 个数
+     * @throws NullPointerException      当给定的数组为空时
+     * @throws IndexOutOfBoundsException 当 {@code off, len} 越过数组边界时
+     * @throws IllegalStateException     当时间发生至少两次连续回溯,
+     *                                   或时间发生一次大于 {@value #MAX_FAULT_TOLERANT_BACKTRACKING_CAPACITY} ms 的回溯时
+     * @throws IllegalStateException     当线程收到中断信号时
+     */
+    public void nextLongIds(long[] dst, int off, int len) {
+        Objects.requireNonNull(dst, "dst is null");
+        Objects.checkFromIndexSize(off, len, dst.length);
+        int filled = 0;
+        while (filled < len) {
+            final long prev = state.get();
+            final long lastTime = unpackTime(prev);
+            long timestamp = nowSystemTime();
+            if (testIsOutOfEpoch(timestamp)) { // 已经结束咧！
+                throw new IllegalStateException("current time is out of epoch");
+            }
+            if (timestamp < lastTime) {  // 可能闰秒，可能发生大回溯
+                timestamp = waitBacktracking(lastTime, timestamp);
+            }
+            final long time;
+            final long firstSeq;
+            if (lastTime == timestamp) {
+                if ((prev & maxSequence) == maxSequence) {
+                    // 当前毫秒序列号已耗尽，忙自旋到至少下一毫秒
+                    time = loop2NextTime(lastTime);
+                    firstSeq = 0L;
+                } else {
+                    time = lastTime;
+                    firstSeq = (prev & maxSequence) + 1;
+                }
+            } else {
+                time = timestamp;
+                firstSeq = 0L;
+            }
+            // 该毫秒内预留 [firstSeq, lastSeq]
+            final long lastSeq = Math.min(maxSequence, firstSeq + (len - filled) - 1);
+            if (state.compareAndSet(prev, pack(time, lastSeq))) {
+                final long base = buildId(time, machineId, 0L);
+                for (long seq = firstSeq; seq <= lastSeq; seq++) {
+                    dst[off + filled++] = base | seq;
+                }
+            }
+        }
+    }
+
+    /**
+     * 发生时间回溯时，若回溯毫秒数不大于 {@value #MAX_FAULT_TOLERANT_BACKTRACKING_CAPACITY}，
+     * 则线程休眠双倍差值后重新获取时间并返回，否则抛出异常
+     *
+     * @param lastTime  上次生成ID的时间戳
+     * @param timestamp 当前时间戳（小于 lastTime）
+     * @return 重新获取的时间戳（一定大于等于 lastTime）
+     * @throws IllegalStateException 当时间发生至少两次连续回溯,
+     *                               或时间发生一次大于 {@value #MAX_FAULT_TOLERANT_BACKTRACKING_CAPACITY} ms 的回溯时
+     * @throws IllegalStateException 当线程收到中断信号时
+     */
+    private long waitBacktracking(long lastTime, long timestamp) {
+        long offset = lastTime - timestamp;
+        if (offset <= MAX_FAULT_TOLERANT_BACKTRACKING_CAPACITY) {  // 差值小于设定可容忍值，等待
+            try {
+                TimeUnit.MILLISECONDS.sleep(offset << 1);  // 尝试休眠双倍差值后重新获取，再次校验
+                timestamp = nowSystemTime();
+                if (timestamp < lastTime) {  // 等待结束后，如果新获取的仍小于，则证明时间又发生回溯
+                    throw new IllegalStateException(Stf
+                            .f("系统时间发生回溯，拒绝在 {} 毫秒内生成Id", lastTime - timestamp));
+                }
+                return timestamp;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt(); // 恢复中断信号，闰秒或极小回溯的线程休眠情况几乎不可能发生或被观测到
+                throw new IllegalStateException(e);
+            }
+        } else { // 大的回溯，直接他妈异常
+            throw new IllegalStateException(Stf.f("系统时间发生回溯，拒绝在 {} 毫秒内生成Id", offset));
+        }
+    }
+
+    private long pack(long timeMillis, long sequence) {
+        return ((timeMillis - epochBegin) << sequenceBits) | sequence;
+    }
+
+    private long unpackTime(long packed) {
+        return (packed >>> sequenceBits) + epochBegin;
+    }
+
+    private long buildId(long genTimeMillis, long machineId, long sequence) {
         // 时间戳部分 | 机器标识部分 | 序列号部分
-        return ((genTimeMillis - EPOCH_BEGIN) << TIMESTAMP_OFFSET)
-               | (machineId << SEQUENCE_BITS)
+        return ((genTimeMillis - epochBegin) << timestampOffset)
+               | (machineId << sequenceBits)
                | sequence;
     }
 
     /**
-     * 生成一个62进制的雪花ID
+     * 生成一个62进制的雪花ID<br>
+     * 返回值不定长，当需要字典序与生成顺序一致的定宽ID时，
+     * 可使用 {@code Radixc.convert(idg.nextLongId(), 62, Radixc.B62_LONG_WIDTH)}
      *
      * @return 62进制的雪花ID
      * @see Radixc
+     * @see Radixc#convert(long, int, int)
      */
     public String nextB62Id() {
         return Radixc.convert(nextLongId(), 62);
@@ -294,6 +577,7 @@ public final class Idg {
         /*
         原有这里使用 ScheduledExecutorService 在高并发情境下优化 System.currentTimeMillis 的性能问题，这里省去了该过程，
         20250524：现已改为方法引用
+        20261018：需要降低 System.currentTimeMillis 调用开销时，可使用 CoarseClock 作为该方法引用
          */
         return this.fnGenTimeMillis.gen();
     }
@@ -336,6 +620,249 @@ public final class Idg {
         return Objects.hash(pidAndCptName.hashCode()) & MAX_MACHINE_ID_VALUE;
     }
 
+    /**
+     * <b>分片的ID生成器</b>
+     * <p>单个 {@link Idg} 实例的所有线程都在同一个 {@link AtomicLong}（同一缓存行）上 CAS，
+     * 多核高并发时该缓存行会在各核间频繁迁移，该类型将同毫秒序列号的高 {@code stripeBits} 位划出作为分片号，
+     * 构造 {@code 2^stripeBits} 个分片，每个分片为一个拥有独立状态的 {@link Idg}，
+     * 线程按其线程id映射到固定的分片上（连续创建的线程（如线程池中的线程）会均匀分布到各分片），
+     * 不同分片的线程之间不再竞争同一状态<br>
+     * 生成的ID在给定的布局 {@link #layout()} 下仍是合法的雪花ID（分片号位于序列号的高位），
+     * 遂仍可通过 {@link Id#ofLongId(long, Layout)} 解析，且：
+     * <ul>
+     *     <li>各分片的序列号区间不相交，遂所有分片生成的ID不重复</li>
+     *     <li>同一分片生成的ID严格递增，不同分片生成的ID仅在毫秒粒度上有序（大致按时间有序）</li>
+     *     <li>每毫秒可生成的ID总数不变，但单个分片每毫秒仅可生成 {@code (layout.maxSequence() + 1) / 2^stripeBits} 个ID，
+     *     遂单线程或少量线程密集生成ID时，该类型的吞吐量上限低于单个 {@link Idg}，
+     *     该类型适合线程数较多且每毫秒生成的ID数远未达到上限的场景，可配合序列号位数较多的 {@link Layout} 使用</li>
+     * </ul>
+     * 该类型线程安全（无锁）
+     *
+     * @author baifangkual
+     * @since 2026/10/18 v0.1.2
+     */
+    public static final class Striped {
+
+        private final Layout layout;
+        private final int stripeMask;
+        private final Idg[] stripes;
+
+        /**
+         * 使用默认布局 {@link Layout#DEFAULT}、默认 machineId（同 {@link #Idg()}）
+         * 及 {@link System#currentTimeMillis()} 方法引用构造实例
+         *
+         * @param stripeBits 分片号占用位数，分片数为 {@code 2^stripeBits}
+         * @throws IllegalArgumentException 当 stripeBits 小于 0 或不小于默认布局的序列号位数时
+         */
+        public Striped(int stripeBits) {
+            this(Layout.DEFAULT, Objects.hash(macLast16bit(), machineId10Bit()) & MAX_MACHINE_ID_VALUE,
+                    stripeBits, System::currentTimeMillis);
+        }
+
+        /**
+         * 明确指定布局、machineId 及分片号位数的构造参数
+         *
+         * @param layout     布局，生成的ID在该布局下合法
+         * @param machineId  同毫秒区分-机器码，应在 {@code [0, layout.maxMachineId()]} 区间
+         * @param stripeBits 分片号占用位数，分片数为 {@code 2^stripeBits}，从布局的序列号位数中划出，
+         *                   遂应在 {@code [0, layout.sequenceBits())} 区间
+         * @param fn         每次调用都能获取当前时间(UTC)与 1970-01-01 00:00:00(UTC)之间的差值（以毫秒为单位）的函数
+         * @throws IllegalArgumentException 当给定 machineId 不在布局范围内，或 stripeBits 不在上述区间时
+         * @throws IllegalStateException    当给定函数返回的毫秒值不在布局的时间范围内时
+         * @throws NullPointerException     当给定的布局或函数为空时
+         * @see Idg#Idg(Layout, long, FnGenTimeMillis)
+         */
+        public Striped(Layout layout, long machineId, int stripeBits, FnGenTimeMillis fn) {
+            Objects.requireNonNull(layout, "layout is null");
+            if (stripeBits < 0 || stripeBits >= layout.sequenceBits()) {
+                throw new IllegalArgumentException(Stf
+                        .f("stripeBits: {} not in [0, {})", stripeBits, layout.sequenceBits()));
+            }
+            if (machineId > layout.maxMachineId() || machineId < 0) {
+                throw new IllegalArgumentException(Stf.f("machineId > {} or < 0", layout.maxMachineId()));
+            }
+            // 每个分片视分片号为机器码的低位：时间偏移量 - 机器码 - 分片号 - 分片内序列号
+            Layout stripeLayout = new Layout(layout.machineIdBits() + stripeBits,
+                    layout.sequenceBits() - stripeBits, layout.epochBegin());
+            int n = 1 << stripeBits;
+            Idg[] arr = new Idg[n];
+            for (int i = 0; i < n; i++) {
+                arr[i] = new Idg(stripeLayout, (machineId << stripeBits) | i, fn);
+            }
+            this.layout = layout;
+            this.stripeMask = n - 1;
+            this.stripes = arr;
+        }
+
+        /**
+         * 返回生成的ID所属的布局
+         *
+         * @return 布局
+         */
+        public Layout layout() {
+            return layout;
+        }
+
+        /**
+         * 返回分片数
+         *
+         * @return 分片数
+         */
+        public int stripeCount() {
+            return stripes.length;
+        }
+
+        /**
+         * 生成雪花ID，由当前线程映射到的分片生成
+         *
+         * @return 雪花ID
+         * @throws IllegalStateException 当时间发生至少两次连续回溯,
+         *                               或时间发生一次大于 {@value #MAX_FAULT_TOLERANT_BACKTRACKING_CAPACITY} ms 的回溯时
+         * @throws IllegalStateException 当线程收到中断信号时
+         * @see Idg#nextLongId()
+         */
+        public long nextLongId() {
+            return currentStripe().nextLongId();
+        }
+
+        /**
+         * 生成 n 个雪花ID，由当前线程映射到的分片生成，返回的ID严格递增
+         *
+         * @param n 个数
+         * @return n 个雪花ID
+         * @throws IllegalArgumentException 当给定的个数小于 0 时
+         * @throws IllegalStateException    当时间发生至少两次连续回溯,
+         *                                  或时间发生一次大于 {@value #MAX_FAULT_TOLERANT_BACKTRACKING_CAPACITY} ms 的回溯时
+         * @see Idg#nextLongIds(int)
+         */
+        public long[] nextLongIds(int n) {
+            return currentStripe().nextLongIds(n);
+        }
+
+        /**
+         * 生成62进制的雪花ID
+         *
+         * @return 62进制的雪花ID
+         * @see Radixc
+         */
+        public String nextB62Id() {
+            return Radixc.convert(nextLongId(), 62);
+        }
+
+        private Idg currentStripe() {
+            // 线程id通常连续分配，直接取低位即可令线程均匀分布
+            return stripes[(int) Thread.currentThread().getId() & stripeMask];
+        }
+    }
+
+    /**
+     * <b>雪花ID的位布局</b>
+     * <p>描述雪花ID 63 个有效位中机器码、序列号各占用的位数，以及时间偏移量的起点（epoch），
+     * 时间偏移量占用剩余的 {@code 63 - machineIdBits - sequenceBits} 位<br>
+     * 该类型实例不可变，线程安全
+     *
+     * @param machineIdBits 机器码占用位数（{@code >= 0}）
+     * @param sequenceBits  同毫秒序列号占用位数（{@code >= 1}）
+     * @param epochBegin    时间偏移量的起点（毫秒时间戳，{@code >= 0}），生成ID时当前时间不能小于该值
+     */
+    public record Layout(int machineIdBits, int sequenceBits, long epochBegin) {
+
+        /**
+         * 默认布局：{@value #MACHINE_ID_BITS} 位机器码，{@value #SEQUENCE_BITS} 位序列号，
+         * {@value #TIMESTAMP_BITS} 位时间偏移量，起点为 {@value #EPOCH_BEGIN}
+         */
+        public static final Layout DEFAULT = new Layout((int) MACHINE_ID_BITS, (int) SEQUENCE_BITS, EPOCH_BEGIN);
+
+        /**
+         * 构造布局并校验
+         *
+         * @throws IllegalArgumentException 当机器码位数小于 0，或序列号位数小于 1，
+         *                                  或时间偏移量剩余位数小于 1，或起点小于 0，
+         *                                  或 {@link #epochEnd()} 超过 long 可表达的范围时
+         */
+        public Layout {
+            if (machineIdBits < 0 || sequenceBits < 1 || machineIdBits + sequenceBits > 62) {
+                throw new IllegalArgumentException(Stf
+                        .f("illegal layout, machineIdBits: {}, sequenceBits: {}", machineIdBits, sequenceBits));
+            }
+            if (epochBegin < 0 || epochBegin > Long.MAX_VALUE - ((1L << (63 - machineIdBits - sequenceBits)) - 1)) {
+                throw new IllegalArgumentException(Stf.f("illegal layout, epochBegin: {}", epochBegin));
+            }
+        }
+
+        /**
+         * 时间偏移量占用位数
+         *
+         * @return 时间偏移量占用位数
+         */
+        public int timestampBits() {
+            return 63 - machineIdBits - sequenceBits;
+        }
+
+        /**
+         * 时间偏移量在ID中的偏移（即机器码与序列号的位数之和）
+         *
+         * @return 时间偏移量在ID中的偏移
+         */
+        public int timestampOffset() {
+            return machineIdBits + sequenceBits;
+        }
+
+        /**
+         * 最大机器码
+         *
+         * @return 最大机器码
+         */
+        public long maxMachineId() {
+            return ~(-1L << machineIdBits);
+        }
+
+        /**
+         * 最大同毫秒序列号（每毫秒可生成ID数为该值 + 1）
+         *
+         * @return 最大同毫秒序列号
+         */
+        public long maxSequence() {
+            return ~(-1L << sequenceBits);
+        }
+
+        /**
+         * 该布局可表达的最晚时间，生成ID时当前时间不能大于该值
+         *
+         * @return 最晚时间（毫秒时间戳）
+         */
+        public long epochEnd() {
+            return epochBegin + ((1L << timestampBits()) - 1);
+        }
+
+        /**
+         * 以该布局组装雪花ID
+         *
+         * @param genTimeMillis 生成时间
+         * @param machineId     机器码
+         * @param sequence      序列号
+         * @return 雪花ID
+         */
+        public long toLongId(long genTimeMillis, long machineId, long sequence) {
+            return ((genTimeMillis - epochBegin) << timestampOffset())
+                   | (machineId << sequenceBits)
+                   | sequence;
+        }
+
+        /**
+         * 以该布局解析雪花ID
+         *
+         * @param snowflakeId 雪花ID
+         * @return Id结构记录
+         */
+        public Id toId(long snowflakeId) {
+            long genTimeMillis = (snowflakeId >>> timestampOffset()) + epochBegin;
+            long machineId = maxMachineId() & (snowflakeId >>> sequenceBits);
+            long sequence = maxSequence() & snowflakeId;
+            return new Id(genTimeMillis, machineId, sequence);
+        }
+    }
+
     /**
      * {@link Idg}生成的Id结构记录
      *
@@ -347,20 +874,46 @@ public final class Idg {
         // 该不应作为生成id过程的中间对象，否则高并发情况下会创建大量内存垃圾
 
         /**
-         * 接收一个{@link Idg#nextLongId()}生成的Id，返回该Id的结构记录
+         * 接收一个以默认布局 {@link Layout#DEFAULT} 生成的Id，返回该Id的结构记录
          *
          * @param snowflakeId 雪花Id
          * @return Id结构记录
          */
         public static Id ofLongId(long snowflakeId) {
-            long genTimeMillis = (snowflakeId >> TIMESTAMP_OFFSET) + EPOCH_BEGIN;
-            long machineId = (~(-1 << MACHINE_ID_BITS)) & (snowflakeId >> SEQUENCE_BITS);
-            long sequence = (~(-1 << SEQUENCE_BITS)) & snowflakeId;
-            return new Id(genTimeMillis, machineId, sequence);
+            return Layout.DEFAULT.toId(snowflakeId);
+        }
+
+        /**
+         * 接收一个以给定布局生成的Id，返回该Id的结构记录
+         *
+         * @param snowflakeId 雪花Id
+         * @param layout      生成该Id的 {@link Idg} 的布局
+         * @return Id结构记录
+         * @throws NullPointerException 当给定的布局为空时
+         * @see Idg#layout()
+         */
+        public static Id ofLongId(long snowflakeId, Layout layout) {
+            return Objects.requireNonNull(layout, "layout is null").toId(snowflakeId);
         }
 
+        /**
+         * 以默认布局 {@link Layout#DEFAULT} 组装雪花ID
+         *
+         * @return 雪花ID
+         */
         public long toLongId() {
-            return buildId(genTimeMillis, machineId, sequence);
+            return Layout.DEFAULT.toLongId(genTimeMillis, machineId, sequence);
+        }
+
+        /**
+         * 以给定布局组装雪花ID
+         *
+         * @param layout 布局
+         * @return 雪花ID
+         * @throws NullPointerException 当给定的布局为空时
+         */
+        public long toLongId(Layout layout) {
+            return Objects.requireNonNull(layout, "layout is null").toLongId(genTimeMillis, machineId, sequence);
         }
     }
 }
@@ -3,6 +3,8 @@ package io.github.baifangkual.jlib.core.util;
 import io.github.baifangkual.jlib.core.panic.Err;
 
 import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Objects;
 
 /**
  * <b>Radix Converter</b><br>
@@ -10,6 +12,10 @@ import java.math.BigInteger;
  * <p>支持2-62进制之间的进制转换，
  * 为什么是62？因为0-9A-Za-z共62个，这62个字符均为ASCII可显示字符
  * <p>16进制 (0-F)，36进制 (0-Z)，62进制 (0-z)
+ * <p>{@code long}/{@code int} 值的转换仅使用原始类型运算，不经过 {@link BigInteger}，
+ * 另提供定宽（前导0补齐）转换 {@link #convert(long, int, int)}，定宽的非负数值转换结果的字典序与数值大小顺序一致
+ * <p>需要避免创建对象的场景下，可使用 {@link #encodeInto(long, int, char[], int)} 等方法写入调用方给定的数组，
+ * 及使用 {@link #parseLong(CharSequence, int, int, int)} 直接解析字符序列的区间
  *
  * @author baifangkual
  * @since 2025/5/31 v0.0.7
@@ -31,17 +37,35 @@ public class Radixc {
             'k', 'l', 'm', 'n', 'o', 'p', 'q', 'r', 's', 't',
             'u', 'v', 'w', 'x', 'y', 'z',
     };
-    // 反向对照表
+    // 反向对照表，非数字字符对应 -1
     private static final int[] LOOKUP;
 
+    /**
+     * 非负 {@code long} 值在62进制下的最大位数（{@link Long#MAX_VALUE} 为 {@code AzL8n0Y58m7}），
+     * 以该值为宽度进行定宽转换可使所有非负 {@code long} 值的转换结果等长
+     *
+     * @see #convert(long, int, int)
+     */
+    public static final int B62_LONG_WIDTH = 11;
+
+    // 各进制下 long 一定能容纳的最大位数，即满足 radix^n <= Long.MAX_VALUE 的最大 n
+    private static final int[] LONG_SAFE_DIGITS = new int[63];
 
     static {
         // 初始化字符转换表
         int cL = B62NUMBERS.length;
         LOOKUP = new int['z' + 1];
+        Arrays.fill(LOOKUP, -1);
         for (int i = 0; i < cL; i++) {
             LOOKUP[B62NUMBERS[i]] = i;
         }
+        for (int radix = 2; radix <= 62; radix++) {
+            int n = 0;
+            for (long p = 1; p <= Long.MAX_VALUE / radix; p *= radix) {
+                n++;
+            }
+            LONG_SAFE_DIGITS[radix] = n;
+        }
     }
 
     /**
@@ -86,6 +110,10 @@ public class Radixc {
      * @return 转换后的数字字符串
      * @apiNote 该方法并不类似编解码，因为在有实际二进制值有前导0的数据中，
      * 进制转换过程会丢弃前导0。该方法仅负责纯数字的值的进制转换
+     * @implNote 值能以 {@code long} 表达时仅使用原始类型运算；
+     * 否则以分治法转换：预先计算 {@code radix^(k·2^j)}（k 为单个 long 能容纳的位数）各幂次，
+     * 解析时将数字串按幂次对半拆分递归解析再以乘法合并，生成时以幂次对半做除法递归生成，
+     * 大数乘除由 {@link BigInteger} 的 Karatsuba/Toom-Cook 及 Burnikel-Ziegler 算法完成，整体为次二次复杂度
      */
     public static String convert(String srcNum, int srcRadix, int tgtRadix) {
         Err.realIf(srcNum == null || srcNum.isBlank(),
@@ -95,13 +123,17 @@ public class Radixc {
         validateRadix(tgtRadix, "目标进制");
 
         //noinspection DataFlowIssue
-        char[] numCharArr = srcNum.toCharArray();
-        if (isAllZero(numCharArr)) {
+        if (isAllZero(srcNum)) {
             return "0";
         }
+        // 值能以 long 表达时，仅使用原始类型运算
+        int signLen = isSign(srcNum.charAt(0)) ? 1 : 0;
+        if (srcNum.length() - signLen <= LONG_SAFE_DIGITS[srcRadix]) {
+            return convert(parseLong0(srcNum, 0, srcNum.length(), srcRadix), tgtRadix);
+        }
 
         // 先将源进制字符串转换为十进制BigInteger
-        BigInteger decimalValue = toDecimal(srcNum, numCharArr, srcRadix);
+        BigInteger decimalValue = toDecimal(srcNum, srcRadix);
 
         // 将十进制值转换为目标进制字符串
         return fromDecimal(decimalValue, tgtRadix);
@@ -111,7 +143,7 @@ public class Radixc {
      * 将十进制数值转为目标进制下的数值字符串
      *
      * @param src      数值
-     * @param tgtRadix 目标进制
+     * @param tgtRadix 目标进制 (2-62)
      * @return 目标进制下字符串
      */
     public static String convert(long src, int tgtRadix) {
@@ -121,98 +153,398 @@ public class Radixc {
         if (tgtRadix > src && src > -1) {
             return Character.toString(B62NUMBERS[(int) src]);
         }
-        return fromDecimal(BigInteger.valueOf(src), tgtRadix);
+        // 2进制下 long 最多 64 位，加负号共 65 个字符
+        char[] buf = new char[65];
+        int start = writeDigits(src, tgtRadix, buf, buf.length);
+        return new String(buf, start, buf.length - start);
     }
 
     /**
      * 将十进制数值转为目标进制下的数值字符串
      *
      * @param src      数值
-     * @param tgtRadix 目标进制
+     * @param tgtRadix 目标进制 (2-62)
      * @return 目标进制下字符串
      */
     public static String convert(int src, int tgtRadix) {
-        validateRadix(tgtRadix, "目标进制");
-        // 当进制需求大于当前src时，即表示一定不会进位
-        // 当 src > -1 时，则表示可以直接取
-        if (tgtRadix > src && src > -1) {
-            return Character.toString(B62NUMBERS[src]);
+        return convert((long) src, tgtRadix);
+    }
+
+    /**
+     * 将非负十进制数值转为目标进制下的定宽数值字符串，位数不足宽度时以前导0补齐<br>
+     * 同一进制同一宽度下，转换结果的字典序与数值大小顺序一致，
+     * 如 {@code convert(61, 62, 3)} 为 {@code "00z"}，
+     * 以 {@link #B62_LONG_WIDTH} 为宽度时可容纳任意非负 {@code long} 值的62进制表示
+     *
+     * @param src      数值（{@code >= 0}）
+     * @param tgtRadix 目标进制 (2-62)
+     * @param width    宽度
+     * @return 目标进制下定宽字符串
+     * @throws IllegalArgumentException 当进制不在 2-62 之间，或数值为负数，或数值在目标进制下的位数大于宽度时
+     * @see #parseLong(CharSequence, int)
+     */
+    public static String convert(long src, int tgtRadix, int width) {
+        char[] buf = new char[checkFixedWidth(src, tgtRadix, width)];
+        writeFixed(src, tgtRadix, buf, 0, width);
+        return new String(buf);
+    }
+
+    /**
+     * 将非负十进制数值以目标进制定宽写入给定字符数组的 {@code [off, off + width)} 区间，
+     * 位数不足宽度时以前导0补齐，该过程不创建任何对象
+     *
+     * @param src      数值（{@code >= 0}）
+     * @param tgtRadix 目标进制 (2-62)
+     * @param width    宽度
+     * @param dst      目标数组
+     * @param off      目标数组起始位置
+     * @return 写入的字符数（即 width）
+     * @throws IllegalArgumentException  当进制不在 2-62 之间，或数值为负数，或数值在目标进制下的位数大于宽度时
+     * @throws IndexOutOfBoundsException 当目标数组剩余空间不足时
+     * @throws NullPointerException      当目标数组为空时
+     * @see #convert(long, int, int)
+     */
+    public static int encodeInto(long src, int tgtRadix, int width, char[] dst, int off) {
+        Objects.requireNonNull(dst, "dst is null");
+        checkFixedWidth(src, tgtRadix, width);
+        Objects.checkFromIndexSize(off, width, dst.length);
+        writeFixed(src, tgtRadix, dst, off, width);
+        return width;
+    }
+
+    /**
+     * 将非负十进制数值以目标进制定宽写入给定字节数组的 {@code [off, off + width)} 区间（每个字符一个ASCII字节），
+     * 位数不足宽度时以前导0补齐，该过程不创建任何对象
+     *
+     * @param src      数值（{@code >= 0}）
+     * @param tgtRadix 目标进制 (2-62)
+     * @param width    宽度
+     * @param dst      目标数组
+     * @param off      目标数组起始位置
+     * @return 写入的字节数（即 width）
+     * @throws IllegalArgumentException  当进制不在 2-62 之间，或数值为负数，或数值在目标进制下的位数大于宽度时
+     * @throws IndexOutOfBoundsException 当目标数组剩余空间不足时
+     * @throws NullPointerException      当目标数组为空时
+     * @see #convert(long, int, int)
+     */
+    public static int encodeInto(long src, int tgtRadix, int width, byte[] dst, int off) {
+        Objects.requireNonNull(dst, "dst is null");
+        checkFixedWidth(src, tgtRadix, width);
+        Objects.checkFromIndexSize(off, width, dst.length);
+        int p = writeDigits(src, tgtRadix, dst, off + width);
+        while (p > off) {
+            dst[--p] = '0';
         }
-        return fromDecimal(BigInteger.valueOf(src), tgtRadix);
+        return width;
     }
 
+    /**
+     * 将十进制数值以目标进制写入给定字符数组的 {@code off} 位置起，返回写入的字符数，
+     * 结果同 {@link #convert(long, int)}，该过程不创建任何对象<br>
+     * 任意 {@code long} 值的转换结果最多 65 个字符（2进制的 {@link Long#MIN_VALUE}）
+     *
+     * @param src      数值
+     * @param tgtRadix 目标进制 (2-62)
+     * @param dst      目标数组
+     * @param off      目标数组起始位置
+     * @return 写入的字符数
+     * @throws IllegalArgumentException  当进制不在 2-62 之间时
+     * @throws IndexOutOfBoundsException 当目标数组剩余空间不足时（此时不会写入任何字符）
+     * @throws NullPointerException      当目标数组为空时
+     * @see #parseLong(CharSequence, int, int, int)
+     */
+    public static int encodeInto(long src, int tgtRadix, char[] dst, int off) {
+        Objects.requireNonNull(dst, "dst is null");
+        validateRadix(tgtRadix, "目标进制");
+        int len = length(src, tgtRadix);
+        Objects.checkFromIndexSize(off, len, dst.length);
+        writeDigits(src, tgtRadix, dst, off + len);
+        return len;
+    }
+
+    /**
+     * 将十进制数值以目标进制写入给定字节数组的 {@code off} 位置起（每个字符一个ASCII字节），返回写入的字节数，
+     * 结果同 {@link #convert(long, int)}，该过程不创建任何对象<br>
+     * 任意 {@code long} 值的转换结果最多 65 个字节（2进制的 {@link Long#MIN_VALUE}）
+     *
+     * @param src      数值
+     * @param tgtRadix 目标进制 (2-62)
+     * @param dst      目标数组
+     * @param off      目标数组起始位置
+     * @return 写入的字节数
+     * @throws IllegalArgumentException  当进制不在 2-62 之间时
+     * @throws IndexOutOfBoundsException 当目标数组剩余空间不足时（此时不会写入任何字节）
+     * @throws NullPointerException      当目标数组为空时
+     */
+    public static int encodeInto(long src, int tgtRadix, byte[] dst, int off) {
+        Objects.requireNonNull(dst, "dst is null");
+        validateRadix(tgtRadix, "目标进制");
+        int len = length(src, tgtRadix);
+        Objects.checkFromIndexSize(off, len, dst.length);
+        writeDigits(src, tgtRadix, dst, off + len);
+        return len;
+    }
 
     /**
-     * 将任意进制字符串转换为十进制BigInteger
+     * 将给定进制的数字字符串解析为 {@code long} 值，允许前导0（如定宽转换的结果）及一个前导负号，
+     * 该过程仅使用原始类型运算<br>
+     * 与 {@link #convert(String, int, int)} 不同，该方法要求结果能以 {@code long} 表达
      *
-     * @apiNote number and numCharArr eq, String每次toCharArray都会创建新的，
-     * 为了优化不创建，遂两个都给
+     * @param num      数字字符串
+     * @param srcRadix 源进制 (2-62)
+     * @return long 值
+     * @throws IllegalArgumentException 当进制不在 2-62 之间时
+     * @throws NumberFormatException    当字符串为空，或含有在源进制中无效的字符，或值超出 {@code long} 范围时
+     * @throws NullPointerException     当字符串为空时
+     * @see #convert(long, int, int)
+     */
+    public static long parseLong(CharSequence num, int srcRadix) {
+        Objects.requireNonNull(num, "num is null");
+        validateRadix(srcRadix, "源进制");
+        return parseLong0(num, 0, num.length(), srcRadix);
+    }
+
+    /**
+     * 将给定字符序列 {@code [from, to)} 区间内的给定进制的数字解析为 {@code long} 值，
+     * 直接读取字符序列，不创建子串或复制字符，其他同 {@link #parseLong(CharSequence, int)}
+     *
+     * @param num      字符序列
+     * @param from     起始位置（含）
+     * @param to       结束位置（不含）
+     * @param srcRadix 源进制 (2-62)
+     * @return long 值
+     * @throws IllegalArgumentException  当进制不在 2-62 之间时
+     * @throws IndexOutOfBoundsException 当区间超出字符序列范围时
+     * @throws NumberFormatException     当区间为空，或含有在源进制中无效的字符，或值超出 {@code long} 范围时
+     * @throws NullPointerException      当字符序列为空时
+     * @see #encodeInto(long, int, char[], int)
      */
-    private static BigInteger toDecimal(String number, char[] numCharArr, int srcRadix) {
-        // 对于1-36进制，可以使用内置方法优化性能
-        if (srcRadix <= 36) {
-            return new BigInteger(number, srcRadix);
+    public static long parseLong(CharSequence num, int from, int to, int srcRadix) {
+        Objects.requireNonNull(num, "num is null");
+        validateRadix(srcRadix, "源进制");
+        Objects.checkFromToIndex(from, to, num.length());
+        return parseLong0(num, from, to, srcRadix);
+    }
+
+    /**
+     * 将 src 在 radix 进制下的字符从 end（不含）向前写入 buf，返回写入的第一个字符的位置
+     */
+    private static int writeDigits(long src, int radix, char[] buf, int end) {
+        int p = end;
+        // 以负数计算，以兼容 Long.MIN_VALUE
+        long q = src < 0 ? src : -src;
+        do {
+            buf[--p] = B62NUMBERS[(int) -(q % radix)];
+            q /= radix;
+        } while (q != 0);
+        if (src < 0) {
+            buf[--p] = '-';
         }
+        return p;
+    }
 
-        // 对于37-62进制，手动转换
-        BigInteger value = BigInteger.ZERO;
-        BigInteger base = BigInteger.valueOf(srcRadix);
-
-        // fix: 当给定的数为负数，执行到这里时，负号会被 LOOKUP消掉，变为取值0，从而导致整个数变成正数
-        boolean isNegative = false;
-        for (char c : numCharArr) {
-            if (c == '-') {
-                if (isNegative) {
-                    throw new ArithmeticException("数字: '" + number + "' 发现多个负号");
-                }
-                isNegative = true;
-            } else {
-                int digit = LOOKUP[c]; // 负号对应的值为 0
-                if (digit >= srcRadix) {
-                    throw new IllegalArgumentException("字符 '" + c + "' 在 " + srcRadix + " 进制中无效");
-                }
-                value = value.multiply(base).add(BigInteger.valueOf(digit));
+    /**
+     * 同 {@link #writeDigits(long, int, char[], int)}，写入ASCII字节
+     */
+    private static int writeDigits(long src, int radix, byte[] buf, int end) {
+        int p = end;
+        long q = src < 0 ? src : -src;
+        do {
+            buf[--p] = (byte) B62NUMBERS[(int) -(q % radix)];
+            q /= radix;
+        } while (q != 0);
+        if (src < 0) {
+            buf[--p] = '-';
+        }
+        return p;
+    }
+
+    /**
+     * 数值在给定进制下的字符数（含负号）
+     */
+    private static int length(long src, int radix) {
+        int n = src < 0 ? 2 : 1;
+        for (long q = src / radix; q != 0; q /= radix) {
+            n++;
+        }
+        return n;
+    }
+
+    private static void writeFixed(long src, int radix, char[] dst, int off, int width) {
+        int p = writeDigits(src, radix, dst, off + width);
+        while (p > off) {
+            dst[--p] = '0';
+        }
+    }
+
+    /**
+     * 校验定宽转换的参数，返回宽度
+     */
+    private static int checkFixedWidth(long src, int radix, int width) {
+        validateRadix(radix, "目标进制");
+        // 热路径，不使用 Err.realIf 以免每次调用都创建可变参数数组
+        if (src < 0) {
+            throw new IllegalArgumentException(Stf.f("定宽转换的数值不能为负数，src：{}", src));
+        }
+        int digits = length(src, radix);
+        if (digits > width) {
+            throw new IllegalArgumentException(Stf
+                    .f("数值 {} 在 {} 进制下有 {} 位，大于宽度 {}", src, radix, digits, width));
+        }
+        return width;
+    }
+
+    /**
+     * 解析 {@code [from, to)} 区间的字符，不校验进制及区间
+     */
+    private static long parseLong0(CharSequence num, int from, int to, int radix) {
+        if (from >= to) {
+            throw new NumberFormatException("给定的数字为空");
+        }
+        int i = from;
+        char first = num.charAt(i);
+        boolean negative = first == '-';
+        if (isSign(first) && ++i == to) {
+            throw new NumberFormatException(Stf.f("数字 '{}' 无效", num.subSequence(from, to)));
+        }
+        // 以负数累加，以兼容 Long.MIN_VALUE
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multMin = limit / radix;
+        long result = 0;
+        for (; i < to; i++) {
+            int digit = digit(num.charAt(i), radix);
+            if (result < multMin) {
+                throw new NumberFormatException(Stf.f("数字 '{}' 超出 long 范围", num.subSequence(from, to)));
             }
+            result *= radix;
+            if (result < limit + digit) {
+                throw new NumberFormatException(Stf.f("数字 '{}' 超出 long 范围", num.subSequence(from, to)));
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    private static boolean isSign(char c) {
+        return c == '-' || c == '+';
+    }
+
+    /**
+     * 字符在给定进制下的值，36进制及以下时不区分大小写（同 {@link BigInteger#BigInteger(String, int)}）
+     *
+     * @throws NumberFormatException 当字符在给定进制下无效时
+     */
+    private static int digit(char c, int radix) {
+        int d = c < LOOKUP.length ? LOOKUP[c] : -1;
+        if (radix <= 36 && c >= 'a' && c <= 'z') {
+            d = c - 'a' + 10;
         }
-        if (isNegative) {
-            value = value.negate();
+        if (d < 0 || d >= radix) {
+            throw new NumberFormatException(Stf.f("字符 '{}' 在 {} 进制中无效", c, radix));
         }
+        return d;
+    }
 
-        return value;
+    /**
+     * 计算 {@code radix^(chunk·2^j)}，j 从 0 开始，直到 {@code chunk·2^j >= digits / 2}（至少一项）
+     */
+    private static BigInteger[] radixPowers(int radix, int chunk, int digits) {
+        int n = 1;
+        while ((long) chunk << n < digits) {
+            n++;
+        }
+        BigInteger[] powers = new BigInteger[n];
+        long p = 1;
+        for (int i = 0; i < chunk; i++) {
+            p *= radix;
+        }
+        powers[0] = BigInteger.valueOf(p);
+        for (int j = 1; j < n; j++) {
+            powers[j] = powers[j - 1].multiply(powers[j - 1]);
+        }
+        return powers;
+    }
+
+    /**
+     * 将任意进制字符串（可带一个前导符号）以分治法转换为十进制BigInteger
+     */
+    private static BigInteger toDecimal(String number, int srcRadix) {
+        int from = isSign(number.charAt(0)) ? 1 : 0;
+        int chunk = LONG_SAFE_DIGITS[srcRadix];
+        BigInteger[] powers = radixPowers(srcRadix, chunk, number.length() - from);
+        BigInteger value = toDecimal0(number, from, number.length(), srcRadix, chunk, powers);
+        return number.charAt(0) == '-' ? value.negate() : value;
+    }
+
+    private static BigInteger toDecimal0(String number, int from, int to,
+                                         int radix, int chunk, BigInteger[] powers) {
+        int n = to - from;
+        if (n <= chunk) {
+            long v = 0;
+            for (int i = from; i < to; i++) {
+                v = v * radix + digit(number.charAt(i), radix);
+            }
+            return BigInteger.valueOf(v);
+        }
+        // 低位部分取 chunk·2^j 位，j 为使其小于 n 的最大值，即高位部分位数 <= 低位部分位数
+        int j = 0;
+        while ((chunk << (j + 1)) < n) {
+            j++;
+        }
+        int mid = to - (chunk << j);
+        BigInteger hi = toDecimal0(number, from, mid, radix, chunk, powers);
+        BigInteger lo = toDecimal0(number, mid, to, radix, chunk, powers);
+        return hi.multiply(powers[j]).add(lo);
     }
 
     /**
-     * 将十进制BigInteger转换为目标进制字符串
+     * 将十进制BigInteger以分治法转换为目标进制字符串
      */
     private static String fromDecimal(BigInteger decimalValue, int tgtRadix) {
-        // 对于1-36进制，可以使用内置方法优化性能
+        // 对于1-36进制，可以使用内置方法优化性能（其对大数亦为分治法）
         if (tgtRadix <= 36) {
             return decimalValue.toString(tgtRadix).toUpperCase();
         }
+        if (decimalValue.bitLength() < Long.SIZE) {
+            return convert(decimalValue.longValue(), tgtRadix);
+        }
 
         // 对于37-62进制，手动转换
-        if (decimalValue.equals(BigInteger.ZERO)) {
-            return "0";
+        BigInteger abs = decimalValue.abs();
+        int chunk = LONG_SAFE_DIGITS[tgtRadix];
+        // 位数上界：bitLength / log2(radix)
+        int digits = (int) (abs.bitLength() / (Math.log(tgtRadix) / Math.log(2))) + 1;
+        BigInteger[] powers = radixPowers(tgtRadix, chunk, digits);
+        StringBuilder result = new StringBuilder(digits + 1);
+        if (decimalValue.signum() < 0) {
+            result.append('-');
         }
+        fromDecimal0(abs, tgtRadix, 0, chunk, powers, result, new char[65]);
+        return result.toString();
+    }
 
-        StringBuilder result = new StringBuilder();
-        BigInteger base = BigInteger.valueOf(tgtRadix);
-        BigInteger current = decimalValue.abs();
-
-        while (current.compareTo(BigInteger.ZERO) > 0) {
-            BigInteger[] quotientAndRemainder = current.divideAndRemainder(base);
-            // 余数在 1
-            int remainder = quotientAndRemainder[1].intValue();
-            result.insert(0, B62NUMBERS[remainder]);
-            current = quotientAndRemainder[0]; // 除完剩下的接着除
+    /**
+     * 将非负数值追加到 result，width 大于 0 时以前导0补齐到 width 位
+     */
+    private static void fromDecimal0(BigInteger value, int radix, int width, int chunk,
+                                     BigInteger[] powers, StringBuilder result, char[] buf) {
+        if (value.bitLength() < Long.SIZE) {
+            int start = writeDigits(value.longValue(), radix, buf, buf.length);
+            for (int pad = width - (buf.length - start); pad > 0; pad--) {
+                result.append('0');
+            }
+            result.append(buf, start, buf.length - start);
+            return;
         }
-
-        // 处理负数
-        if (decimalValue.signum() < 0) {
-            result.insert(0, '-');
+        // 取 powers[j] <= value 的最大 j，因 value < powers[j + 1] = powers[j]^2，商与余数均小于 powers[j]
+        int j = 0;
+        while (j + 1 < powers.length && powers[j + 1].compareTo(value) <= 0) {
+            j++;
         }
-
-        return result.toString();
+        int loWidth = chunk << j;
+        BigInteger[] qr = value.divideAndRemainder(powers[j]);
+        fromDecimal0(qr[0], radix, Math.max(width - loWidth, 0), chunk, powers, result, buf);
+        fromDecimal0(qr[1], radix, loWidth, chunk, powers, result, buf);
     }
 
     /**
@@ -227,9 +559,9 @@ public class Radixc {
     /**
      * 检查字符串是否表示零值
      */
-    private static boolean isAllZero(char[] numberCharArr) {
-        for (char c : numberCharArr) {
-            if (c != '0') {
+    private static boolean isAllZero(String number) {
+        for (int i = 0; i < number.length(); i++) {
+            if (number.charAt(i) != '0') {
                 return false;
             }
         }
@@ -95,6 +95,10 @@ public final class Rng {
             if (afterCvLen > length) {
                 largeAfterRadixConvert.delete(length, Integer.MAX_VALUE);
             }
+            // fix: radix10NumLen 为 1 时可能随机到 "0"，补位后会产生前导0，这里将首位替换为非0值
+            if (largeAfterRadixConvert.charAt(0) == '0') {
+                largeAfterRadixConvert.setCharAt(0, Radixc.convert(Rng.nextLong(1, radix), radix).charAt(0));
+            }
 
             return largeAfterRadixConvert.toString();
         }
@@ -2,6 +2,9 @@ package io.github.baifangkual.jlib.core.util;
 
 import io.github.baifangkual.jlib.core.Const;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -13,10 +16,12 @@ import java.util.Objects;
  *  Assert.throwE(NullPointException.class, ()-> Stf.f(null, "c"));
  *  }
  * </pre>
- * 该类主要逻辑参考 hutool-core 包下 StrFormatter
+ * 该类主要逻辑参考 hutool-core 包下 StrFormatter<br>
+ * 频繁使用的同一模板可通过 {@link #compile(String)} 预先解析，以免每次格式化都重新查找占位符及处理转义符
  *
  * @author baifangkual
  * @see #f(String, Object...)
+ * @see #compile(String)
  * @since 2024/6/19 v0.0.3
  */
 public final class Stf {
@@ -116,4 +121,221 @@ public final class Stf {
         return sb.toString();
     }
 
+    /**
+     * 预先解析字符串模板<br>
+     * 返回的 {@link Template} 不可变且线程安全，可存于静态字段中复用，
+     * 其格式化结果与以同一模板及参数调用 {@link #f(String, Object...)} 的结果相同
+     * <pre>
+     *     {@code
+     *     static final Stf.Template T = Stf.compile("this is {} for {}");
+     *     T.format("a", "b");
+     *     // result: this is a for b
+     *     }
+     * </pre>
+     *
+     * @param temp 字符串模板
+     * @return 解析后的模板
+     * @throws NullPointerException 给定的字符串模板为空时
+     */
+    public static Template compile(String temp) {
+        Objects.requireNonNull(temp, "string template is null");
+        return new Template(temp);
+    }
+
+    /**
+     * <b>预先解析的字符串模板</b><br>
+     * 模板在构造时被切分为各占位符之前（已处理转义符）的文本段，
+     * 格式化时仅按顺序拼接文本段与参数，不再查找占位符；
+     * 参数个数固定为 1-3 个时可使用对应的重载方法，以免创建可变参数数组<br>
+     * 不可变，线程安全
+     *
+     * @see Stf#compile(String)
+     */
+    public static final class Template {
+        private final String temp;
+        // 各占位符之前的文本段（转义符已处理）
+        private final String[] segments;
+        // 各占位符之后未处理部分的起始位置，参数个数恰好用尽时，剩余部分原样输出（同 Stf.f）
+        private final int[] rawTails;
+        // 最后一个占位符之后（转义符已处理）的部分，参数个数多于占位符时输出
+        private final String rest;
+        private final int capacity;
+
+        private Template(String temp) {
+            this.temp = temp;
+            List<String> segs = new ArrayList<>();
+            List<Integer> tails = new ArrayList<>();
+            StringBuilder seg = new StringBuilder();
+            int handledPosition = 0;
+            int delimIndex;
+            // 同 Stf.f 的解析过程，视为参数无限多
+            while ((delimIndex = temp.indexOf(PLACEHOLDER, handledPosition)) != -1) {
+                if (delimIndex > 0 && temp.charAt(delimIndex - 1) == C_BACKSLASH) {
+                    if (delimIndex > 1 && temp.charAt(delimIndex - 2) == C_BACKSLASH) {
+                        // 双转义符，占位符依旧有效
+                        seg.append(temp, handledPosition, delimIndex - 1);
+                    } else {
+                        // 占位符被转义
+                        seg.append(temp, handledPosition, delimIndex - 1);
+                        seg.append(PLACEHOLDER.charAt(0));
+                        handledPosition = delimIndex + 1;
+                        continue;
+                    }
+                } else {
+                    seg.append(temp, handledPosition, delimIndex);
+                }
+                segs.add(seg.toString());
+                seg.setLength(0);
+                handledPosition = delimIndex + PLACEHOLDER_LENGTH;
+                tails.add(handledPosition);
+            }
+            seg.append(temp, handledPosition, temp.length());
+            this.segments = segs.toArray(new String[0]);
+            this.rawTails = tails.stream().mapToInt(Integer::intValue).toArray();
+            this.rest = segs.isEmpty() && seg.length() == temp.length() ? temp : seg.toString();
+            this.capacity = temp.length() + 50;
+        }
+
+        /**
+         * 字符串模板
+         */
+        public String template() {
+            return temp;
+        }
+
+        /**
+         * 模板中有效占位符的个数
+         */
+        public int placeholderCount() {
+            return segments.length;
+        }
+
+        /**
+         * 格式化字符串
+         *
+         * @param args 参数列表
+         * @return format string
+         * @see Stf#f(String, Object...)
+         */
+        public String format(Object... args) {
+            if (args == null || args.length == 0) return temp;
+            return appendTo(new StringBuilder(capacity), args).toString();
+        }
+
+        /**
+         * 以一个参数格式化字符串
+         *
+         * @see #format(Object...)
+         */
+        public String format(Object a0) {
+            if (segments.length == 0) return rest;
+            return appendTo(new StringBuilder(capacity), a0).toString();
+        }
+
+        /**
+         * 以两个参数格式化字符串
+         *
+         * @see #format(Object...)
+         */
+        public String format(Object a0, Object a1) {
+            if (segments.length == 0) return rest;
+            return appendTo(new StringBuilder(capacity), a0, a1).toString();
+        }
+
+        /**
+         * 以三个参数格式化字符串
+         *
+         * @see #format(Object...)
+         */
+        public String format(Object a0, Object a1, Object a2) {
+            if (segments.length == 0) return rest;
+            return appendTo(new StringBuilder(capacity), a0, a1, a2).toString();
+        }
+
+        /**
+         * 格式化字符串并追加至给定的 StringBuilder
+         *
+         * @param sb   StringBuilder
+         * @param args 参数列表
+         * @return 给定的 StringBuilder
+         */
+        public StringBuilder appendTo(StringBuilder sb, Object... args) {
+            if (args == null || args.length == 0) return sb.append(temp);
+            final int n = Math.min(args.length, segments.length);
+            for (int i = 0; i < n; i++) {
+                sb.append(segments[i]).append(nullableSafeToString(args[i]));
+            }
+            return args.length > segments.length ? sb.append(rest) : sb.append(temp, rawTails[n - 1], temp.length());
+        }
+
+        /**
+         * 以一个参数格式化字符串并追加至给定的 StringBuilder
+         *
+         * @see #appendTo(StringBuilder, Object...)
+         */
+        public StringBuilder appendTo(StringBuilder sb, Object a0) {
+            if (segments.length == 0) return sb.append(rest);
+            sb.append(segments[0]).append(nullableSafeToString(a0));
+            return sb.append(temp, rawTails[0], temp.length());
+        }
+
+        /**
+         * 以两个参数格式化字符串并追加至给定的 StringBuilder
+         *
+         * @see #appendTo(StringBuilder, Object...)
+         */
+        public StringBuilder appendTo(StringBuilder sb, Object a0, Object a1) {
+            if (segments.length == 0) return sb.append(rest);
+            sb.append(segments[0]).append(nullableSafeToString(a0));
+            if (segments.length == 1) return sb.append(rest);
+            sb.append(segments[1]).append(nullableSafeToString(a1));
+            return sb.append(temp, rawTails[1], temp.length());
+        }
+
+        /**
+         * 以三个参数格式化字符串并追加至给定的 StringBuilder
+         *
+         * @see #appendTo(StringBuilder, Object...)
+         */
+        public StringBuilder appendTo(StringBuilder sb, Object a0, Object a1, Object a2) {
+            if (segments.length == 0) return sb.append(rest);
+            sb.append(segments[0]).append(nullableSafeToString(a0));
+            if (segments.length == 1) return sb.append(rest);
+            sb.append(segments[1]).append(nullableSafeToString(a1));
+            if (segments.length == 2) return sb.append(rest);
+            sb.append(segments[2]).append(nullableSafeToString(a2));
+            return sb.append(temp, rawTails[2], temp.length());
+        }
+
+        /**
+         * 格式化字符串并写入给定的 Appendable（如 {@link java.io.Writer}）
+         *
+         * @param out  Appendable
+         * @param args 参数列表
+         * @return 给定的 Appendable
+         * @throws IOException 当写入失败时
+         */
+        public <A extends Appendable> A appendTo(A out, Object... args) throws IOException {
+            if (args == null || args.length == 0) {
+                out.append(temp);
+                return out;
+            }
+            final int n = Math.min(args.length, segments.length);
+            for (int i = 0; i < n; i++) {
+                out.append(segments[i]).append(String.valueOf(args[i]));
+            }
+            if (args.length > segments.length) {
+                out.append(rest);
+            } else {
+                out.append(temp, rawTails[n - 1], temp.length());
+            }
+            return out;
+        }
+
+        @Override
+        public String toString() {
+            return temp;
+        }
+    }
+
 }
@@ -0,0 +1,93 @@
+package io.github.baifangkual.jlib.core.codec;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BNCodec} base16/base64 编解码吞吐量基准测试，对照组为 {@link Base64}，
+ * 并行编解码（{@code *Parallel}）的加速比取决于 {@link java.util.concurrent.ForkJoinPool#commonPool()} 的并行度
+ * <p>该类不会被 surefire 执行，需手动运行 {@link #main(String[])}
+ *
+ * @author baifangkual
+ * @since 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BNCodecBenchmark {
+
+    /**
+     * 原始数据字节数
+     */
+    @Param({"100", "8192", "1048576", "67108864"})
+    public int size;
+
+    private byte[] data;
+    private byte[] b64Encoded;
+    private byte[] b16Encoded;
+
+    @Setup
+    public void setup() {
+        data = new byte[size];
+        new Random(42).nextBytes(data);
+        b64Encoded = BNCodec.b64.encode(data);
+        b16Encoded = BNCodec.b16.encode(data);
+    }
+
+    @Benchmark
+    public byte[] b64Encode() {
+        return BNCodec.b64.encode(data);
+    }
+
+    @Benchmark
+    public byte[] b64Decode() {
+        return BNCodec.b64.decode(b64Encoded);
+    }
+
+    @Benchmark
+    public byte[] b64EncodeParallel() {
+        return BNCodec.b64.encodeParallel(data);
+    }
+
+    @Benchmark
+    public byte[] b64DecodeParallel() {
+        return BNCodec.b64.decodeParallel(b64Encoded);
+    }
+
+    @Benchmark
+    public byte[] b16Encode() {
+        return BNCodec.b16.encode(data);
+    }
+
+    @Benchmark
+    public byte[] b16Decode() {
+        return BNCodec.b16.decode(b16Encoded);
+    }
+
+    @Benchmark
+    public byte[] jdkB64Encode() {
+        return Base64.getEncoder().encode(data);
+    }
+
+    @Benchmark
+    public byte[] jdkB64Decode() {
+        return Base64.getDecoder().decode(b64Encoded);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(BNCodecBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -4,7 +4,16 @@ import io.github.baifangkual.jlib.core.util.Rng;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * @author baifangkual
@@ -141,4 +150,201 @@ public class BNCodecTest {
 
 
     }
+
+    /**
+     * 各种位数（1/3/4/5/6/7/8 位）的编解码器
+     */
+    private static List<BNCodec> codecs() {
+        char[] b2 = {'0', '1'};
+        char[] b8 = {'0', '1', '2', '3', '4', '5', '6', '7'};
+        char[] b128 = new char[128];
+        for (int i = 0; i < 128; i++) b128[i] = (char) i;
+        char[] b256 = new char[256];
+        for (int i = 0; i < 256; i++) b256[i] = (char) i;
+        return List.of(BNCodec.of(b2), BNCodec.of(BNCodec.Table.of(b8, '=')), BNCodec.b16,
+                BNCodec.of(BNCodec.Table.base32Table), BNCodec.b64, BNCodec.b64Url,
+                BNCodec.of(b128), BNCodec.of(b256));
+    }
+
+    private static byte[] rngBytes(int len) {
+        byte[] bytes = new byte[len];
+        for (int i = 0; i < len; i++) bytes[i] = (byte) Rng.nextInt(256);
+        return bytes;
+    }
+
+    @Test
+    public void testStream() throws IOException {
+        for (BNCodec codec : codecs()) {
+            for (int len : new int[]{0, 1, 2, 3, 4, 5, 7, 3071, 3072, 3073, 7 * 1024 + 1, 50000}) {
+                byte[] data = rngBytes(len);
+                byte[] expected = codec.encode(data);
+                ByteArrayOutputStream bos = new ByteArrayOutputStream();
+                try (OutputStream os = codec.encodingStream(bos)) {
+                    int off = 0;
+                    while (off < len) {
+                        int n = Math.min(len - off, Rng.nextInt(1, 5000));
+                        if (n == 1) os.write(data[off]);
+                        else os.write(data, off, n);
+                        off += n;
+                        if (Rng.nextInt(10) == 0) os.flush();
+                    }
+                }
+                Assertions.assertArrayEquals(expected, bos.toByteArray());
+                // 每次仅返回少量数据的输入流
+                InputStream slow = new ByteArrayInputStream(expected) {
+                    @Override
+                    public synchronized int read(byte[] b, int off, int len) {
+                        return super.read(b, off, Math.min(len, Rng.nextInt(1, 100)));
+                    }
+                };
+                try (InputStream is = codec.decodingStream(slow)) {
+                    Assertions.assertArrayEquals(data, is.readAllBytes());
+                    Assertions.assertEquals(-1, is.read());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testStreamIllegal() throws IOException {
+        Assertions.assertThrows(IOException.class, () -> BNCodec.b64.decodingStream(
+                new ByteArrayInputStream("QQ==QUJD".getBytes(StandardCharsets.US_ASCII))).readAllBytes());
+        Assertions.assertThrows(IOException.class, () -> BNCodec.b64.decodingStream(
+                new ByteArrayInputStream("QU!D".getBytes(StandardCharsets.US_ASCII))).readAllBytes());
+        Assertions.assertThrows(IOException.class, () -> BNCodec.b64.decodingStream(
+                new ByteArrayInputStream("QR==".getBytes(StandardCharsets.US_ASCII))).readAllBytes());
+        OutputStream os = BNCodec.b64.encodingStream(new ByteArrayOutputStream());
+        os.close();
+        os.close();
+        Assertions.assertThrows(IOException.class, () -> os.write(1));
+    }
+
+    @Test
+    public void testByteBuffer() {
+        for (BNCodec codec : codecs()) {
+            for (int len : new int[]{0, 1, 2, 3, 5, 1000, 10001}) {
+                byte[] data = rngBytes(len);
+                byte[] expected = codec.encode(data);
+                for (boolean direct : new boolean[]{false, true}) {
+                    // 以小容量 dst 增量编码
+                    ByteBuffer src = ByteBuffer.wrap(data);
+                    ByteBuffer dst = direct ? ByteBuffer.allocateDirect(77) : ByteBuffer.allocate(77);
+                    ByteArrayOutputStream enc = new ByteArrayOutputStream();
+                    while (src.hasRemaining()) {
+                        codec.encode(src, dst, true);
+                        dst.flip();
+                        while (dst.hasRemaining()) enc.write(dst.get());
+                        dst.clear();
+                    }
+                    Assertions.assertArrayEquals(expected, enc.toByteArray());
+                    // 分段提供输入增量解码
+                    ByteBuffer in = ByteBuffer.allocate(expected.length);
+                    ByteBuffer out = direct ? ByteBuffer.allocateDirect(len) : ByteBuffer.allocate(len);
+                    int off = 0;
+                    while (off < expected.length) {
+                        int n = Math.min(expected.length - off, Rng.nextInt(1, 300));
+                        in.put(expected, off, n);
+                        off += n;
+                        in.flip();
+                        codec.decode(in, out, off == expected.length);
+                        in.compact();
+                    }
+                    Assertions.assertEquals(0, in.position());
+                    out.flip();
+                    byte[] decoded = new byte[out.remaining()];
+                    out.get(decoded);
+                    Assertions.assertArrayEquals(data, decoded);
+                }
+            }
+        }
+        // 仅完整的块
+        ByteBuffer src = ByteBuffer.wrap(new byte[]{1, 2, 3, 4});
+        ByteBuffer dst = ByteBuffer.allocate(8);
+        Assertions.assertEquals(4, BNCodec.b64.encode(src, dst));
+        Assertions.assertEquals(1, src.remaining());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> BNCodec.b64.decode(
+                ByteBuffer.wrap("QQ==QUJD".getBytes(StandardCharsets.US_ASCII)), ByteBuffer.allocate(10), true));
+    }
+
+    @Test
+    public void testFastPath() {
+        java.util.Base64.Encoder urlEncoder = java.util.Base64.getUrlEncoder();
+        java.util.HexFormat hex = java.util.HexFormat.of().withUpperCase();
+        for (int len = 0; len < 200; len++) {
+            byte[] data = rngBytes(len);
+            Assertions.assertArrayEquals(java.util.Base64.getEncoder().encode(data), BNCodec.b64.encode(data));
+            Assertions.assertArrayEquals(urlEncoder.encode(data), BNCodec.b64Url.encode(data));
+            Assertions.assertEquals(hex.formatHex(data), BNCodec.b16.encodeToStr(data));
+            Assertions.assertArrayEquals(data, BNCodec.b64Url.decode(urlEncoder.encode(data)));
+            Assertions.assertArrayEquals(data, BNCodec.b16.decodeFromStr(hex.formatHex(data)));
+        }
+        // 快速路径中途遇到非法字符
+        Assertions.assertThrows(IllegalArgumentException.class, () -> BNCodec.b64.decodeFromStr("QUJDQUJD!UJDQUJD"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> BNCodec.b16.decodeFromStr("00112G"));
+        // 超出 2^M 的字母表字符（如 62 字符表的后 30 个字符）非法
+        BNCodec b62 = BNCodec.of("0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> b62.decodeFromStr("zz"));
+    }
+
+    @Test
+    public void testEncodeIntoDecodeInto() {
+        for (BNCodec codec : codecs()) {
+            for (int len = 0; len < 100; len++) {
+                byte[] data = rngBytes(len + 6);
+                byte[] expected = codec.encode(Arrays.copyOfRange(data, 3, 3 + len));
+                Assertions.assertEquals(expected.length, codec.encodedLength(len));
+                byte[] dst = new byte[expected.length + 4];
+                Assertions.assertEquals(expected.length, codec.encodeInto(data, 3, len, dst, 2));
+                Assertions.assertArrayEquals(expected, Arrays.copyOfRange(dst, 2, 2 + expected.length));
+                Assertions.assertEquals(0, dst[0]);
+                Assertions.assertEquals(0, dst[dst.length - 1]);
+                // 解码
+                Assertions.assertEquals(len, codec.decodedLength(dst, 2, expected.length));
+                byte[] decoded = new byte[len + 2];
+                Assertions.assertEquals(len, codec.decodeInto(dst, 2, expected.length, decoded, 1));
+                Assertions.assertArrayEquals(Arrays.copyOfRange(data, 3, 3 + len),
+                        Arrays.copyOfRange(decoded, 1, 1 + len));
+            }
+        }
+        BNCodec b64 = BNCodec.b64;
+        Assertions.assertEquals(0, b64.encodedLength(0));
+        Assertions.assertEquals(4, b64.encodedLength(1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> b64.encodedLength(-1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> b64.encodedLength(Integer.MAX_VALUE));
+        byte[] encoded = "QUI=".getBytes(StandardCharsets.US_ASCII);
+        Assertions.assertEquals(2, b64.decodedLength(encoded, 0, 4));
+        // 空间不足时不写入
+        byte[] small = new byte[3];
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> b64.encodeInto(new byte[3], 0, 3, small, 0));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> b64.decodeInto(encoded, 0, 4, small, 2));
+        Assertions.assertArrayEquals(new byte[3], small);
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> b64.encodeInto(new byte[3], 1, 3, small, 0));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> b64.decodeInto("QU!=".getBytes(StandardCharsets.US_ASCII), 0, 4, small, 0));
+    }
+
+    @Test
+    public void testParallel() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (BNCodec codec : codecs()) {
+                for (int len : new int[]{0, 1000, (1 << 20) - 1, (1 << 20) + 7, 3 * (1 << 20) + 1}) {
+                    byte[] data = rngBytes(len);
+                    byte[] expected = codec.encode(data);
+                    byte[] encoded = codec.encodeParallel(data, pool);
+                    Assertions.assertArrayEquals(expected, encoded);
+                    Assertions.assertArrayEquals(data, codec.decodeParallel(encoded, pool));
+                }
+            }
+            byte[] data = rngBytes(1 << 21);
+            Assertions.assertArrayEquals(BNCodec.b64.encode(data), BNCodec.b64.encodeParallel(data));
+            byte[] encoded = BNCodec.b64.encode(data);
+            Assertions.assertArrayEquals(data, BNCodec.b64.decodeParallel(encoded));
+            // 中间片段中的非法字符
+            encoded[encoded.length / 2 + 1] = '!';
+            Assertions.assertThrows(IllegalArgumentException.class, () -> BNCodec.b64.decodeParallel(encoded, pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
 }
@@ -0,0 +1,98 @@
+package io.github.baifangkual.jlib.core.codec;
+
+import io.github.baifangkual.jlib.core.conf.Cfg;
+import io.github.baifangkual.jlib.core.lang.Indexed;
+import io.github.baifangkual.jlib.core.lang.Line;
+import io.github.baifangkual.jlib.core.lang.R;
+import io.github.baifangkual.jlib.core.lang.Tup2;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BinSerializers} 与 {@link JSerializers} 的序列化/反序列化耗时基准测试，
+ * 序列化后的字节数在 {@link #setup()} 中打印，可配合 {@code -prof gc} 观察分配量
+ * <p>该类不会被 surefire 执行，需手动运行 {@link #main(String[])}
+ *
+ * @author baifangkual
+ * @since 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinSerializersBenchmark {
+
+    private static final Cfg.Option<String> HOST = Cfg.Option.of("host").stringType().build();
+    private static final Cfg.Option<Integer> PORT = Cfg.Option.of("port").intType().build();
+    private static final Cfg.Option<Integer> POOL_SIZE = Cfg.Option.of("pool.size").intType().build();
+    private static final Cfg.Option<Long> TIMEOUT = Cfg.Option.of("timeout.ms").longType().build();
+    private static final Cfg.Option<Boolean> SSL = Cfg.Option.of("ssl").booleanType().build();
+    private static final Cfg.Option<List<String>> TAGS = Cfg.Option.of("tags").<List<String>>type().build();
+
+    /**
+     * 被序列化的对象
+     */
+    @Param({"tup2", "cfg", "indexedList", "r"})
+    public String kind;
+
+    private Serializable obj;
+    private byte[] javaBytes;
+    private byte[] binBytes;
+
+    @Setup
+    public void setup() {
+        obj = switch (kind) {
+            case "tup2" -> Tup2.of("session-42", 1234567L);
+            case "cfg" -> Cfg.newCfg()
+                    .set(HOST, "db.internal").set(PORT, 5432).set(POOL_SIZE, 16)
+                    .set(TIMEOUT, 30_000L).set(SSL, true).set(TAGS, List.of("a", "b"));
+            case "indexedList" -> {
+                ArrayList<Indexed<Line<String>>> list = new ArrayList<>();
+                for (int i = 0; i < 50; i++) list.add(Indexed.of(i, Line.of("n" + i, "n" + (i + 1))));
+                yield list;
+            }
+            case "r" -> (Serializable) R.ofOk(Tup2.of("k", 1));
+            default -> throw new IllegalArgumentException(kind);
+        };
+        javaBytes = JSerializers.ser(obj);
+        binBytes = BinSerializers.ser(obj);
+        System.out.printf("%n[%s] size java: %d, bin: %d%n", kind, javaBytes.length, binBytes.length);
+    }
+
+    @Benchmark
+    public byte[] javaSer() {
+        return JSerializers.ser(obj);
+    }
+
+    @Benchmark
+    public Object javaDeSer() {
+        return JSerializers.deSer(javaBytes);
+    }
+
+    @Benchmark
+    public byte[] binSer() {
+        return BinSerializers.ser(obj);
+    }
+
+    @Benchmark
+    public Object binDeSer() {
+        return BinSerializers.deSer(binBytes);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(BinSerializersBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,155 @@
+package io.github.baifangkual.jlib.core.codec;
+
+import io.github.baifangkual.jlib.core.conf.Cfg;
+import io.github.baifangkual.jlib.core.lang.Indexed;
+import io.github.baifangkual.jlib.core.lang.Line;
+import io.github.baifangkual.jlib.core.lang.Nil;
+import io.github.baifangkual.jlib.core.lang.R;
+import io.github.baifangkual.jlib.core.lang.Tup2;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * @author baifangkual
+ * @since 2026/10/18
+ */
+public class BinSerializersTest {
+
+    private static final Cfg.Option<Integer> SIZE = Cfg.Option.of("pool.size").intType().build();
+    private static final Cfg.Option<List<String>> HOSTS = Cfg.Option.of("hosts").<List<String>>type().build();
+
+    record Point(int x, int y) {
+    }
+
+    private static final BinSerializers.TypeSerializer<Point> POINT = new BinSerializers.TypeSerializer<>() {
+        @Override
+        public Class<Point> type() {
+            return Point.class;
+        }
+
+        @Override
+        public int typeId() {
+            return 1001;
+        }
+
+        @Override
+        public void write(BinSerializers.Out out, Point value) {
+            out.writeZigZagInt(value.x());
+            out.writeZigZagInt(value.y());
+        }
+
+        @Override
+        public Point read(BinSerializers.In in) {
+            return new Point(in.readZigZagInt(), in.readZigZagInt());
+        }
+    };
+
+    static {
+        BinSerializers.register(POINT);
+    }
+
+    private static <T> T roundTrip(T obj) {
+        return BinSerializers.deSer(BinSerializers.ser(obj));
+    }
+
+    @Test
+    public void testScalars() {
+        List<Object> values = List.of(true, false, 0, -1, Integer.MIN_VALUE, Integer.MAX_VALUE,
+                0L, Long.MIN_VALUE, Long.MAX_VALUE, 1.5d, Double.NaN, -0.0f, (short) -7, (byte) -128, 'x', '中',
+                "", "ascii", "中文 éè", "emoji 😀", new BigDecimal("1.25"),
+                Duration.ofSeconds(3), Nil.nil());
+        for (Object v : values) {
+            Assertions.assertEquals(v, roundTrip(v));
+        }
+        Assertions.assertEquals("bad ? surrogate", roundTrip("bad \uD800 surrogate"));
+        Assertions.assertArrayEquals(new byte[]{1, 2, 3}, roundTrip(new byte[]{1, 2, 3}));
+        Assertions.assertSame(Nil.nil(), roundTrip(Nil.nil()));
+    }
+
+    @Test
+    public void testCoreTypes() {
+        Tup2<String, Integer> tup = Tup2.of("a", 1);
+        Assertions.assertEquals(tup, roundTrip(tup));
+        Assertions.assertEquals(Line.of(1L, 2L), roundTrip(Line.of(1L, 2L)));
+        Assertions.assertEquals(Indexed.of(-3, "v"), roundTrip(Indexed.of(-3, "v")));
+        R<List<Integer>> ok = R.ofOk(List.of(1, 2, 3));
+        Assertions.assertEquals(ok, roundTrip(ok));
+        R<Object> err = R.ofErr(new FileNotFoundException("a.txt"));
+        R<Object> errBack = roundTrip(err);
+        Assertions.assertTrue(errBack.isErr());
+        Assertions.assertInstanceOf(FileNotFoundException.class, errBack.err());
+        Assertions.assertEquals("a.txt", errBack.err().getMessage());
+        Cfg cfg = Cfg.newCfg().set(SIZE, 16).set(HOSTS, List.of("h1", "h2"));
+        Cfg cfgBack = roundTrip(cfg);
+        Assertions.assertEquals(16, cfgBack.get(SIZE));
+        Assertions.assertEquals(List.of("h1", "h2"), cfgBack.get(HOSTS));
+        Assertions.assertEquals(cfg, cfgBack);
+        Map<String, Object> nested = new LinkedHashMap<>();
+        nested.put("list", List.of(Tup2.of(1, Line.of("a", "b"))));
+        nested.put("set", new TreeSet<>(Set.of(3, 1, 2)));
+        nested.put(null, Map.of(1, Indexed.of(0, cfg)));
+        Map<String, Object> nestedBack = roundTrip(nested);
+        Assertions.assertEquals(nested, nestedBack);
+        Assertions.assertEquals(List.of(1, 2, 3), new ArrayList<>((Set<?>) nestedBack.get("set")));
+    }
+
+    @Test
+    public void testUserTypeAndErrors() {
+        Assertions.assertEquals(new Point(-1, 2), roundTrip(new Point(-1, 2)));
+        Assertions.assertEquals(List.of(new Point(0, 0)), roundTrip(List.of(new Point(0, 0))));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> BinSerializers.register(POINT));
+        // 用户类型的序列化结果不含类描述，远小于 java 原生序列化
+        Assertions.assertTrue(BinSerializers.ser(new Point(1, 2)).length < 10);
+        // 不支持的类型
+        Assertions.assertThrows(IllegalStateException.class, () -> BinSerializers.ser(new Object()));
+        // 循环引用
+        List<Object> cyclic = new ArrayList<>();
+        cyclic.add(cyclic);
+        Assertions.assertThrows(IllegalStateException.class, () -> BinSerializers.ser(cyclic));
+        // 截断、版本、尾部多余数据
+        byte[] bytes = BinSerializers.ser(Tup2.of("abc", 1));
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> BinSerializers.deSer(Arrays.copyOf(bytes, bytes.length - 1)));
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> BinSerializers.deSer(Arrays.copyOf(bytes, bytes.length + 1)));
+        byte[] future = bytes.clone();
+        future[1] = (byte) (BinSerializers.VERSION + 1);
+        Assertions.assertThrows(IllegalStateException.class, () -> BinSerializers.deSer(future));
+        // 不合法的集合大小不会导致大量分配
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> BinSerializers.deSer(new byte[]{(byte) 0xB5, 1, 6, 12, (byte) 0xff, (byte) 0xff, (byte) 0xff, 0x7f, 0}));
+    }
+
+    @Test
+    public void testStreamAndByteBuffer() {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        List<Object> objs = List.of(Tup2.of(1, 2), "s", List.of(1, 2), Cfg.newCfg().set(SIZE, 1));
+        for (Object o : objs) BinSerializers.ser(o, bos);
+        InputStream in = new ByteArrayInputStream(bos.toByteArray());
+        for (Object o : objs) Assertions.assertEquals(o, BinSerializers.deSer(in));
+        Assertions.assertThrows(IllegalStateException.class, () -> BinSerializers.deSer(in));
+        // 三种形式的结果相同
+        byte[] bytes = BinSerializers.ser(objs.get(0));
+        Assertions.assertArrayEquals(bytes, Arrays.copyOf(bos.toByteArray(), bytes.length));
+        for (ByteBuffer buf : new ByteBuffer[]{ByteBuffer.allocate(1024), ByteBuffer.allocateDirect(1024)}) {
+            buf.position(3);
+            for (Object o : objs) BinSerializers.ser(o, buf);
+            buf.flip().position(3);
+            for (Object o : objs) Assertions.assertEquals(o, BinSerializers.deSer(buf));
+            Assertions.assertFalse(buf.hasRemaining());
+        }
+        ByteBuffer small = ByteBuffer.allocate(4);
+        Assertions.assertThrows(BufferOverflowException.class, () -> BinSerializers.ser("abcdef", small));
+        Assertions.assertEquals(0, small.position());
+    }
+}
@@ -0,0 +1,116 @@
+package io.github.baifangkual.jlib.core.codec;
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+
+/**
+ * {@link Codec#pipeline(StreamCodec...)} 的大数据演示：
+ * 将生成的 1GiB（可由第一个参数指定字节数）类 JSON 文本经 {@code gzip(1) -> base64} 流式编码写入临时文件，
+ * 再流式解码并校验 CRC32，打印耗时及堆的峰值占用<br>
+ * 整个过程中各阶段仅持有各自固定大小的缓冲区，可以很小的堆运行，如：
+ * <pre>{@code
+ * java -Xmx32m -cp ... io.github.baifangkual.jlib.core.codec.CodecPipelineDemo
+ * }</pre>
+ * 而逐步调用 {@code BNCodec.b64.encode(new Gzip().encode(data))} 至少需要持有原始数据及两份中间结果
+ * <p>该类不会被 surefire 执行，需手动运行 {@link #main(String[])}
+ *
+ * @author baifangkual
+ * @since 2026/10/18
+ */
+public class CodecPipelineDemo {
+
+    public static void main(String[] args) throws IOException {
+        long size = args.length > 0 ? Long.parseLong(args[0]) : 1L << 30;
+        StreamCodec pipeline = Codec.pipeline(new Gzip(1), BNCodec.b64);
+        Path tmp = Files.createTempFile("codec-pipeline", ".b64");
+        try {
+            byte[] buf = new byte[64 * 1024];
+            CRC32 srcCrc = new CRC32();
+            long t0 = System.nanoTime();
+            try (InputStream src = new PayloadInputStream(size);
+                 OutputStream out = pipeline.encodingStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                int n;
+                while ((n = src.read(buf)) != -1) {
+                    srcCrc.update(buf, 0, n);
+                    out.write(buf, 0, n);
+                }
+            }
+            long t1 = System.nanoTime();
+            CRC32 dstCrc = new CRC32();
+            long decoded = 0;
+            try (InputStream in = pipeline.decodingStream(new BufferedInputStream(Files.newInputStream(tmp)))) {
+                int n;
+                while ((n = in.read(buf)) != -1) {
+                    dstCrc.update(buf, 0, n);
+                    decoded += n;
+                }
+            }
+            long t2 = System.nanoTime();
+            System.out.printf("payload: %d bytes, encoded: %d bytes%n", size, Files.size(tmp));
+            System.out.printf("encode: %.1f s (%.1f MB/s), decode: %.1f s (%.1f MB/s)%n",
+                    (t1 - t0) / 1e9, size / 1e6 / ((t1 - t0) / 1e9),
+                    (t2 - t1) / 1e9, size / 1e6 / ((t2 - t1) / 1e9));
+            System.out.printf("round trip: %s, max heap: %d MB, peak heap used: %d MB%n",
+                    decoded == size && srcCrc.getValue() == dstCrc.getValue() ? "ok" : "MISMATCH",
+                    Runtime.getRuntime().maxMemory() >> 20, peakHeapUsed() >> 20);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static long peakHeapUsed() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    /**
+     * 按需生成 size 个字节的类 JSON 文本，不在内存中持有完整数据
+     */
+    private static final class PayloadInputStream extends InputStream {
+        private final long size;
+        private long pos;
+        private long seq;
+        private byte[] line = new byte[0];
+        private int linePos;
+
+        PayloadInputStream(long size) {
+            this.size = size;
+        }
+
+        @Override
+        public int read() {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (pos == size) {
+                return -1;
+            }
+            int n = (int) Math.min(len, size - pos);
+            for (int i = 0; i < n; i++) {
+                if (linePos == line.length) {
+                    long id = seq++;
+                    line = ("{\"id\":" + id + ",\"user\":\"u" + (id * 31 % 997) + "\",\"ok\":" + (id % 3 == 0) + "}\n")
+                            .getBytes(StandardCharsets.US_ASCII);
+                    linePos = 0;
+                }
+                b[off + i] = line[linePos++];
+            }
+            pos += n;
+            return n;
+        }
+    }
+}
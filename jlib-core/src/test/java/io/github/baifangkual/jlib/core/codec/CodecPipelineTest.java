@@ -0,0 +1,60 @@
+package io.github.baifangkual.jlib.core.codec;
+
+import io.github.baifangkual.jlib.core.util.Rng;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * @author baifangkual
+ * @since 2026/10/18
+ */
+public class CodecPipelineTest {
+
+    private static byte[] text(int len) {
+        StringBuilder sb = new StringBuilder(len + 16);
+        while (sb.length() < len) {
+            sb.append(Rng.nextInt(1000)).append(',');
+        }
+        return sb.substring(0, len).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    public void testPipelineEqualsStepByStep() throws IOException {
+        Gzip gzip = new Gzip();
+        StreamCodec pipeline = Codec.pipeline(gzip, BNCodec.b64);
+        for (int len : new int[]{0, 1, 1000, 100_000}) {
+            byte[] data = text(len);
+            byte[] stepByStep = BNCodec.b64.encode(gzip.encode(data));
+            byte[] encoded = pipeline.encode(data);
+            // gzip 流与整体压缩的结果可能不同，但都应可被逐步解码
+            Assertions.assertArrayEquals(data, gzip.decode(BNCodec.b64.decode(encoded)));
+            Assertions.assertArrayEquals(data, pipeline.decode(stepByStep));
+            Assertions.assertArrayEquals(data, pipeline.decode(encoded));
+        }
+    }
+
+    @Test
+    public void testStreamAndObject() throws Exception {
+        StreamCodec pipeline = Codec.pipeline(new Lz4(), new Gzip(1), BNCodec.b16);
+        List<String> obj = List.of("a", "b", new String(text(50_000), StandardCharsets.US_ASCII));
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(pipeline.encodingStream(bos))) {
+            oos.writeObject(obj);
+        }
+        // 最外层为 base16
+        byte[] encoded = bos.toByteArray();
+        Assertions.assertTrue(new String(encoded, StandardCharsets.US_ASCII).matches("[0-9A-F]+"));
+        try (ObjectInputStream ois = new ObjectInputStream(pipeline.decodingStream(new ByteArrayInputStream(encoded)))) {
+            Assertions.assertEquals(obj, ois.readObject());
+        }
+        Assertions.assertSame(BNCodec.b64, Codec.pipeline(BNCodec.b64));
+        Assertions.assertThrows(IllegalArgumentException.class, Codec::pipeline);
+        Assertions.assertThrows(NullPointerException.class, () -> Codec.pipeline(BNCodec.b64, null));
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> Codec.pipeline(new Gzip(), BNCodec.b64).decode("QUJD".getBytes(StandardCharsets.US_ASCII)));
+    }
+}
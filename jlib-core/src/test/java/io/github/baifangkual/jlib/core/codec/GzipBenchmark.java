@@ -0,0 +1,115 @@
+package io.github.baifangkual.jlib.core.codec;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * {@link Gzip} 编解码基准测试，对照组为原每次调用新建 {@link GZIPOutputStream}/{@link GZIPInputStream} 的实现
+ * （见 {@link #legacyEncode(byte[])} 及 {@link #legacyDecode(byte[])}），
+ * 数据为类似日志/JSON的可压缩文本，可配合 {@code -prof gc} 观察分配量
+ * <p>该类不会被 surefire 执行，需手动运行 {@link #main(String[])}
+ *
+ * @author baifangkual
+ * @since 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GzipBenchmark {
+
+    /**
+     * 原始数据字节数
+     */
+    @Param({"256", "4096", "1048576"})
+    public int size;
+
+    private final Gzip gzip = new Gzip();
+    private final Gzip fastGzip = new Gzip(1);
+    private byte[] data;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() {
+        Random rng = new Random(42);
+        StringBuilder sb = new StringBuilder(size + 64);
+        while (sb.length() < size) {
+            sb.append("{\"id\":").append(rng.nextInt(100000))
+                    .append(",\"name\":\"user").append(rng.nextInt(100))
+                    .append("\",\"ok\":").append(rng.nextBoolean()).append("}\n");
+        }
+        data = sb.substring(0, size).getBytes(StandardCharsets.US_ASCII);
+        encoded = gzip.encode(data);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return gzip.encode(data);
+    }
+
+    @Benchmark
+    public byte[] encodeLevel1() {
+        return fastGzip.encode(data);
+    }
+
+    @Benchmark
+    public byte[] legacyEncode() {
+        return legacyEncode(data);
+    }
+
+    @Benchmark
+    public byte[] decode() {
+        return gzip.decode(encoded);
+    }
+
+    @Benchmark
+    public byte[] legacyDecode() {
+        return legacyDecode(encoded);
+    }
+
+    static byte[] legacyEncode(byte[] data) {
+        try (ByteArrayOutputStream bos = new ByteArrayOutputStream();
+             GZIPOutputStream gos = new GZIPOutputStream(bos, data.length)) {
+            gos.write(data);
+            gos.finish();
+            return bos.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static byte[] legacyDecode(byte[] encoded) {
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream(encoded.length);
+             GZIPInputStream gis = new GZIPInputStream(new ByteArrayInputStream(encoded), encoded.length)) {
+            byte[] buffer = new byte[encoded.length];
+            int len;
+            while ((len = gis.read(buffer)) > 0) {
+                out.write(buffer, 0, len);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(GzipBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,119 @@
+package io.github.baifangkual.jlib.core.codec;
+
+import io.github.baifangkual.jlib.core.util.Rng;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * @author baifangkual
+ * @since 2026/10/18
+ */
+public class GzipTest {
+
+    private static byte[] text(int len) {
+        StringBuilder sb = new StringBuilder(len + 16);
+        while (sb.length() < len) {
+            sb.append(Rng.nextInt(1000)).append(' ');
+        }
+        return sb.substring(0, len).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] rngBytes(int len) {
+        byte[] bytes = new byte[len];
+        for (int i = 0; i < len; i++) bytes[i] = (byte) Rng.nextInt(256);
+        return bytes;
+    }
+
+    private static byte[] jdkEncode(byte[] data) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (GZIPOutputStream gos = new GZIPOutputStream(bos)) {
+            gos.write(data);
+        }
+        return bos.toByteArray();
+    }
+
+    private static byte[] jdkDecode(byte[] encoded) throws IOException {
+        try (GZIPInputStream gis = new GZIPInputStream(new ByteArrayInputStream(encoded))) {
+            return gis.readAllBytes();
+        }
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        for (int level = -1; level <= 9; level++) {
+            Gzip gzip = new Gzip(level);
+            for (int len : new int[]{0, 1, 100, 65536, 300_000}) {
+                byte[] data = len % 2 == 0 ? text(len) : rngBytes(len);
+                byte[] encoded = gzip.encode(data);
+                Assertions.assertArrayEquals(data, gzip.decode(encoded));
+                // 与 jdk 实现互通
+                Assertions.assertArrayEquals(data, jdkDecode(encoded));
+                Assertions.assertArrayEquals(data, gzip.decode(jdkEncode(data)));
+            }
+        }
+        byte[] data = text(100_000);
+        // 默认压缩级别时与 jdk 实现的结果（含 gzip 头）一致
+        Assertions.assertArrayEquals(jdkEncode(data), new Gzip().encode(data));
+        Assertions.assertTrue(new Gzip(9).encode(data).length < new Gzip(0).encode(data).length);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new Gzip(10));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new Gzip(-2));
+    }
+
+    @Test
+    public void testDecodeMultiMemberAndIllegal() throws IOException {
+        Gzip gzip = new Gzip();
+        byte[] a = text(1000);
+        byte[] b = rngBytes(500);
+        ByteArrayOutputStream concat = new ByteArrayOutputStream();
+        concat.write(gzip.encode(a));
+        concat.write(jdkEncode(b));
+        byte[] expected = new byte[a.length + b.length];
+        System.arraycopy(a, 0, expected, 0, a.length);
+        System.arraycopy(b, 0, expected, a.length, b.length);
+        Assertions.assertArrayEquals(expected, gzip.decode(concat.toByteArray()));
+        Assertions.assertArrayEquals(expected, jdkDecode(concat.toByteArray()));
+        // 带文件名的头
+        ByteArrayOutputStream named = new ByteArrayOutputStream();
+        byte[] encoded = gzip.encode(a);
+        named.write(encoded, 0, 3);
+        named.write(8);
+        named.write(encoded, 4, 6);
+        named.write("a.txt\0".getBytes(StandardCharsets.US_ASCII));
+        named.write(encoded, 10, encoded.length - 10);
+        Assertions.assertArrayEquals(a, gzip.decode(named.toByteArray()));
+        Assertions.assertArrayEquals(a, jdkDecode(named.toByteArray()));
+        // 非法数据
+        Assertions.assertThrows(IllegalStateException.class, () -> gzip.decode(new byte[0]));
+        Assertions.assertThrows(IllegalStateException.class, () -> gzip.decode("not gzip".getBytes()));
+        byte[] truncated = java.util.Arrays.copyOf(encoded, encoded.length - 20);
+        Assertions.assertThrows(IllegalStateException.class, () -> gzip.decode(truncated));
+        byte[] corrupt = encoded.clone();
+        corrupt[corrupt.length - 6] ^= 1;
+        Assertions.assertThrows(IllegalStateException.class, () -> gzip.decode(corrupt));
+    }
+
+    @Test
+    public void testStream() throws IOException {
+        Gzip gzip = new Gzip(1);
+        byte[] data = text(200_000);
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (OutputStream out = gzip.encodingStream(bos)) {
+            for (int i = 0; i < data.length; i += 777) {
+                out.write(data, i, Math.min(777, data.length - i));
+            }
+        }
+        Assertions.assertArrayEquals(data, gzip.decode(bos.toByteArray()));
+        try (InputStream in = gzip.decodingStream(new ByteArrayInputStream(gzip.encode(data)))) {
+            Assertions.assertArrayEquals(data, in.readAllBytes());
+        }
+    }
+}
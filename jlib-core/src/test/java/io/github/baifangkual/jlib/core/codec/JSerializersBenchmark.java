@@ -0,0 +1,122 @@
+package io.github.baifangkual.jlib.core.codec;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JSerializers} 序列化基准测试，对照组为原每次调用新建 {@link ByteArrayOutputStream} 的实现
+ * （见 {@link #legacySer(Serializable)}），
+ * 另比较逐个对象写出（每个对象各带流头与类描述信息）与 {@link JSerializers.BatchWriter} 批量写出 {@link #batch} 个对象，
+ * 可配合 {@code -prof gc} 观察分配量
+ * <p>该类不会被 surefire 执行，需手动运行 {@link #main(String[])}
+ *
+ * @author baifangkual
+ * @since 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JSerializersBenchmark {
+
+    record Event(long id, int code, String name) implements Serializable {
+    }
+
+    /**
+     * 批量写出的对象数
+     */
+    @Param({"1000"})
+    public int batch;
+
+    private Event event;
+    private Event[] events;
+
+    @Setup
+    public void setup() {
+        event = new Event(42L, 7, "user-login");
+        events = new Event[batch];
+        for (int i = 0; i < batch; i++) {
+            events[i] = new Event(i, i % 16, "event-" + (i % 10));
+        }
+    }
+
+    @Benchmark
+    public byte[] ser() {
+        return JSerializers.ser(event);
+    }
+
+    @Benchmark
+    public byte[] legacySer() {
+        return legacySer(event);
+    }
+
+    @Benchmark
+    public int serEachToStream() {
+        CountingOutputStream out = new CountingOutputStream();
+        for (Event e : events) {
+            JSerializers.ser(e, out);
+        }
+        return out.count;
+    }
+
+    @Benchmark
+    public int serBatch() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        try (JSerializers.BatchWriter w = JSerializers.batchWriter(out)) {
+            for (Event e : events) {
+                w.write(e);
+            }
+        }
+        return out.count;
+    }
+
+    /**
+     * 原实现
+     */
+    static byte[] legacySer(Serializable obj) {
+        try (ByteArrayOutputStream bout = new ByteArrayOutputStream();
+             ObjectOutputStream out = new ObjectOutputStream(bout)) {
+            out.writeObject(obj);
+            out.flush();
+            return bout.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 仅计数的输出流，排除目标缓冲区扩容的影响
+     */
+    static final class CountingOutputStream extends OutputStream {
+        int count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(JSerializersBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+}
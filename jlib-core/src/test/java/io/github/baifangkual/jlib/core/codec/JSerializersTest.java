@@ -0,0 +1,112 @@
+package io.github.baifangkual.jlib.core.codec;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author baifangkual
+ * @since 2026/10/18
+ */
+public class JSerializersTest {
+
+    record Point(int x, int y, String tag) implements Serializable {
+    }
+
+    /**
+     * writeObject 中再次调用 ser，复用的缓冲区正被使用
+     */
+    static class Nested implements Serializable {
+        transient byte[] inner;
+        final String v;
+
+        Nested(String v) {
+            this.v = v;
+        }
+
+        private void writeObject(java.io.ObjectOutputStream out) throws IOException {
+            out.defaultWriteObject();
+            out.writeObject(JSerializers.ser(v + "!"));
+        }
+
+        private void readObject(java.io.ObjectInputStream in) throws IOException, ClassNotFoundException {
+            in.defaultReadObject();
+            inner = (byte[]) in.readObject();
+        }
+    }
+
+    @Test
+    public void testSerToStreamAndChannel() {
+        Point p = new Point(1, 2, "a");
+        byte[] bytes = JSerializers.ser(p);
+        Assertions.assertEquals(p, JSerializers.deSer(bytes));
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        JSerializers.ser(p, bout);
+        Assertions.assertArrayEquals(bytes, bout.toByteArray());
+        // 同一流中连续写出多个对象
+        JSerializers.ser(new Point(3, 4, "b"), bout);
+        JSerializers.ser(new Point(5, 6, null), Channels.newChannel(bout));
+        ByteArrayInputStream in = new ByteArrayInputStream(bout.toByteArray());
+        Assertions.assertEquals(p, JSerializers.deSer(in));
+        Assertions.assertEquals(new Point(3, 4, "b"), JSerializers.deSer(in));
+        Assertions.assertEquals(new Point(5, 6, null), JSerializers.deSer(in));
+        Assertions.assertEquals(0, in.available());
+        Assertions.assertThrows(IllegalStateException.class, () -> JSerializers.deSer(in));
+
+        Nested n = JSerializers.deSer(JSerializers.ser(new Nested("x")));
+        Assertions.assertEquals("x", n.v);
+        Assertions.assertEquals("x!", JSerializers.deSer(n.inner));
+        // 大于保留上限的缓冲区不影响后续调用
+        byte[] large = new byte[3 << 20];
+        large[large.length - 1] = 7;
+        Assertions.assertArrayEquals(large, JSerializers.deSer(JSerializers.ser(large)));
+        Assertions.assertEquals(p, JSerializers.deSer(JSerializers.ser(p)));
+    }
+
+    @Test
+    public void testBatch() throws Exception {
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        List<Point> expected = new ArrayList<>();
+        try (JSerializers.BatchWriter w = JSerializers.batchWriter(bout, 7)) {
+            for (int i = 0; i < 100; i++) {
+                Point p = new Point(i, -i, "t" + (i % 3));
+                expected.add(p);
+                w.write(p);
+            }
+            w.write(new java.util.HashMap<>(Map.of("k", 1)));
+            Assertions.assertEquals(101, w.count());
+        }
+        List<Object> actual = new ArrayList<>();
+        try (JSerializers.BatchReader<Object> r = JSerializers.batchReader(new ByteArrayInputStream(bout.toByteArray()))) {
+            r.forEachRemaining(actual::add);
+            Assertions.assertFalse(r.hasNext());
+        }
+        Assertions.assertEquals(101, actual.size());
+        Assertions.assertEquals(expected, actual.subList(0, 100));
+        Assertions.assertEquals(Map.of("k", 1), actual.get(100));
+        // 批量写出时类描述信息仅写出一次
+        int perObject = 0;
+        for (Point p : expected) {
+            perObject += JSerializers.ser(p).length;
+        }
+        Assertions.assertTrue(bout.size() < perObject / 2);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> JSerializers.batchWriter(bout, 0));
+        // 截断的数据
+        byte[] truncated = java.util.Arrays.copyOf(bout.toByteArray(), bout.size() - 1);
+        JSerializers.BatchReader<Object> r = JSerializers.batchReader(new ByteArrayInputStream(truncated));
+        Assertions.assertThrows(IllegalStateException.class, () -> r.forEachRemaining(o -> {
+        }));
+        r.close();
+        Assertions.assertTrue(r.isClosed());
+        Assertions.assertFalse(r.hasNext());
+    }
+}
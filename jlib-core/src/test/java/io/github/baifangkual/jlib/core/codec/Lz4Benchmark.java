@@ -0,0 +1,101 @@
+package io.github.baifangkual.jlib.core.codec;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Lz4} 与 {@link Gzip} 的压缩/解压吞吐量基准测试<br>
+ * 数据为类似缓存中 JSON 记录的文本（{@code json}）及随机字节（{@code random}），
+ * 结果以 ops/s 给出，乘以 {@link #size} 即为 MB/s，压缩率在 {@link #setup(BenchmarkParams)} 中打印
+ * <p>该类不会被 surefire 执行，需手动运行 {@link #main(String[])}
+ *
+ * @author baifangkual
+ * @since 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Lz4Benchmark {
+
+    /**
+     * 原始数据字节数
+     */
+    @Param({"4096", "1048576"})
+    public int size;
+
+    @Param({"json", "random"})
+    public String kind;
+
+    private final Lz4 lz4 = new Lz4();
+    private final Gzip gzip = new Gzip();
+    private final Gzip fastGzip = new Gzip(1);
+    private byte[] data;
+    private byte[] lz4Encoded;
+    private byte[] gzipEncoded;
+
+    @Setup
+    public void setup(BenchmarkParams params) {
+        Random rng = new Random(42);
+        if ("random".equals(kind)) {
+            data = new byte[size];
+            rng.nextBytes(data);
+        } else {
+            StringBuilder sb = new StringBuilder(size + 128);
+            while (sb.length() < size) {
+                sb.append("{\"id\":").append(rng.nextInt(1_000_000))
+                        .append(",\"name\":\"user").append(rng.nextInt(1000))
+                        .append("\",\"tags\":[\"t").append(rng.nextInt(20)).append("\"]")
+                        .append(",\"active\":").append(rng.nextBoolean()).append("}\n");
+            }
+            data = sb.substring(0, size).getBytes(StandardCharsets.US_ASCII);
+        }
+        lz4Encoded = lz4.encode(data);
+        gzipEncoded = gzip.encode(data);
+        System.out.printf("%n[%s %d] ratio lz4: %.3f, gzip: %.3f, gzip(1): %.3f%n", kind, size,
+                (double) lz4Encoded.length / size, (double) gzipEncoded.length / size,
+                (double) fastGzip.encode(data).length / size);
+    }
+
+    @Benchmark
+    public byte[] lz4Encode() {
+        return lz4.encode(data);
+    }
+
+    @Benchmark
+    public byte[] lz4Decode() {
+        return lz4.decode(lz4Encoded);
+    }
+
+    @Benchmark
+    public byte[] gzipEncode() {
+        return gzip.encode(data);
+    }
+
+    @Benchmark
+    public byte[] gzipLevel1Encode() {
+        return fastGzip.encode(data);
+    }
+
+    @Benchmark
+    public byte[] gzipDecode() {
+        return gzip.decode(gzipEncoded);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(Lz4Benchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,219 @@
+package io.github.baifangkual.jlib.core.codec;
+
+import io.github.baifangkual.jlib.core.util.Rng;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * @author baifangkual
+ * @since 2026/10/18
+ */
+public class Lz4Test {
+
+    private final Lz4 lz4 = new Lz4();
+
+    /**
+     * 随机数据、重复片段及文本的混合
+     */
+    private static byte[] fuzzData(int len) {
+        byte[] data = new byte[len];
+        int i = 0;
+        while (i < len) {
+            int kind = Rng.nextInt(3);
+            int n = Math.min(len - i, Rng.nextInt(1, 300));
+            if (kind == 0 || i == 0) {
+                for (int j = 0; j < n; j++) data[i + j] = (byte) Rng.nextInt(256);
+            } else if (kind == 1) {
+                // 复制前文（可能重叠）
+                int from = Rng.nextInt(Math.max(0, i - 70000), i);
+                for (int j = 0; j < n; j++) data[i + j] = data[from + j];
+            } else {
+                byte b = (byte) Rng.nextInt(4);
+                Arrays.fill(data, i, i + n, b);
+            }
+            i += n;
+        }
+        return data;
+    }
+
+    @Test
+    public void testFuzzRoundTrip() {
+        for (int i = 0; i < 2000; i++) {
+            int len = i < 100 ? i : Rng.nextInt(0, i < 1900 ? 5000 : 300_000);
+            byte[] data = fuzzData(len);
+            byte[] encoded = lz4.encode(data);
+            Assertions.assertTrue(encoded.length <= 4 + Lz4.maxCompressedLength(len));
+            Assertions.assertArrayEquals(data, lz4.decode(encoded));
+        }
+        byte[] zeros = new byte[1 << 20];
+        Assertions.assertTrue(lz4.encode(zeros).length < 5000);
+        Assertions.assertArrayEquals(zeros, lz4.decode(lz4.encode(zeros)));
+    }
+
+    @Test
+    public void testBlockFormat() {
+        // token 0x14: 1 个字面量 'a'，匹配偏移 1 长度 8（重叠复制）
+        byte[] block = {0x14, 'a', 1, 0, 0x10, 'b'};
+        byte[] out = new byte[10];
+        Assertions.assertEquals(10, lz4.decompress(block, 0, block.length, out, 0, 10));
+        Assertions.assertEquals("aaaaaaaaab", new String(out, StandardCharsets.US_ASCII));
+        // 带偏移的压缩/解压
+        byte[] data = fuzzData(10_000);
+        byte[] dst = new byte[3 + Lz4.maxCompressedLength(data.length)];
+        int n = lz4.compress(data, 0, data.length, dst, 3);
+        byte[] back = new byte[data.length + 2];
+        lz4.decompress(dst, 3, n, back, 2, data.length);
+        Assertions.assertArrayEquals(data, Arrays.copyOfRange(back, 2, back.length));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> lz4.decompress(dst, 3, n, back, 0, data.length - 1));
+    }
+
+    @Test
+    public void testMalformed() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> lz4.decode(new byte[3]));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> lz4.decode(new byte[]{-1, -1, -1, 127, 0}));
+        // 偏移越界
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> lz4.decompress(new byte[]{0x10, 'a', 5, 0, 0}, 0, 5, new byte[20], 0, 20));
+        byte[] encoded = lz4.encode(fuzzData(5000));
+        for (int i = 0; i < 2000; i++) {
+            byte[] broken = encoded.clone();
+            int flips = Rng.nextInt(1, 4);
+            for (int j = 0; j < flips; j++) {
+                broken[Rng.nextInt(4, broken.length)] = (byte) Rng.nextInt(256);
+            }
+            try {
+                lz4.decode(broken);
+            } catch (IllegalArgumentException ignored) {
+                // 损坏的数据只允许抛出 IllegalArgumentException
+            }
+        }
+    }
+
+    @Test
+    public void testXxh32() {
+        Assertions.assertEquals(0x02CC5D05, Lz4.Xxh32.hash(new byte[0], 0, 0, 0));
+        byte[] abc = "abc".getBytes(StandardCharsets.US_ASCII);
+        Assertions.assertEquals(0x32D153FF, Lz4.Xxh32.hash(abc, 0, 3, 0));
+        byte[] data = fuzzData(1000);
+        Lz4.Xxh32 x = new Lz4.Xxh32(0);
+        for (int i = 0; i < data.length; i += 7) {
+            x.update(data, i, Math.min(7, data.length - i));
+        }
+        Assertions.assertEquals(Lz4.Xxh32.hash(data, 0, data.length, 0), x.digest());
+    }
+
+    @Test
+    public void testFrame() throws IOException {
+        // lz4 命令行工具压缩空输入的结果
+        byte[] emptyFrame = HexFormat.of().parseHex("04224d186440a700000000055dcc02");
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        lz4.encodingStream(bos).close();
+        Assertions.assertArrayEquals(emptyFrame, bos.toByteArray());
+        for (int len : new int[]{0, 1, 65535, 65536, 65537, 500_000}) {
+            byte[] data = len == 500_000 ? Arrays.copyOf(fuzzData(100), len) : fuzzData(len);
+            bos.reset();
+            try (OutputStream out = lz4.encodingStream(bos)) {
+                for (int i = 0; i < data.length; ) {
+                    int n = Math.min(data.length - i, Rng.nextInt(1, 100_000));
+                    out.write(data, i, n);
+                    i += n;
+                    if (Rng.nextInt(10) == 0) {
+                        out.flush();
+                    }
+                }
+            }
+            try (InputStream in = lz4.decodingStream(new ByteArrayInputStream(bos.toByteArray()))) {
+                Assertions.assertArrayEquals(data, in.readAllBytes());
+            }
+        }
+    }
+
+    @Test
+    public void testFrameSingleByteAndClose() throws IOException {
+        // 逐字节写出，跨越块边界
+        byte[] data = fuzzData(65536 + 10);
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        OutputStream out = lz4.encodingStream(bos);
+        for (byte b : data) {
+            out.write(b);
+        }
+        out.close();
+        out.close();
+        Assertions.assertThrows(IOException.class, () -> out.write(1));
+        InputStream in = lz4.decodingStream(new ByteArrayInputStream(bos.toByteArray()));
+        Assertions.assertEquals(data[0] & 0xff, in.read());
+        Assertions.assertEquals(data[1] & 0xff, in.read());
+        in.close();
+        in.close();
+        Assertions.assertThrows(IOException.class, in::read);
+        Assertions.assertThrows(IOException.class, () -> in.read(new byte[8], 0, 8));
+        Assertions.assertThrows(IOException.class, in::available);
+        try (InputStream in2 = lz4.decodingStream(new ByteArrayInputStream(bos.toByteArray()))) {
+            Assertions.assertArrayEquals(data, in2.readAllBytes());
+        }
+    }
+
+    @Test
+    public void testFrameConcatAndChecksum() throws IOException {
+        byte[] a = fuzzData(70_000);
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (OutputStream out = lz4.encodingStream(bos)) {
+            out.write(a);
+        }
+        byte[] frame = bos.toByteArray();
+        // 可跳过帧 + 两个帧
+        ByteArrayOutputStream concat = new ByteArrayOutputStream();
+        concat.write(new byte[]{0x5A, 0x2A, 0x4D, 0x18, 3, 0, 0, 0, 1, 2, 3});
+        concat.write(frame);
+        concat.write(frame);
+        try (InputStream in = lz4.decodingStream(new ByteArrayInputStream(concat.toByteArray()))) {
+            byte[] all = in.readAllBytes();
+            Assertions.assertArrayEquals(a, Arrays.copyOfRange(all, 0, a.length));
+            Assertions.assertArrayEquals(a, Arrays.copyOfRange(all, a.length, all.length));
+        }
+        // 内容校验和不一致
+        byte[] broken = frame.clone();
+        broken[broken.length - 1] ^= 1;
+        Assertions.assertThrows(IOException.class, () -> {
+            try (InputStream in = lz4.decodingStream(new ByteArrayInputStream(broken))) {
+                in.readAllBytes();
+            }
+        });
+        // 截断
+        Assertions.assertThrows(IOException.class, () -> {
+            try (InputStream in = lz4.decodingStream(new ByteArrayInputStream(frame, 0, frame.length - 9))) {
+                in.readAllBytes();
+            }
+        });
+        // 带块校验和的帧：FLG 0x70，一个未压缩的块
+        byte[] desc = {0x70, 0x40};
+        ByteArrayOutputStream withBlockChecksum = new ByteArrayOutputStream();
+        withBlockChecksum.write(new byte[]{0x04, 0x22, 0x4D, 0x18, 0x70, 0x40,
+                (byte) (Lz4.Xxh32.hash(desc, 0, 2, 0) >>> 8)});
+        byte[] raw = "hello".getBytes(StandardCharsets.US_ASCII);
+        withBlockChecksum.write(new byte[]{5, 0, 0, (byte) 0x80});
+        withBlockChecksum.write(raw);
+        writeIntLE(withBlockChecksum, Lz4.Xxh32.hash(raw, 0, raw.length, 0));
+        writeIntLE(withBlockChecksum, 0);
+        try (InputStream in = lz4.decodingStream(new ByteArrayInputStream(withBlockChecksum.toByteArray()))) {
+            Assertions.assertArrayEquals(raw, in.readAllBytes());
+        }
+    }
+
+    private static void writeIntLE(ByteArrayOutputStream out, int v) {
+        out.write(v);
+        out.write(v >>> 8);
+        out.write(v >>> 16);
+        out.write(v >>> 24);
+    }
+}
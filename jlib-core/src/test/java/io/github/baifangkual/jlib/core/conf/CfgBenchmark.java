@@ -0,0 +1,73 @@
+package io.github.baifangkual.jlib.core.conf;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Cfg} 读取配置值的基准测试，比较 {@link Cfg#toReadonly()}（HashMap）与 {@link Cfg#freeze()}（数组），
+ * 每次操作读取10个配置项（类似 FTP vfs 新建客户端时读取的配置），其中部分配置项经 fallbackOf 或默认值找到
+ * <p>该类不会被 surefire 执行，需手动运行 {@link #main(String[])}
+ *
+ * @author baifangkual
+ * @since 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CfgBenchmark {
+
+    @SuppressWarnings("unchecked")
+    private final Cfg.Option<Integer>[] options = new Cfg.Option[10];
+    private Cfg readonly;
+    private Cfg frozen;
+
+    @Setup
+    public void setup() {
+        Cfg cfg = Cfg.newCfg();
+        for (int i = 0; i < 40; i++) {
+            cfg.set(Cfg.Option.of("bench.other." + i).intType().build(), i);
+        }
+        for (int i = 0; i < options.length; i++) {
+            Cfg.Option<Integer> fb = Cfg.Option.of("bench.fb." + i).intType().defaultValue(-i).build();
+            options[i] = Cfg.Option.of("bench.opt." + i).intType().fallbackOf(fb).build();
+            // 0-3 直接配置，4-6 经 fallbackOf 找到，7-9 使用 fallbackOf 的默认值
+            if (i < 4) {
+                cfg.set(options[i], i);
+            } else if (i < 7) {
+                cfg.set(fb, i);
+            }
+        }
+        readonly = cfg.toReadonly();
+        frozen = cfg.freeze();
+    }
+
+    @Benchmark
+    public void readonlyGetOrDefault(Blackhole bh) {
+        for (Cfg.Option<Integer> o : options) {
+            bh.consume(readonly.getOrDefault(o));
+        }
+    }
+
+    @Benchmark
+    public void frozenGetOrDefault(Blackhole bh) {
+        for (Cfg.Option<Integer> o : options) {
+            bh.consume(frozen.getOrDefault(o));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(CfgBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,171 @@
+package io.github.baifangkual.jlib.core.conf;
+
+import io.github.baifangkual.jlib.core.codec.JSerializers;
+import io.github.baifangkual.jlib.core.ref.TypeRef;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * @author baifangkual
+ * @since 2026/10/18
+ */
+public class CfgLoaderTest {
+
+    public static final Cfg.Option<Integer> SIZE = Cfg.Option.of("pool.size").intType().defaultValue(8).build();
+    public static final Cfg.Option<Boolean> ENABLED = Cfg.Option.of("pool.enabled").booleanType().build();
+    public static final Cfg.Option<Duration> TIMEOUT = Cfg.Option.of("pool.timeout")
+            .defaultValue(Duration.ofSeconds(30)).build();
+    public static final Cfg.Option<Duration> BORROW_TIMEOUT = Cfg.Option.of("pool.borrowTimeout")
+            .<Duration>type().fallbackOf(TIMEOUT).build();
+    public static final Cfg.Option<ChronoUnit> UNIT = Cfg.Option.of("pool.unit").type(ChronoUnit.class).build();
+    public static final Cfg.Option<List<Integer>> PORTS = Cfg.Option.of("pool.ports")
+            .typeRef(new TypeRef<List<Integer>>() {
+            }).build();
+    public static final Cfg.Option<Map<String, Integer>> WEIGHTS = Cfg.Option.of("pool.weights")
+            .typeRef(new TypeRef<Map<String, Integer>>() {
+            }).defaultValue(Map.of()).build();
+    public static final Cfg.Option<String> NAME = Cfg.Option.of("pool.name").<String>type().build();
+
+    @Test
+    public void testValueType() {
+        Assertions.assertEquals(Integer.class, SIZE.valueType().orElseThrow());
+        Assertions.assertEquals(Duration.class, TIMEOUT.valueType().orElseThrow());
+        Assertions.assertEquals(Duration.class, BORROW_TIMEOUT.valueType().orElseThrow());
+        Assertions.assertEquals(ChronoUnit.class, Cfg.Option.of("x").defaultValue(ChronoUnit.DAYS).build()
+                .valueType().orElseThrow());
+        Assertions.assertTrue(NAME.valueType().isEmpty());
+        Assertions.assertTrue(Cfg.Option.of("x").defaultValue(List.of(1)).build().valueType().isEmpty());
+        Assertions.assertEquals("java.util.List<java.lang.Integer>", PORTS.valueType().orElseThrow().getTypeName());
+    }
+
+    @Test
+    public void testLoadAndConvert() {
+        CfgLoader loader = CfgLoader.ofOptionHolder(CfgLoaderTest.class);
+        Assertions.assertEquals(8, loader.options().size());
+        CfgLoader.Source src = loader.load(Map.of(
+                "pool.size", " 16 ",
+                "pool.enabled", "ON",
+                "pool.timeout", "1500ms",
+                "pool.unit", "seconds",
+                "pool.ports", "80, 443",
+                "pool.weights.a", "1",
+                "pool.weights.b", "2",
+                "pool.name", "main"));
+        Assertions.assertEquals(16, src.getOrDefault(SIZE));
+        Assertions.assertTrue(src.getOrDefault(ENABLED));
+        Assertions.assertEquals(Duration.ofMillis(1500), src.getOrDefault(TIMEOUT));
+        // 回滚配置项
+        Assertions.assertEquals(Duration.ofMillis(1500), src.getOrDefault(BORROW_TIMEOUT));
+        Assertions.assertTrue(src.tryGet(BORROW_TIMEOUT).isPresent());
+        Assertions.assertEquals(ChronoUnit.SECONDS, src.getOrDefault(UNIT));
+        Assertions.assertEquals(List.of(80, 443), src.getOrDefault(PORTS));
+        Assertions.assertEquals(Map.of("a", 1, "b", 2), src.getOrDefault(WEIGHTS));
+        Assertions.assertEquals("main", src.getOrDefault(NAME));
+        // 转换结果被缓存
+        Assertions.assertSame(src.getOrDefault(PORTS), src.getOrDefault(PORTS));
+
+        CfgLoader.Report report = src.validate();
+        Assertions.assertTrue(report.isClean(), report::toString);
+        Cfg cfg = src.toCfg();
+        Assertions.assertEquals(16, cfg.get(SIZE));
+        Assertions.assertEquals(Map.of("a", 1, "b", 2), cfg.get(WEIGHTS));
+        Assertions.assertFalse(cfg.toReadonlyMap().containsKey("pool.weights.a"));
+
+        CfgLoader.Source empty = loader.load(new Properties());
+        Assertions.assertEquals(8, empty.getOrDefault(SIZE));
+        Assertions.assertEquals(Duration.ofSeconds(30), empty.getOrDefault(BORROW_TIMEOUT));
+        Assertions.assertTrue(empty.tryGet(ENABLED).isEmpty());
+        Assertions.assertThrows(Cfg.OptionValueNotFoundException.class, () -> empty.getOrDefault(ENABLED));
+    }
+
+    @Test
+    public void testValidate() throws Exception {
+        Path file = Files.createTempFile("cfg-loader", ".properties");
+        try {
+            Files.writeString(file, """
+                    pool.size=many
+                    pool.enabled=maybe
+                    pool.timeout=PT2M
+                    pool.unit=fortnight
+                    pool.ports=80,x
+                    pool.weights=a=1,b=two
+                    pool.nmae=typo
+                    other.key=1
+                    """);
+            CfgLoader.Source src = CfgLoader.of(SIZE, ENABLED, TIMEOUT, UNIT, PORTS, WEIGHTS, NAME).load(file);
+            CfgLoader.Report report = src.validate();
+            Assertions.assertEquals(Set.of("pool.nmae", "other.key"), report.unknownKeys());
+            Assertions.assertEquals(Set.of("pool.size", "pool.enabled", "pool.unit", "pool.ports", "pool.weights"),
+                    report.invalidKeys().keySet());
+            Assertions.assertFalse(report.isValid());
+            Assertions.assertEquals(Duration.ofMinutes(2), src.getOrDefault(TIMEOUT));
+            IllegalArgumentException e = Assertions.assertThrows(IllegalArgumentException.class, src::toCfg);
+            Assertions.assertTrue(e.getMessage().contains("pool.enabled"));
+            Assertions.assertTrue(e.getMessage().contains("pool.weights"));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> src.getOrDefault(SIZE));
+
+            // 未登记的配置键以字符串放入
+            Cfg cfg = CfgLoader.of(TIMEOUT).load(Map.of("pool.timeout", "3s", "other", "v")).toCfg();
+            Assertions.assertEquals(Duration.ofSeconds(3), cfg.get(TIMEOUT));
+            Assertions.assertEquals("v", cfg.toReadonlyMap().get("other"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testInferredApiType() {
+        // 默认值的运行时类型为非公开的实现类（sun.nio.fs.UnixPath、sun.nio.cs.UTF_8 等）
+        Cfg.Option<Path> dir = Cfg.Option.of("app.dir").defaultValue(Path.of("/tmp")).build();
+        Cfg.Option<Charset> charset = Cfg.Option.of("app.charset").defaultValue(StandardCharsets.UTF_8).build();
+        Cfg.Option<ZoneId> zone = Cfg.Option.of("app.zone").defaultValue(ZoneId.of("Asia/Shanghai")).build();
+        Assertions.assertEquals(Path.class, dir.valueType().orElseThrow());
+        Assertions.assertEquals(Charset.class, charset.valueType().orElseThrow());
+        Assertions.assertEquals(ZoneId.class, zone.valueType().orElseThrow());
+
+        CfgLoader.Source src = CfgLoader.of(dir, charset, zone).load(Map.of(
+                "app.dir", "/var/data",
+                "app.charset", "GBK",
+                "app.zone", "UTC"));
+        Assertions.assertTrue(src.validate().isClean(), () -> src.validate().toString());
+        Assertions.assertEquals(Path.of("/var/data"), src.getOrDefault(dir));
+        Assertions.assertEquals(Charset.forName("GBK"), src.getOrDefault(charset));
+        Assertions.assertEquals(ZoneId.of("UTC"), src.getOrDefault(zone));
+    }
+
+    @Test
+    public void testDeserializedOption() {
+        Cfg.Option<Integer> size = JSerializers.deSer(JSerializers.ser(SIZE));
+        Cfg.Option<ChronoUnit> unit = JSerializers.deSer(JSerializers.ser(UNIT));
+        Cfg.Option<Duration> borrowTimeout = JSerializers.deSer(JSerializers.ser(BORROW_TIMEOUT));
+        Cfg.Option<Duration> timeout = JSerializers.deSer(JSerializers.ser(TIMEOUT));
+        // 反序列化后配置值的类型不丢失
+        Assertions.assertEquals(Integer.class, size.valueType().orElseThrow());
+        Assertions.assertEquals(ChronoUnit.class, unit.valueType().orElseThrow());
+        Assertions.assertEquals(Duration.class, borrowTimeout.valueType().orElseThrow());
+        Assertions.assertEquals(Duration.class, timeout.valueType().orElseThrow());
+        CfgLoader.Source src = CfgLoader.of(size, unit, borrowTimeout, timeout).load(Map.of(
+                "pool.size", "16",
+                "pool.unit", "days",
+                "pool.borrowTimeout", "2s",
+                "pool.timeout", "1m"));
+        Assertions.assertTrue(src.validate().isClean(), () -> src.validate().toString());
+        Assertions.assertEquals(16, src.getOrDefault(size));
+        Assertions.assertEquals(ChronoUnit.DAYS, src.getOrDefault(unit));
+        Assertions.assertEquals(Duration.ofSeconds(2), src.getOrDefault(borrowTimeout));
+        Assertions.assertEquals(Duration.ofMinutes(1), src.getOrDefault(timeout));
+    }
+
+}
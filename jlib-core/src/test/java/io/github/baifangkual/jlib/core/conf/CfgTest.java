@@ -3,7 +3,11 @@ package io.github.baifangkual.jlib.core.conf;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import io.github.baifangkual.jlib.core.codec.JSerializers;
+
 import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 
 /**
@@ -150,4 +154,57 @@ public class CfgTest {
         final Cfg ocp = Cfg.ofMap(new HashMap<>(cfg.toReadonlyMap()));
         Assertions.assertEquals(ocp, cfg);
     }
+
+    @Test
+    public void testFreeze() {
+        Cfg.Option<Integer> fb1 = Cfg.Option.of("freeze.fb1").intType().build();
+        Cfg.Option<Integer> fb2 = Cfg.Option.of("freeze.fb2").intType().defaultValue(2).build();
+        Cfg.Option<Integer> opt = Cfg.Option.of("freeze.opt").intType().fallbackOf(fb1, fb2).build();
+        Cfg.Option<String> str = Cfg.Option.of("freeze.str").stringType().defaultValue("d").build();
+        Cfg cfg = Cfg.newCfg().set(fb1, 1).set(str, "s");
+        Cfg frozen = cfg.freeze();
+        Assertions.assertTrue(frozen.isFrozen());
+        Assertions.assertFalse(cfg.isFrozen());
+        Assertions.assertSame(frozen, frozen.freeze());
+        Assertions.assertSame(frozen, frozen.toReadonly());
+        Assertions.assertEquals(cfg, frozen);
+        for (Cfg c : new Cfg[]{cfg, frozen}) {
+            Assertions.assertEquals(1, c.get(opt));
+            Assertions.assertEquals("s", c.getOrDefault(str));
+            Assertions.assertEquals(Optional.of(1), c.tryGet(fb1));
+            Assertions.assertEquals(Optional.empty(), c.tryGet(fb2));
+            Assertions.assertEquals(2, c.getOrDefault(fb2));
+        }
+        // 冻结后对原Cfg的修改不影响冻结的Cfg
+        cfg.remove(fb1).reset(opt, 0);
+        Assertions.assertEquals(0, cfg.get(opt));
+        Assertions.assertEquals(1, frozen.get(opt));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> frozen.reset(opt, 3));
+        // 回滚配置项的默认值
+        Cfg empty = Cfg.newCfg().freeze();
+        Assertions.assertEquals(2, empty.getOrDefault(opt));
+        Assertions.assertThrows(NoSuchElementException.class, () -> empty.get(opt));
+        // 冻结后新建的配置项
+        Cfg.Option<Long> later = Cfg.Option.of("freeze.later." + System.nanoTime()).longType().build();
+        Assertions.assertEquals(Optional.empty(), frozen.tryGet(later));
+        // 无类型信息的map中的配置键
+        Cfg fromMap = Cfg.ofMap(Map.of("freeze.fromMap", "v")).freeze();
+        Assertions.assertEquals("v", fromMap.get(Cfg.Option.of("freeze.fromMap").stringType().build()));
+        // 冻结时未被任何配置项使用的配置键，其配置项在冻结后才构建
+        String unknownKey = "freeze.unknown." + System.nanoTime();
+        Cfg withoutUnknown = Cfg.newCfg().set(fb1, 1).freeze();
+        Cfg unknown = Cfg.ofMap(Map.of(unknownKey, 7L, "freeze.fb1", 1)).freeze();
+        Cfg.Option<Long> unknownOpt = Cfg.Option.of(unknownKey).longType().build();
+        Cfg.Option<Long> fbUnknown = Cfg.Option.of("freeze.fbUnknown." + System.nanoTime())
+                .longType().fallbackOf(unknownOpt).build();
+        Assertions.assertEquals(7L, unknown.get(unknownOpt));
+        Assertions.assertEquals(7L, unknown.get(fbUnknown));
+        Assertions.assertEquals(1, unknown.get(opt));
+        Assertions.assertEquals(Optional.empty(), withoutUnknown.tryGet(unknownOpt));
+        // 序列化后仍为冻结的Cfg
+        Cfg de = JSerializers.deSer(JSerializers.ser(frozen));
+        Assertions.assertTrue(de.isFrozen());
+        Assertions.assertEquals(1, de.get(JSerializers.<Cfg.Option<Integer>>deSer(JSerializers.ser(opt))));
+        Assertions.assertEquals(2, empty.getOrDefault(JSerializers.<Cfg.Option<Integer>>deSer(JSerializers.ser(opt))));
+    }
 }
@@ -0,0 +1,135 @@
+package io.github.baifangkual.jlib.core.conf;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author baifangkual
+ * @since 2026/10/18
+ */
+public class LiveCfgTest {
+
+    static final Cfg.Option<Integer> SIZE = Cfg.Option.of("live.size").intType().defaultValue(8).build();
+    static final Cfg.Option<String> NAME = Cfg.Option.of("live.name").stringType().build();
+
+    @Test
+    public void testUpdateAndListen() {
+        Cfg init = Cfg.newCfg().set(NAME, "a");
+        LiveCfg live = LiveCfg.of(init);
+        // 初始快照为副本
+        init.reset(NAME, "changed");
+        Assertions.assertEquals("a", live.get().get(NAME));
+        Assertions.assertEquals(0, live.version());
+        Assertions.assertTrue(live.get().isFrozen());
+
+        List<String> events = new ArrayList<>();
+        LiveCfg.Subscription<Integer> sub = live.onChange(SIZE, (o, n) -> events.add(o + "->" + n));
+        live.onChange(NAME, (o, n) -> events.add(o + "=>" + n));
+
+        LiveCfg.Snapshot s1 = live.update(c -> c.reset(SIZE, 16));
+        Assertions.assertEquals(1, s1.version());
+        Assertions.assertSame(s1, live.snapshot());
+        Assertions.assertEquals(16, live.get().getOrDefault(SIZE));
+        // 值未变更不通知
+        live.update(c -> c.reset(SIZE, 16));
+        live.update(c -> c.remove(SIZE).reset(NAME, "b"));
+        Assertions.assertEquals(List.of("8->16", "16->8", "a=>b"), events);
+
+        sub.close();
+        Assertions.assertTrue(sub.isClosed());
+        live.publish(Cfg.newCfg().set(SIZE, 1));
+        Assertions.assertEquals(List.of("8->16", "16->8", "a=>b", "b=>null"), events);
+        Assertions.assertEquals(4, live.version());
+        Assertions.assertEquals(1, live.get().get(SIZE));
+
+        // 监听器异常在新快照发布后抛出，其他监听器仍被通知
+        live.onChange(SIZE, (o, n) -> {
+            throw new IllegalArgumentException("bad size " + n);
+        });
+        List<Integer> seen = new ArrayList<>();
+        live.onChange(SIZE, (o, n) -> seen.add(n));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> live.update(c -> c.reset(SIZE, -1)));
+        Assertions.assertEquals(-1, live.get().get(SIZE));
+        Assertions.assertEquals(List.of(-1), seen);
+    }
+
+    @Test
+    public void testConcurrentUpdate() throws InterruptedException {
+        LiveCfg live = LiveCfg.of(Cfg.newCfg().set(SIZE, 0));
+        AtomicLong lastSeen = new AtomicLong(-1);
+        List<String> disorder = new ArrayList<>();
+        live.onChange(SIZE, (o, n) -> {
+            if (n <= lastSeen.get() || o >= n) {
+                disorder.add(o + "->" + n);
+            }
+            lastSeen.set(n);
+        });
+        int threads = 4;
+        int perThread = 500;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> ts = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread th = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                for (int i = 0; i < perThread; i++) {
+                    live.update(c -> c.reset(SIZE, c.get(SIZE) + 1));
+                }
+            });
+            th.start();
+            ts.add(th);
+        }
+        start.countDown();
+        for (Thread th : ts) {
+            th.join();
+        }
+        Assertions.assertEquals(threads * perThread, live.get().get(SIZE));
+        Assertions.assertEquals(threads * perThread, live.version());
+        Assertions.assertEquals(threads * perThread, lastSeen.get());
+        Assertions.assertEquals(List.of(), disorder);
+    }
+
+    @Test
+    public void testValidator() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> LiveCfg.of(Cfg.newCfg().set(SIZE, 0), LiveCfgTest::checkSize));
+        LiveCfg live = LiveCfg.of(Cfg.newCfg().set(SIZE, 4), LiveCfgTest::checkSize);
+        List<Integer> applied = new ArrayList<>();
+        live.onChange(SIZE, (o, n) -> applied.add(n));
+        LiveCfg.Snapshot before = live.snapshot();
+
+        // 校验不通过，不发布新快照，不通知监听器
+        Assertions.assertThrows(IllegalArgumentException.class, () -> live.update(c -> c.reset(SIZE, 0)));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> live.publish(Cfg.newCfg().set(SIZE, -1)));
+        Assertions.assertEquals(0, live.version());
+        Assertions.assertSame(before, live.snapshot());
+        Assertions.assertEquals(4, live.get().get(SIZE));
+        Assertions.assertTrue(applied.isEmpty());
+
+        live.addValidator(c -> {
+            if (c.tryGet(NAME).filter(String::isBlank).isPresent()) {
+                throw new IllegalStateException("blank name");
+            }
+        });
+        Assertions.assertThrows(IllegalStateException.class, () -> live.update(c -> c.reset(SIZE, 5).reset(NAME, " ")));
+        Assertions.assertEquals(0, live.version());
+        live.update(c -> c.reset(SIZE, 5));
+        Assertions.assertEquals(1, live.version());
+        Assertions.assertEquals(List.of(5), applied);
+    }
+
+    private static void checkSize(Cfg cfg) {
+        if (cfg.getOrDefault(SIZE) < 1) {
+            throw new IllegalArgumentException("size < 1");
+        }
+    }
+
+}
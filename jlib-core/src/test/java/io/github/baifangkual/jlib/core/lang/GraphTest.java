@@ -0,0 +1,131 @@
+package io.github.baifangkual.jlib.core.lang;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * @author baifangkual
+ * @since 2026/10/18
+ */
+public class GraphTest {
+
+    @Test
+    public void testOfIterator() {
+        Iterator<Line<Integer>> it = List.of(
+                Line.of(1, 2),
+                Line.of(2, 3),
+                Line.of(3, 4),
+                Line.of(1, 5),
+                Line.of(5, 3)
+        ).iterator();
+        Graph<Integer> g = Graph.ofLines(it);
+        Assertions.assertEquals(5, g.nodeCount());
+        Assertions.assertEquals(5, g.edgeCount());
+        Assertions.assertEquals(2, g.inDegree(g.indexOf(3)));
+        Assertions.assertEquals(2, g.outDegree(g.indexOf(1)));
+        Assertions.assertEquals(List.of(1), g.headerNodes());
+        Assertions.assertTrue(g.isDirectedAcyclicGraph());
+        Assertions.assertEquals("[[1], [2, 5], [3], [4]]", g.orderDAGQueue().unwrap().toString());
+        Assertions.assertEquals(-1, g.indexOf(100));
+    }
+
+    @Test
+    public void testEdgeAndIsolatedNode() {
+        Graph<String> g = Graph.<String>builder()
+                .edge("a", "b")
+                .edge("b", "c")
+                .edge("a", "c")
+                .node("x")
+                .build();
+        Assertions.assertEquals(4, g.nodeCount());
+        Assertions.assertEquals(List.of("a", "x"), g.headerNodes());
+        LinkedList<List<String>> queue = g.orderDAGQueue().unwrap();
+        Assertions.assertEquals("[[a, x], [b], [c]]", queue.toString());
+        List<Integer> succ = new LinkedList<>();
+        g.forEachSuccessor(g.indexOf("a"), succ::add);
+        Assertions.assertEquals(List.of(g.indexOf("b"), g.indexOf("c")), succ);
+        Assertions.assertEquals(List.of("a", "b", "c", "x"), g.stream().toList());
+    }
+
+    @Test
+    public void testLoop() {
+        Graph<Integer> g = Graph.<Integer>builder()
+                .edge(1, 2)
+                .edge(2, 3)
+                .edge(3, 1)
+                .build();
+        Assertions.assertFalse(g.isDirectedAcyclicGraph());
+        Assertions.assertTrue(g.orderDAGQueue().isErr());
+        Assertions.assertTrue(Graph.<Integer>builder().build().orderDAGQueue().isErr());
+    }
+
+    @Test
+    public void testBuilderSingleUse() {
+        Graph.Builder<Integer> b = Graph.<Integer>builder().edge(1, 2);
+        b.build();
+        Assertions.assertThrows(IllegalStateException.class, () -> b.edge(2, 3));
+        Assertions.assertThrows(IllegalStateException.class, b::build);
+    }
+
+    @Test
+    public void testSameLayerAsLine() {
+        // 随机 dag：只允许小索引指向大索引
+        java.util.Random rng = new java.util.Random(42);
+        List<Line<Integer>> lines = IntStream.range(0, 500)
+                .mapToObj(i -> {
+                    int a = rng.nextInt(100);
+                    int b = a + 1 + rng.nextInt(20);
+                    return Line.of(a, b);
+                }).toList();
+        LinkedList<List<Integer>> byGraph = Graph.ofLines(lines).orderDAGQueue().unwrap();
+        LinkedList<List<Integer>> byLine = Line.orderDAGQueue(lines, Line.findAllNode(lines));
+        Assertions.assertEquals(byLine.size(), byGraph.size());
+        for (int i = 0; i < byLine.size(); i++) {
+            Assertions.assertEquals(
+                    byLine.get(i).stream().sorted().toList(),
+                    byGraph.get(i).stream().sorted().toList());
+        }
+    }
+
+    @Test
+    public void testSchedule() {
+        // a(1) -> b(1) -> c(1)
+        // d(10) -> c
+        // e(2) 孤立
+        Graph<String> g = Graph.<String>builder()
+                .edge("a", "b")
+                .edge("b", "c")
+                .edge("d", "c")
+                .node("e")
+                .build();
+        Map<String, Long> costs = Map.of("a", 1L, "b", 1L, "c", 1L, "d", 10L, "e", 2L);
+        Graph.Schedule<String> s = g.schedule(costs::get).unwrap();
+        Assertions.assertEquals(11, s.criticalPathLength());
+        Assertions.assertEquals(List.of("d", "c"), s.criticalPath());
+        int a = g.indexOf("a");
+        Assertions.assertEquals(0, s.earliestStart(a));
+        Assertions.assertEquals(8, s.latestStart(a));
+        Assertions.assertEquals(8, s.slack(a));
+        Assertions.assertEquals(10, s.earliestStart(g.indexOf("c")));
+        Assertions.assertTrue(s.isCritical(g.indexOf("d")));
+        Assertions.assertEquals(9, s.slack(g.indexOf("e")));
+        // 层内按剩余最长路径排序
+        Assertions.assertEquals("[[d, a, e], [b], [c]]", s.orderDAGQueue().toString());
+        Assertions.assertEquals(List.of("d", "a", "b", "e", "c"), s.readyQueue());
+    }
+
+    @Test
+    public void testScheduleErr() {
+        Graph<Integer> loop = Graph.<Integer>builder().edge(1, 2).edge(2, 1).build();
+        Assertions.assertTrue(loop.schedule(i -> 1L).isErr());
+        Graph<Integer> g = Graph.<Integer>builder().edge(1, 2).build();
+        Assertions.assertTrue(g.schedule(i -> -1L).isErr());
+        Assertions.assertThrows(NullPointerException.class, () -> g.schedule(null));
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.baifangkual.jlib.core.lang;
+
+import io.github.baifangkual.jlib.core.panic.StacklessException;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link R.Err} 的基准测试，失败率 50% 的批量操作（每次操作 1000 个元素，奇数元素失败），
+ * 比较失败时抛出普通异常（填充栈回溯）、{@link StacklessException}、缓存的 {@link StacklessException}
+ * 及直接返回 {@link R#ofStacklessErr(String)} 的开销，{@code depth} 为失败发生处距 {@link R#ofFnCallable(java.util.concurrent.Callable)} 的调用栈深度
+ * <p>该类不会被 surefire 执行，需手动运行 {@link #main(String[])}
+ *
+ * @author baifangkual
+ * @since 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RErrBenchmark {
+
+    private static final int BATCH = 1000;
+    private static final String MSG = "file not found";
+    private static final StacklessException CACHED = new StacklessException(MSG);
+
+    @Param({"4", "32"})
+    public int depth;
+
+    @Benchmark
+    public void filledException(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            final int n = i;
+            bh.consume(R.ofFnCallable(() -> call(n, depth, 0)));
+        }
+    }
+
+    @Benchmark
+    public void stacklessException(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            final int n = i;
+            bh.consume(R.ofFnCallable(() -> call(n, depth, 1)));
+        }
+    }
+
+    @Benchmark
+    public void cachedException(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            final int n = i;
+            bh.consume(R.ofFnCallable(() -> call(n, depth, 2)));
+        }
+    }
+
+    @Benchmark
+    public void stacklessErr(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(tryCall(i, depth));
+        }
+    }
+
+    /**
+     * 经 depth 层调用后，奇数失败，mode：0-普通异常，1-无栈追踪的异常，2-缓存的无栈追踪的异常
+     */
+    private static Integer call(int n, int depth, int mode) {
+        if (depth > 0) {
+            return call(n, depth - 1, mode);
+        }
+        if ((n & 1) == 0) {
+            return n;
+        }
+        throw switch (mode) {
+            case 0 -> new IllegalStateException(MSG);
+            case 1 -> new StacklessException(MSG);
+            default -> CACHED;
+        };
+    }
+
+    /**
+     * 经 depth 层调用后，奇数直接返回 {@link R#ofStacklessErr(String)}
+     */
+    private static R<Integer> tryCall(int n, int depth) {
+        if (depth > 0) {
+            return tryCall(n, depth - 1);
+        }
+        return (n & 1) == 0 ? R.ofOk(n) : R.ofStacklessErr(MSG);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(RErrBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+}
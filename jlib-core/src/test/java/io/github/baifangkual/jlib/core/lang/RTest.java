@@ -1,5 +1,7 @@
 package io.github.baifangkual.jlib.core.lang;
 
+import io.github.baifangkual.jlib.core.panic.Err;
+import io.github.baifangkual.jlib.core.panic.StacklessException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -8,7 +10,16 @@ import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
@@ -142,7 +153,162 @@ public class RTest {
 
     }
 
+    @Test
+    public void testStacklessErr() {
+        R<String> r = R.ofStacklessErr("not found");
+        Assertions.assertTrue(r.isErr());
+        Assertions.assertEquals(StacklessException.class, r.err().getClass());
+        Assertions.assertEquals("not found", r.err().getMessage());
+        Assertions.assertEquals(0, r.err().getStackTrace().length);
+        // 缓存的实例可重复使用
+        StacklessException cached = new StacklessException("cached");
+        R<Integer> r1 = R.ofFnCallable(() -> {
+            throw cached;
+        });
+        Assertions.assertSame(cached, r1.err());
+        Assertions.assertEquals(r1, R.ofErr(cached));
+    }
+
+    @Test
+    public void testSequence() {
+        Assertions.assertEquals(R.ofOk(List.of(1, 2)), R.sequence(List.of(R.ofOk(1), R.ofOk(2))));
+        IOException e = new IOException("e");
+        Assertions.assertSame(e, R.sequence(List.of(R.ofOk(1), R.ofErr(e), R.ofStacklessErr("x"))).err());
+        Assertions.assertEquals(R.ofOk(List.of()), R.sequence(List.<R<Integer>>of()));
+    }
+
+    @Test
+    public void testTraverseParallel() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Integer> items = IntStream.range(0, 100).boxed().toList();
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger maxRunning = new AtomicInteger();
+            R<List<Integer>> r = R.traverseParallel(items, i -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    return R.ofOk(i * 2);
+                } finally {
+                    running.decrementAndGet();
+                }
+            }, pool, 3);
+            Assertions.assertEquals(items.stream().map(i -> i * 2).toList(), r.unwrap());
+            Assertions.assertTrue(maxRunning.get() <= 3);
 
+            // 失败时取消：正在阻塞的任务被中断，未开始的任务不再执行
+            AtomicInteger executed = new AtomicInteger();
+            CountDownLatch blocked = new CountDownLatch(1);
+            CountDownLatch interrupted = new CountDownLatch(1);
+            R<List<Integer>> err = R.traverseParallel(items, i -> {
+                executed.incrementAndGet();
+                if (i == 0) {
+                    try {
+                        blocked.countDown();
+                        Thread.sleep(10_000);
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                        return R.ofErr(e);
+                    }
+                }
+                if (i == 1) {
+                    Err.runOrThrowReal(blocked::await);
+                    throw new IllegalStateException("fail " + i);
+                }
+                return R.ofOk(i);
+            }, pool, 2);
+            Assertions.assertEquals("fail 1", err.err().getMessage());
+            // 调用方线程不等待被中断的任务结束
+            Assertions.assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(2, executed.get());
+            // 执行器中线程的中断状态已被清除
+            Assertions.assertFalse(pool.submit(() -> Thread.currentThread().isInterrupted()).get());
 
+            List<R<Integer>> each = R.traverseParallelEach(items, i -> i % 10 == 0 ? R.ofStacklessErr("x") : R.ofOk(i),
+                    pool, 4);
+            Assertions.assertEquals(100, each.size());
+            Assertions.assertEquals(10, each.stream().filter(R::isErr).count());
+            Assertions.assertEquals(R.ofOk(99), each.get(99));
+            Assertions.assertThrows(IllegalArgumentException.class,
+                    () -> R.traverseParallel(items, R::ofOk, pool, 0));
+            // 执行器拒绝时在调用方线程中执行
+            R<List<Integer>> callerRuns = R.traverseParallel(items, R::ofOk, c -> {
+                throw new RejectedExecutionException();
+            }, 2);
+            Assertions.assertEquals(items, callerRuns.unwrap());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFirstOk() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        try {
+            CountDownLatch interrupted = new CountDownLatch(1);
+            List<Supplier<R<String>>> tasks = List.of(
+                    () -> {
+                        try {
+                            Thread.sleep(10_000);
+                            return R.ofOk("slow");
+                        } catch (InterruptedException e) {
+                            interrupted.countDown();
+                            return R.ofErr(e);
+                        }
+                    },
+                    () -> R.ofStacklessErr("down"),
+                    () -> R.ofOk("fast"));
+            Assertions.assertEquals(R.ofOk("fast"), R.firstOk(tasks, pool));
+            Assertions.assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+
+            IOException e1 = new IOException("e1");
+            IOException e2 = new IOException("e2");
+            R<String> allErr = R.firstOk(List.<Supplier<R<String>>>of(() -> R.ofErr(e1), () -> R.ofErr(e2)), pool);
+            Assertions.assertEquals(IllegalStateException.class, allErr.err().getClass());
+            Assertions.assertArrayEquals(new Throwable[]{e1, e2}, allErr.err().getSuppressed());
+            // 任务的异常不被修改
+            Assertions.assertEquals(0, e1.getSuppressed().length);
+            Assertions.assertEquals(0, e2.getSuppressed().length);
+            Assertions.assertEquals(NoSuchElementException.class, R.firstOk(List.of(), pool).err().getClass());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFirstOkNotWaitLoser() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            // 竞争失败的任务不响应中断（如建立JDBC连接），调用方线程不等待其结束
+            CountDownLatch release = new CountDownLatch(1);
+            AtomicInteger ignoredInterrupts = new AtomicInteger();
+            Supplier<R<String>> loser = () -> {
+                while (true) {
+                    try {
+                        release.await();
+                        return R.ofOk("late");
+                    } catch (InterruptedException e) {
+                        ignoredInterrupts.incrementAndGet();
+                    }
+                }
+            };
+            Supplier<R<String>> winner = () -> R.ofOk("fast");
+            List<String> discarded = new CopyOnWriteArrayList<>();
+            CountDownLatch discardedLatch = new CountDownLatch(1);
+            R<String> r = R.firstOk(List.of(loser, winner), pool, v -> {
+                discarded.add(v);
+                discardedLatch.countDown();
+            });
+            Assertions.assertEquals(R.ofOk("fast"), r);
+            Assertions.assertEquals(1, release.getCount());
+            Assertions.assertTrue(discarded.isEmpty());
+            // 竞争失败的任务结束后，其“正常结果值”交由丢弃函数处理
+            release.countDown();
+            Assertions.assertTrue(discardedLatch.await(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(List.of("late"), discarded);
+            Assertions.assertEquals(1, ignoredInterrupts.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
 
 }
@@ -25,4 +25,21 @@ public class ErrTest {
         });
     }
 
+    @Test
+    public void testStackless() {
+        StacklessException e = Err.stackless("file {} not found", "a.txt");
+        Assertions.assertEquals("file a.txt not found", e.getMessage());
+        Assertions.assertEquals(0, e.getStackTrace().length);
+        // 不可添加次级异常，不可修改异常原因，遂可缓存共享
+        e.addSuppressed(new IllegalStateException());
+        Assertions.assertEquals(0, e.getSuppressed().length);
+        Assertions.assertThrows(IllegalStateException.class, () -> e.initCause(new RuntimeException()));
+        Assertions.assertThrows(StacklessException.class, () -> {
+            throw e;
+        });
+        PanicException p = PanicException.stackless("panic");
+        Assertions.assertEquals("panic", p.getMessage());
+        Assertions.assertEquals(0, p.getStackTrace().length);
+    }
+
 }
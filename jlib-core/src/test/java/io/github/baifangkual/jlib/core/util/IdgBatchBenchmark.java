@@ -0,0 +1,60 @@
+package io.github.baifangkual.jlib.core.util;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Idg#nextLongIds(long[], int, int)} 批量预留与循环调用 {@link Idg#nextLongId()} 的吞吐量基准测试
+ * <p>该类不会被 surefire 执行，需手动运行 {@link #main(String[])}，
+ * 结果单位为每毫秒完成的批次数，每毫秒生成的ID个数为 {@code score * batchSize}
+ * <p>注意：单实例每毫秒最多生成 {@code 2048} 个ID，批量大小超过该值时两者吞吐量均受此约束
+ *
+ * @author baifangkual
+ * @since 2026/10/18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdgBatchBenchmark {
+
+    @Param({"1", "10", "100", "1000", "10000"})
+    public int batchSize;
+
+    private Idg idg;
+    private long[] dst;
+
+    @Setup
+    public void setup() {
+        idg = new Idg(1L, System::currentTimeMillis);
+        dst = new long[batchSize];
+    }
+
+    @Benchmark
+    public long[] loopNextLongId() {
+        for (int i = 0; i < batchSize; i++) {
+            dst[i] = idg.nextLongId();
+        }
+        return dst;
+    }
+
+    @Benchmark
+    public long[] batchNextLongIds() {
+        idg.nextLongIds(dst, 0, batchSize);
+        return dst;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(IdgBatchBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,58 @@
+package io.github.baifangkual.jlib.core.util;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Idg} 多线程竞争下的吞吐量基准测试，对照组为原基于锁的实现 {@link LockBasedIdg}
+ * <p>该类不会被 surefire 执行，需手动运行 {@link #main(String[])}，
+ * 可通过参数给定线程数，如 {@code 1 8 64}（默认 1, 8, 64）
+ * <p>注意：单实例每毫秒最多生成 {@code 2048} 个ID，高线程数下两者吞吐量的上限均受此约束，
+ * 该基准测试对比的是达到上限前的竞争开销（锁的挂起/唤醒 vs CAS重试）
+ *
+ * @author baifangkual
+ * @since 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdgBenchmark {
+
+    private Idg casIdg;
+    private LockBasedIdg lockIdg;
+
+    @Setup
+    public void setup() {
+        casIdg = new Idg(1L, System::currentTimeMillis);
+        lockIdg = new LockBasedIdg(1L, System::currentTimeMillis);
+    }
+
+    @Benchmark
+    public long casNextLongId() {
+        return casIdg.nextLongId();
+    }
+
+    @Benchmark
+    public long lockNextLongId() {
+        return lockIdg.nextLongId();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        String[] threads = args.length == 0 ? new String[]{"1", "8", "64"} : args;
+        for (String t : threads) {
+            Options opt = new OptionsBuilder()
+                    .include(IdgBenchmark.class.getSimpleName() + "\\.(cas|lock)NextLongId")
+                    .threads(Integer.parseInt(t))
+                    .build();
+            new Runner(opt).run();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.baifangkual.jlib.core.util;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Idg.CoarseClock} 与 {@link System#currentTimeMillis()} 的基准测试，
+ * 分别对比读取时间本身的开销及作为 {@link Idg.FnGenTimeMillis} 时生成ID的吞吐量
+ * <p>该类不会被 surefire 执行，需手动运行 {@link #main(String[])}，
+ * 可通过参数给定线程数，如 {@code 1 8}（默认 1, 8）
+ * <p>生成ID时使用 2 位机器码、19 位序列号的布局，以免默认布局每毫秒 {@code 2048} 个ID的上限先于时钟开销成为瓶颈
+ *
+ * @author baifangkual
+ * @since 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdgClockBenchmark {
+
+    private static final Idg.Layout LAYOUT = new Idg.Layout(2, 19, Idg.EPOCH_BEGIN);
+
+    private Idg.CoarseClock clock;
+    private Idg systemIdg;
+    private Idg coarseIdg;
+
+    @Setup
+    public void setup() {
+        clock = new Idg.CoarseClock(Idg.CoarseClock.DEFAULT_TICK_MICROS, TimeUnit.MICROSECONDS);
+        systemIdg = new Idg(LAYOUT, 1L, System::currentTimeMillis);
+        coarseIdg = new Idg(LAYOUT, 1L, clock);
+    }
+
+    @TearDown
+    public void tearDown() {
+        clock.close();
+    }
+
+    @Benchmark
+    public long systemClockGen() {
+        return System.currentTimeMillis();
+    }
+
+    @Benchmark
+    public long coarseClockGen() {
+        return clock.gen();
+    }
+
+    @Benchmark
+    public long systemClockNextLongId() {
+        return systemIdg.nextLongId();
+    }
+
+    @Benchmark
+    public long coarseClockNextLongId() {
+        return coarseIdg.nextLongId();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        String[] threads = args.length == 0 ? new String[]{"1", "8"} : args;
+        for (String t : threads) {
+            Options opt = new OptionsBuilder()
+                    .include(IdgClockBenchmark.class.getSimpleName())
+                    .threads(Integer.parseInt(t))
+                    .build();
+            new Runner(opt).run();
+        }
+    }
+}
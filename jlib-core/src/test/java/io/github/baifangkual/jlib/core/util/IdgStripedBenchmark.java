@@ -0,0 +1,63 @@
+package io.github.baifangkual.jlib.core.util;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Idg.Striped} 与单状态 {@link Idg} 在多线程竞争下的吞吐量基准测试
+ * <p>该类不会被 surefire 执行，需手动运行 {@link #main(String[])}，
+ * 可通过参数给定线程数，如 {@code 1 4 16 128}（默认 1, 2, 4, 8, 16, 32, 64, 128）
+ * <p>两者使用相同的布局（2 位机器码，19 位序列号，每毫秒最多 {@code 524288} 个ID），
+ * 以免默认布局的每毫秒 {@code 2048} 个ID的上限先于竞争开销成为瓶颈；
+ * 分片数为 8（{@code stripeBits = 3}），每个分片每毫秒最多 {@code 65536} 个ID
+ *
+ * @author baifangkual
+ * @since 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdgStripedBenchmark {
+
+    private static final Idg.Layout LAYOUT = new Idg.Layout(2, 19, Idg.EPOCH_BEGIN);
+
+    private Idg single;
+    private Idg.Striped striped;
+
+    @Setup
+    public void setup() {
+        single = new Idg(LAYOUT, 1L, System::currentTimeMillis);
+        striped = new Idg.Striped(LAYOUT, 1L, 3, System::currentTimeMillis);
+    }
+
+    @Benchmark
+    public long singleNextLongId() {
+        return single.nextLongId();
+    }
+
+    @Benchmark
+    public long stripedNextLongId() {
+        return striped.nextLongId();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        String[] threads = args.length == 0
+                ? new String[]{"1", "2", "4", "8", "16", "32", "64", "128"}
+                : args;
+        for (String t : threads) {
+            Options opt = new OptionsBuilder()
+                    .include(IdgStripedBenchmark.class.getSimpleName() + "\\.(single|striped)NextLongId")
+                    .threads(Integer.parseInt(t))
+                    .build();
+            new Runner(opt).run();
+        }
+    }
+}
@@ -10,6 +10,7 @@ import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
@@ -241,4 +242,208 @@ public class IdgTest {
         Assertions.assertEquals(genIds.size(), ls.size());
 
     }
+
+    @Test
+    public void testConcurrentUniqueAndMonotonic() {
+        final Idg idg = new Idg(1L, System::currentTimeMillis);
+        final int threads = 8;
+        final int perThread = 20000;
+        List<CompletableFuture<long[]>> fs = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            fs.add(CompletableFuture.supplyAsync(() -> {
+                long[] ids = new long[perThread];
+                for (int i = 0; i < perThread; i++) {
+                    ids[i] = idg.nextLongId();
+                }
+                return ids;
+            }));
+        }
+        Set<Long> all = new HashSet<>();
+        for (CompletableFuture<long[]> f : fs) {
+            long[] ids = f.join();
+            for (int i = 0; i < ids.length; i++) {
+                if (i > 0) Assertions.assertTrue(ids[i] > ids[i - 1]);
+                all.add(ids[i]);
+            }
+        }
+        Assertions.assertEquals(threads * perThread, all.size());
+    }
+
+    @Test
+    public void testBacktracking() {
+        long now = System.currentTimeMillis();
+        long[] clock = {now};
+        Idg idg = new Idg(1L, () -> clock[0]);
+        long id1 = idg.nextLongId();
+        // 小回溯，可容忍，但休眠后时间仍回溯，抛出异常
+        clock[0] = now - 2;
+        Assertions.assertThrows(IllegalStateException.class, idg::nextLongId);
+        // 大回溯，直接异常
+        clock[0] = now - Idg.MAX_FAULT_TOLERANT_BACKTRACKING_CAPACITY - 1;
+        Assertions.assertThrows(IllegalStateException.class, idg::nextLongId);
+        clock[0] = now;
+        long id2 = idg.nextLongId();
+        Assertions.assertTrue(id2 > id1);
+        Assertions.assertEquals(1, Idg.Id.ofLongId(id2).sequence());
+    }
+
+    @Test
+    public void testBatch() {
+        final Idg idg = new Idg(1L, System::currentTimeMillis);
+        Assertions.assertEquals(0, idg.nextLongIds(0).length);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> idg.nextLongIds(-1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> idg.nextLongIds(new long[2], 1, 2));
+        long single = idg.nextLongId();
+        long[] batch = idg.nextLongIds(5000); // > 2048, 至少跨越两个毫秒
+        Assertions.assertTrue(batch[0] > single);
+        for (int i = 1; i < batch.length; i++) {
+            Assertions.assertTrue(batch[i] > batch[i - 1]);
+        }
+        Assertions.assertTrue(idg.nextLongId() > batch[batch.length - 1]);
+        long[] dst = new long[10];
+        idg.nextLongIds(dst, 3, 4);
+        Assertions.assertEquals(0, dst[2]);
+        Assertions.assertTrue(dst[3] > batch[batch.length - 1] && dst[6] > dst[5]);
+        Assertions.assertEquals(0, dst[7]);
+    }
+
+    @Test
+    public void testConcurrentBatchUnique() {
+        final Idg idg = new Idg(1L, System::currentTimeMillis);
+        List<CompletableFuture<long[]>> fs = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            final int batchSize = 1 + t * 300;
+            fs.add(CompletableFuture.supplyAsync(() -> {
+                long[] ids = new long[batchSize * 10];
+                for (int i = 0; i < 10; i++) {
+                    idg.nextLongIds(ids, i * batchSize, batchSize);
+                }
+                return ids;
+            }));
+        }
+        Set<Long> all = new HashSet<>();
+        int count = 0;
+        for (CompletableFuture<long[]> f : fs) {
+            long[] ids = f.join();
+            count += ids.length;
+            for (long id : ids) all.add(id);
+        }
+        Assertions.assertEquals(count, all.size());
+    }
+
+    @Test
+    public void testLayout() {
+        Assertions.assertEquals(Idg.EPOCH_END, Idg.Layout.DEFAULT.epochEnd());
+        Assertions.assertEquals(Idg.MAX_SEQUENCE_VALUE, Idg.Layout.DEFAULT.maxSequence());
+        // 8 位机器码，13 位序列号
+        Idg.Layout layout = new Idg.Layout(8, 13, Idg.EPOCH_BEGIN);
+        Assertions.assertEquals(42, layout.timestampBits());
+        Assertions.assertEquals(255, layout.maxMachineId());
+        Assertions.assertEquals(8191, layout.maxSequence());
+        Idg idg = new Idg(layout, 255, System::currentTimeMillis);
+        Assertions.assertSame(layout, idg.layout());
+        long[] ids = idg.nextLongIds(20000);
+        for (int i = 1; i < ids.length; i++) {
+            Assertions.assertTrue(ids[i] > ids[i - 1]);
+        }
+        for (long id : ids) {
+            Idg.Id st = Idg.Id.ofLongId(id, layout);
+            Assertions.assertEquals(255, st.machineId());
+            Assertions.assertTrue(st.sequence() <= 8191);
+            Assertions.assertEquals(id, st.toLongId(layout));
+        }
+    }
+
+    @Test
+    public void testLayoutIllegal() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new Idg.Layout(-1, 11, Idg.EPOCH_BEGIN));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new Idg.Layout(10, 0, Idg.EPOCH_BEGIN));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new Idg.Layout(31, 32, Idg.EPOCH_BEGIN));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new Idg.Layout(10, 11, -1L));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new Idg.Layout(0, 1, Long.MAX_VALUE));
+        // 机器码超出布局
+        Idg.Layout layout = new Idg.Layout(4, 17, Idg.EPOCH_BEGIN);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new Idg(layout, 16, System::currentTimeMillis));
+        // 时间偏移量仅 20 位（约 17 分钟），当前时间超出该布局的时间范围
+        Idg.Layout shortLayout = new Idg.Layout(21, 22, Idg.EPOCH_BEGIN);
+        Assertions.assertThrows(IllegalStateException.class, () -> new Idg(shortLayout, 1, System::currentTimeMillis));
+        long now = System.currentTimeMillis();
+        Idg.Layout nowLayout = new Idg.Layout(21, 22, now);
+        Idg idg = new Idg(nowLayout, 1, () -> now + 1);
+        Idg.Id id = Idg.Id.ofLongId(idg.nextLongId(), nowLayout);
+        Assertions.assertEquals(new Idg.Id(now + 1, 1, 0), id);
+    }
+
+    @Test
+    public void testStriped() throws Exception {
+        Idg.Layout layout = new Idg.Layout(4, 17, Idg.EPOCH_BEGIN);
+        Idg.Striped striped = new Idg.Striped(layout, 9, 3, System::currentTimeMillis);
+        Assertions.assertEquals(8, striped.stripeCount());
+        Assertions.assertSame(layout, striped.layout());
+        final int threads = 16;
+        final int perThread = 20000;
+        List<Thread> ts = new ArrayList<>();
+        long[][] results = new long[threads][];
+        for (int t = 0; t < threads; t++) {
+            final int idx = t;
+            ts.add(new Thread(() -> {
+                long[] ids = new long[perThread];
+                for (int i = 0; i < perThread; i++) {
+                    ids[i] = striped.nextLongId();
+                }
+                results[idx] = ids;
+            }));
+        }
+        for (Thread t : ts) t.start();
+        for (Thread t : ts) t.join();
+        Set<Long> all = new HashSet<>();
+        Set<Long> stripeOfSeq = new HashSet<>();
+        for (long[] ids : results) {
+            for (int i = 0; i < ids.length; i++) {
+                // 同一线程（同一分片）严格递增
+                if (i > 0) Assertions.assertTrue(ids[i] > ids[i - 1]);
+                all.add(ids[i]);
+                Idg.Id id = Idg.Id.ofLongId(ids[i], layout);
+                Assertions.assertEquals(9, id.machineId());
+                stripeOfSeq.add(id.sequence() >>> 14);
+            }
+        }
+        Assertions.assertEquals(threads * perThread, all.size());
+        Assertions.assertEquals(8, stripeOfSeq.size());
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new Idg.Striped(layout, 9, 17, System::currentTimeMillis));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new Idg.Striped(layout, 16, 2, System::currentTimeMillis));
+        Assertions.assertEquals(1, new Idg.Striped(0).stripeCount());
+    }
+
+    @Test
+    public void testCoarseClock() throws Exception {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new Idg.CoarseClock(0, TimeUnit.MICROSECONDS));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new Idg.CoarseClock(2, TimeUnit.MILLISECONDS));
+        try (Idg.CoarseClock clock = new Idg.CoarseClock(100, TimeUnit.MICROSECONDS)) {
+            long first = clock.gen();
+            Assertions.assertTrue(Math.abs(System.currentTimeMillis() - first) < 1000);
+            long prev = first;
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(50);
+            while (System.nanoTime() < deadline) {
+                long t = clock.gen();
+                Assertions.assertTrue(t >= prev);
+                prev = t;
+            }
+            Assertions.assertTrue(prev > first);
+            Idg idg = new Idg(1L, clock);
+            long[] ids = new long[10000]; // > 2048, 需要时钟推进
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = idg.nextLongId();
+                if (i > 0) Assertions.assertTrue(ids[i] > ids[i - 1]);
+            }
+            Assertions.assertFalse(clock.isClosed());
+            clock.close();
+            Assertions.assertTrue(clock.isClosed());
+            clock.close();
+            Assertions.assertTrue(Math.abs(System.currentTimeMillis() - clock.gen()) < 1000);
+        }
+        Assertions.assertSame(Idg.CoarseClock.shared(), Idg.CoarseClock.shared());
+    }
 }
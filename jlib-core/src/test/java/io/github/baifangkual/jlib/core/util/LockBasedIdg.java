@@ -0,0 +1,76 @@
+package io.github.baifangkual.jlib.core.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Lock-based Idg
+ * <p>
+ * 原 {@link Idg} 基于 {@link ReentrantLock} 的实现，仅作为 {@link IdgBenchmark} 的对照组保留于此
+ *
+ * @author baifangkual
+ * @deprecated 20261018：{@link Idg} 已改为以 CAS 推进打包状态的无锁实现
+ */
+@Deprecated
+final class LockBasedIdg {
+
+    private static final long MACHINE_ID_BITS = 10L;
+    private static final long SEQUENCE_BITS = 11L;
+    private static final long EPOCH_BEGIN = 1609459200000L;
+    private static final long MAX_FAULT_TOLERANT_BACKTRACKING_CAPACITY = 10L;
+    private static final long MAX_SEQUENCE_VALUE = ~(-1L << SEQUENCE_BITS);
+    private static final long TIMESTAMP_OFFSET = MACHINE_ID_BITS + SEQUENCE_BITS;
+
+    private final long machineId;
+    private final Idg.FnGenTimeMillis fnGenTimeMillis;
+    private final Lock lock = new ReentrantLock();
+    private long sequence = 0;
+    private long lastTime = -1L;
+
+    LockBasedIdg(long machineId, Idg.FnGenTimeMillis fn) {
+        this.machineId = machineId;
+        this.fnGenTimeMillis = fn;
+    }
+
+    long nextLongId() {
+        lock.lock();
+        try {
+            long timestamp = fnGenTimeMillis.gen();
+            if (timestamp < lastTime) {
+                long offset = lastTime - timestamp;
+                if (offset <= MAX_FAULT_TOLERANT_BACKTRACKING_CAPACITY) {
+                    try {
+                        TimeUnit.MILLISECONDS.sleep(offset << 1);
+                        timestamp = fnGenTimeMillis.gen();
+                        if (timestamp < lastTime) {
+                            throw new IllegalStateException("clock moved backwards");
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException(e);
+                    }
+                } else {
+                    throw new IllegalStateException("clock moved backwards");
+                }
+            }
+            if (lastTime == timestamp) {
+                sequence = (sequence + 1) & MAX_SEQUENCE_VALUE;
+                if (sequence == 0L) {
+                    timestamp = fnGenTimeMillis.gen();
+                    while (timestamp <= lastTime) {
+                        timestamp = fnGenTimeMillis.gen();
+                    }
+                }
+            } else {
+                sequence = 0L;
+            }
+            lastTime = timestamp;
+            return ((timestamp - EPOCH_BEGIN) << TIMESTAMP_OFFSET)
+                   | (machineId << SEQUENCE_BITS)
+                   | sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.baifangkual.jlib.core.util;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Radixc#convert(String, int, int)} 在不同输入位数下的基准测试，
+ * 对照组为原逐位 {@link BigInteger} 乘除的实现（见 {@link #legacyToDecimal(String, int)} 及 {@link #legacyFromDecimal(BigInteger, int)}）
+ * <p>该类不会被 surefire 执行，需手动运行 {@link #main(String[])}
+ *
+ * @author baifangkual
+ * @since 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RadixcBenchmark {
+
+    private static final BigInteger B62 = BigInteger.valueOf(62);
+    private static final String B62NUMBERS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+
+    /**
+     * 十进制输入位数
+     */
+    @Param({"10", "100", "1000", "10000"})
+    public int digits;
+
+    private String decimal;
+    private String b62;
+
+    @Setup
+    public void setup() {
+        decimal = Rng.nextFixLenLarge(digits);
+        b62 = Radixc.convert(decimal, 10, 62);
+    }
+
+    @Benchmark
+    public String decimalToB62() {
+        return Radixc.convert(decimal, 10, 62);
+    }
+
+    @Benchmark
+    public String legacyDecimalToB62() {
+        return legacyFromDecimal(new BigInteger(decimal), 62);
+    }
+
+    @Benchmark
+    public String b62ToDecimal() {
+        return Radixc.convert(b62, 62, 10);
+    }
+
+    @Benchmark
+    public String legacyB62ToDecimal() {
+        return legacyToDecimal(b62, 62).toString();
+    }
+
+    static BigInteger legacyToDecimal(String number, int radix) {
+        BigInteger value = BigInteger.ZERO;
+        BigInteger base = BigInteger.valueOf(radix);
+        for (char c : number.toCharArray()) {
+            value = value.multiply(base).add(BigInteger.valueOf(B62NUMBERS.indexOf(c)));
+        }
+        return value;
+    }
+
+    static String legacyFromDecimal(BigInteger value, int radix) {
+        StringBuilder result = new StringBuilder();
+        BigInteger base = radix == 62 ? B62 : BigInteger.valueOf(radix);
+        BigInteger current = value.abs();
+        while (current.signum() > 0) {
+            BigInteger[] qr = current.divideAndRemainder(base);
+            result.insert(0, B62NUMBERS.charAt(qr[1].intValue()));
+            current = qr[0];
+        }
+        return result.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(RadixcBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+}
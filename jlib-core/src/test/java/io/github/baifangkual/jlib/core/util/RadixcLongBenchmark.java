@@ -0,0 +1,62 @@
+package io.github.baifangkual.jlib.core.util;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Radixc} 对 {@code long} 值62进制转换的基准测试，
+ * 对比返回新 {@link String} 的 {@link Radixc#convert(long, int)}、
+ * 写入调用方数组的 {@link Radixc#encodeInto(long, int, char[], int)}
+ * 及解析的 {@link Radixc#parseLong(CharSequence, int, int, int)}
+ * <p>该类不会被 surefire 执行，需手动运行 {@link #main(String[])}，
+ * 可附加 JMH 参数 {@code -prof gc} 观察每次调用的分配字节数
+ *
+ * @author baifangkual
+ * @since 2026/10/18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RadixcLongBenchmark {
+
+    private final char[] buf = new char[Radixc.B62_LONG_WIDTH];
+    private long value;
+    private String encoded;
+
+    @Setup
+    public void setup() {
+        value = Idg.longId();
+        encoded = Radixc.convert(value, 62);
+    }
+
+    @Benchmark
+    public String convert() {
+        return Radixc.convert(value, 62);
+    }
+
+    @Benchmark
+    public char[] encodeInto() {
+        Radixc.encodeInto(value, 62, buf, 0);
+        return buf;
+    }
+
+    @Benchmark
+    public long parseLong() {
+        return Radixc.parseLong(encoded, 0, encoded.length(), 62);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(RadixcLongBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+}
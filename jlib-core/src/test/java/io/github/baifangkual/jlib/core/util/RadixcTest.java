@@ -3,6 +3,8 @@ package io.github.baifangkual.jlib.core.util;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigInteger;
+
 /**
  * @author baifangkual
  * @since 2025/5/31
@@ -63,6 +65,124 @@ public class RadixcTest {
         }
     }
 
+    @Test
+    public void testFixedWidth() {
+        Assertions.assertEquals("00z", Radixc.convert(61, 62, 3));
+        Assertions.assertEquals("AzL8n0Y58m7", Radixc.convert(Long.MAX_VALUE, 62, Radixc.B62_LONG_WIDTH));
+        Assertions.assertEquals("00000000000", Radixc.convert(0, 62, Radixc.B62_LONG_WIDTH));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Radixc.convert(-1, 62, 11));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Radixc.convert(62, 62, 1));
+        char[] cs = new char[13];
+        Assertions.assertEquals(11, Radixc.encodeInto(61, 62, 11, cs, 1));
+        Assertions.assertEquals("0000000000z", new String(cs, 1, 11));
+        Assertions.assertEquals(0, cs[0]);
+        Assertions.assertEquals(0, cs[12]);
+        byte[] bs = new byte[4];
+        Assertions.assertEquals(4, Radixc.encodeInto(255, 16, 4, bs, 0));
+        Assertions.assertEquals("00FF", new String(bs, java.nio.charset.StandardCharsets.US_ASCII));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> Radixc.encodeInto(1, 62, 11, cs, 3));
+        // 定宽下字典序与数值顺序一致
+        long prev = -1;
+        String prevS = "";
+        for (int i = 0; i < 10000; i++) {
+            long l = Rng.nextLong(0, Long.MAX_VALUE);
+            String s = Radixc.convert(l, 62, Radixc.B62_LONG_WIDTH);
+            Assertions.assertEquals(l, Radixc.parseLong(s, 62));
+            if (prev >= 0) {
+                Assertions.assertEquals(Long.signum(Long.compare(prev, l)), Integer.signum(prevS.compareTo(s)));
+            }
+            prev = l;
+            prevS = s;
+        }
+    }
+
+    @Test
+    public void testLongConvertAndParse() {
+        for (int radix = 2; radix <= 62; radix++) {
+            for (long l : new long[]{0, 1, -1, radix, -radix, Long.MAX_VALUE, Long.MIN_VALUE, Integer.MIN_VALUE}) {
+                String s = Radixc.convert(l, radix);
+                Assertions.assertEquals(new java.math.BigInteger(String.valueOf(l)).toString(10),
+                        Radixc.convert(s, radix, 10));
+                Assertions.assertEquals(l, Radixc.parseLong(s, radix));
+            }
+            if (radix <= 36) {
+                long l = Rng.nextLong();
+                Assertions.assertEquals(Long.toString(l, radix).toUpperCase(), Radixc.convert(l, radix));
+            }
+        }
+        Assertions.assertEquals("-8000000000000000", Radixc.convert(Long.MIN_VALUE, 16));
+        Assertions.assertThrows(NumberFormatException.class, () -> Radixc.parseLong("", 62));
+        Assertions.assertThrows(NumberFormatException.class, () -> Radixc.parseLong("-", 62));
+        Assertions.assertThrows(NumberFormatException.class, () -> Radixc.parseLong("1!", 62));
+        Assertions.assertThrows(NumberFormatException.class, () -> Radixc.parseLong("2", 2));
+        Assertions.assertThrows(NumberFormatException.class, () -> Radixc.parseLong("AzL8n0Y58m8", 62));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Radixc.convert("1!", 62, 10));
+    }
+
+    @Test
+    public void testLargeConvert() {
+        for (int len : new int[]{19, 20, 64, 65, 500, 3000}) {
+            for (int radix : new int[]{2, 10, 16, 36, 37, 58, 62}) {
+                String s = Rng.nextFixLenLarge(len, radix);
+                BigInteger expected = naiveToDecimal(s, radix);
+                Assertions.assertEquals(expected.toString(), Radixc.convert(s, radix, 10));
+                Assertions.assertEquals(expected.negate().toString(), Radixc.convert("-" + s, radix, 10));
+                for (int tgt : new int[]{2, 36, 37, 62}) {
+                    String v = Radixc.convert(expected.toString(), 10, tgt);
+                    Assertions.assertEquals(expected, naiveToDecimal(v, tgt));
+                }
+                Assertions.assertEquals(s, Radixc.convert(Radixc.convert(s, radix, 62), 62, radix));
+            }
+        }
+        // 36进制及以下不区分大小写，同 BigInteger
+        Assertions.assertEquals("255", Radixc.convert("ff", 16, 10));
+        Assertions.assertEquals(new BigInteger("ff".repeat(40), 16).toString(),
+                Radixc.convert("ff".repeat(40), 16, 10));
+        Assertions.assertEquals("36", Radixc.convert("+a", 62, 10));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Radixc.convert("1-1", 62, 10));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Radixc.convert("1".repeat(30) + "!", 62, 10));
+    }
+
+    @Test
+    public void testEncodeIntoAndParseRange() {
+        char[] cs = new char[80];
+        byte[] bs = new byte[80];
+        for (int radix = 2; radix <= 62; radix++) {
+            for (long l : new long[]{0, 7, -7, Long.MAX_VALUE, Long.MIN_VALUE, Rng.nextLong()}) {
+                String expected = Radixc.convert(l, radix);
+                int n = Radixc.encodeInto(l, radix, cs, 3);
+                Assertions.assertEquals(expected, new String(cs, 3, n));
+                Assertions.assertEquals(l, Radixc.parseLong(new String(cs), 3, 3 + n, radix));
+                int bn = Radixc.encodeInto(l, radix, bs, 5);
+                Assertions.assertEquals(expected,
+                        new String(bs, 5, bn, java.nio.charset.StandardCharsets.US_ASCII));
+            }
+        }
+        Assertions.assertEquals(65, Radixc.encodeInto(Long.MIN_VALUE, 2, new char[65], 0));
+        // 空间不足时不写入
+        char[] small = new char[3];
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> Radixc.encodeInto(1000, 10, small, 0));
+        Assertions.assertArrayEquals(new char[3], small);
+        StringBuilder sb = new StringBuilder("id=00z;");
+        Assertions.assertEquals(61, Radixc.parseLong(sb, 3, 6, 62));
+        Assertions.assertThrows(NumberFormatException.class, () -> Radixc.parseLong(sb, 3, 3, 62));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> Radixc.parseLong(sb, 3, 8, 62));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Radixc.parseLong(sb, 3, 6, 63));
+    }
+
+    /**
+     * 逐位乘法的参考实现
+     */
+    private static BigInteger naiveToDecimal(String s, int radix) {
+        String digits = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+        BigInteger v = BigInteger.ZERO;
+        BigInteger r = BigInteger.valueOf(radix);
+        for (char c : s.toCharArray()) {
+            v = v.multiply(r).add(BigInteger.valueOf(digits.indexOf(c)));
+        }
+        return v;
+    }
+
 //    @Test
 //    public void testRadix3() {
 //        String s = "-1w0767";
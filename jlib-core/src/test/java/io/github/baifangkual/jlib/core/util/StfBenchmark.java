@@ -0,0 +1,69 @@
+package io.github.baifangkual.jlib.core.util;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Stf.Template} 与 {@link Stf#f(String, Object...)} 的基准测试，
+ * 模板为典型的错误信息，可配合 {@code -prof gc} 观察分配量
+ * <p>该类不会被 surefire 执行，需手动运行 {@link #main(String[])}
+ *
+ * @author baifangkual
+ * @since 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StfBenchmark {
+
+    private static final String TEMP2 = "unable to connect to {}:{}, connection refused";
+    private static final String TEMP3 = "file '{}' not found in dir '{}' of host {}, escaped \\{} kept";
+    private static final Stf.Template T2 = Stf.compile(TEMP2);
+    private static final Stf.Template T3 = Stf.compile(TEMP3);
+
+    private String host = "192.168.1.17";
+    private Integer port = 21;
+    private String path = "/data/upload/2026/10/report.csv";
+    private final StringBuilder sb = new StringBuilder(256);
+
+    @Benchmark
+    public String f2() {
+        return Stf.f(TEMP2, host, port);
+    }
+
+    @Benchmark
+    public String compiled2() {
+        return T2.format(host, port);
+    }
+
+    @Benchmark
+    public String f3() {
+        return Stf.f(TEMP3, path, "/data", host);
+    }
+
+    @Benchmark
+    public String compiled3() {
+        return T3.format(path, "/data", host);
+    }
+
+    @Benchmark
+    public int compiled3AppendTo() {
+        sb.setLength(0);
+        return T3.appendTo(sb, path, "/data", host).length();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(StfBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -3,6 +3,9 @@ package io.github.baifangkual.jlib.core.util;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.StringWriter;
+
 /**
  * @author baifangkual
  * @since 2025/6/5
@@ -15,4 +18,49 @@ public class StfTest {
         String str = Stf.f("a,b,{},d,e,\\{},\\\\g", "c");
         Assertions.assertEquals("a,b,c,d,e,\\{},\\\\g", str);
     }
+
+    @Test
+    public void testCompile() throws IOException {
+        Stf.Template t = Stf.compile("this is {} for {}");
+        Assertions.assertEquals(2, t.placeholderCount());
+        Assertions.assertEquals("this is a for b", t.format("a", "b"));
+        Assertions.assertEquals("this is a for null", t.format("a", null));
+        Assertions.assertEquals("x:this is 1 for 2", t.appendTo(new StringBuilder("x:"), 1, 2).toString());
+        Assertions.assertEquals("this is a for b", t.appendTo(new StringWriter(), "a", "b").toString());
+        Assertions.assertEquals("this is \\\\{} for {}", Stf.compile("this is \\\\{} for {}").format());
+        Assertions.assertThrows(NullPointerException.class, () -> Stf.compile(null));
+
+        String[] temps = {"", "   ", "{}", "{}{}", "a{}b{}c{}d", "\\{}", "\\\\{}", "\\\\\\{}",
+                "a,b,{},d,e,\\{},\\\\g", "{} \\{} {}", "\\{}{}\\{}", "{", "}", "{{}}", "}{}{",
+                "no placeholder", "\\", "a{}\\\\{}b\\{}{}c"};
+        Object[] args = {"x", null, 1, 'c', "{}", "\\"};
+        for (String temp : temps) {
+            Stf.Template c = Stf.compile(temp);
+            for (int n = 0; n <= args.length; n++) {
+                Object[] a = java.util.Arrays.copyOf(args, n);
+                String expected = Stf.f(temp, a);
+                Assertions.assertEquals(expected, c.format(a), temp);
+                Assertions.assertEquals(expected, c.appendTo(new StringBuilder(), a).toString(), temp);
+                Assertions.assertEquals(expected, c.appendTo(new StringWriter(), a).toString(), temp);
+                switch (n) {
+                    case 1 -> {
+                        Assertions.assertEquals(expected, c.format(a[0]), temp);
+                        Assertions.assertEquals(expected, c.appendTo(new StringBuilder(), a[0]).toString(), temp);
+                    }
+                    case 2 -> {
+                        Assertions.assertEquals(expected, c.format(a[0], a[1]), temp);
+                        Assertions.assertEquals(expected, c.appendTo(new StringBuilder(), a[0], a[1]).toString(), temp);
+                    }
+                    case 3 -> {
+                        Assertions.assertEquals(expected, c.format(a[0], a[1], a[2]), temp);
+                        Assertions.assertEquals(expected,
+                                c.appendTo(new StringBuilder(), a[0], a[1], a[2]).toString(), temp);
+                    }
+                    default -> {
+                    }
+                }
+            }
+            Assertions.assertEquals(Stf.f(temp, (Object[]) null), c.format((Object[]) null));
+        }
+    }
 }
@@ -2,6 +2,7 @@ package io.github.baifangkual.jlib.db;
 
 
 import io.github.baifangkual.jlib.core.conf.Cfg;
+import io.github.baifangkual.jlib.core.ref.TypeRef;
 
 import java.time.Duration;
 import java.util.Map;
@@ -46,7 +47,8 @@ public class DBCCfgOptions {
             .description("部分数据库有该概念，部分数据库无")
             .build();
     public static final Cfg.Option<Map<String, String>> jdbcOtherParams = Cfg.Option.of("jdbc.other.params")
-            .<Map<String, String>>type()
+            .typeRef(new TypeRef<Map<String, String>>() {
+            })
             .defaultValue(Map.of())
             .description("JDBC连接的额外参数，不同数据库有不同")
             .build();
@@ -64,21 +66,21 @@ public class DBCCfgOptions {
             .build();
     public static final Cfg.Option<Duration> poolCheckConnAliveInterval = Cfg.Option
             .of("pool.CheckAliveConnInterval")
-            .<Duration>type()
+            .type(Duration.class)
             .defaultValue(Duration.ofSeconds(60)) // 一般情况下够用了，过小会导致每次借用时频繁的检查
             .description("连接池检查连接对象是否可用的时间间隔，" +
                          "(数据库端可能在一定时间后会断开空闲会话，该间隔配置应小于数据库端配置)")
             .build();
     public static final Cfg.Option<Duration> poolMaxWaitBorrowInterval = Cfg.Option
             .of("pool.MaxWaitBorrowInterval")
-            .<Duration>type()
+            .type(Duration.class)
             .fallbackOf(poolCheckConnAliveInterval)
             .description("线程等待借用连接对象的最大时间，若等待超时，则等待的线程将抛出异常，" +
                          "默认值与poolCheckConnAliveInterval一致")
             .build();
     public static final Cfg.Option<Duration> poolOnCloseWaitAllConnRecycleInterval = Cfg.Option
             .of("pool.OnCloseWaitAllConnRecycleInterval")
-            .<Duration>type()
+            .type(Duration.class)
             .fallbackOf(poolCheckConnAliveInterval)
             .description("连接池在关闭时等待所有连接对象回收的最大时间，若等待超时，则强制关闭所有当前连接池已回收和借出的连接对象，" +
                          "默认值与poolCheckConnAliveInterval一致")
@@ -36,7 +36,8 @@ public abstract class BaseDBC implements DBC {
         preCheckCfg(cf);
         throwOnIllegalCfg(cf);
         postCheckCfg(cf);
-        this.readonlyCfg = cf.toReadonly();
+        // 冻结，DBC及其连接池在各操作中读取配置值时仅需数组访问
+        this.readonlyCfg = cf.freeze();
     }
 
 
@@ -1,6 +1,7 @@
 package io.github.baifangkual.jlib.db.impl.pool;
 
 import io.github.baifangkual.jlib.core.conf.Cfg;
+import io.github.baifangkual.jlib.core.conf.LiveCfg;
 import io.github.baifangkual.jlib.core.panic.Err;
 import io.github.baifangkual.jlib.core.trait.Closeable;
 import io.github.baifangkual.jlib.core.util.Stf;
@@ -64,6 +65,9 @@ import java.util.stream.Stream;
  * 若等待超时仍未获取到可用的Conn对象，则请求借用的线程会抛出异常，依此，若借用了Conn对象后一直没有归还（调用 Connection.close())，
  * 则可用的Conn会越来越少，直到可用的Conn数量耗尽，若这种情况发生，
  * 则后续所有的线程的Conn对象的借用请求都会等待 {@link DBCCfgOptions#poolMaxWaitBorrowInterval} 时间后抛出异常，连接池即完全不可用</p>
+ * <p>该实现的配置可在运行时通过 {@link #liveCfg()} 变更：变更 {@link DBCCfgOptions#poolMaxSize} 将调整连接池最大大小（见 {@link #resize(int)}），
+ * 变更 {@link DBCCfgOptions#poolCheckConnAliveInterval}、{@link DBCCfgOptions#poolMaxWaitBorrowInterval}、
+ * {@link DBCCfgOptions#poolOnCloseWaitAllConnRecycleInterval} 将在后续的借用/关闭中生效</p>
  * @see DB
  * @see io.github.baifangkual.jlib.db.PooledDB
  * @see PooledDBC
@@ -89,8 +93,10 @@ public class ConnPoolDBC extends BaseDBC
     private final Condition cdClo = lock.newCondition();
     // borrow await
     private final Condition cdBor = lock.newCondition();
-    // max
-    private final int maxPoolSize;
+    // max，可通过 resize 或 liveCfg 变更
+    private volatile int maxPoolSize;
+    // 可热更新的配置，readonlyCfg() 返回其当前快照
+    private final LiveCfg liveCfg;
     // ref real ,read dbc config in absDBC readonlyCfg
     // this class can use readonlyCfg() get that.
     private final DB realDB;
@@ -99,11 +105,11 @@ public class ConnPoolDBC extends BaseDBC
     // 将不会对外暴露tablesMeta，columnsMeta等由MetaProvider提供的方法
     private final MetaProvider nullableMetaProvider;
     // 检查间隔
-    private final long checkConnAliveIntervalMillis;
+    private volatile long checkConnAliveIntervalMillis;
     // 等待借用最大时间
-    private final long poolMaxWaitBorrowIntervalNanos;
+    private volatile long poolMaxWaitBorrowIntervalNanos;
     // 等待关闭最大时间
-    private final long poolOnCloseWaitAllConnRecycleIntervalNanos;
+    private volatile long poolOnCloseWaitAllConnRecycleIntervalNanos;
 
     private final BlockingDeque<OnCloseRecycleRefConnection> queue;
     private final BlockingDeque<OnCloseRecycleRefConnection> inUsedQueue;
@@ -122,32 +128,122 @@ public class ConnPoolDBC extends BaseDBC
         this.realDB = db;
         this.nullableMetaProvider = nullableMetaProvider;
         this.maxPoolSize = maxPoolSize;
-        this.queue = new LinkedBlockingDeque<>(maxPoolSize);
-        this.inUsedQueue = new LinkedBlockingDeque<>(maxPoolSize);
-        Duration checkDur = cfg.getOrDefault(DBCCfgOptions.poolCheckConnAliveInterval);
-        if (checkDur.isNegative()) {
+        // 不限制容量，池中的连接数由 currConnNum <= maxPoolSize 限制，而 maxPoolSize 可在运行时变更
+        this.queue = new LinkedBlockingDeque<>();
+        this.inUsedQueue = new LinkedBlockingDeque<>();
+        // readonlyCfg() 已被覆盖为返回 liveCfg 的当前快照，这里以父类中经校验的配置及给定的最大大小初始化，
+        // 使 liveCfg 中的 poolMaxSize 与 maxPoolSize() 一致，后续对其的变更才能被监听器感知，
+        // 新配置在发布前经 checkPoolCfg 校验，不合法的配置不会被发布，遂监听器中仅应用配置值
+        Cfg initCfg = Cfg.ofMap(super.readonlyCfg().toReadonlyMap())
+                .reset(DBCCfgOptions.poolMaxSize, maxPoolSize);
+        this.liveCfg = LiveCfg.of(initCfg, ConnPoolDBC::checkPoolCfg);
+        readIntervals(this.liveCfg.get());
+        // 配置变更时在发布新配置的线程中回调
+        this.liveCfg.onChange(DBCCfgOptions.poolMaxSize, (oldV, newV) -> resize(newV));
+        this.liveCfg.onChange(DBCCfgOptions.poolCheckConnAliveInterval, (oldV, newV) -> readIntervals(liveCfg.get()));
+        this.liveCfg.onChange(DBCCfgOptions.poolMaxWaitBorrowInterval, (oldV, newV) -> readIntervals(liveCfg.get()));
+        this.liveCfg.onChange(DBCCfgOptions.poolOnCloseWaitAllConnRecycleInterval,
+                (oldV, newV) -> readIntervals(liveCfg.get()));
+        if (log.isDebugEnabled()) {
+            log.debug("create PooledDBC, maxPoolSize: {}, realDBC:{}", this.maxPoolSize, this.realDB);
+        }
+    }
+
+    /**
+     * 校验连接池相关配置，作为 {@link #liveCfg} 的校验函数，在新配置发布前调用
+     */
+    private static void checkPoolCfg(Cfg cfg) {
+        Err.realIf(cfg.getOrDefault(DBCCfgOptions.poolMaxSize) < 1, IllegalDBCCfgException::new, "maxPoolSize < 1");
+        if (cfg.getOrDefault(DBCCfgOptions.poolCheckConnAliveInterval).isNegative()) {
             throw new IllegalArgumentException("poolCheckConnAliveInterval is negative");
         }
-        this.checkConnAliveIntervalMillis = checkDur.toMillis();
-        Duration waitBorrowDur = cfg.getOrDefault(DBCCfgOptions.poolMaxWaitBorrowInterval);
-        if (waitBorrowDur.isNegative()) {
+        if (cfg.getOrDefault(DBCCfgOptions.poolMaxWaitBorrowInterval).isNegative()) {
             throw new IllegalArgumentException("poolMaxWaitBorrowInterval is negative");
         }
-        this.poolMaxWaitBorrowIntervalNanos = waitBorrowDur.toNanos();
-        Duration onCloseWaitDur = cfg.getOrDefault(DBCCfgOptions.poolOnCloseWaitAllConnRecycleInterval);
-        if (onCloseWaitDur.isNegative()) {
+        if (cfg.getOrDefault(DBCCfgOptions.poolOnCloseWaitAllConnRecycleInterval).isNegative()) {
             throw new IllegalArgumentException("poolOnCloseWaitAllConnRecycleInterval is negative");
         }
-        this.poolOnCloseWaitAllConnRecycleIntervalNanos = onCloseWaitDur.toNanos();
-        if (log.isDebugEnabled()) {
-            log.debug("create PooledDBC, maxPoolSize: {}, realDBC:{}", this.maxPoolSize, this.realDB);
-        }
+    }
+
+    /**
+     * 读取各等待时间，给定的配置已经 {@link #checkPoolCfg(Cfg)} 校验
+     */
+    private void readIntervals(Cfg cfg) {
+        this.checkConnAliveIntervalMillis = cfg.getOrDefault(DBCCfgOptions.poolCheckConnAliveInterval).toMillis();
+        this.poolMaxWaitBorrowIntervalNanos = cfg.getOrDefault(DBCCfgOptions.poolMaxWaitBorrowInterval).toNanos();
+        this.poolOnCloseWaitAllConnRecycleIntervalNanos =
+                cfg.getOrDefault(DBCCfgOptions.poolOnCloseWaitAllConnRecycleInterval).toNanos();
     }
 
     int instanceId() {
         return this.instanceId;
     }
 
+    /**
+     * 返回该连接池可热更新的配置，通过其发布新配置可在运行时变更连接池大小及各等待时间，
+     * 新配置在发布前被校验，若新配置不合法（如连接池大小小于1、等待时间为负），则发布新配置的线程将抛出异常，
+     * 新配置不会被发布，{@link #readonlyCfg()} 与连接池均维持原状态
+     *
+     * @return 可热更新的配置
+     */
+    public LiveCfg liveCfg() {
+        return liveCfg;
+    }
+
+    /**
+     * 返回该连接池当前的配置（{@link #liveCfg()} 的当前快照）
+     *
+     * @return 配置
+     */
+    @Override
+    public Cfg readonlyCfg() {
+        return liveCfg.get();
+    }
+
+    /**
+     * 当前连接池最大大小
+     *
+     * @return 最大大小
+     */
+    public int maxPoolSize() {
+        return maxPoolSize;
+    }
+
+    /**
+     * 调整连接池最大大小<br>
+     * 扩大时唤醒等待借用的线程，使其可创建新连接；
+     * 缩小时立即关闭超出部分的空闲连接，超出部分的被借出的连接在归还时关闭
+     *
+     * @param newMaxPoolSize 新的最大大小
+     * @throws IllegalDBCCfgException 当新的最大大小小于1时
+     * @throws IllegalStateException  当连接池已关闭时
+     */
+    public void resize(int newMaxPoolSize) {
+        Err.realIf(newMaxPoolSize < 1, IllegalDBCCfgException::new, "maxPoolSize < 1");
+        lock.lock();
+        try {
+            if (!open.get()) {
+                throw new IllegalStateException(CLOSED_MSG);
+            }
+            int old = this.maxPoolSize;
+            this.maxPoolSize = newMaxPoolSize;
+            while (currConnNum.get() > newMaxPoolSize && !queue.isEmpty()) {
+                // 空闲连接的代理已处于关闭状态，仅关闭实际的连接
+                realCloseConnQuietly(queue.pollLast());
+                currConnNum.decrementAndGet();
+            }
+            if (newMaxPoolSize > old) {
+                cdBor.signalAll();
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("resize PooledDBC, maxPoolSize: {} -> {}, current Connection: {}",
+                        old, newMaxPoolSize, currConnNum.get());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
     @Override
     public String jdbcUrl() {
         return realDB.jdbcUrl();
@@ -238,7 +334,7 @@ public class ConnPoolDBC extends BaseDBC
                         break;
                     } else {
                         // 已被数据库断开连接的，回收资源并尝试下一个
-                        realCloseConn(one, true);
+                        realCloseConnQuietly(one);
                         // 丢弃了一个，更新当前池状态大小 -1
                         currConnNum.decrementAndGet();
                     }
@@ -253,7 +349,8 @@ public class ConnPoolDBC extends BaseDBC
                     // 终止条件：1.已经被标记为关闭，由close唤醒
                     // 2.由 recycle唤醒，可以拿
                     long remainingNanos = this.poolMaxWaitBorrowIntervalNanos;
-                    while (open.get() && queue.isEmpty()) {
+                    // 等待期间连接池可能被扩大（resize），此时可直接创建新连接
+                    while (open.get() && queue.isEmpty() && currConnNum.get() >= maxPoolSize) {
                         if (remainingNanos <= 0L) {
                             // 超时仍未拿到可用的，抛出异常
                             throw new DBConnectException(
@@ -272,7 +369,7 @@ public class ConnPoolDBC extends BaseDBC
                     if (open.get()) {
                         // 这里不用判断是否过期，因为是被唤醒的，遂一定拿到刚被用完的
                         // 但需注意，外界借用后长期不使用，可能导致已被服务器端关闭
-                        ref = queue.take();
+                        ref = queue.isEmpty() ? newWrapConn() : queue.take();
                     } else throw new IllegalStateException(CLOSED_MSG);
                 }
             }
@@ -347,8 +444,14 @@ public class ConnPoolDBC extends BaseDBC
                 if (!inUsedQueue.remove(conn)) { // 该情况不会发生，仅为屏蔽idea烦人提示
                     throw new IllegalStateException("inUsed queue not found connection: " + conn);
                 }
-                queue.add(conn);
-                cdBor.signalAll();
+                if (open.get() && currConnNum.get() > maxPoolSize) {
+                    // 连接池已被缩小（resize），超出部分的连接在归还时关闭
+                    realCloseConnQuietly(conn);
+                    currConnNum.decrementAndGet();
+                } else {
+                    queue.add(conn);
+                    cdBor.signalAll();
+                }
                 cdClo.signalAll();
             } else {
                 if (log.isDebugEnabled()) {
@@ -381,15 +484,21 @@ public class ConnPoolDBC extends BaseDBC
      * 后面要关闭的conn的关闭，遂应当每个都调用close并在异常时addSuppressed,{@link #realCloseAll()}
      *
      * @param refConn conn代理
+     * @see #realCloseConnQuietly(OnCloseRecycleRefConnection)
      */
-    private void realCloseConn(OnCloseRecycleRefConnection refConn, boolean ignoreOnCloseErr) throws Exception {
-        if (ignoreOnCloseErr) {
-            try {
-                refConn.realConnection().close();
-            } catch (Exception e) { /* ignore */ }
-        } else {
-            refConn.realConnection().close();
-        }
+    private void realCloseConn(OnCloseRecycleRefConnection refConn) throws Exception {
+        refConn.realConnection().close();
+    }
+
+    /**
+     * 真正关闭实际的conn对象，忽略关闭过程的异常（用于丢弃失效的连接及连接池缩小时关闭超出部分的连接）
+     *
+     * @param refConn conn代理
+     */
+    private void realCloseConnQuietly(OnCloseRecycleRefConnection refConn) {
+        try {
+            realCloseConn(refConn);
+        } catch (Exception e) { /* ignore */ }
     }
 
     /**
@@ -409,9 +518,10 @@ public class ConnPoolDBC extends BaseDBC
             for (OnCloseRecycleRefConnection refC : allRef) {
                 try {
                     boolean inUsed = !refC.isClosed();
-                    realCloseConn(refC, false);
-                    refC.close();
+                    realCloseConn(refC);
+                    // 空闲连接的代理已处于关闭状态，再次关闭将抛出异常，遂仅关闭被借出的连接的代理
                     if (inUsed) {
+                        refC.close();
                         log.warn("Force closed in-use Connection: {}", refC);
                     }
                 } catch (Exception e) {
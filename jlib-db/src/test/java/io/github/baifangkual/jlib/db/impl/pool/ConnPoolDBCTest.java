@@ -0,0 +1,95 @@
+package io.github.baifangkual.jlib.db.impl.pool;
+
+import io.github.baifangkual.jlib.db.DBCCfgOptions;
+import io.github.baifangkual.jlib.db.impl.SimpleDBImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author baifangkual
+ * @since 2026/10/18
+ */
+public class ConnPoolDBCTest {
+
+    private final AtomicInteger opened = new AtomicInteger();
+    private final AtomicInteger closed = new AtomicInteger();
+
+    /**
+     * 不连接任何数据库的连接对象，仅记录创建及关闭次数
+     */
+    private Connection fakeConn() {
+        opened.incrementAndGet();
+        boolean[] isClosed = {false};
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "close" -> {
+                        if (!isClosed[0]) {
+                            isClosed[0] = true;
+                            closed.incrementAndGet();
+                        }
+                        yield null;
+                    }
+                    case "isClosed" -> isClosed[0];
+                    case "isValid", "getAutoCommit" -> true;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "fakeConn@" + System.identityHashCode(proxy);
+                    default -> null;
+                });
+    }
+
+    private SimpleDBImpl fakeDB() {
+        Driver driver = (Driver) Proxy.newProxyInstance(Driver.class.getClassLoader(),
+                new Class<?>[]{Driver.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "connect" -> fakeConn();
+                    case "acceptsURL" -> true;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "fakeDriver";
+                    default -> null;
+                });
+        return SimpleDBImpl.of(driver, "jdbc:fake:", null, null, null, conn -> {
+        });
+    }
+
+    @Test
+    public void testPooledSizeInLiveCfg() throws Exception {
+        int defaultSize = DBCCfgOptions.poolMaxSize.defaultValue().orElseThrow();
+        int n = defaultSize + 2;
+        try (ConnPoolDBC pool = (ConnPoolDBC) fakeDB().pooled(n)) {
+            // pooled(n) 给定的大小记录在配置中
+            Assertions.assertEquals(n, pool.maxPoolSize());
+            Assertions.assertEquals(n, pool.liveCfg().get().getOrDefault(DBCCfgOptions.poolMaxSize));
+            Assertions.assertEquals(n, pool.readonlyCfg().getOrDefault(DBCCfgOptions.poolMaxSize));
+            List<Connection> borrowed = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                borrowed.add(pool.getConn());
+            }
+            Assertions.assertEquals(n, opened.get());
+
+            // 变更为默认值时连接池被缩小，超出部分的被借出的连接在归还时关闭
+            pool.liveCfg().update(c -> c.reset(DBCCfgOptions.poolMaxSize, defaultSize));
+            Assertions.assertEquals(1L, pool.liveCfg().version());
+            Assertions.assertEquals(defaultSize, pool.maxPoolSize());
+            for (Connection c : borrowed) {
+                c.close();
+            }
+            Assertions.assertEquals(n - defaultSize, closed.get());
+
+            // 不合法的配置不被发布
+            Assertions.assertThrows(RuntimeException.class,
+                    () -> pool.liveCfg().update(c -> c.reset(DBCCfgOptions.poolMaxSize, 0)));
+            Assertions.assertEquals(defaultSize, pool.maxPoolSize());
+            Assertions.assertEquals(1L, pool.liveCfg().version());
+        }
+        Assertions.assertEquals(opened.get(), closed.get());
+    }
+
+}
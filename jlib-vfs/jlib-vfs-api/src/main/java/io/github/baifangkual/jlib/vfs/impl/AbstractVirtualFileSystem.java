@@ -2,6 +2,7 @@ package io.github.baifangkual.jlib.vfs.impl;
 
 
 import io.github.baifangkual.jlib.core.conf.Cfg;
+import io.github.baifangkual.jlib.core.conf.LiveCfg;
 import io.github.baifangkual.jlib.vfs.VFS;
 import io.github.baifangkual.jlib.vfs.exception.IllegalVFSBuildParamsException;
 import io.github.baifangkual.jlib.vfs.exception.VFSBuildingFailException;
@@ -10,14 +11,16 @@ import io.github.baifangkual.jlib.vfs.exception.VFSIOException;
 import java.util.HashMap;
 
 /**
- * 顶层vfs公共抽象，内有构造该VFS的配置类的只读引用
+ * 顶层vfs公共抽象，内有构造该VFS的配置类的只读引用<br>
+ * 该配置可在运行时通过 {@link #liveCfg()} 发布新配置变更，仅在各操作中读取配置的实现（如FTP新建/借用客户端时读取的缓冲区大小）
+ * 或监听了配置变更的实现会使用新配置，连接相关的配置（如host、port）在构造后变更不会生效
  *
  * @author baifangkual
  * @since 2024/8/26 v0.0.5
  */
 public abstract class AbstractVirtualFileSystem implements VFS {
 
-    private final Cfg readonlyCfg;
+    private final LiveCfg liveCfg;
 
     /**
      * 该构造应为所有子类型统一构造的入口，在该构造内，子类型有权校验及变更给定的配置,
@@ -33,8 +36,11 @@ public abstract class AbstractVirtualFileSystem implements VFS {
         // 对cfg内map做新的map，使内外cfg无关联，当然，map内部更深的引用还是同一个
         final Cfg ocp = Cfg.ofMap(cfg.toReadonlyMap());
         postCfgCopy(ocp);
-        this.readonlyCfg = ocp.toReadonly();
-        postReadonlyCfgBind(this.readonlyCfg);
+        // 冻结，vfs实例在各操作中（如新建客户端时）读取配置值时仅需数组访问
+        this.liveCfg = LiveCfg.of(ocp);
+        postReadonlyCfgBind(this.liveCfg.get());
+        // 运行时发布的新配置同样需通过校验，不合法的新配置不会被发布
+        this.liveCfg.addValidator(this::postReadonlyCfgBind);
     }
 
     /**
@@ -43,7 +49,18 @@ public abstract class AbstractVirtualFileSystem implements VFS {
      * @return 不可变配置视图
      */
     protected final Cfg readonlyCfg() {
-        return readonlyCfg;
+        return liveCfg.get();
+    }
+
+    /**
+     * 返回该vfs实例可热更新的配置，可通过其在运行时发布新配置（如变更缓冲区大小），
+     * 新配置在发布前经 {@link #postReadonlyCfgBind(Cfg)} 校验，不合法时发布新配置的线程将抛出异常且新配置不会被发布，
+     * 子类型可通过 {@link LiveCfg#onChange(Cfg.Option, LiveCfg.Listener)} 监听其缓存的配置值的变更
+     *
+     * @return 可热更新的配置
+     */
+    public final LiveCfg liveCfg() {
+        return liveCfg;
     }
 
     /**
@@ -58,7 +75,8 @@ public abstract class AbstractVirtualFileSystem implements VFS {
 
     /**
      * 该方法被调用阶段属于{@link #postCfgCopy(Cfg)} 之后被调用，用以明确检查给定参数是否正确，
-     * 默认行为空实现，到该阶段时，vfs实例内部{@link #readonlyCfg}已经有引用且该配置实例不可变
+     * 默认行为空实现，到该阶段时，vfs实例内部{@link #liveCfg}已经有引用且该配置实例（初始快照）不可变<br>
+     * 该方法同样作为 {@link #liveCfg()} 的校验函数，在运行时发布的新配置发布前被调用，遂其应仅校验给定的配置，无副作用
      *
      * @param readonlyCfg 不可变配置实例
      * @throws IllegalVFSBuildParamsException 当给定参数明确会导致vfs构造失败时，显示抛出该
@@ -61,6 +61,15 @@ class BorrowableCliDelegation implements Closeable {
         return cli.completePendingCommand();
     }
 
+    /**
+     * 设置传输缓冲区大小，与当前值相同时不做变更
+     */
+    void bufferSize(int bufSize) {
+        if (cli.getBufferSize() != bufSize) {
+            cli.setBufferSize(bufSize);
+        }
+    }
+
     boolean casSetUnBorrowed() {
         return borrowed.compareAndSet(true, false);
     }
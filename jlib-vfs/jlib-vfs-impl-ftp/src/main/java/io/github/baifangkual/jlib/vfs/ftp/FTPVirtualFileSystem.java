@@ -3,6 +3,7 @@ package io.github.baifangkual.jlib.vfs.ftp;
 import io.github.baifangkual.jlib.core.conf.Cfg;
 import io.github.baifangkual.jlib.core.util.Stf;
 import io.github.baifangkual.jlib.vfs.*;
+import io.github.baifangkual.jlib.vfs.exception.IllegalVFSBuildParamsException;
 import io.github.baifangkual.jlib.vfs.exception.VFSBuildingFailException;
 import io.github.baifangkual.jlib.vfs.exception.VFSIOException;
 import io.github.baifangkual.jlib.vfs.ftp.conf.FTPCfgOptions;
@@ -17,7 +18,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -39,6 +39,9 @@ import java.util.function.BiFunction;
  *     <li>不支持FTP的ASCII模式，即使服务器启动ASCII模式支持，因其ASCII模式下 SIZE /big/file 可进行DOS攻击且可能对部分字节字符有更改 </li>
  *     <li>当ftp客户端空闲时间超过给定时间段，ftp服务器可能会选择提前关闭连接，该设置了控制空闲发送NOOP重置空闲定时器，默认值为{@link FTPCfgOptions#controlKeepAliveTimeoutSec}</li>
  *     <li>参数{@link FTPCfgOptions#transformQueueMaxSize}控制了可同时读+写的流数量，当超过该值的其他线程要读/写文件流时，将会阻塞，直到另一个线程读/写流完成并关闭流</li>
+ *     <li>可通过 {@link #liveCfg()} 在运行时变更 {@link FTPCfgOptions#transformQueueMaxSize}（扩大时唤醒等待借用的线程，
+ *     缩小时立即关闭超出部分的空闲客户端，超出部分的被借出的客户端在归还时关闭）及 {@link FTPCfgOptions#bufSize}（在借用/新建客户端时应用），
+ *     新建客户端的连接相关配置（host、port、用户名、密码等）始终为构造时的配置，与主控制客户端连接同一服务器</li>
  *     <li>该实现中{@link #file(VPath)}方法优先使用FTP的MLST命令，当连接的FTP服务器不支持该命令时，将会降级使用LIST命令，相对MLST命令，该命令较为低效</li>
  *     <li>该实现中许多方法未进行前置的{@link #ifClosedThrowVFSRtIOE()}校验，遂当该VFS关闭后，部分行为会抛出不明确的异常，依赖底层实现</li>
  *     <li>在该实现连接FTP服务器时将会检查FTP服务器支持的命令，当驱动该VFS的基础命令不支持时，该VFS将会构造失败，抛出异常</li>
@@ -59,7 +62,10 @@ public class FTPVirtualFileSystem extends AbstractVirtualFileSystem implements V
     @SuppressWarnings("FieldCanBeLocal")
     private final List<String> supportCMDs;
     private final boolean supportMLST;
-    private final int transformQueueMaxSize;
+    // 构造时的配置快照，新建客户端的连接相关配置均从其读取
+    private final Cfg connCfg;
+    // 可通过 liveCfg 变更，在 transformQueueLock 内写
+    private volatile int transformQueueMaxSize;
     private final BlockingQueue<BorrowableCliDelegation> freeQueue;
     private final BlockingQueue<BorrowableCliDelegation> busyQueue;
     private final Lock mainControlLock = new ReentrantLock();
@@ -76,8 +82,9 @@ public class FTPVirtualFileSystem extends AbstractVirtualFileSystem implements V
      */
     public FTPVirtualFileSystem(Cfg cfg) throws VFSBuildingFailException {
         super(cfg);
+        this.connCfg = this.readonlyCfg();
         try {
-            this.mainControlCli = buildingCli(this.readonlyCfg());
+            this.mainControlCli = buildingCli();
             this.supportCMDs = analysisSupportHelps();
             boolean basicSupport = FTPSupport.isBasicSupport(this.supportCMDs);
             if (!basicSupport) {
@@ -93,12 +100,15 @@ public class FTPVirtualFileSystem extends AbstractVirtualFileSystem implements V
             当该值无法获取时，将返回空，尚不知空值如何处理，遂在此处判定，当给定返回空值时，抛出异常
              */
             this.workingDirectory = cleanGetPrintWorkingDirectory();
-            this.transformQueueMaxSize = this.readonlyCfg().getOrDefault(FTPCfgOptions.transformQueueMaxSize);
-            this.freeQueue = new ArrayBlockingQueue<>(transformQueueMaxSize);
+            this.transformQueueMaxSize = this.connCfg.getOrDefault(FTPCfgOptions.transformQueueMaxSize);
+            // 不限制容量，持有的客户端数由 busy + free <= transformQueueMaxSize 限制，而该值可在运行时变更
+            this.freeQueue = new LinkedBlockingQueue<>();
             // 因为可能被借用的顺序和回收的顺序不同，这里应使用链表防止类似数组的多次位移开销
-            this.busyQueue = new LinkedBlockingQueue<>(transformQueueMaxSize);
+            this.busyQueue = new LinkedBlockingQueue<>();
             this.root = new DefaultSliceAbsolutePath(this, VFSDefaults.PATH_SEPARATOR);
             this.closed.compareAndSet(true, false);
+            // 新配置在发布前已经 postReadonlyCfgBind 校验
+            liveCfg().onChange(FTPCfgOptions.transformQueueMaxSize, (oldV, newV) -> resizeTransformQueue(newV));
         } catch (IOException e) {
             throw new VFSBuildingFailException(e.getMessage(), e);
         }
@@ -135,14 +145,31 @@ public class FTPVirtualFileSystem extends AbstractVirtualFileSystem implements V
         }
     }
 
-    private FTPClient buildingCli(Cfg cfg) throws IOException {
+    /**
+     * 校验传输队列大小及缓冲区大小，构造时及运行时发布新配置前调用
+     */
+    @Override
+    protected void postReadonlyCfgBind(Cfg readonlyCfg) throws IllegalVFSBuildParamsException {
+        int queueSize = readonlyCfg.getOrDefault(FTPCfgOptions.transformQueueMaxSize);
+        if (queueSize < 1) {
+            throw new IllegalVFSBuildParamsException(Stf.f("illegal ftp transformQueueMaxSize: {}", queueSize));
+        }
+        int bufSize = readonlyCfg.getOrDefault(FTPCfgOptions.bufSize);
+        if (bufSize < 1) {
+            throw new IllegalVFSBuildParamsException(Stf.f("illegal ftp bufSize: {}", bufSize));
+        }
+    }
 
-        // 第一次创建成功后，这里的后续创建仍会从cfg中寻找，可优化其在创建成功后保存其，后续可不从cfg中寻找
+    private FTPClient buildingCli() throws IOException {
+
+        // 连接相关配置从构造时的配置快照中读取，使后续创建的客户端与主控制客户端连接同一服务器，
+        // 仅缓冲区大小读取 liveCfg 的当前配置，两者均为冻结的Cfg（见 AbstractVirtualFileSystem），读取仅为数组访问
+        final Cfg cfg = this.connCfg;
         String host = cfg.get(FTPCfgOptions.host);
         int port = cfg.getOrDefault(FTPCfgOptions.port);
         String user = cfg.getOrDefault(FTPCfgOptions.user);
         String passwd = cfg.getOrDefault(FTPCfgOptions.passwd);
-        int bufSize = cfg.getOrDefault(FTPCfgOptions.bufSize);
+        int bufSize = this.readonlyCfg().getOrDefault(FTPCfgOptions.bufSize);
         boolean passiveMode = cfg.getOrDefault(FTPCfgOptions.usePassiveMode);
         String tz = cfg.getOrDefault(FTPCfgOptions.serverTimeZone);
         int connectTimeOut = cfg.getOrDefault(FTPCfgOptions.connectTimeoutMs);
@@ -377,7 +404,7 @@ public class FTPVirtualFileSystem extends AbstractVirtualFileSystem implements V
     /**
      * 借用一个 {@link BorrowableCliDelegation} 对象，当有空闲的该对象时，将空闲的该对象从空闲队列移至忙链表
      * 并返回之，当无空闲对象且总持有的该对象数量小于{@link #transformQueueMaxSize}值，则创建一个该对象，将之移动至
-     * 忙链表并返回之，当无空闲对象且总持有的对象数量等于{@link #transformQueueMaxSize}值时，间接调用该方法的线程将阻塞至此，
+     * 忙链表并返回之，当无空闲对象且总持有的对象数量不小于{@link #transformQueueMaxSize}值时，间接调用该方法的线程将阻塞至此，
      * 直到有可用的对象被回收，即其他线程调用了{@link #awaitRecyclingOneBusy(BorrowableCliDelegation)}
      *
      * @throws BorrowThreadInterruptedException 当阻塞线程收到外界发送的中断信号时
@@ -385,7 +412,8 @@ public class FTPVirtualFileSystem extends AbstractVirtualFileSystem implements V
     BorrowableCliDelegation awaitBorrowOneFree() throws BorrowThreadInterruptedException {
         transformQueueLock.lock();
         try {
-            while (busyQueue.size() == this.transformQueueMaxSize && freeQueue.isEmpty()) {
+            // 传输队列可能已被缩小（resizeTransformQueue），遂以 >= 判定
+            while (busyQueue.size() >= this.transformQueueMaxSize && freeQueue.isEmpty()) {
                 // 情况1，所有已借出，并且正在忙，该情况下，要求当前线程等待，防止伪唤醒
                 emptyFree.await();
                 /*
@@ -405,7 +433,7 @@ public class FTPVirtualFileSystem extends AbstractVirtualFileSystem implements V
                 /*
                 需明确所有读写行为都会先借用再回收，也因此
                 这里无需有第二个类似fullFree的Condition，因为所有借用的线程，若可借用对象不足，会阻塞在该方法内，
-                后续有对象被回收才会被唤醒，而且freeQueue的容量最大值为transformQueueMaxSize值，不会导致队列满而
+                后续有对象被回收才会被唤醒，而且freeQueue中的对象数量不超过transformQueueMaxSize值，不会导致队列满而
                 部分线程等待队列有空位的情况
                  */
                 if (refCli.isBorrowed()) {
@@ -415,10 +443,12 @@ public class FTPVirtualFileSystem extends AbstractVirtualFileSystem implements V
                 if (!refCli.casSetBorrowed()) {
                     throw new IllegalBorrowStateException("BorrowableCliDelegation 原子状态异常");
                 }
+                // 缓冲区大小可能已通过 liveCfg 变更，新建的客户端在 buildingCli 中读取
+                refCli.bufferSize(this.readonlyCfg().getOrDefault(FTPCfgOptions.bufSize));
             } else {
                 // 情况3 空闲队列为空，借不了，而且忙队列总数 小于 最大数量，即可创建新的
                 if (busyQueue.size() < this.transformQueueMaxSize) {
-                    FTPClient cli = buildingCli(this.readonlyCfg());
+                    FTPClient cli = buildingCli();
                     // 新构建的默认为已借出状态
                     refCli = BorrowableCliDelegation.wrap(cli);
                 } else {
@@ -448,6 +478,7 @@ public class FTPVirtualFileSystem extends AbstractVirtualFileSystem implements V
      * @throws BorrowThreadInterruptedException 当阻塞线程收到外界发送的中断信号时
      */
     void awaitRecyclingOneBusy(BorrowableCliDelegation cli) throws BorrowThreadInterruptedException {
+        BorrowableCliDelegation surplus = null;
         transformQueueLock.lock();
         try {
             if (!cli.isBorrowed()) {
@@ -462,15 +493,52 @@ public class FTPVirtualFileSystem extends AbstractVirtualFileSystem implements V
             if (log.isDebugEnabled()) {
                 log.debug("recycling one Cli: {}", cli);
             }
-            // 在此处，cli已经被置为未借用状态，并且从忙队列中删除了, 先归还其至空闲队列并唤醒任意一个等待借用的线程
-            freeQueue.put(cli);
-            // 单唤醒，因为此处是一个一个还，所以一个一个醒即可，无需多个争夺锁
-            emptyFree.signal();
+            if (busyQueue.size() + freeQueue.size() >= this.transformQueueMaxSize) {
+                // 传输队列已被缩小（resizeTransformQueue），超出部分的客户端在归还时关闭
+                surplus = cli;
+            } else {
+                // 在此处，cli已经被置为未借用状态，并且从忙队列中删除了, 先归还其至空闲队列并唤醒任意一个等待借用的线程
+                freeQueue.put(cli);
+                // 单唤醒，因为此处是一个一个还，所以一个一个醒即可，无需多个争夺锁
+                emptyFree.signal();
+            }
         } catch (InterruptedException e) {
             throw new BorrowThreadInterruptedException(e);
         } finally {
             transformQueueLock.unlock();
         }
+        if (surplus != null) {
+            surplus.sneakyClose();
+        }
+    }
+
+    /**
+     * 调整传输队列大小（可同时读+写的流数量），由 {@link #liveCfg()} 的配置变更回调<br>
+     * 扩大时唤醒等待借用的线程，使其可创建新客户端；
+     * 缩小时立即关闭超出部分的空闲客户端，超出部分的被借出的客户端在归还时关闭
+     *
+     * @param newMaxSize 新的传输队列大小，已经 {@link #postReadonlyCfgBind(Cfg)} 校验
+     */
+    private void resizeTransformQueue(int newMaxSize) {
+        List<BorrowableCliDelegation> surplus = new ArrayList<>();
+        transformQueueLock.lock();
+        try {
+            int old = this.transformQueueMaxSize;
+            this.transformQueueMaxSize = newMaxSize;
+            while (busyQueue.size() + freeQueue.size() > newMaxSize && !freeQueue.isEmpty()) {
+                surplus.add(freeQueue.poll());
+            }
+            if (newMaxSize > old) {
+                emptyFree.signalAll();
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("resize transform queue, maxSize: {} -> {}", old, newMaxSize);
+            }
+        } finally {
+            transformQueueLock.unlock();
+        }
+        // 关闭客户端涉及网络交互，不在锁内进行
+        surplus.forEach(BorrowableCliDelegation::sneakyClose);
     }
 
     @Override
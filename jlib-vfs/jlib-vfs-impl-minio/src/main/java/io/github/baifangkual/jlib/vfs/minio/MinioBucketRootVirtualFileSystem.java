@@ -91,9 +91,10 @@ public class MinioBucketRootVirtualFileSystem extends AbstractVirtualFileSystem
     private final String bucket;
     private final VPath root;
     /**
-     * A valid part size is between 5MiB to 5GiB (both limits inclusive)，必须在该区间内
+     * A valid part size is between 5MiB to 5GiB (both limits inclusive)，必须在该区间内，
+     * 可通过 liveCfg 变更
      */
-    private final long putObjectBufSize;
+    private volatile long putObjectBufSize;
     private final MinioDirectoryAction directoryAction;
     private final AtomicBoolean isClosed = new AtomicBoolean(true);
 
@@ -130,6 +131,9 @@ public class MinioBucketRootVirtualFileSystem extends AbstractVirtualFileSystem
                 this.bucket = buckN;
                 this.directoryAction = buildingDirAction(readonlyCfg.getOrDefault(dirActionStrategy), oCli, buckN);
                 this.putObjectBufSize = safeBufRange(readonlyCfg.getOrDefault(bufSize));
+                // 新配置在发布前已经 postReadonlyCfgBind 校验
+                liveCfg().onChange(bufSize, (oldV, newV) ->
+                        this.putObjectBufSize = safeBufRange(newV));
                 this.root = new DefaultSliceAbsolutePath(this, VFSDefaults.PATH_SEPARATOR);
                 this.cli = oCli;
                 // 目录行为策略
@@ -154,6 +158,18 @@ public class MinioBucketRootVirtualFileSystem extends AbstractVirtualFileSystem
 
     }
 
+    /**
+     * 校验缓冲区大小，构造时及运行时发布新配置前调用，小于1的缓冲区大小不合法，
+     * 小于5MiB的缓冲区大小将由 {@link #safeBufRange(long)} 使用最小值5MiB
+     */
+    @Override
+    protected void postReadonlyCfgBind(Cfg readonlyCfg) throws IllegalVFSBuildParamsException {
+        Integer size = readonlyCfg.getOrDefault(bufSize);
+        if (size < 1) {
+            throw new IllegalVFSBuildParamsException(Stf.f("illegal minio bufSize: {}", size));
+        }
+    }
+
     private long safeBufRange(long unsafeBufSize) {
         if (unsafeBufSize < MINIO_API_MIN_BYTE_BUF_SIZE) {
             if (log.isDebugEnabled()) {